@@ -0,0 +1,115 @@
+package tree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Random lookups and full in-order scans on {@link BPlusTree} against the binary trees, and the
+ * fanout sweep of the boxed and the {@code long}-keyed B+tree. Run with {@code -prof perfnorm} for
+ * the cache misses per lookup. The B+tree iterator allocates an entry per key, which the node-based
+ * trees hand out as is.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class BPlusTreeBenchmark {
+
+	@State(Scope.Thread)
+	public static class Keys {
+		@Param({"100000", "10000000"})
+		public int size;
+
+		int[] insertionOrder;
+		int[] accessOrder;
+		Integer[] boxedAccessOrder;
+		int cursor;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			Random random = new Random(42);
+			insertionOrder = Workload.RANDOM.insertionOrder(size, random);
+			accessOrder = Workload.RANDOM.accessOrder(size, TreeState.ACCESS_COUNT, 0, random);
+			boxedAccessOrder = TreeState.box(accessOrder);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Boxed {
+		@Param({"TREE_MAP", "AVL_TREE", "B_PLUS_TREE"})
+		public Implementation implementation;
+
+		Tree<Integer, Integer> tree;
+
+		@Setup(Level.Trial)
+		public void setUp(Keys keys) {
+			tree = implementation.create();
+			for (int key : keys.insertionOrder) {
+				tree.add(key, key);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Fanout {
+		@Param({"32", "64", "128"})
+		public int fanout;
+
+		BPlusTree<Integer, Integer> tree;
+		LongBPlusTree<Integer> longTree;
+
+		@Setup(Level.Trial)
+		public void setUp(Keys keys) {
+			tree = new BPlusTree<>(Integer::compare, fanout);
+			longTree = new LongBPlusTree<>(fanout);
+			for (int key : keys.insertionOrder) {
+				tree.add(key, key);
+				longTree.add((long) key, (Integer) key);
+			}
+		}
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Integer get(Keys keys, Boxed boxed) {
+		return boxed.tree.get(keys.boxedAccessOrder[keys.cursor++ & TreeState.ACCESS_MASK]);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void scan(Boxed boxed, Blackhole blackhole) {
+		boxed.tree.inorderIterator().forEachRemaining(blackhole::consume);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Integer fanoutGet(Keys keys, Fanout fanout) {
+		return fanout.tree.get(keys.boxedAccessOrder[keys.cursor++ & TreeState.ACCESS_MASK]);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Integer longGet(Keys keys, Fanout fanout) {
+		return fanout.longTree.getLong(keys.accessOrder[keys.cursor++ & TreeState.ACCESS_MASK]);
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public void longScan(Fanout fanout, Blackhole blackhole) {
+		fanout.longTree.inorderIterator().forEachRemaining(blackhole::consume);
+	}
+}
@@ -0,0 +1,106 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Inserting and then deleting a batch of {@code batchSize} absent keys, through {@code addAll}/{@code removeAll}
+ * against one {@code add}/{@code remove} per key. The tree is back at {@code size} entries after every call.
+ * Divide the reported time by {@code batchSize} for the cost per key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+	private static final int BATCH_COUNT = 16;
+
+	@Param({"BINARY_SEARCH_TREE", "AVL_TREE", "RED_BLACK_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"1000000"})
+	public int size;
+
+	@Param({"100", "10000", "100000"})
+	public int batchSize;
+
+	Tree<Integer, Integer> tree;
+	List<List<Tree.Entry<Integer, Integer>>> entryBatches;
+	List<List<Integer>> keyBatches;
+	int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		tree = implementation.create();
+		for (int key : Workload.RANDOM.insertionOrder(size, random)) {
+			tree.add(key, key);
+		}
+
+		// trees hold the even keys below 2 * size, so odd keys are always absent
+		entryBatches = new ArrayList<>(BATCH_COUNT);
+		keyBatches = new ArrayList<>(BATCH_COUNT);
+		for (int i = 0; i < BATCH_COUNT; ++i) {
+			List<Tree.Entry<Integer, Integer>> entries = new ArrayList<>(batchSize);
+			List<Integer> keys = new ArrayList<>(batchSize);
+			for (int j = 0; j < batchSize; ++j) {
+				Integer key = random.nextInt(size) << 1 | 1;
+				entries.add(entry(key));
+				keys.add(key);
+			}
+			entryBatches.add(entries);
+			keyBatches.add(keys);
+		}
+	}
+
+	@Benchmark
+	public boolean batch() {
+		int i = next++ & (BATCH_COUNT - 1);
+		tree.addAll(entryBatches.get(i));
+		return tree.removeAll(keyBatches.get(i));
+	}
+
+	@Benchmark
+	public int perKey() {
+		int i = next++ & (BATCH_COUNT - 1);
+		for (Tree.Entry<Integer, Integer> entry : entryBatches.get(i)) {
+			tree.add(entry.getKey(), entry.getValue());
+		}
+		for (Integer key : keyBatches.get(i)) {
+			tree.remove(key);
+		}
+		return tree.size();
+	}
+
+	private static Tree.Entry<Integer, Integer> entry(Integer key) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public Integer getValue() {
+				return key;
+			}
+		};
+	}
+}
@@ -0,0 +1,124 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rebuilding a tree from keys that arrive in ascending order, as they do when an index is restored:
+ * one {@code add} per key against a single {@code loadSorted} call, and against reading the tree
+ * back from a snapshot file. {@code writeSnapshot} is measured on the same tree. The file sits in
+ * the default temporary directory, so use {@code -Djava.io.tmpdir} to put it on the disk of interest;
+ * a freshly written file is usually still in the page cache.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class BulkLoadBenchmark {
+
+	@Param({"AVL_TREE", "RED_BLACK_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"1000000", "10000000"})
+	public int size;
+
+	private Path snapshot;
+	private Tree<Integer, Integer> source;
+
+	@Setup(Level.Trial)
+	public void writeSource() throws IOException {
+		BinarySearchTree<Integer, Integer> tree = (BinarySearchTree<Integer, Integer>) implementation.create();
+		tree.loadSorted(new SortedEntries(size));
+		source = tree;
+		snapshot = Files.createTempFile("tree", ".snapshot");
+		source.writeSnapshot(snapshot, Codec.INT, Codec.INT);
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteSnapshot() throws IOException {
+		Files.deleteIfExists(snapshot);
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> add() {
+		Tree<Integer, Integer> tree = implementation.create();
+		Iterator<Tree.Entry<Integer, Integer>> entries = new SortedEntries(size);
+		while (entries.hasNext()) {
+			Tree.Entry<Integer, Integer> entry = entries.next();
+			tree.add(entry.getKey(), entry.getValue());
+		}
+		return tree;
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> loadSorted() {
+		BinarySearchTree<Integer, Integer> tree = (BinarySearchTree<Integer, Integer>) implementation.create();
+		tree.loadSorted(new SortedEntries(size));
+		return tree;
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> readSnapshot() throws IOException {
+		Tree<Integer, Integer> tree = implementation.create();
+		tree.readSnapshot(snapshot, Codec.INT, Codec.INT);
+		return tree;
+	}
+
+	@Benchmark
+	public Path writeSnapshot() throws IOException {
+		source.writeSnapshot(snapshot, Codec.INT, Codec.INT);
+		return snapshot;
+	}
+
+	private static class SortedEntries implements Iterator<Tree.Entry<Integer, Integer>> {
+		private final int size;
+		private int next;
+
+		SortedEntries(int size) {
+			this.size = size;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next < size;
+		}
+
+		@Override
+		public Tree.Entry<Integer, Integer> next() {
+			if (next == size)
+				throw new NoSuchElementException();
+			Integer key = next++ << 1;
+			return new Tree.Entry<>() {
+				@Override
+				public Integer getKey() {
+					return key;
+				}
+
+				@Override
+				public Integer getValue() {
+					return key;
+				}
+			};
+		}
+	}
+}
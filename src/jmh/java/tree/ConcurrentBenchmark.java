@@ -0,0 +1,119 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Reads and writes from several threads on one shared tree. JMH takes a single thread count per
+ * run, so sweep {@code -t 1}, {@code -t 2}, ... {@code -t 64} in separate runs for the scaling curve.
+ *
+ * <p>Writes insert or remove a key drawn from twice the initial key range with even odds, so the
+ * tree stays around {@code size} entries at any thread count. The sharded tree is bulk-loaded into
+ * {@code SHARDS} shards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ConcurrentBenchmark {
+
+	private static final byte GET = 0, ADD = 1, REMOVE = 2;
+	private static final int SHARDS = 16;
+
+	@State(Scope.Benchmark)
+	public static class SharedTree {
+		@Param({"CONCURRENT_AVL_TREE", "CONCURRENT_SKIP_LIST_MAP", "SHARDED_TREE",
+			"SYNCHRONIZED_AVL_TREE", "READ_WRITE_LOCK_AVL_TREE", "STAMPED_LOCK_AVL_TREE"})
+		public Implementation implementation;
+
+		@Param({"1000", "1000000"})
+		public int size;
+
+		Tree<Integer, Integer> tree;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			int[] keys = Workload.RANDOM.insertionOrder(size, new Random(42));
+			if (implementation == Implementation.SHARDED_TREE) {
+				// split points sampled from the initial keys, as a loader would
+				List<Tree.Entry<Integer, Integer>> entries = new ArrayList<>(size);
+				for (int key : keys) {
+					entries.add(entry(key));
+				}
+				tree = ShardedTree.bulkLoad(ShardedTree.Backing.AVL_TREE, Integer::compare, entries, SHARDS);
+				return;
+			}
+			tree = implementation.create();
+			for (int key : keys) {
+				tree.add(key, key);
+			}
+		}
+	}
+
+	private static Tree.Entry<Integer, Integer> entry(Integer key) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public Integer getValue() {
+				return key;
+			}
+		};
+	}
+
+	@State(Scope.Thread)
+	public static class Operations {
+		@Param({"95", "90", "50"})
+		public int readPercent;
+
+		byte[] ops;
+		Integer[] keys;
+		int cursor;
+
+		@Setup(Level.Trial)
+		public void setUp(SharedTree shared, ThreadParams thread) {
+			Random random = new Random(7 + thread.getThreadIndex());
+			ops = new byte[TreeState.ACCESS_COUNT];
+			keys = new Integer[TreeState.ACCESS_COUNT];
+			for (int i = 0; i < TreeState.ACCESS_COUNT; ++i) {
+				keys[i] = random.nextInt(2 * shared.size);
+				if (random.nextInt(100) < readPercent) {
+					ops[i] = GET;
+				} else {
+					ops[i] = random.nextBoolean() ? ADD : REMOVE;
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public Object mixed(SharedTree shared, Operations operations) {
+		int i = operations.cursor++ & TreeState.ACCESS_MASK;
+		Integer key = operations.keys[i];
+		return switch (operations.ops[i]) {
+			case GET -> shared.tree.get(key);
+			case ADD -> shared.tree.add(key, key);
+			default -> shared.tree.remove(key);
+		};
+	}
+}
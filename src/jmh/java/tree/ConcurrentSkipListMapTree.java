@@ -0,0 +1,123 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * {@link ConcurrentSkipListMap} behind the {@link Tree} interface, the baseline for the concurrent
+ * trees. There is no tree to walk, so every traversal is key order, and {@code size()} counts the
+ * entries.
+ */
+class ConcurrentSkipListMapTree<K, V> implements Tree<K, V> {
+
+	private final ConcurrentSkipListMap<K, V> map = new ConcurrentSkipListMap<>();
+
+	@Override
+	public int size() {
+		return map.size();
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		Objects.requireNonNull(key);
+		return map.putIfAbsent(key, value) == null;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return map.containsKey(key);
+	}
+
+	@Override
+	public V get(K key) {
+		return map.get(key);
+	}
+
+	@Override
+	public V remove(K key) {
+		return map.remove(key);
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		return entries();
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		return entries();
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		return entries();
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		return entries();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return entryIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return entryIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return entryIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return entryIterator();
+	}
+
+	private List<Entry<K, V>> entries() {
+		List<Entry<K, V>> result = new ArrayList<>(map.size());
+		entryIterator().forEachRemaining(result::add);
+		return result;
+	}
+
+	private Iterator<Entry<K, V>> entryIterator() {
+		Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+		return new Iterator<>() {
+			@Override
+			public boolean hasNext() {
+				return it.hasNext();
+			}
+
+			@Override
+			public Entry<K, V> next() {
+				Map.Entry<K, V> e = it.next();
+				K key = e.getKey();
+				V value = e.getValue();
+				return new Entry<>() {
+					@Override
+					public K getKey() {
+						return key;
+					}
+
+					@Override
+					public V getValue() {
+						return value;
+					}
+				};
+			}
+		};
+	}
+}
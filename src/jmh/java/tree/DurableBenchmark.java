@@ -0,0 +1,94 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Updates through {@link DurableTree} from several threads, forcing the log per update, per group
+ * and in the background. As with {@link ConcurrentBenchmark}, sweep {@code -t 1}, {@code -t 8},
+ * {@code -t 64} in separate runs: group commit only pays off once several writers share a force.
+ * The log goes to the default temporary directory, so use {@code -Djava.io.tmpdir} to put it on the
+ * disk of interest; a tmpfs makes every force free.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DurableBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Log {
+		@Param({"SYNC", "GROUP", "ASYNC"})
+		public DurableTree.Commit commit;
+
+		// 0 forces as soon as the previous force is done, so a group is whatever arrived during it
+		@Param({"0", "100", "1000"})
+		public int latencyBudgetMicros;
+
+		@Param({"1000000"})
+		public int size;
+
+		Path directory;
+		DurableTree<Integer, Integer> tree;
+
+		@Setup(Level.Trial)
+		public void open() throws IOException {
+			directory = Files.createTempDirectory("tree-wal");
+			tree = DurableTree.open(directory, new AVLTree<>(), Codec.INT, Codec.INT,
+				commit, Duration.ofNanos(latencyBudgetMicros * 1000L));
+		}
+
+		@TearDown(Level.Trial)
+		public void delete() throws IOException {
+			tree.close();
+			try (Stream<Path> files = Files.walk(directory)) {
+				for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Keys {
+		Integer[] keys;
+		int cursor;
+
+		@Setup(Level.Trial)
+		public void setUp(Log log, ThreadParams thread) {
+			Random random = new Random(7 + thread.getThreadIndex());
+			keys = new Integer[TreeState.ACCESS_COUNT];
+			for (int i = 0; i < TreeState.ACCESS_COUNT; ++i) {
+				keys[i] = random.nextInt(log.size);
+			}
+		}
+	}
+
+	@Benchmark
+	public Integer put(Log log, Keys keys) {
+		Integer key = keys.keys[keys.cursor++ & TreeState.ACCESS_MASK];
+		return log.tree.put(key, key);
+	}
+}
@@ -0,0 +1,81 @@
+package tree;
+
+import java.util.Random;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Retained heap size of each {@link Implementation} holding the same random keys, measured with JOL.
+ * Every entry shares one value object, so the figures cover keys and tree structure only.
+ *
+ * <pre>./gradlew footprint -Pfootprint.sizes=1000,1000000</pre>
+ */
+public class Footprint {
+
+	private static final Integer VALUE = 0;
+
+	public static void main(String[] args) {
+		int[] sizes = args.length > 0 ? parseSizes(args[0]) : new int[] {1_000, 1_000_000};
+		for (int size : sizes) {
+			int[] keys = Workload.RANDOM.insertionOrder(size, new Random(42));
+			System.out.printf("size=%d%n", size);
+			for (Implementation implementation : Implementation.values()) {
+				Tree<Integer, Integer> tree = implementation.create();
+				for (int key : keys) {
+					tree.add(key, VALUE);
+				}
+				print(implementation.name(), tree, size);
+			}
+
+			LongAVLTree<Integer> longTree = new LongAVLTree<>();
+			for (int key : keys) {
+				longTree.add((long) key, VALUE);
+			}
+			print("LONG_AVL_TREE", longTree, size);
+
+			LongBPlusTree<Integer> longBPlusTree = new LongBPlusTree<>();
+			for (int key : keys) {
+				longBPlusTree.add((long) key, VALUE);
+			}
+			print("LONG_B_PLUS_TREE", longBPlusTree, size);
+
+			try (OffHeapLongTree offHeapTree = new OffHeapLongTree()) {
+				for (int key : keys) {
+					offHeapTree.add(key, key);
+				}
+				print("OFF_HEAP_LONG_TREE", offHeapTree, size);
+			}
+
+			printSnapshotOverhead(new PersistentAVLTree<>(Integer::compare), "PERSISTENT_AVL_TREE", keys);
+			printSnapshotOverhead(new PersistentTreap<>(Integer::compare), "PERSISTENT_TREAP", keys);
+		}
+	}
+
+	private static void print(String name, Object tree, int size) {
+		long bytes = GraphLayout.parseInstance(tree, VALUE).totalSize() - GraphLayout.parseInstance(VALUE).totalSize();
+		System.out.printf("- %-20s: %,15d bytes, %6.1f bytes/entry%n", name, bytes, (double) bytes / size);
+	}
+
+	// what an old version keeps alive: the nodes it no longer shares after 1% of the keys are updated
+	private static void printSnapshotOverhead(PersistentTree<Integer, Integer> tree, String name, int[] keys) {
+		for (int key : keys) {
+			tree.add(key, VALUE);
+		}
+		PersistentTree<Integer, Integer> snapshot = tree.snapshot();
+		for (int i = 0; i < keys.length; i += 100) {
+			tree.put(keys[i], keys[i]);
+		}
+		long both = GraphLayout.parseInstance(tree, snapshot, VALUE).totalSize();
+		long bytes = both - GraphLayout.parseInstance(tree, VALUE).totalSize();
+		System.out.printf("- %-20s: %,15d bytes retained by a snapshot after %d updates%n", name, bytes, (keys.length + 99) / 100);
+	}
+
+	private static int[] parseSizes(String arg) {
+		String[] tokens = arg.split(",");
+		int[] sizes = new int[tokens.length];
+		for (int i = 0; i < tokens.length; ++i) {
+			sizes[i] = Integer.parseInt(tokens[i].trim());
+		}
+		return sizes;
+	}
+}
@@ -0,0 +1,41 @@
+package tree;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Tree implementations under benchmark. Every generic tree is built with an explicit comparator
+ * so the measured code path matches how callers construct {@code Tree<Integer, ?>}; the
+ * primitive-key trees are driven through their boxed {@link Tree} bridge.
+ */
+public enum Implementation {
+	TREE_MAP(TreeMapTree::new),
+	BINARY_SEARCH_TREE(() -> new BinarySearchTree<>(Integer::compare)),
+	AVL_TREE(() -> new AVLTree<>(Integer::compare)),
+	ORDER_STATISTIC_AVL_TREE(() -> new AVLTree<>(Integer::compare, true)),
+	ARRAY_AVL_TREE(() -> new ArrayAVLTree<>(Integer::compare)),
+	RED_BLACK_TREE(() -> new RedBlackTree<>(Integer::compare)),
+	SPLAY_TREE(() -> new SplayTree<>(Integer::compare)),
+	TREAP(() -> new Treap<>(Integer::compare)),
+	B_PLUS_TREE(() -> new BPlusTree<>(Integer::compare)),
+	INT_AVL_TREE(IntAVLTree::new),
+	INT_TREAP(IntTreap::new),
+	CONCURRENT_AVL_TREE(() -> new ConcurrentAVLTree<>(Integer::compare)),
+	CONCURRENT_SKIP_LIST_MAP(ConcurrentSkipListMapTree::new),
+	SHARDED_TREE(() -> new ShardedTree<>(ShardedTree.Backing.AVL_TREE, Integer::compare, List.of())),
+	SYNCHRONIZED_AVL_TREE(() -> new SynchronizedTree<>(new AVLTree<>(Integer::compare))),
+	READ_WRITE_LOCK_AVL_TREE(() -> new ReadWriteLockTree<>(new AVLTree<>(Integer::compare))),
+	STAMPED_LOCK_AVL_TREE(() -> Trees.concurrent(new AVLTree<>(Integer::compare))),
+	PERSISTENT_AVL_TREE(() -> new PersistentAVLTree<>(Integer::compare)),
+	PERSISTENT_TREAP(() -> new PersistentTreap<>(Integer::compare));
+
+	private final Supplier<Tree<Integer, Integer>> factory;
+
+	Implementation(Supplier<Tree<Integer, Integer>> factory) {
+		this.factory = factory;
+	}
+
+	public Tree<Integer, Integer> create() {
+		return factory.get();
+	}
+}
@@ -0,0 +1,99 @@
+package tree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Interleaved reads and writes. Writes alternate between removing the oldest of {@code LAG} keys
+ * added earlier and adding a fresh one, so every write succeeds and the tree stays at {@code size}
+ * plus about {@code LAG} entries. Fresh keys cycle through a fixed permutation of odd keys, which
+ * comes back to a key only long after it was removed.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MixedBenchmark {
+
+	static final int LAG = 1024;
+
+	@State(Scope.Thread)
+	public static class Operations {
+		@Param({"50", "90"})
+		public int readPercent;
+
+		boolean[] reads;
+		int cursor;
+
+		// a ring of the keys added and not yet removed; head is the oldest
+		Tree<Integer, Integer> tree;
+		Integer[] fresh;
+		int nextFresh;
+		Integer[] pending;
+		int head;
+		boolean removed;
+
+		@Setup(Level.Trial)
+		public void setUp(TreeState state) {
+			Random random = new Random(7);
+			reads = new boolean[TreeState.ACCESS_COUNT];
+			for (int i = 0; i < TreeState.ACCESS_COUNT; ++i) {
+				reads[i] = random.nextInt(100) < readPercent;
+			}
+
+			int[] odd = Workload.RANDOM.insertionOrder(Math.min(state.size, TreeState.ACCESS_COUNT), random);
+			fresh = new Integer[odd.length];
+			for (int i = 0; i < odd.length; ++i) {
+				fresh[i] = odd[i] + 1;
+			}
+			pending = new Integer[Math.min(LAG, fresh.length / 2)];
+		}
+
+		// on the first call: the state parameter of a setup method is another instance than the benchmark's
+		void fill(Tree<Integer, Integer> tree) {
+			this.tree = tree;
+			for (int i = 0; i < pending.length; ++i) {
+				pending[i] = nextFresh();
+				tree.add(pending[i], pending[i]);
+			}
+		}
+
+		Integer nextFresh() {
+			Integer key = fresh[nextFresh];
+			nextFresh = nextFresh + 1 == fresh.length ? 0 : nextFresh + 1;
+			return key;
+		}
+	}
+
+	@Benchmark
+	public Object mixed(TreeState state, Operations operations) {
+		if (operations.tree != state.tree)
+			operations.fill(state.tree);
+		if (operations.reads[operations.cursor++ & TreeState.ACCESS_MASK])
+			return state.tree.get(state.nextHit());
+
+		if (!operations.removed) {
+			operations.removed = true;
+			return state.tree.remove(operations.pending[operations.head]);
+		}
+		operations.removed = false;
+		Integer key = operations.nextFresh();
+		operations.pending[operations.head] = key;
+		operations.head = operations.head + 1 == operations.pending.length ? 0 : operations.head + 1;
+		return state.tree.add(key, key);
+	}
+}
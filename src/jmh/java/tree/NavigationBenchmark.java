@@ -0,0 +1,66 @@
+package tree;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * "Latest entry at or before t" on missing keys: {@code floorEntry} against materializing
+ * {@code inorder()} and binary-searching it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class NavigationBenchmark {
+
+	@Param({"AVL_TREE", "RED_BLACK_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"1000", "100000"})
+	public int size;
+
+	private BinarySearchTree<Integer, Integer> tree;
+	private Integer[] misses;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUpTree() {
+		Random random = new Random(42);
+		tree = (BinarySearchTree<Integer, Integer>) implementation.create();
+		for (int key : Workload.RANDOM.insertionOrder(size, random)) {
+			tree.add(key, key);
+		}
+		misses = TreeState.box(Workload.RANDOM.accessOrder(size, TreeState.ACCESS_COUNT, 1, random));
+	}
+
+	@Benchmark
+	public Tree.Entry<Integer, Integer> floorEntry() {
+		return tree.floorEntry(misses[cursor++ & TreeState.ACCESS_MASK]);
+	}
+
+	@Benchmark
+	public Tree.Entry<Integer, Integer> inorderBinarySearch() {
+		Integer key = misses[cursor++ & TreeState.ACCESS_MASK];
+		List<Tree.Entry<Integer, Integer>> entries = tree.inorder();
+		int index = Collections.binarySearch(entries, null, (entry, ignored) -> entry.getKey().compareTo(key));
+		int floor = index >= 0 ? index : -index - 2;
+		return floor < 0 ? null : entries.get(floor);
+	}
+}
@@ -0,0 +1,107 @@
+package tree;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Percentile and range-count queries answered from subtree sizes, against finding the k-th entry by
+ * walking the inorder iterator.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class OrderStatisticBenchmark {
+
+	@Param({"ORDER_STATISTIC_AVL_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"100000", "10000000"})
+	public int size;
+
+	private Tree<Integer, Integer> tree;
+	private int[] ranks;
+	private Integer[] keys;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUpTree() {
+		Random random = new Random(42);
+		tree = implementation.create();
+		((BinarySearchTree<Integer, Integer>) tree).loadSorted(new Iterator<>() {
+			private int next;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			public Tree.Entry<Integer, Integer> next() {
+				Integer key = 2 * next++;
+				return new Tree.Entry<>() {
+					@Override
+					public Integer getKey() {
+						return key;
+					}
+
+					@Override
+					public Integer getValue() {
+						return key;
+					}
+				};
+			}
+		});
+		ranks = new int[TreeState.ACCESS_COUNT];
+		keys = new Integer[TreeState.ACCESS_COUNT];
+		for (int i = 0; i < TreeState.ACCESS_COUNT; ++i) {
+			ranks[i] = random.nextInt(size);
+			keys[i] = random.nextInt(2 * size);
+		}
+	}
+
+	@Benchmark
+	public Tree.Entry<Integer, Integer> select() {
+		int k = ranks[cursor++ & TreeState.ACCESS_MASK];
+		return tree instanceof Treap<Integer, Integer> treap ? treap.select(k) : ((AVLTree<Integer, Integer>) tree).select(k);
+	}
+
+	@Benchmark
+	public int rank() {
+		Integer key = keys[cursor++ & TreeState.ACCESS_MASK];
+		return tree instanceof Treap<Integer, Integer> treap ? treap.rank(key) : ((AVLTree<Integer, Integer>) tree).rank(key);
+	}
+
+	@Benchmark
+	public int countInRange() {
+		Integer lo = keys[cursor++ & TreeState.ACCESS_MASK];
+		Integer hi = lo + 2000;
+		return tree instanceof Treap<Integer, Integer> treap ? treap.countInRange(lo, hi) : ((AVLTree<Integer, Integer>) tree).countInRange(lo, hi);
+	}
+
+	@Benchmark
+	public Tree.Entry<Integer, Integer> selectByIterator() {
+		int k = ranks[cursor++ & TreeState.ACCESS_MASK];
+		Iterator<Tree.Entry<Integer, Integer>> iterator = tree.inorderIterator();
+		for (int i = 0; i < k; ++i) {
+			iterator.next();
+		}
+		return iterator.next();
+	}
+}
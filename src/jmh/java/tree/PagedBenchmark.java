@@ -0,0 +1,87 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Random lookups and 1000-key range scans on a {@link PagedBPlusTree} of 8 KiB pages with a buffer
+ * pool of {@code poolPages}. At the default 1024 pages (8 MiB) a tree of 100 000 keys fits in the
+ * pool, one of 1 000 000 is about twice and one of 10 000 000 about twenty times its size, so a
+ * growing share of the lookups reads and checksums a page; {@code ZIPFIAN} keeps the hot keys in
+ * the pool. The file goes to the default temporary directory and is read through the OS page cache,
+ * so use {@code -Djava.io.tmpdir} to put it on the disk of interest and a tree larger than memory for
+ * the latency of the device itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PagedBenchmark {
+
+	static final int SCAN_LENGTH = 1000;
+
+	@State(Scope.Thread)
+	public static class Paged {
+		@Param({"100000", "1000000", "10000000"})
+		public int size;
+
+		@Param({"1024"})
+		public int poolPages;
+
+		@Param({"RANDOM", "ZIPFIAN"})
+		public Workload workload;
+
+		Path file;
+		PagedBPlusTree<Integer, Integer> tree;
+		Integer[] accessOrder;
+		int cursor;
+
+		@Setup(Level.Trial)
+		public void open() throws IOException {
+			file = Files.createTempFile("tree", ".db");
+			tree = PagedBPlusTree.open(file, Integer::compare, Codec.INT, Codec.INT, poolPages);
+			Random random = new Random(42);
+			for (int key : Workload.SEQUENTIAL.insertionOrder(size, random)) {
+				tree.add(key, key);
+			}
+			tree.flush();
+			accessOrder = TreeState.box(workload.accessOrder(size, TreeState.ACCESS_COUNT, 0, random));
+		}
+
+		@TearDown(Level.Trial)
+		public void delete() throws IOException {
+			tree.close();
+			Files.delete(file);
+		}
+	}
+
+	@Benchmark
+	public Integer get(Paged paged) {
+		return paged.tree.get(paged.accessOrder[paged.cursor++ & TreeState.ACCESS_MASK]);
+	}
+
+	@Benchmark
+	public void scan(Paged paged, Blackhole blackhole) {
+		int lo = paged.accessOrder[paged.cursor++ & TreeState.ACCESS_MASK];
+		paged.tree.rangeIterator(lo, true, lo + 2 * SCAN_LENGTH, false).forEachRemaining(blackhole::consume);
+	}
+}
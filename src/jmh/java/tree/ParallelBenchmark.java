@@ -0,0 +1,84 @@
+package tree;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Whole-tree aggregation through {@code parallelStream()} on a pool of {@code parallelism} workers.
+ * Sweep {@code -p parallelism=1,2,4,...} to get the scaling curve; {@code sequential} is the baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class ParallelBenchmark {
+
+	@Param({"AVL_TREE", "RED_BLACK_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"1000000", "10000000"})
+	public int size;
+
+	@Param({"1", "2", "4", "8", "16"})
+	public int parallelism;
+
+	Tree<Integer, Integer> tree;
+	ForkJoinPool pool;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		tree = implementation.create();
+		for (int key : Workload.RANDOM.insertionOrder(size, new Random(42))) {
+			tree.add(key, key);
+		}
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public long sequential() {
+		return tree.stream().mapToLong(e -> work(e.getValue())).sum();
+	}
+
+	@Benchmark
+	public long parallel() {
+		return pool.submit(() -> tree.parallelStream().mapToLong(e -> work(e.getValue())).sum()).join();
+	}
+
+	@Benchmark
+	public long parallelReduce() {
+		return pool.submit(() -> tree.parallelStream()
+			.map(Tree.Entry::getValue)
+			.reduce(0, (a, b) -> Math.max(a, work(b)) % Integer.MAX_VALUE, Math::max)).join();
+	}
+
+	// a few dependent multiplies per entry, standing in for per-entry aggregation work
+	private static int work(int value) {
+		int h = value;
+		for (int i = 0; i < 8; ++i) {
+			h = h * 0x9E3779B1 + i;
+		}
+		return h >>> 1;
+	}
+}
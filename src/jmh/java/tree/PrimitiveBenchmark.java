@@ -0,0 +1,150 @@
+package tree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Boxed trees driven with {@code Integer} keys against the primitive-key trees driven through
+ * {@code getInt}/{@code getLong}, and the off-heap {@link OffHeapLongTree}. Heap footprint of the same trees is reported by {@link Footprint}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PrimitiveBenchmark {
+
+	@State(Scope.Thread)
+	public static class Keys {
+		@Param({"1000", "100000", "10000000"})
+		public int size;
+
+		int[] insertionOrder;
+		int[] accessOrder;
+		int cursor;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			Random random = new Random(42);
+			insertionOrder = Workload.RANDOM.insertionOrder(size, random);
+			accessOrder = Workload.RANDOM.accessOrder(size, TreeState.ACCESS_COUNT, 0, random);
+		}
+
+		int next() {
+			return accessOrder[cursor++ & TreeState.ACCESS_MASK];
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Boxed {
+		@Param({"AVL_TREE", "TREAP"})
+		public Implementation implementation;
+
+		Tree<Integer, Integer> tree;
+		Integer[] accessOrder;
+
+		@Setup(Level.Trial)
+		public void setUp(Keys keys) {
+			tree = implementation.create();
+			for (int key : keys.insertionOrder) {
+				tree.add(key, key);
+			}
+			accessOrder = TreeState.box(keys.accessOrder);
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class IntKeys {
+		@Param({"INT_AVL_TREE", "INT_TREAP"})
+		public Implementation implementation;
+
+		IntTree<Integer> tree;
+
+		@Setup(Level.Trial)
+		public void setUp(Keys keys) {
+			tree = (IntTree<Integer>) implementation.create();
+			for (int key : keys.insertionOrder) {
+				tree.add(key, (Integer) key);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class LongKeys {
+		LongAVLTree<Integer> tree;
+
+		@Setup(Level.Trial)
+		public void setUp(Keys keys) {
+			tree = new LongAVLTree<>();
+			for (int key : keys.insertionOrder) {
+				tree.add((long) key, (Integer) key);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class OffHeapKeys {
+		OffHeapLongTree tree;
+
+		@Setup(Level.Trial)
+		public void setUp(Keys keys) {
+			tree = new OffHeapLongTree();
+			for (int key : keys.insertionOrder) {
+				tree.add(key, key);
+			}
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			tree.close();
+		}
+	}
+
+	@Benchmark
+	public Integer boxedGet(Keys keys, Boxed boxed) {
+		return boxed.tree.get(boxed.accessOrder[keys.cursor++ & TreeState.ACCESS_MASK]);
+	}
+
+	@Benchmark
+	public Integer intGet(Keys keys, IntKeys intKeys) {
+		return intKeys.tree.getInt(keys.next());
+	}
+
+	@Benchmark
+	public Integer longGet(Keys keys, LongKeys longKeys) {
+		return longKeys.tree.getLong(keys.next());
+	}
+
+	@Benchmark
+	public long offHeapGet(Keys keys, OffHeapKeys offHeapKeys) {
+		return offHeapKeys.tree.getLong(keys.next(), -1);
+	}
+
+	@Benchmark
+	public boolean intAddRemove(Keys keys, IntKeys intKeys) {
+		int key = keys.next() + 1;
+		intKeys.tree.add(key, null);
+		return intKeys.tree.removeInt(key) == null;
+	}
+
+	@Benchmark
+	public boolean boxedAddRemove(Keys keys, Boxed boxed) {
+		Integer key = boxed.accessOrder[keys.cursor++ & TreeState.ACCESS_MASK] + 1;
+		boxed.tree.add(key, null);
+		return boxed.tree.remove(key) == null;
+	}
+}
@@ -0,0 +1,78 @@
+package tree;
+
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Visiting the {@code width} keys from a random lower bound: through a {@code subTree} view, which
+ * seeks to the bound, against filtering the whole inorder traversal.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class RangeBenchmark {
+
+	@Param({"AVL_TREE", "RED_BLACK_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"100000", "1000000"})
+	public int size;
+
+	@Param({"100"})
+	public int width;
+
+	private BinarySearchTree<Integer, Integer> tree;
+	private int[] bounds;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUpTree() {
+		Random random = new Random(42);
+		tree = (BinarySearchTree<Integer, Integer>) implementation.create();
+		for (int key : Workload.RANDOM.insertionOrder(size, random)) {
+			tree.add(key, key);
+		}
+		bounds = new int[TreeState.ACCESS_COUNT];
+		for (int i = 0; i < TreeState.ACCESS_COUNT; ++i) {
+			bounds[i] = 2 * random.nextInt(size - width);
+		}
+	}
+
+	@Benchmark
+	public void subTree(Blackhole blackhole) {
+		int lo = bounds[cursor++ & TreeState.ACCESS_MASK];
+		Iterator<Tree.Entry<Integer, Integer>> iterator = tree.subTree(lo, true, lo + 2 * width, false).inorderIterator();
+		while (iterator.hasNext()) {
+			blackhole.consume(iterator.next());
+		}
+	}
+
+	@Benchmark
+	public void inorderFilter(Blackhole blackhole) {
+		int lo = bounds[cursor++ & TreeState.ACCESS_MASK];
+		int hi = lo + 2 * width;
+		for (Tree.Entry<Integer, Integer> entry : tree.inorder()) {
+			int key = entry.getKey();
+			if (key >= lo && key < hi)
+				blackhole.consume(entry);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package tree;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class ReadBenchmark {
+
+	@Benchmark
+	public Integer getHit(TreeState state) {
+		return state.tree.get(state.nextHit());
+	}
+
+	@Benchmark
+	public Integer getMiss(TreeState state) {
+		return state.tree.get(state.nextMiss());
+	}
+
+	@Benchmark
+	public boolean containsHit(TreeState state) {
+		return state.tree.contains(state.nextHit());
+	}
+
+	@Benchmark
+	public boolean containsMiss(TreeState state) {
+		return state.tree.contains(state.nextMiss());
+	}
+}
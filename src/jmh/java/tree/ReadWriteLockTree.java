@@ -0,0 +1,146 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The wrapped tree behind a {@link ReentrantReadWriteLock}: lookups share the read lock, updates take
+ * the write lock. Every lookup still writes the lock's reader count, which is the contention that
+ * {@link Trees#concurrent(Tree)} avoids. Iterators walk a copy taken under the read lock.
+ */
+class ReadWriteLockTree<K, V> implements Tree<K, V> {
+
+	private final Tree<K, V> tree;
+	private final Lock readLock;
+	private final Lock writeLock;
+
+	ReadWriteLockTree(Tree<K, V> tree) {
+		this.tree = tree;
+		ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+		this.readLock = lock.readLock();
+		this.writeLock = lock.writeLock();
+	}
+
+	@Override
+	public int size() {
+		readLock.lock();
+		try {
+			return tree.size();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public void clear() {
+		writeLock.lock();
+		try {
+			tree.clear();
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		writeLock.lock();
+		try {
+			return tree.add(key, value);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean contains(K key) {
+		readLock.lock();
+		try {
+			return tree.contains(key);
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public V get(K key) {
+		readLock.lock();
+		try {
+			return tree.get(key);
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public V remove(K key) {
+		writeLock.lock();
+		try {
+			return tree.remove(key);
+		} finally {
+			writeLock.unlock();
+		}
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		readLock.lock();
+		try {
+			return tree.preorder();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		readLock.lock();
+		try {
+			return tree.inorder();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		readLock.lock();
+		try {
+			return tree.postorder();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		readLock.lock();
+		try {
+			return tree.levelOrder();
+		} finally {
+			readLock.unlock();
+		}
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return new ArrayList<>(preorder()).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new ArrayList<>(inorder()).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return new ArrayList<>(postorder()).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return new ArrayList<>(levelOrder()).iterator();
+	}
+}
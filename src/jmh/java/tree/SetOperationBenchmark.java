@@ -0,0 +1,126 @@
+package tree;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Combining a base index of {@code size} keys with a delta of {@code deltaSize} keys, half of them
+ * already in the base: the fork-join set operations on a pool of {@code parallelism} workers against
+ * applying the delta one key at a time. Both trees are rebuilt before every invocation, since the
+ * set operations consume them.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class SetOperationBenchmark {
+
+	@Param({"AVL_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"1000000"})
+	public int size;
+
+	@Param({"1000", "100000", "1000000"})
+	public int deltaSize;
+
+	@Param({"1", "2", "4", "8"})
+	public int parallelism;
+
+	private int[] baseKeys;
+	private int[] deltaKeys;
+	private ForkJoinPool pool;
+	private BinarySearchTree<Integer, Integer> base;
+	private BinarySearchTree<Integer, Integer> delta;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42);
+		baseKeys = Workload.SEQUENTIAL.insertionOrder(size, random);
+		// even keys are in the base, odd keys are new
+		deltaKeys = random.ints(0, 2 * size).distinct().limit(deltaSize).sorted().toArray();
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpTrees() {
+		base = load(baseKeys);
+		delta = load(deltaKeys);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> union() {
+		return pool.submit(() -> base instanceof Treap<Integer, Integer> treap
+			? Treap.union(treap, (Treap<Integer, Integer>) delta)
+			: AVLTree.union((AVLTree<Integer, Integer>) base, (AVLTree<Integer, Integer>) delta)).join();
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> intersection() {
+		return pool.submit(() -> base instanceof Treap<Integer, Integer> treap
+			? Treap.intersection(treap, (Treap<Integer, Integer>) delta)
+			: AVLTree.intersection((AVLTree<Integer, Integer>) base, (AVLTree<Integer, Integer>) delta)).join();
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> difference() {
+		return pool.submit(() -> base instanceof Treap<Integer, Integer> treap
+			? Treap.difference(treap, (Treap<Integer, Integer>) delta)
+			: AVLTree.difference((AVLTree<Integer, Integer>) base, (AVLTree<Integer, Integer>) delta)).join();
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> perKeyUnion() {
+		for (int key : deltaKeys) {
+			base.putIfAbsent(key, key);
+		}
+		return base;
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> perKeyDifference() {
+		for (int key : deltaKeys) {
+			base.remove(key);
+		}
+		return base;
+	}
+
+	private BinarySearchTree<Integer, Integer> load(int[] keys) {
+		BinarySearchTree<Integer, Integer> tree = (BinarySearchTree<Integer, Integer>) implementation.create();
+		tree.loadSorted(Arrays.stream(keys).<Tree.Entry<Integer, Integer>>mapToObj(key -> new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public Integer getValue() {
+				return key;
+			}
+		}).iterator());
+		return tree;
+	}
+}
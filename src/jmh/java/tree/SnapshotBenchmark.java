@@ -0,0 +1,66 @@
+package tree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Taking a consistent view of the tree for a reader while it keeps being updated: {@code snapshot()}
+ * of a persistent tree against copying a mutable one into a new tree with {@code loadSorted}. Every view is followed by
+ * one update, so the persistent trees pay for the path they copy once a snapshot shares it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+	@Param({"AVL_TREE", "TREAP", "PERSISTENT_AVL_TREE", "PERSISTENT_TREAP"})
+	public Implementation implementation;
+
+	@Param({"1000", "100000", "1000000"})
+	public int size;
+
+	private Tree<Integer, Integer> tree;
+	private Integer[] keys;
+	private int cursor;
+
+	@Setup(Level.Trial)
+	public void setUpTree() {
+		Random random = new Random(42);
+		tree = implementation.create();
+		for (int key : Workload.RANDOM.insertionOrder(size, random)) {
+			tree.add(key, key);
+		}
+		keys = TreeState.box(Workload.RANDOM.accessOrder(size, TreeState.ACCESS_COUNT, 0, random));
+	}
+
+	@Benchmark
+	public Tree<Integer, Integer> snapshotAndUpdate() {
+		Tree<Integer, Integer> view;
+		if (tree instanceof PersistentTree<Integer, Integer> persistent) {
+			view = persistent.snapshot();
+		} else {
+			BinarySearchTree<Integer, Integer> copy = (BinarySearchTree<Integer, Integer>) implementation.create();
+			copy.loadSorted(tree.inorderIterator());
+			view = copy;
+		}
+		Integer key = keys[cursor++ & TreeState.ACCESS_MASK];
+		tree.put(key, cursor);
+		return view;
+	}
+}
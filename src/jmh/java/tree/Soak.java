@@ -0,0 +1,62 @@
+package tree;
+
+import java.util.Random;
+
+/**
+ * Long runs of interleaved inserts and deletes at a steady size: every step removes a random present
+ * key and adds a random absent one. The height of each tree is printed as the run goes, next to
+ * log2(n) and the AVL bound of about 1.44·log2(n).
+ *
+ * <pre>./gradlew soak -Psoak.args="1000000 20000000"</pre>
+ */
+public class Soak {
+
+	private static final Implementation[] IMPLEMENTATIONS = {
+		Implementation.AVL_TREE, Implementation.RED_BLACK_TREE, Implementation.TREAP
+	};
+	private static final int REPORTS = 10;
+
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+		long steps = args.length > 1 ? Long.parseLong(args[1]) : 10_000_000L;
+		double log2 = Math.log(size) / Math.log(2);
+		System.out.printf("size=%d, steps=%d, log2(n)=%.1f, 1.44*log2(n)=%.1f%n", size, steps, log2, 1.4405 * log2);
+
+		for (Implementation implementation : IMPLEMENTATIONS) {
+			BinarySearchTree<Integer, Integer> tree = (BinarySearchTree<Integer, Integer>) implementation.create();
+			Random random = new Random(42);
+			// keys are drawn from four times the size, and present[] holds exactly the keys in the tree
+			int range = size << 2;
+			int[] present = new int[size];
+			for (int i = 0; i < size; ) {
+				int key = random.nextInt(range);
+				if (tree.add(key, key))
+					present[i++] = key;
+			}
+
+			long start = System.nanoTime();
+			for (long step = 1; step <= steps; ++step) {
+				int slot = random.nextInt(size);
+				tree.remove(present[slot]);
+				int key;
+				do {
+					key = random.nextInt(range);
+				} while (!tree.add(key, key));
+				present[slot] = key;
+
+				if (step % (steps / REPORTS) == 0) {
+					System.out.printf("- %-16s: steps=%,12d, height=%3d, height/log2(n)=%.2f%n",
+						implementation.name(), step, height(tree.root), height(tree.root) / log2);
+				}
+			}
+			double seconds = (System.nanoTime() - start) / 1e9;
+			System.out.printf("- %-16s: %.0f ns/step%n", implementation.name(), seconds * 1e9 / steps);
+		}
+	}
+
+	private static int height(BinarySearchTree.TreeNode<?, ?> node) {
+		if (node == null)
+			return 0;
+		return Math.max(height(node.left), height(node.right)) + 1;
+	}
+}
@@ -0,0 +1,71 @@
+package tree;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Moving the upper half of a tree into another tree and back, as when a key range is handed to a
+ * neighbouring shard: {@code split} and {@code join} against removing and re-adding each key.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Thread)
+public class SplitJoinBenchmark {
+
+	@Param({"AVL_TREE", "ORDER_STATISTIC_AVL_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"100000", "10000000"})
+	public int size;
+
+	private BinarySearchTree<Integer, Integer> tree;
+	private Integer middle;
+
+	@Setup(Level.Trial)
+	public void setUpTree() {
+		tree = (BinarySearchTree<Integer, Integer>) implementation.create();
+		for (int key : Workload.RANDOM.insertionOrder(size, new Random(42))) {
+			tree.add(key, key);
+		}
+		middle = size;
+	}
+
+	@Benchmark
+	public BinarySearchTree<Integer, Integer> splitJoin() {
+		if (tree instanceof Treap<Integer, Integer> treap) {
+			tree = Treap.join(treap, treap.split(middle));
+		} else {
+			AVLTree<Integer, Integer> avlTree = (AVLTree<Integer, Integer>) tree;
+			tree = AVLTree.join(avlTree, avlTree.split(middle));
+		}
+		return tree;
+	}
+
+	@Benchmark
+	public BinarySearchTree<Integer, Integer> removeAdd() {
+		BinarySearchTree<Integer, Integer> upper = (BinarySearchTree<Integer, Integer>) implementation.create();
+		for (int key = middle; key < 2 * size; key += 2) {
+			upper.add(key, tree.remove(key));
+		}
+		for (int key = middle; key < 2 * size; key += 2) {
+			tree.add(key, upper.remove(key));
+		}
+		return tree;
+	}
+}
@@ -0,0 +1,88 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Every method of the wrapped tree under one monitor, the simplest thread-safe baseline for
+ * {@link Trees#concurrent(Tree)}. Iterators walk a copy taken under the monitor.
+ */
+class SynchronizedTree<K, V> implements Tree<K, V> {
+
+	private final Tree<K, V> tree;
+
+	SynchronizedTree(Tree<K, V> tree) {
+		this.tree = tree;
+	}
+
+	@Override
+	public synchronized int size() {
+		return tree.size();
+	}
+
+	@Override
+	public synchronized void clear() {
+		tree.clear();
+	}
+
+	@Override
+	public synchronized boolean add(K key, V value) {
+		return tree.add(key, value);
+	}
+
+	@Override
+	public synchronized boolean contains(K key) {
+		return tree.contains(key);
+	}
+
+	@Override
+	public synchronized V get(K key) {
+		return tree.get(key);
+	}
+
+	@Override
+	public synchronized V remove(K key) {
+		return tree.remove(key);
+	}
+
+	@Override
+	public synchronized List<Entry<K, V>> preorder() {
+		return tree.preorder();
+	}
+
+	@Override
+	public synchronized List<Entry<K, V>> inorder() {
+		return tree.inorder();
+	}
+
+	@Override
+	public synchronized List<Entry<K, V>> postorder() {
+		return tree.postorder();
+	}
+
+	@Override
+	public synchronized List<Entry<K, V>> levelOrder() {
+		return tree.levelOrder();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return new ArrayList<>(preorder()).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new ArrayList<>(inorder()).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return new ArrayList<>(postorder()).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return new ArrayList<>(levelOrder()).iterator();
+	}
+}
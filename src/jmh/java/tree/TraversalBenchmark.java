@@ -0,0 +1,70 @@
+package tree;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-Xss64m"})
+public class TraversalBenchmark {
+
+	private static final int PREFIX = 100;
+
+	@Benchmark
+	public List<Tree.Entry<Integer, Integer>> preorder(TreeState state) {
+		return state.tree.preorder();
+	}
+
+	@Benchmark
+	public List<Tree.Entry<Integer, Integer>> inorder(TreeState state) {
+		return state.tree.inorder();
+	}
+
+	@Benchmark
+	public List<Tree.Entry<Integer, Integer>> postorder(TreeState state) {
+		return state.tree.postorder();
+	}
+
+	@Benchmark
+	public List<Tree.Entry<Integer, Integer>> levelOrder(TreeState state) {
+		return state.tree.levelOrder();
+	}
+
+	@Benchmark
+	public void inorderIterator(TreeState state, Blackhole blackhole) {
+		state.tree.inorderIterator().forEachRemaining(blackhole::consume);
+	}
+
+	@Benchmark
+	public void levelOrderIterator(TreeState state, Blackhole blackhole) {
+		state.tree.levelOrderIterator().forEachRemaining(blackhole::consume);
+	}
+
+	@Benchmark
+	public void inorderPrefix(TreeState state, Blackhole blackhole) {
+		List<Tree.Entry<Integer, Integer>> entries = state.tree.inorder();
+		for (int i = 0; i < PREFIX && i < entries.size(); ++i) {
+			blackhole.consume(entries.get(i));
+		}
+	}
+
+	@Benchmark
+	public void inorderIteratorPrefix(TreeState state, Blackhole blackhole) {
+		Iterator<Tree.Entry<Integer, Integer>> it = state.tree.inorderIterator();
+		for (int i = 0; i < PREFIX && it.hasNext(); ++i) {
+			blackhole.consume(it.next());
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package tree;
+
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A tree of {@code size} entries built once per trial, plus pre-drawn access keys so that
+ * key generation stays outside the measured region. {@code BINARY_SEARCH_TREE} is not in the
+ * default list: on {@code SEQUENTIAL} keys it degenerates into a list, so run it separately with
+ * {@code -p workload=RANDOM,ZIPFIAN} or a small {@code size}.
+ */
+@State(Scope.Thread)
+public class TreeState {
+
+	static final int ACCESS_COUNT = 1 << 16;
+	static final int ACCESS_MASK = ACCESS_COUNT - 1;
+
+	@Param({"TREE_MAP", "AVL_TREE", "ARRAY_AVL_TREE", "RED_BLACK_TREE", "SPLAY_TREE", "TREAP"})
+	public Implementation implementation;
+
+	@Param({"RANDOM", "SEQUENTIAL", "ZIPFIAN"})
+	public Workload workload;
+
+	@Param({"1000", "100000", "10000000"})
+	public int size;
+
+	Tree<Integer, Integer> tree;
+	Integer[] hits;
+	Integer[] misses;
+	int cursor;
+
+	@Setup(Level.Trial)
+	public void setUpTree() {
+		Random random = new Random(42);
+		tree = implementation.create();
+		for (int key : workload.insertionOrder(size, random)) {
+			tree.add(key, key);
+		}
+		hits = box(workload.accessOrder(size, ACCESS_COUNT, 0, random));
+		misses = box(workload.accessOrder(size, ACCESS_COUNT, 1, random));
+	}
+
+	Integer nextHit() {
+		return hits[cursor++ & ACCESS_MASK];
+	}
+
+	Integer nextMiss() {
+		return misses[cursor++ & ACCESS_MASK];
+	}
+
+	static Integer[] box(int[] keys) {
+		Integer[] boxed = new Integer[keys.length];
+		for (int i = 0; i < keys.length; ++i) {
+			boxed[i] = keys[i];
+		}
+		return boxed;
+	}
+}
@@ -0,0 +1,47 @@
+package tree;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Counter updates on present keys: the {@code get}, {@code remove}, {@code add} sequence that callers
+ * had to use before the map-style operations, against {@code merge} and {@code compute} in one descent.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class UpsertBenchmark {
+
+	@Benchmark
+	public boolean getRemoveAdd(TreeState state) {
+		Integer key = state.nextHit();
+		Integer count = state.tree.get(key);
+		state.tree.remove(key);
+		return state.tree.add(key, count + 1);
+	}
+
+	@Benchmark
+	public Integer merge(TreeState state) {
+		return state.tree.merge(state.nextHit(), 1, Integer::sum);
+	}
+
+	@Benchmark
+	public Integer compute(TreeState state) {
+		return state.tree.compute(state.nextHit(), (key, count) -> count == null ? 1 : count + 1);
+	}
+
+	@Benchmark
+	public Integer put(TreeState state) {
+		Integer key = state.nextHit();
+		return state.tree.put(key, key);
+	}
+}
@@ -0,0 +1,97 @@
+package tree;
+
+import java.util.Random;
+
+/**
+ * Key distributions. Trees hold the even keys {@code 0, 2, ..., 2(size-1)}; odd keys are
+ * guaranteed misses, which write benchmarks use as fresh keys to insert.
+ */
+public enum Workload {
+	/** Keys inserted and accessed in uniformly random order. */
+	RANDOM,
+	/** Keys inserted and accessed in ascending order; degenerates an unbalanced BST into a list. */
+	SEQUENTIAL,
+	/** Keys inserted in random order, accessed with a Zipfian (theta = 0.99) skew. */
+	ZIPFIAN;
+
+	private static final double ZIPF_THETA = 0.99;
+
+	/** Present keys in insertion order. */
+	public int[] insertionOrder(int size, Random random) {
+		int[] keys = new int[size];
+		for (int i = 0; i < size; ++i) {
+			keys[i] = i * 2;
+		}
+		if (this != SEQUENTIAL) {
+			shuffle(keys, random);
+		}
+		return keys;
+	}
+
+	/** {@code count} keys drawn from {@code 2 * size + offset} for {@code offset} 0 (hits) or 1 (misses). */
+	public int[] accessOrder(int size, int count, int offset, Random random) {
+		int[] keys = new int[count];
+		switch (this) {
+			case RANDOM -> {
+				for (int i = 0; i < count; ++i) {
+					keys[i] = random.nextInt(size) * 2 + offset;
+				}
+			}
+			case SEQUENTIAL -> {
+				for (int i = 0; i < count; ++i) {
+					keys[i] = (i % size) * 2 + offset;
+				}
+			}
+			case ZIPFIAN -> {
+				// hot ranks are scattered over the key space instead of clustering at the smallest keys
+				int[] rankToKey = insertionOrder(size, random);
+				Zipf zipf = new Zipf(size, ZIPF_THETA);
+				for (int i = 0; i < count; ++i) {
+					keys[i] = rankToKey[zipf.next(random)] + offset;
+				}
+			}
+		}
+		return keys;
+	}
+
+	private static void shuffle(int[] arr, Random random) {
+		for (int i = arr.length - 1; i > 0; --i) {
+			int j = random.nextInt(i + 1);
+			int tmp = arr[i];
+			arr[i] = arr[j];
+			arr[j] = tmp;
+		}
+	}
+
+	/** Gray et al., "Quickly Generating Billion-Record Synthetic Databases". */
+	private static class Zipf {
+		private final int n;
+		private final double theta, alpha, zetan, eta;
+
+		Zipf(int n, double theta) {
+			this.n = n;
+			this.theta = theta;
+			this.alpha = 1.0 / (1.0 - theta);
+			this.zetan = zeta(n, theta);
+			this.eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta(2, theta) / zetan);
+		}
+
+		int next(Random random) {
+			double u = random.nextDouble();
+			double uz = u * zetan;
+			if (uz < 1.0)
+				return 0;
+			if (uz < 1.0 + Math.pow(0.5, theta))
+				return Math.min(1, n - 1);
+			return Math.min((int) (n * Math.pow(eta * u - eta + 1, alpha)), n - 1);
+		}
+
+		private static double zeta(int n, double theta) {
+			double sum = 0;
+			for (int i = 1; i <= n; ++i) {
+				sum += 1 / Math.pow(i, theta);
+			}
+			return sum;
+		}
+	}
+}
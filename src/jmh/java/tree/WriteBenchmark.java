@@ -0,0 +1,82 @@
+package tree;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Single-key inserts and deletes, {@value #BATCH} per invocation. The batch is undone in an
+ * invocation-level teardown, outside the measured region, so the tree stays at {@code size}
+ * entries for the whole run; batching spreads the cost of timing each invocation over as many
+ * operations.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class WriteBenchmark {
+
+	static final int BATCH = 100;
+
+	// undoes on the tree the benchmark used: a state parameter of the teardown would be another instance
+	@State(Scope.Thread)
+	public static class Undo {
+		Tree<Integer, Integer> tree;
+		final Integer[] added = new Integer[BATCH];
+		final Integer[] removed = new Integer[BATCH];
+		int addedCount;
+		int removedCount;
+
+		@TearDown(Level.Invocation)
+		public void undo() {
+			for (int i = 0; i < addedCount; ++i) {
+				tree.remove(added[i]);
+			}
+			for (int i = 0; i < removedCount; ++i) {
+				tree.add(removed[i], removed[i]);
+			}
+			addedCount = 0;
+			removedCount = 0;
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int add(TreeState state, Undo undo) {
+		undo.tree = state.tree;
+		int added = 0;
+		for (int i = 0; i < BATCH; ++i) {
+			Integer key = state.nextMiss();
+			undo.added[undo.addedCount++] = key;
+			if (state.tree.add(key, key))
+				++added;
+		}
+		return added;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public int remove(TreeState state, Undo undo) {
+		undo.tree = state.tree;
+		int removed = 0;
+		for (int i = 0; i < BATCH; ++i) {
+			Integer key = state.nextHit();
+			undo.removed[undo.removedCount++] = key;
+			if (state.tree.remove(key) != null)
+				++removed;
+		}
+		return removed;
+	}
+}
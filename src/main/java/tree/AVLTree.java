@@ -0,0 +1,432 @@
+package tree;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.LongAdder;
+
+public class AVLTree<K, V> extends BinarySearchTree<K, V> {
+
+	// a subtree this high holds at least fib(PARALLEL_HEIGHT + 3) - 1 = 609 nodes, at most 8191
+	private static final int PARALLEL_HEIGHT = 12;
+
+	private final boolean orderStatistics;
+
+	public AVLTree() {
+		this(null);
+	}
+
+	public AVLTree(Comparator<? super K> comparator) {
+		this(comparator, false);
+	}
+
+	/**
+	 * @param orderStatistics keep subtree sizes in the nodes, which {@link #select(int)},
+	 *                        {@link #rank(Object)} and {@link #countInRange(Object, Object)} need.
+	 *                        It costs an int per node and a walk to the root on every insert and delete.
+	 */
+	public AVLTree(Comparator<? super K> comparator, boolean orderStatistics) {
+		super(comparator);
+		this.orderStatistics = orderStatistics;
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		Update<K, V> update = new Update<>(true, (k, oldValue) -> value);
+		update(key, update);
+		return !update.present;
+	}
+
+	@Override
+	public V remove(K key) {
+		Update<K, V> update = new Update<>(false, (k, oldValue) -> null);
+		update(key, update);
+		return update.oldValue;
+	}
+
+	/**
+	 * Returns the entry with the k-th smallest key, counting from 0.
+	 *
+	 * @throws IndexOutOfBoundsException if k is negative or not less than {@link #size()}
+	 * @throws UnsupportedOperationException if the tree was not built with order statistics
+	 */
+	public Entry<K, V> select(int k) {
+		requireOrderStatistics();
+		return selectNode(k);
+	}
+
+	/**
+	 * Returns the number of keys smaller than key.
+	 *
+	 * @throws UnsupportedOperationException if the tree was not built with order statistics
+	 */
+	public int rank(K key) {
+		requireOrderStatistics();
+		return rankOf(key, false);
+	}
+
+	/**
+	 * Returns the number of keys from lo to hi, both inclusive.
+	 *
+	 * @throws UnsupportedOperationException if the tree was not built with order statistics
+	 */
+	public int countInRange(K lo, K hi) {
+		requireOrderStatistics();
+		int below = rankOf(lo, false);
+		return Math.max(0, rankOf(hi, true) - below);
+	}
+
+	/**
+	 * Moves the entries with keys from key upwards into a new tree and returns it; this tree keeps the
+	 * smaller keys. The split is O(log n); without order statistics the moved entries are counted to
+	 * keep both sizes, which makes it O(log n + k) for k moved entries.
+	 */
+	public AVLTree<K, V> split(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		Parts<K, V> parts = split(root, key, false);
+		AVLTree<K, V> upper = new AVLTree<>(comparator, orderStatistics);
+		upper.root = parts.above();
+		if (upper.root != null) {
+			upper.root.parent = null;
+			upper.size = orderStatistics ? sizeOf(upper.root) : count(upper.root);
+		}
+		root = parts.below();
+		if (root != null)
+			root.parent = null;
+		size -= upper.size;
+		return upper;
+	}
+
+	/**
+	 * Moves the entries of both trees into a new one, ordered by the comparator of left, and leaves
+	 * them empty. O(log n).
+	 *
+	 * @throws IllegalArgumentException if a key of left is not smaller than every key of right, or
+	 *                                  only one of the trees keeps order statistics
+	 */
+	public static <K, V> AVLTree<K, V> join(AVLTree<K, V> left, AVLTree<K, V> right) {
+		if (left.orderStatistics != right.orderStatistics)
+			throw new IllegalArgumentException("only one of the trees keeps order statistics");
+		Entry<K, V> last = left.lastEntry();
+		Entry<K, V> first = right.firstEntry();
+		if (last != null && first != null && left.compare(last.getKey(), first.getKey()) >= 0)
+			throw new IllegalArgumentException("keys are not ordered: " + last.getKey() + ", " + first.getKey());
+
+		AVLTree<K, V> joined = new AVLTree<>(left.comparator, left.orderStatistics);
+		joined.root = left.join(left.root, right.root);
+		if (joined.root != null)
+			joined.root.parent = null;
+		joined.size = left.size + right.size;
+		left.clear();
+		right.clear();
+		return joined;
+	}
+
+	/**
+	 * Returns a tree of the keys in a or b, computed in parallel; on keys in both the value of a is
+	 * kept. The nodes of a and b are reused, so both are left empty.
+	 *
+	 * @throws IllegalArgumentException if only one of the trees keeps order statistics
+	 */
+	public static <K, V> AVLTree<K, V> union(AVLTree<K, V> a, AVLTree<K, V> b) {
+		return combine(SetOperation.UNION, a, b);
+	}
+
+	/**
+	 * Returns a tree of the keys in both a and b with the values of a, computed in parallel. Both
+	 * are left empty.
+	 *
+	 * @throws IllegalArgumentException if only one of the trees keeps order statistics
+	 */
+	public static <K, V> AVLTree<K, V> intersection(AVLTree<K, V> a, AVLTree<K, V> b) {
+		return combine(SetOperation.INTERSECTION, a, b);
+	}
+
+	/**
+	 * Returns a tree of the keys in a that are not in b, computed in parallel. Both are left empty.
+	 *
+	 * @throws IllegalArgumentException if only one of the trees keeps order statistics
+	 */
+	public static <K, V> AVLTree<K, V> difference(AVLTree<K, V> a, AVLTree<K, V> b) {
+		return combine(SetOperation.DIFFERENCE, a, b);
+	}
+
+	private static <K, V> AVLTree<K, V> combine(SetOperation operation, AVLTree<K, V> a, AVLTree<K, V> b) {
+		if (a.orderStatistics != b.orderStatistics)
+			throw new IllegalArgumentException("only one of the trees keeps order statistics");
+
+		LongAdder matches = new LongAdder();
+		AVLTree<K, V> result = new AVLTree<>(a.comparator, a.orderStatistics);
+		result.root = a.combine(operation, a.root, b.root, matches);
+		if (result.root != null)
+			result.root.parent = null;
+		int matched = matches.intValue();
+		result.size = switch (operation) {
+			case UNION -> a.size + b.size - matched;
+			case INTERSECTION -> matched;
+			case DIFFERENCE -> a.size - matched;
+		};
+		a.clear();
+		b.clear();
+		return result;
+	}
+
+	// each node on the search path is joined back onto the side it belongs to, with its other subtree;
+	// the height differences of those joins add up to O(log n)
+	// when excluding, a node holding key is left out of both parts and returned as the match
+	private Parts<K, V> split(TreeNode<K, V> node, K key, boolean excluding) {
+		if (node == null)
+			return new Parts<>(null, null, null);
+
+		TreeNode<K, V> left = node.left;
+		TreeNode<K, V> right = node.right;
+		int comp = compare(key, node.key);
+		if (comp == 0 && excluding)
+			return new Parts<>(left, node, right);
+		if (comp <= 0) {
+			Parts<K, V> parts = split(left, key, excluding);
+			return new Parts<>(parts.below(), parts.match(), join(parts.above(), node, right));
+		}
+		Parts<K, V> parts = split(right, key, excluding);
+		return new Parts<>(join(left, node, parts.below()), parts.match(), parts.above());
+	}
+
+	/**
+	 * One step of a set operation: the other tree is split around the key of the root of a, the
+	 * halves are combined recursively and joined back with the root of a if its key belongs in the
+	 * result. The work is O(m log(n/m + 1)) for trees of sizes m <= n. When parallel, halves whose
+	 * root in a is at least PARALLEL_HEIGHT high are combined as fork-join tasks.
+	 *
+	 * <p>On keys in both trees the value of a is kept. The keys found in both are counted in matches,
+	 * which gives the size of the result.
+	 */
+	private TreeNode<K, V> combine(SetOperation operation, TreeNode<K, V> a, TreeNode<K, V> b, LongAdder matches) {
+		if (a == null)
+			return operation == SetOperation.UNION ? b : null;
+		if (b == null)
+			return operation == SetOperation.INTERSECTION ? null : a;
+
+		Parts<K, V> parts = split(b, a.key, true);
+		TreeNode<K, V> aLeft = a.left;
+		TreeNode<K, V> aRight = a.right;
+		TreeNode<K, V> left, right;
+		if (height(a) >= PARALLEL_HEIGHT) {
+			ForkJoinTask<TreeNode<K, V>> leftTask = ForkJoinTask.adapt(() -> combine(operation, aLeft, parts.below(), matches)).fork();
+			right = combine(operation, aRight, parts.above(), matches);
+			left = leftTask.join();
+		} else {
+			left = combine(operation, aLeft, parts.below(), matches);
+			right = combine(operation, aRight, parts.above(), matches);
+		}
+
+		boolean match = parts.match() != null;
+		if (match)
+			matches.increment();
+		boolean keep = switch (operation) {
+			case UNION -> true;
+			case INTERSECTION -> match;
+			case DIFFERENCE -> !match;
+		};
+		return keep ? join(left, a, right) : join(left, right);
+	}
+
+	private int count(TreeNode<K, V> node) {
+		int count = 0;
+		while (node != null) {
+			count += count(node.left) + 1;
+			node = node.right;
+		}
+		return count;
+	}
+
+	@Override
+	protected int sizeOf(TreeNode<K, V> node) {
+		requireOrderStatistics();
+		return node == null ? 0 : ((SizedAVLTreeNode<K, V>) node).size;
+	}
+
+	private void requireOrderStatistics() {
+		if (!orderStatistics)
+			throw new UnsupportedOperationException("order statistics are not enabled");
+	}
+
+	@Override
+	protected TreeNode<K, V> attach(TreeNode<K, V> parent, int comp, K key, V value) {
+		TreeNode<K, V> node = super.attach(parent, comp, key, value);
+		retrace(parent);
+		return node;
+	}
+
+	@Override
+	protected void delete(TreeNode<K, V> node) {
+		TreeNode<K, V> retraceFrom;
+		if (node.left != null && node.right != null) {
+			// the successor moves into node's place, so it takes over node's height; the retrace
+			// starts where the successor was unlinked
+			TreeNode<K, V> successor = successor(node);
+			((AVLTreeNode<K, V>) successor).height = height(node);
+			retraceFrom = successor == node.right ? successor : successor.parent;
+		} else {
+			retraceFrom = node.parent;
+		}
+		super.delete(node);
+		retrace(retraceFrom);
+	}
+
+	/**
+	 * Walks up the parent pointers from {@code node}, updating heights and rotating where the balance
+	 * is off, and stops at the first subtree whose height is unchanged. With order statistics every
+	 * ancestor's size changed too, so the walk goes on to the root.
+	 */
+	private void retrace(TreeNode<K, V> node) {
+		while (node != null) {
+			TreeNode<K, V> parent = node.parent;
+			int oldHeight = height(node);
+			TreeNode<K, V> subtree = rebalance(node);
+			if (subtree != node) {
+				if (parent == null) {
+					root = subtree;
+					subtree.parent = null;
+				} else if (parent.left == node) {
+					parent.setLeft(subtree);
+				} else {
+					parent.setRight(subtree);
+				}
+			}
+			if (height(subtree) == oldHeight && !orderStatistics)
+				return;
+			node = parent;
+		}
+	}
+
+	@Override
+	protected TreeNode<K, V> newNode(K key, V value) {
+		return orderStatistics ? new SizedAVLTreeNode<>(key, value) : new AVLTreeNode<>(key, value);
+	}
+
+	@Override
+	protected void loaded(TreeNode<K, V> node, int depth, int count) {
+		heightUpdate(node);
+	}
+
+	// the height is O(log n), so batches take the single-descent merge
+	@Override
+	public boolean addAll(Collection<? extends Entry<K, V>> entries) {
+		return addAllByJoin(entries);
+	}
+
+	@Override
+	public boolean removeAll(Collection<? extends K> keys) {
+		return removeAllByJoin(keys);
+	}
+
+	// the taller side is descended until the heights are within one, then rebalanced on the way back
+	@Override
+	protected TreeNode<K, V> join(TreeNode<K, V> left, TreeNode<K, V> node, TreeNode<K, V> right) {
+		int leftHeight = height(left);
+		int rightHeight = height(right);
+		if (leftHeight > rightHeight + 1) {
+			left.setRight(join(left.right, node, right));
+			return rebalance(left);
+		}
+		if (rightHeight > leftHeight + 1) {
+			right.setLeft(join(left, node, right.left));
+			return rebalance(right);
+		}
+		node.setLeft(left);
+		node.setRight(right);
+		heightUpdate(node);
+		return node;
+	}
+
+	private TreeNode<K, V> rebalance(TreeNode<K, V> node) {
+		heightUpdate(node);
+		int balance = getBalance(node);
+		if (balance > 1) {
+			// LR
+			if (height(node.left.left) < height(node.left.right))
+				node.setLeft(leftRotate(node.left));
+			// LL
+			return rightRotate(node);
+		}
+		if (balance < -1) {
+			// RL
+			if (height(node.right.right) < height(node.right.left))
+				node.setRight(rightRotate(node.right));
+			// RR
+			return leftRotate(node);
+		}
+		return node;
+	}
+
+	private int getBalance(TreeNode<K, V> node) {
+		if (node == null)
+			return 0;
+		return height(node.left) - height(node.right);
+	}
+
+	private TreeNode<K, V> leftRotate(TreeNode<K, V> parentNode) {
+		TreeNode<K, V> newParentNode = parentNode.right;
+		TreeNode<K, V> T2 = newParentNode.left;
+
+		newParentNode.setLeft(parentNode);
+		parentNode.setRight(T2);
+
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+
+		return newParentNode;
+	}
+
+	private TreeNode<K, V> rightRotate(TreeNode<K, V> parentNode) {
+		TreeNode<K, V> newParentNode = parentNode.left;
+		TreeNode<K, V> T2 = newParentNode.right;
+
+		newParentNode.setRight(parentNode);
+		parentNode.setLeft(T2);
+
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+
+		return newParentNode;
+	}
+
+	// sizes are kept wherever heights are, both being computed from the children
+	private void heightUpdate(TreeNode<K, V> node) {
+		if (node instanceof AVLTreeNode<K, V> avlNode) {
+			avlNode.height = Math.max(height(node.left),height(node.right)) + 1;
+		}
+		if (node instanceof SizedAVLTreeNode<K, V> sizedNode) {
+			sizedNode.size = sizeOf(node.left) + sizeOf(node.right) + 1;
+		}
+	}
+
+	private int height(TreeNode<K, V> node) {
+		if (node instanceof AVLTreeNode<K, V>)
+			return ((AVLTreeNode<K, V>) node).height;
+		return -1;
+	}
+
+	private record Parts<K, V>(TreeNode<K, V> below, TreeNode<K, V> match, TreeNode<K, V> above) {
+	}
+
+	private static class AVLTreeNode<K, V> extends TreeNode<K, V> {
+		int height;
+
+		AVLTreeNode(K key, V value) {
+			super(key, value);
+			this.height = 0;
+		}
+	}
+
+	private static class SizedAVLTreeNode<K, V> extends AVLTreeNode<K, V> {
+		int size;
+
+		SizedAVLTreeNode(K key, V value) {
+			super(key, value);
+			this.size = 1;
+		}
+	}
+}
@@ -0,0 +1,399 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * AVL tree stored as parallel arrays indexed by node number instead of one heap object per node.
+ * Removed slots are chained into a free list through {@code left[]} and reused by later inserts.
+ */
+public class ArrayAVLTree<K, V> implements Tree<K, V> {
+
+	private static final int NIL = -1;
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final Comparator<? super K> comparator;
+	private Object[] keys;
+	private Object[] values;
+	private int[] left;
+	private int[] right;
+	private byte[] height;
+
+	private int size;
+	private int root = NIL;
+	private int freeHead = NIL;
+	private int used;
+	private int removed = NIL;
+
+	public ArrayAVLTree() {
+		this(null, DEFAULT_CAPACITY);
+	}
+
+	public ArrayAVLTree(Comparator<? super K> comparator) {
+		this(comparator, DEFAULT_CAPACITY);
+	}
+
+	public ArrayAVLTree(Comparator<? super K> comparator, int initialCapacity) {
+		if (initialCapacity < 1)
+			throw new IllegalArgumentException("initialCapacity must be positive: " + initialCapacity);
+		this.comparator = comparator;
+		keys = new Object[initialCapacity];
+		values = new Object[initialCapacity];
+		left = new int[initialCapacity];
+		right = new int[initialCapacity];
+		height = new byte[initialCapacity];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(keys, 0, used, null);
+		Arrays.fill(values, 0, used, null);
+		root = NIL;
+		freeHead = NIL;
+		used = 0;
+		size = 0;
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+
+		int oldSize = size;
+		root = add(root, key, value);
+		return size != oldSize;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		if (key == null)
+			throw new NullPointerException();
+		return getNode(key) != NIL;
+	}
+
+	@Override
+	public V get(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		int find = getNode(key);
+		return find == NIL ? null : value(find);
+	}
+
+	@Override
+	public V remove(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		root = delete(root, key);
+		if (removed == NIL)
+			return null;
+
+		V oldValue = value(removed);
+		free(removed);
+		removed = NIL;
+		--size;
+		return oldValue;
+	}
+
+	private int getNode(K key) {
+		int p = root;
+		while (p != NIL) {
+			int comp = compare(key, key(p));
+			if (comp < 0) {
+				p = left[p];
+			} else if (comp > 0) {
+				p = right[p];
+			} else {
+				return p;
+			}
+		}
+		return NIL;
+	}
+
+	private int add(int node, K key, V value) {
+		if (node == NIL) {
+			++size;
+			return allocate(key, value);
+		}
+
+		// the child is read into a local first: allocate() may grow and replace the arrays
+		int comp = compare(key, key(node));
+		if (comp < 0) {
+			int child = add(left[node], key, value);
+			left[node] = child;
+		} else if (comp > 0) {
+			int child = add(right[node], key, value);
+			right[node] = child;
+		} else {
+			return node;
+		}
+		return rebalance(node);
+	}
+
+	private int delete(int node, K key) {
+		if (node == NIL)
+			return NIL;
+
+		int comp = compare(key, key(node));
+		if (comp < 0) {
+			left[node] = delete(left[node], key);
+		} else if (comp > 0) {
+			right[node] = delete(right[node], key);
+		} else {
+			removed = node;
+			if (left[node] == NIL)
+				return right[node];
+			if (right[node] == NIL)
+				return left[node];
+
+			// Node has two children, the successor node takes its place
+			int successor = right[node];
+			while (left[successor] != NIL) {
+				successor = left[successor];
+			}
+			right[successor] = deleteMin(right[node]);
+			left[successor] = left[node];
+			node = successor;
+		}
+		return rebalance(node);
+	}
+
+	private int deleteMin(int node) {
+		if (left[node] == NIL)
+			return right[node];
+		left[node] = deleteMin(left[node]);
+		return rebalance(node);
+	}
+
+	private int rebalance(int node) {
+		heightUpdate(node);
+		int balance = height(left[node]) - height(right[node]);
+		if (balance > 1) {
+			// LR
+			if (height(left[left[node]]) < height(right[left[node]]))
+				left[node] = leftRotate(left[node]);
+			// LL
+			return rightRotate(node);
+		}
+		if (balance < -1) {
+			// RL
+			if (height(right[right[node]]) < height(left[right[node]]))
+				right[node] = rightRotate(right[node]);
+			// RR
+			return leftRotate(node);
+		}
+		return node;
+	}
+
+	private int leftRotate(int parentNode) {
+		int newParentNode = right[parentNode];
+		right[parentNode] = left[newParentNode];
+		left[newParentNode] = parentNode;
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+		return newParentNode;
+	}
+
+	private int rightRotate(int parentNode) {
+		int newParentNode = left[parentNode];
+		left[parentNode] = right[newParentNode];
+		right[newParentNode] = parentNode;
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+		return newParentNode;
+	}
+
+	private void heightUpdate(int node) {
+		height[node] = (byte) (Math.max(height(left[node]), height(right[node])) + 1);
+	}
+
+	private int height(int node) {
+		return node == NIL ? -1 : height[node];
+	}
+
+	private int allocate(K key, V value) {
+		int node;
+		if (freeHead != NIL) {
+			node = freeHead;
+			freeHead = left[node];
+		} else {
+			if (used == keys.length)
+				grow();
+			node = used++;
+		}
+		keys[node] = key;
+		values[node] = value;
+		left[node] = NIL;
+		right[node] = NIL;
+		height[node] = 0;
+		return node;
+	}
+
+	private void free(int node) {
+		keys[node] = null;
+		values[node] = null;
+		left[node] = freeHead;
+		freeHead = node;
+	}
+
+	private void grow() {
+		int capacity = keys.length << 1;
+		if (capacity < 0)
+			capacity = Integer.MAX_VALUE - 8;
+		keys = Arrays.copyOf(keys, capacity);
+		values = Arrays.copyOf(values, capacity);
+		left = Arrays.copyOf(left, capacity);
+		right = Arrays.copyOf(right, capacity);
+		height = Arrays.copyOf(height, capacity);
+	}
+
+	private K key(int node) {
+		return (K) keys[node];
+	}
+
+	private V value(int node) {
+		return (V) values[node];
+	}
+
+	private int compare(K k1, K k2) {
+		if (comparator != null)
+			return comparator.compare(k1, k2);
+		return ((Comparable<? super K>) k1).compareTo(k2);
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		List<Entry<K, V>> result = new ArrayList<>(size);
+		traversePreorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		List<Entry<K, V>> result = new ArrayList<>(size);
+		traverseInorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		List<Entry<K, V>> result = new ArrayList<>(size);
+		traversePostorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		List<Entry<K, V>> result = new ArrayList<>(size);
+		if (root == NIL)
+			return result;
+
+		int[] queue = new int[size];
+		int head = 0, tail = 0;
+		queue[tail++] = root;
+		while (head < tail) {
+			int curr = queue[head++];
+			result.add(entry(curr));
+			if (left[curr] != NIL)
+				queue[tail++] = left[curr];
+			if (right[curr] != NIL)
+				queue[tail++] = right[curr];
+		}
+		return result;
+	}
+
+	private void traversePreorder(int node, List<Entry<K, V>> result) {
+		if (node == NIL)
+			return;
+		result.add(entry(node));
+		traversePreorder(left[node], result);
+		traversePreorder(right[node], result);
+	}
+
+	private void traverseInorder(int node, List<Entry<K, V>> result) {
+		if (node == NIL)
+			return;
+		traverseInorder(left[node], result);
+		result.add(entry(node));
+		traverseInorder(right[node], result);
+	}
+
+	private void traversePostorder(int node, List<Entry<K, V>> result) {
+		if (node == NIL)
+			return;
+		traversePostorder(left[node], result);
+		traversePostorder(right[node], result);
+		result.add(entry(node));
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return new IndexTreeIterator(Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new IndexTreeIterator(Traversal.INORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return new IndexTreeIterator(Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return new IndexTreeIterator(Traversal.LEVEL_ORDER);
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	private class IndexTreeIterator extends IndexIterator<K, V> {
+		IndexTreeIterator(Traversal order) {
+			super(root, order);
+		}
+
+		@Override
+		int left(int node) {
+			return left[node];
+		}
+
+		@Override
+		int right(int node) {
+			return right[node];
+		}
+
+		@Override
+		Entry<K, V> entry(int node) {
+			return ArrayAVLTree.this.entry(node);
+		}
+	}
+
+	private Entry<K, V> entry(int node) {
+		return new ArrayEntry<>(key(node), value(node));
+	}
+
+	private record ArrayEntry<K, V>(K key, V value) implements Entry<K, V> {
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
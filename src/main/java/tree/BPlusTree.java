@@ -0,0 +1,528 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * B+tree with up to {@code fanout} entries per node: the keys of a node sit in one array and are
+ * binary searched, so a lookup touches about log<sub>fanout</sub>(n) nodes instead of log<sub>2</sub>(n).
+ * Entries live in the leaves, which are linked in key order; inner nodes hold separator keys, each
+ * no greater than the keys to its right. Nodes split when they overflow and, when a delete leaves
+ * one less than half full, it takes entries from a sibling or is merged into it.
+ *
+ * <p>All leaves are on the same level, so every traversal order visits the entries in key order.
+ */
+public class BPlusTree<K, V> implements Tree<K, V> {
+
+	static final int DEFAULT_FANOUT = 64;
+	private static final int MIN_FANOUT = 4;
+
+	private final Comparator<? super K> comparator;
+	private final int fanout;
+	// entries (keys in a leaf, children in an inner node) below which a node is rebalanced
+	private final int minimum;
+
+	private int size;
+	private Node root;
+	private Leaf first;
+	// set when inserting into a node split it: the new right sibling and the separator before it
+	private Node split;
+	private Object splitKey;
+	private Object removed;
+
+	public BPlusTree() {
+		this(null, DEFAULT_FANOUT);
+	}
+
+	public BPlusTree(Comparator<? super K> comparator) {
+		this(comparator, DEFAULT_FANOUT);
+	}
+
+	public BPlusTree(Comparator<? super K> comparator, int fanout) {
+		if (fanout < MIN_FANOUT)
+			throw new IllegalArgumentException("fanout must be at least " + MIN_FANOUT + ": " + fanout);
+		this.comparator = comparator;
+		this.fanout = fanout;
+		this.minimum = (fanout + 1) / 2;
+		clear();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		root = first = new Leaf(fanout);
+		size = 0;
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+
+		int oldSize = size;
+		insert(root, key, value, false);
+		grow();
+		return size != oldSize;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		if (key == null)
+			throw new NullPointerException();
+		Leaf leaf = leafOf(key);
+		return search(leaf, key) >= 0;
+	}
+
+	@Override
+	public V get(K key) {
+		if (key == null)
+			throw new NullPointerException();
+		Leaf leaf = leafOf(key);
+		int found = search(leaf, key);
+		return found >= 0 ? (V) leaf.values[found] : null;
+	}
+
+	@Override
+	public V remove(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (!delete(root, key))
+			return null;
+		if (root instanceof Inner inner && inner.count == 0)
+			root = inner.children[0];
+		V oldValue = (V) removed;
+		removed = null;
+		return oldValue;
+	}
+
+	// one descent instead of the default remove and add
+	@Override
+	public V put(K key, V value) {
+		if (key == null || value == null)
+			throw new NullPointerException();
+
+		V oldValue = insert(root, key, value, true);
+		grow();
+		return oldValue;
+	}
+
+	/**
+	 * Iterates over the entries between two bounds in key order; a null bound is open. The
+	 * iterator starts at the leaf of lo and follows the leaf links.
+	 */
+	public Iterator<Entry<K, V>> rangeIterator(K lo, boolean loInclusive, K hi, boolean hiInclusive) {
+		if (lo != null && hi != null && compare(lo, hi) > 0)
+			throw new IllegalArgumentException("lo > hi: " + lo + ", " + hi);
+		if (lo == null)
+			return new LeafIterator(first, 0, hi, hiInclusive);
+
+		Leaf leaf = leafOf(lo);
+		int found = search(leaf, lo);
+		int index = found >= 0 ? (loInclusive ? found : found + 1) : -found - 1;
+		return new LeafIterator(leaf, index, hi, hiInclusive);
+	}
+
+	int height() {
+		int height = 1;
+		for (Node node = root; node instanceof Inner inner; node = inner.children[0]) {
+			++height;
+		}
+		return height;
+	}
+
+	private Leaf leafOf(K key) {
+		Node node = root;
+		while (node instanceof Inner inner) {
+			node = inner.children[childIndex(search(inner, key))];
+		}
+		return (Leaf) node;
+	}
+
+	// index of key in the node, or -(insertion point) - 1
+	private int search(Node node, K key) {
+		Object[] keys = node.keys;
+		int lo = 0;
+		int hi = node.count - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int comp = compare((K) keys[mid], key);
+			if (comp < 0) {
+				lo = mid + 1;
+			} else if (comp > 0) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(lo + 1);
+	}
+
+	// a key equal to a separator belongs to the child right of it
+	private static int childIndex(int found) {
+		return found >= 0 ? found + 1 : -found - 1;
+	}
+
+	private int entries(Node node) {
+		return node instanceof Inner ? node.count + 1 : node.count;
+	}
+
+	private V insert(Node node, K key, V value, boolean replace) {
+		int found = search(node, key);
+		if (node instanceof Inner inner) {
+			int child = childIndex(found);
+			V oldValue = insert(inner.children[child], key, value, replace);
+			if (split != null)
+				insertChild(inner, child, splitKey, split);
+			return oldValue;
+		}
+
+		Leaf leaf = (Leaf) node;
+		if (found >= 0) {
+			V oldValue = (V) leaf.values[found];
+			if (replace)
+				leaf.values[found] = value;
+			return oldValue;
+		}
+		int at = -found - 1;
+		System.arraycopy(leaf.keys, at, leaf.keys, at + 1, leaf.count - at);
+		System.arraycopy(leaf.values, at, leaf.values, at + 1, leaf.count - at);
+		leaf.keys[at] = key;
+		leaf.values[at] = value;
+		++leaf.count;
+		++size;
+		if (leaf.count > fanout)
+			splitLeaf(leaf);
+		return null;
+	}
+
+	// the node arrays have a spare slot, so a node overflows by one entry and is split after
+	private void insertChild(Inner inner, int child, Object key, Node right) {
+		System.arraycopy(inner.keys, child, inner.keys, child + 1, inner.count - child);
+		System.arraycopy(inner.children, child + 1, inner.children, child + 2, inner.count - child);
+		inner.keys[child] = key;
+		inner.children[child + 1] = right;
+		++inner.count;
+		split = null;
+		splitKey = null;
+		if (inner.count + 1 > fanout)
+			splitInner(inner);
+	}
+
+	private void splitLeaf(Leaf leaf) {
+		Leaf right = new Leaf(fanout);
+		int half = leaf.count / 2;
+		right.count = leaf.count - half;
+		System.arraycopy(leaf.keys, half, right.keys, 0, right.count);
+		System.arraycopy(leaf.values, half, right.values, 0, right.count);
+		clear(leaf.keys, half, leaf.count);
+		clear(leaf.values, half, leaf.count);
+		leaf.count = half;
+		right.next = leaf.next;
+		leaf.next = right;
+		split = right;
+		splitKey = right.keys[0];
+	}
+
+	// the middle key moves up to the parent
+	private void splitInner(Inner inner) {
+		Inner right = new Inner(fanout);
+		int mid = inner.count / 2;
+		right.count = inner.count - mid - 1;
+		System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.count);
+		System.arraycopy(inner.children, mid + 1, right.children, 0, right.count + 1);
+		splitKey = inner.keys[mid];
+		clear(inner.keys, mid, inner.count);
+		clear(inner.children, mid + 1, inner.count + 1);
+		inner.count = mid;
+		split = right;
+	}
+
+	private void grow() {
+		if (split == null)
+			return;
+		Inner newRoot = new Inner(fanout);
+		newRoot.keys[0] = splitKey;
+		newRoot.children[0] = root;
+		newRoot.children[1] = split;
+		newRoot.count = 1;
+		root = newRoot;
+		split = null;
+		splitKey = null;
+	}
+
+	// the parent rebalances a child that fell below the minimum; separators of removed keys stay
+	// valid, so they are left alone
+	private boolean delete(Node node, K key) {
+		int found = search(node, key);
+		if (node instanceof Inner inner) {
+			int child = childIndex(found);
+			if (!delete(inner.children[child], key))
+				return false;
+			if (entries(inner.children[child]) < minimum)
+				rebalance(inner, child);
+			return true;
+		}
+
+		Leaf leaf = (Leaf) node;
+		if (found < 0)
+			return false;
+		removed = leaf.values[found];
+		System.arraycopy(leaf.keys, found + 1, leaf.keys, found, leaf.count - found - 1);
+		System.arraycopy(leaf.values, found + 1, leaf.values, found, leaf.count - found - 1);
+		--leaf.count;
+		leaf.keys[leaf.count] = null;
+		leaf.values[leaf.count] = null;
+		--size;
+		return true;
+	}
+
+	// merges the child with a sibling if both fit in one node, otherwise splits their entries evenly
+	private void rebalance(Inner parent, int child) {
+		int left = child > 0 ? child - 1 : child;
+		if (entries(parent.children[left]) + entries(parent.children[left + 1]) <= fanout) {
+			merge(parent, left);
+		} else {
+			redistribute(parent, left);
+		}
+	}
+
+	private void merge(Inner parent, int left) {
+		Node a = parent.children[left];
+		Node b = parent.children[left + 1];
+		if (a instanceof Leaf leaf) {
+			Leaf next = (Leaf) b;
+			System.arraycopy(next.keys, 0, leaf.keys, leaf.count, next.count);
+			System.arraycopy(next.values, 0, leaf.values, leaf.count, next.count);
+			leaf.count += next.count;
+			leaf.next = next.next;
+		} else {
+			Inner inner = (Inner) a;
+			Inner next = (Inner) b;
+			inner.keys[inner.count] = parent.keys[left];
+			System.arraycopy(next.keys, 0, inner.keys, inner.count + 1, next.count);
+			System.arraycopy(next.children, 0, inner.children, inner.count + 1, next.count + 1);
+			inner.count += next.count + 1;
+		}
+
+		System.arraycopy(parent.keys, left + 1, parent.keys, left, parent.count - left - 1);
+		System.arraycopy(parent.children, left + 2, parent.children, left + 1, parent.count - left - 1);
+		--parent.count;
+		parent.keys[parent.count] = null;
+		parent.children[parent.count + 1] = null;
+	}
+
+	private void redistribute(Inner parent, int left) {
+		Node a = parent.children[left];
+		Node b = parent.children[left + 1];
+		int target = (entries(a) + entries(b)) / 2;
+		if (a instanceof Leaf leaf) {
+			Leaf next = (Leaf) b;
+			if (leaf.count < target) {
+				int m = target - leaf.count;
+				System.arraycopy(next.keys, 0, leaf.keys, leaf.count, m);
+				System.arraycopy(next.values, 0, leaf.values, leaf.count, m);
+				System.arraycopy(next.keys, m, next.keys, 0, next.count - m);
+				System.arraycopy(next.values, m, next.values, 0, next.count - m);
+				clear(next.keys, next.count - m, next.count);
+				clear(next.values, next.count - m, next.count);
+				leaf.count += m;
+				next.count -= m;
+			} else {
+				int m = leaf.count - target;
+				System.arraycopy(next.keys, 0, next.keys, m, next.count);
+				System.arraycopy(next.values, 0, next.values, m, next.count);
+				System.arraycopy(leaf.keys, target, next.keys, 0, m);
+				System.arraycopy(leaf.values, target, next.values, 0, m);
+				clear(leaf.keys, target, leaf.count);
+				clear(leaf.values, target, leaf.count);
+				leaf.count -= m;
+				next.count += m;
+			}
+			parent.keys[left] = next.keys[0];
+			return;
+		}
+
+		// the separator in the parent moves down between the two, and another one moves up
+		Inner inner = (Inner) a;
+		Inner next = (Inner) b;
+		int children = inner.count + 1;
+		if (children < target) {
+			int m = target - children;
+			inner.keys[inner.count] = parent.keys[left];
+			System.arraycopy(next.keys, 0, inner.keys, inner.count + 1, m - 1);
+			System.arraycopy(next.children, 0, inner.children, inner.count + 1, m);
+			parent.keys[left] = next.keys[m - 1];
+			System.arraycopy(next.keys, m, next.keys, 0, next.count - m);
+			System.arraycopy(next.children, m, next.children, 0, next.count + 1 - m);
+			clear(next.keys, next.count - m, next.count);
+			clear(next.children, next.count + 1 - m, next.count + 1);
+			inner.count += m;
+			next.count -= m;
+		} else {
+			int m = children - target;
+			System.arraycopy(next.keys, 0, next.keys, m, next.count);
+			System.arraycopy(next.children, 0, next.children, m, next.count + 1);
+			next.keys[m - 1] = parent.keys[left];
+			System.arraycopy(inner.keys, inner.count - m + 1, next.keys, 0, m - 1);
+			System.arraycopy(inner.children, inner.count + 1 - m, next.children, 0, m);
+			parent.keys[left] = inner.keys[inner.count - m];
+			clear(inner.keys, inner.count - m, inner.count);
+			clear(inner.children, inner.count + 1 - m, inner.count + 1);
+			inner.count -= m;
+			next.count += m;
+		}
+	}
+
+	private static void clear(Object[] array, int from, int to) {
+		for (int i = from; i < to; i++) {
+			array[i] = null;
+		}
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		return inorder();
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		List<Entry<K, V>> result = new ArrayList<>(size);
+		for (Leaf leaf = first; leaf != null; leaf = leaf.next) {
+			for (int i = 0; i < leaf.count; i++) {
+				result.add(new LeafEntry<>((K) leaf.keys[i], (V) leaf.values[i]));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		return inorder();
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		return inorder();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return inorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new LeafIterator(first, 0, null, false);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return inorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return inorderIterator();
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	protected int compare(K k1, K k2) {
+		if (comparator != null)
+			return comparator.compare(k1, k2);
+		return ((Comparable<? super K>) k1).compareTo(k2);
+	}
+
+	private class LeafIterator implements Iterator<Entry<K, V>> {
+		private final K hi;
+		private final boolean hiInclusive;
+		private Leaf leaf;
+		private int index;
+
+		LeafIterator(Leaf leaf, int index, K hi, boolean hiInclusive) {
+			this.leaf = leaf;
+			this.index = index;
+			this.hi = hi;
+			this.hiInclusive = hiInclusive;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (leaf != null && index == leaf.count) {
+				leaf = leaf.next;
+				index = 0;
+			}
+			if (leaf == null)
+				return false;
+			if (hi != null) {
+				int comp = compare((K) leaf.keys[index], hi);
+				if (comp > 0 || comp == 0 && !hiInclusive) {
+					leaf = null;
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			Entry<K, V> entry = new LeafEntry<>((K) leaf.keys[index], (V) leaf.values[index]);
+			++index;
+			return entry;
+		}
+	}
+
+	private abstract static class Node {
+		final Object[] keys;
+		int count;
+
+		Node(int capacity) {
+			keys = new Object[capacity];
+		}
+	}
+
+	private static final class Leaf extends Node {
+		final Object[] values;
+		Leaf next;
+
+		Leaf(int fanout) {
+			super(fanout + 1);
+			values = new Object[fanout + 1];
+		}
+	}
+
+	// children[i] holds the keys below keys[i], children[count] the rest
+	private static final class Inner extends Node {
+		final Node[] children;
+
+		Inner(int fanout) {
+			super(fanout);
+			children = new Node[fanout + 1];
+		}
+	}
+
+	private record LeafEntry<K, V>(K key, V value) implements Entry<K, V> {
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,1097 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class BinarySearchTree<K, V> implements Tree<K, V> {
+
+	protected int size;
+	protected TreeNode<K, V> root;
+	protected final Comparator<? super K> comparator;
+	private TreeNode<K, V> loadCursor;
+
+	public BinarySearchTree() {
+		this(null);
+	}
+
+	public BinarySearchTree(Comparator<? super K> comparator) {
+		this.comparator = comparator;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (root == null) {
+			root = new TreeNode<>(key, value);
+			++size;
+			return true;
+		}
+
+		if (comparator != null) {
+			return addUsingComparator(key, value, comparator);
+		} else {
+			return addUsingComparable(key, value);
+		}
+	}
+
+	@Override
+	public boolean contains(K key) {
+		if (key == null)
+			throw new NullPointerException();
+		return get(key) != null;
+	}
+
+	@Override
+	public V get(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		TreeNode<K, V> find;
+		if (comparator != null) {
+			find = getNodeUsingComparator(key, comparator);
+		} else {
+			find = getNodeUsingComparable(key);
+		}
+		if (find == null)
+			return null;
+		return Objects.equals(find.key, key) ? find.value : null;
+	}
+
+	/**
+	 * {@link #get} for the optimistic reads of {@link Trees#concurrent}, which run while another thread
+	 * may be updating the tree. A descent torn by an update can run into a cycle of child links, so
+	 * once it is twice as deep as a balanced tree of this size it checks that no write started since
+	 * {@code stamp}, and again whenever the depth doubles; it returns {@link StampedLockTree#RETRY}
+	 * when one did.
+	 */
+	Object optimisticGet(K key, StampedLock lock, long stamp) {
+		if (key == null)
+			throw new NullPointerException();
+
+		int limit = 2 * (33 - Integer.numberOfLeadingZeros(size));
+		int depth = 0;
+		TreeNode<K, V> p = root;
+		while (p != null) {
+			int comp = compare(key, p.key);
+			if (comp == 0)
+				return Objects.equals(p.key, key) ? p.value : null;
+			p = comp < 0 ? p.left : p.right;
+			if (++depth == limit) {
+				if (!lock.validate(stamp))
+					return StampedLockTree.RETRY;
+				limit <<= 1;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public V remove(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (root == null)
+			return null;
+
+		TreeNode<K, V> p;
+		if (comparator != null) {
+			p = getNodeUsingComparator(key, comparator);
+		} else {
+			p = getNodeUsingComparable(key);
+		}
+
+		if (p != null && Objects.equals(p.key, key)) {
+			delete(p);
+			return p.value;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Replaces the contents with {@code entries}, which must be in strictly ascending key order,
+	 * and builds a perfectly balanced tree in linear time. The entries are linked into a chain as
+	 * they stream in, so the input is read once and never copied. If the order check fails the
+	 * tree is left unchanged.
+	 *
+	 * @throws IllegalArgumentException if a key is not greater than the one before it
+	 */
+	public void loadSorted(Iterator<? extends Entry<K, V>> entries) {
+		TreeNode<K, V> head = null, tail = null;
+		int count = 0;
+		while (entries.hasNext()) {
+			Entry<K, V> entry = entries.next();
+			K key = entry.getKey();
+			if (key == null)
+				throw new NullPointerException();
+			if (tail != null && compare(tail.key, key) >= 0)
+				throw new IllegalArgumentException("keys are not in ascending order: " + tail.key + ", " + key);
+
+			TreeNode<K, V> node = newNode(key, entry.getValue());
+			if (tail == null) {
+				head = node;
+			} else {
+				tail.right = node;
+			}
+			tail = node;
+			++count;
+		}
+
+		loadCursor = head;
+		root = buildBalanced(count, 0, count);
+		loadCursor = null;
+		if (root != null)
+			root.parent = null;
+		size = count;
+	}
+
+	/**
+	 * Builds the tree with {@link #loadSorted} as the file is decoded, in time linear in its size.
+	 */
+	@Override
+	public void readSnapshot(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		TreeSnapshot.read(path, keyCodec, valueCodec, this::loadSorted);
+	}
+
+	/**
+	 * Sorts the batch and adds it one key at a time. Nothing bounds the height of an unbalanced tree,
+	 * so the single-descent merge of {@link #addAllByJoin}, which recurses once per level, is left to
+	 * the subclasses that keep the tree balanced.
+	 */
+	@Override
+	public boolean addAll(Collection<? extends Entry<K, V>> entries) {
+		boolean changed = false;
+		for (Entry<K, V> entry : sortedBatch(entries)) {
+			changed |= add(entry.getKey(), entry.getValue());
+		}
+		return changed;
+	}
+
+	@Override
+	public boolean removeAll(Collection<? extends K> keys) {
+		int oldSize = size;
+		for (Object key : sortedKeys(keys)) {
+			remove((K) key);
+		}
+		return size != oldSize;
+	}
+
+	/**
+	 * Sorts the batch and merges it in a single descent: each node on the way to any batch key is
+	 * visited once, with the batch split around it, and every run of keys that falls into one empty
+	 * slot is hung there as a balanced subtree. Keys already present are left unchanged, as is
+	 * every key after the first when the batch repeats one. The walk recurses once per level, so it
+	 * is only for trees whose height is bounded.
+	 */
+	protected boolean addAllByJoin(Collection<? extends Entry<K, V>> entries) {
+		Entry<K, V>[] batch = sortedBatch(entries);
+		Object[] keys = new Object[batch.length];
+		for (int i = 0; i < batch.length; ++i) {
+			keys[i] = batch[i].getKey();
+		}
+
+		int oldSize = size;
+		root = addAll(root, batch, keys, 0, batch.length);
+		if (root != null)
+			root.parent = null;
+		return size != oldSize;
+	}
+
+	// removes the batch in one descent like addAllByJoin, for trees whose height is bounded
+	protected boolean removeAllByJoin(Collection<? extends K> keys) {
+		Object[] batch = sortedKeys(keys);
+		int oldSize = size();
+		root = removeAll(root, batch, 0, batch.length);
+		if (root != null)
+			root.parent = null;
+		return size() != oldSize;
+	}
+
+	private TreeNode<K, V> addAll(TreeNode<K, V> node, Entry<K, V>[] batch, Object[] keys, int lo, int hi) {
+		if (lo == hi)
+			return node;
+		if (node == null) {
+			size += hi - lo;
+			return buildBalanced(batch, lo, hi);
+		}
+
+		int oldSize = size;
+		int mid = lowerBound(keys, lo, hi, node.key);
+		int upper = mid < hi && compare((K) keys[mid], node.key) == 0 ? mid + 1 : mid;
+		TreeNode<K, V> left = addAll(node.left, batch, keys, lo, mid);
+		TreeNode<K, V> right = addAll(node.right, batch, keys, upper, hi);
+		// nothing was added below, so the node isn't written to
+		if (size == oldSize)
+			return node;
+		return join(left, node, right);
+	}
+
+	private TreeNode<K, V> removeAll(TreeNode<K, V> node, Object[] keys, int lo, int hi) {
+		if (node == null || lo == hi)
+			return node;
+
+		int oldSize = size;
+		int mid = lowerBound(keys, lo, hi, node.key);
+		boolean match = mid < hi && compare((K) keys[mid], node.key) == 0;
+		TreeNode<K, V> left = removeAll(node.left, keys, lo, mid);
+		TreeNode<K, V> right = removeAll(node.right, keys, match ? mid + 1 : mid, hi);
+		if (match) {
+			--size;
+			return join(left, right);
+		}
+		return size == oldSize ? node : join(left, node, right);
+	}
+
+	/**
+	 * Links {@code left}, {@code node} and {@code right}, where every key on the left is smaller
+	 * than {@code node.key} and every key on the right is larger, and returns the new subtree root.
+	 * The subtrees may have any shape the tree allows, so balanced trees restore their invariant here.
+	 */
+	protected TreeNode<K, V> join(TreeNode<K, V> left, TreeNode<K, V> node, TreeNode<K, V> right) {
+		node.setLeft(left);
+		node.setRight(right);
+		return node;
+	}
+
+	/**
+	 * Links two subtrees whose keys are all smaller on the left than on the right.
+	 */
+	protected TreeNode<K, V> join(TreeNode<K, V> left, TreeNode<K, V> right) {
+		if (left == null)
+			return right;
+		if (right == null)
+			return left;
+		TreeNode<K, V> first = leftmost(right);
+		return join(left, first, removeFirst(right));
+	}
+
+	private TreeNode<K, V> removeFirst(TreeNode<K, V> node) {
+		if (node.left == null)
+			return node.right;
+		return join(removeFirst(node.left), node, node.right);
+	}
+
+	protected Entry<K, V>[] sortedBatch(Collection<? extends Entry<K, V>> entries) {
+		Entry<K, V>[] batch = entries.toArray(new Entry[0]);
+		for (Entry<K, V> entry : batch) {
+			if (entry.getKey() == null)
+				throw new NullPointerException();
+		}
+		// the sort is stable, so the first of several entries with one key is the one kept
+		Arrays.sort(batch, (e1, e2) -> compare(e1.getKey(), e2.getKey()));
+		int unique = 0;
+		for (int i = 0; i < batch.length; ++i) {
+			if (unique == 0 || compare(batch[unique - 1].getKey(), batch[i].getKey()) != 0)
+				batch[unique++] = batch[i];
+		}
+		return Arrays.copyOf(batch, unique);
+	}
+
+	protected Object[] sortedKeys(Collection<? extends K> keys) {
+		Object[] batch = keys.toArray();
+		for (Object key : batch) {
+			if (key == null)
+				throw new NullPointerException();
+		}
+		Arrays.sort(batch, (k1, k2) -> compare((K) k1, (K) k2));
+		int unique = 0;
+		for (int i = 0; i < batch.length; ++i) {
+			if (unique == 0 || compare((K) batch[unique - 1], (K) batch[i]) != 0)
+				batch[unique++] = batch[i];
+		}
+		return Arrays.copyOf(batch, unique);
+	}
+
+	// index of the first key in [lo, hi) that is not smaller than key
+	protected int lowerBound(Object[] keys, int lo, int hi, K key) {
+		while (lo < hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare((K) keys[mid], key) < 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid;
+			}
+		}
+		return lo;
+	}
+
+	/**
+	 * Builds a balanced subtree of new nodes from the sorted entries in [lo, hi).
+	 */
+	protected TreeNode<K, V> buildBalanced(Entry<K, V>[] batch, int lo, int hi) {
+		if (lo == hi)
+			return null;
+
+		TreeNode<K, V> head = newNode(batch[lo].getKey(), batch[lo].getValue());
+		TreeNode<K, V> tail = head;
+		for (int i = lo + 1; i < hi; ++i) {
+			tail.right = newNode(batch[i].getKey(), batch[i].getValue());
+			tail = tail.right;
+		}
+		loadCursor = head;
+		TreeNode<K, V> node = buildBalanced(hi - lo, 0, hi - lo);
+		loadCursor = null;
+		return node;
+	}
+
+	protected TreeNode<K, V> newNode(K key, V value) {
+		return new TreeNode<>(key, value);
+	}
+
+	/**
+	 * Called for every node built by {@link #loadSorted} or {@link #buildBalanced}, after both of its
+	 * subtrees are complete. {@code depth} counts from the root of the subtree being built and
+	 * {@code count} is its number of nodes.
+	 */
+	protected void loaded(TreeNode<K, V> node, int depth, int count) {
+	}
+
+	// takes the next n nodes off the chain; the left subtree never has more nodes than the right
+	private TreeNode<K, V> buildBalanced(int n, int depth, int count) {
+		if (n == 0)
+			return null;
+
+		int leftCount = (n - 1) >>> 1;
+		TreeNode<K, V> left = buildBalanced(leftCount, depth + 1, count);
+		TreeNode<K, V> node = loadCursor;
+		loadCursor = node.right;
+		node.right = null;
+		node.setLeft(left);
+		node.setRight(buildBalanced(n - 1 - leftCount, depth + 1, count));
+		loaded(node, depth, count);
+		return node;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		Objects.requireNonNull(value);
+		Update<K, V> update = new Update<>(false, (k, oldValue) -> value);
+		update(key, update);
+		return update.oldValue;
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		Objects.requireNonNull(value);
+		Update<K, V> update = new Update<>(true, (k, oldValue) -> value);
+		update(key, update);
+		return update.oldValue;
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		Objects.requireNonNull(remapping);
+		Update<K, V> update = new Update<>(false, remapping);
+		update(key, update);
+		return update.newValue;
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		Objects.requireNonNull(mapping);
+		Update<K, V> update = new Update<>(false, (k, oldValue) -> oldValue != null ? oldValue : mapping.apply(k));
+		update(key, update);
+		return update.newValue;
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		Objects.requireNonNull(value);
+		Objects.requireNonNull(remapping);
+		Update<K, V> update = new Update<>(false,
+			(k, oldValue) -> oldValue == null ? value : remapping.apply(oldValue, value));
+		update(key, update);
+		return update.newValue;
+	}
+
+	/**
+	 * Applies {@code update} to key in a single descent: the node holding key gets its new value or is
+	 * deleted, and an absent key is attached below the last node visited.
+	 */
+	protected void update(K key, Update<K, V> update) {
+		if (key == null)
+			throw new NullPointerException();
+
+		TreeNode<K, V> p;
+		if (comparator != null) {
+			p = getNodeUsingComparator(key, comparator);
+		} else {
+			p = getNodeUsingComparable(key);
+		}
+
+		int comp = p == null ? 0 : compare(key, p.key);
+		if (p != null && comp == 0) {
+			if (update.present(key, p.value)) {
+				p.value = update.newValue;
+			} else {
+				delete(p);
+			}
+		} else if (update.absent(key)) {
+			attach(p, comp, key, update.newValue);
+		}
+	}
+
+	// Navigation. The entries returned are the tree's nodes, so nothing is allocated; a polled node
+	// is unlinked from the tree but keeps its key and value.
+	public Entry<K, V> floorEntry(K key) {
+		return getNearestNode(key, true, true);
+	}
+
+	public Entry<K, V> lowerEntry(K key) {
+		return getNearestNode(key, true, false);
+	}
+
+	public Entry<K, V> ceilingEntry(K key) {
+		return getNearestNode(key, false, true);
+	}
+
+	public Entry<K, V> higherEntry(K key) {
+		return getNearestNode(key, false, false);
+	}
+
+	public Entry<K, V> firstEntry() {
+		return root == null ? null : leftmost(root);
+	}
+
+	public Entry<K, V> lastEntry() {
+		return root == null ? null : rightmost(root);
+	}
+
+	public Entry<K, V> pollFirstEntry() {
+		TreeNode<K, V> first = root == null ? null : leftmost(root);
+		if (first != null)
+			remove(first.key);
+		return first;
+	}
+
+	public Entry<K, V> pollLastEntry() {
+		TreeNode<K, V> last = root == null ? null : rightmost(root);
+		if (last != null)
+			remove(last.key);
+		return last;
+	}
+
+	// the closest node below key (floor, lower) or above it (ceiling, higher): the last node the
+	// descent passed on that side
+	private TreeNode<K, V> getNearestNode(K key, boolean below, boolean inclusive) {
+		if (key == null)
+			throw new NullPointerException();
+
+		TreeNode<K, V> nearest = null;
+		TreeNode<K, V> p = root;
+		while (p != null) {
+			int comp = compare(key, p.key);
+			if (comp == 0 && inclusive)
+				return p;
+			if (below ? comp > 0 : comp < 0) {
+				nearest = p;
+				p = below ? p.right : p.left;
+			} else {
+				p = below ? p.left : p.right;
+			}
+		}
+		return nearest;
+	}
+
+	/**
+	 * Subtree size for the order statistics below, 0 for null. Only subclasses that keep sizes
+	 * support it.
+	 */
+	protected int sizeOf(TreeNode<K, V> node) {
+		throw new UnsupportedOperationException("subtree sizes are not kept");
+	}
+
+	// the node holding the k-th smallest key, counting from 0
+	protected TreeNode<K, V> selectNode(int k) {
+		if (k < 0 || k >= size())
+			throw new IndexOutOfBoundsException("k: " + k + ", size: " + size());
+
+		TreeNode<K, V> p = root;
+		while (true) {
+			int leftSize = sizeOf(p.left);
+			if (k < leftSize) {
+				p = p.left;
+			} else if (k > leftSize) {
+				k -= leftSize + 1;
+				p = p.right;
+			} else {
+				return p;
+			}
+		}
+	}
+
+	// number of keys smaller than key, or not greater than key when inclusive
+	protected int rankOf(K key, boolean inclusive) {
+		if (key == null)
+			throw new NullPointerException();
+
+		int rank = 0;
+		TreeNode<K, V> p = root;
+		while (p != null) {
+			int comp = compare(key, p.key);
+			if (comp < 0 || comp == 0 && !inclusive) {
+				p = p.left;
+			} else {
+				rank += sizeOf(p.left) + 1;
+				p = p.right;
+			}
+		}
+		return rank;
+	}
+
+	/**
+	 * Adds a new node as the child of {@code parent} on the side given by {@code comp}, or as the root
+	 * when {@code parent} is null.
+	 */
+	protected TreeNode<K, V> attach(TreeNode<K, V> parent, int comp, K key, V value) {
+		TreeNode<K, V> node = newNode(key, value);
+		if (parent == null) {
+			root = node;
+		} else if (comp < 0) {
+			parent.setLeft(node);
+		} else {
+			parent.setRight(node);
+		}
+		++size;
+		return node;
+	}
+
+	private boolean addUsingComparator(K key, V value, Comparator<? super K> comparator) {
+		TreeNode<K, V> find = getNodeUsingComparator(key, comparator);
+		if (Objects.equals(find, null) || Objects.equals(find.key, key))
+			return false;
+
+		int comp = comparator.compare(key, find.key);
+		TreeNode<K, V> newNode = new TreeNode<>(key, value);
+		if (comp < 0) {
+			find.setLeft(newNode);
+		} else {
+			find.setRight(newNode);
+		}
+		++size;
+		return true;
+	}
+
+	private boolean addUsingComparable(K key, V value) {
+		TreeNode<K, V> find = getNodeUsingComparable(key);
+		if (Objects.equals(find, null) || Objects.equals(find.key, key))
+			return false;
+
+		Comparable<? super K> compKey = (Comparable<? super K>) key;
+		int comp = compKey.compareTo(find.key);
+		TreeNode<K, V> newNode = new TreeNode<>(key, value);
+		if (comp < 0) {
+			find.setLeft(newNode);
+		} else {
+			find.setRight(newNode);
+		}
+		++size;
+		return true;
+	}
+
+	protected void delete(TreeNode<K, V> removeNode) {
+		if (removeNode == null)
+			return;
+
+		--size;
+		TreeNode<K, V> parentNode = removeNode != root ? removeNode.parent : null;
+		TreeNode<K, V> replacementNode;
+
+		if (removeNode.left == null && removeNode.right == null) {
+			replacementNode = null;
+		} else if (removeNode.left == null) {
+			replacementNode = removeNode.right;
+		} else if (removeNode.right == null) {
+			replacementNode = removeNode.left;
+		} else {
+			// Node has two children, find successor
+			replacementNode = successor(removeNode);
+			TreeNode<K, V> parentOfReplacementNode = replacementNode.parent;
+			if (replacementNode != removeNode.right) {
+				// If successor is not the right child of the removed node
+				parentOfReplacementNode.setLeft(replacementNode.right);
+				replacementNode.setRight(removeNode.right);
+			}
+			replacementNode.setLeft(removeNode.left);
+		}
+
+		if (replacementNode != null) {
+			replacementNode.parent = parentNode;
+		}
+
+		if (removeNode == root) {
+			root = replacementNode;
+		} else if (removeNode == parentNode.left) {
+			parentNode.setLeft(replacementNode);
+		} else {
+			parentNode.setRight(replacementNode);
+		}
+	}
+
+	protected TreeNode<K, V> successor(TreeNode<K, V> p) {
+		if (p == null)
+			return null;
+
+		// If the right subtree is not null, find the leftmost node in the right subtree
+		if (p.right != null) {
+			p = p.right;
+			while (p.left != null) {
+				p = p.left;
+			}
+			return p;
+		}
+
+		// If the right subtree is null, find the nearest ancestor whose left child is also an ancestor of p.
+		while (p.parent != null && p == p.parent.right) {
+			p = p.parent;
+		}
+		return p.parent;
+	}
+
+	protected TreeNode<K, V> getNodeUsingComparator(K key, Comparator<? super K> comparator) {
+		if (root == null)
+			return null;
+
+		if (comparator != null) {
+			int comp;
+			TreeNode<K, V> p = root;
+			while (true) {
+				comp = comparator.compare(key, p.key);
+				if (comp < 0) {
+					if (p.left == null)
+						return p;
+					else
+						p = p.left;
+				} else if (comp > 0) {
+					if (p.right == null)
+						return p;
+					else
+						p = p.right;
+				} else {
+					return p;
+				}
+			}
+		}
+		return null;
+	}
+
+	protected TreeNode<K, V> getNodeUsingComparable(K key) {
+		if (root == null)
+			return null;
+
+		Comparable<? super K> compKey = (Comparable<? super K>) key;
+		int comp;
+		TreeNode<K, V> p = root;
+		while (true) {
+			comp = compKey.compareTo(p.key);
+			if (comp < 0) {
+				if (p.left == null)
+					return p;
+				else
+					p = p.left;
+			} else if (comp > 0) {
+				if (p.right == null)
+					return p;
+				else
+					p = p.right;
+			} else {
+				return p;
+			}
+		}
+	}
+
+	/**
+	 * Returns a view of the entries with keys from lo to hi. Changes to either are visible in the
+	 * other; adding a key out of range throws {@link IllegalArgumentException}. Traversals of the
+	 * view visit only the nodes in range and on the paths to the bounds.
+	 */
+	public Tree<K, V> subTree(K lo, boolean loInclusive, K hi, boolean hiInclusive) {
+		if (lo == null || hi == null)
+			throw new NullPointerException();
+		return new SubTree<>(this, lo, loInclusive, hi, hiInclusive);
+	}
+
+	public Tree<K, V> headTree(K hi, boolean inclusive) {
+		if (hi == null)
+			throw new NullPointerException();
+		return new SubTree<>(this, null, false, hi, inclusive);
+	}
+
+	public Tree<K, V> tailTree(K lo, boolean inclusive) {
+		if (lo == null)
+			throw new NullPointerException();
+		return new SubTree<>(this, lo, inclusive, null, false);
+	}
+
+	// filled from the iterators, which walk parent pointers, so a degenerate tree can't overflow the stack
+	@Override
+	public List<Entry<K, V>> preorder() {
+		List<Entry<K, V>> result = new ArrayList<>(size());
+		preorderIterator().forEachRemaining(result::add);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		List<Entry<K, V>> result = new ArrayList<>(size());
+		inorderIterator().forEachRemaining(result::add);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		List<Entry<K, V>> result = new ArrayList<>(size());
+		postorderIterator().forEachRemaining(result::add);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		List<Entry<K, V>> result = new ArrayList<>(size());
+		traverseLevelOrder(root, result);
+		return result;
+	}
+
+	private void traverseLevelOrder(TreeNode<K, V> node, List<Entry<K, V>> result) {
+		if (node == null)
+			return;
+		Queue<TreeNode<K, V>> queue = new ArrayDeque<>();
+		queue.add(node);
+		while (!queue.isEmpty()) {
+			TreeNode<K, V> curr = queue.poll();
+			result.add(curr);
+			if (curr.left != null)
+				queue.add(curr.left);
+			if (curr.right != null)
+				queue.add(curr.right);
+		}
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return new TreeNodeIterator(Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new TreeNodeIterator(Traversal.INORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return new TreeNodeIterator(Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return new NodeIterator<TreeNode<K, V>, K, V>(root, Traversal.LEVEL_ORDER) {
+			@Override
+			TreeNode<K, V> left(TreeNode<K, V> node) {
+				return node.left;
+			}
+
+			@Override
+			TreeNode<K, V> right(TreeNode<K, V> node) {
+				return node.right;
+			}
+
+			@Override
+			Entry<K, V> entry(TreeNode<K, V> node) {
+				return node;
+			}
+		};
+	}
+
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return new TreeNodeSpliterator(root, root == null ? null : leftmost(root), null, 0, size());
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	private TreeNode<K, V> nextInorder(TreeNode<K, V> p, TreeNode<K, V> top) {
+		if (p.right != null)
+			return leftmost(p.right);
+		while (p != top && p == p.parent.right) {
+			p = p.parent;
+		}
+		return p == top ? null : p.parent;
+	}
+
+	private TreeNode<K, V> leftmost(TreeNode<K, V> p) {
+		while (p.left != null) {
+			p = p.left;
+		}
+		return p;
+	}
+
+	private TreeNode<K, V> rightmost(TreeNode<K, V> p) {
+		while (p.right != null) {
+			p = p.right;
+		}
+		return p;
+	}
+
+	/**
+	 * In-order spliterator over the node range [current, fence). The first split hands off everything
+	 * left of the root; later splits hand off the part before the root of the remaining right subtree
+	 * (or of the fence's left subtree), so a balanced tree is halved at every split.
+	 */
+	private class TreeNodeSpliterator implements Spliterator<Entry<K, V>> {
+		private final TreeNode<K, V> top;
+		private TreeNode<K, V> current;
+		private final TreeNode<K, V> fence;
+		// 0: never split, 1: the prefix was handed off, -1: this is a handed-off prefix
+		private int side;
+		private long estimate;
+
+		TreeNodeSpliterator(TreeNode<K, V> top, TreeNode<K, V> current, TreeNode<K, V> fence, int side, long estimate) {
+			this.top = top;
+			this.current = current;
+			this.fence = fence;
+			this.side = side;
+			this.estimate = estimate;
+		}
+
+		@Override
+		public Spliterator<Entry<K, V>> trySplit() {
+			TreeNode<K, V> e = current;
+			if (e == null || e == fence)
+				return null;
+
+			TreeNode<K, V> s;
+			if (side == 0) {
+				s = top;
+			} else if (side > 0) {
+				s = e.right;
+			} else {
+				s = fence != null ? fence.left : null;
+			}
+			if (s == null || s == e || s == fence || compare(e.key, s.key) >= 0)
+				return null;
+
+			side = 1;
+			estimate >>>= 1;
+			current = s;
+			return new TreeNodeSpliterator(top, e, s, -1, estimate);
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super Entry<K, V>> action) {
+			if (action == null)
+				throw new NullPointerException();
+			TreeNode<K, V> e = current;
+			if (e == null || e == fence)
+				return false;
+			current = nextInorder(e, top);
+			action.accept(e);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super Entry<K, V>> action) {
+			if (action == null)
+				throw new NullPointerException();
+			TreeNode<K, V> e = current;
+			current = fence;
+			while (e != null && e != fence) {
+				action.accept(e);
+				e = nextInorder(e, top);
+			}
+		}
+
+		@Override
+		public long estimateSize() {
+			return estimate;
+		}
+
+		@Override
+		public int characteristics() {
+			return (side == 0 ? Spliterator.SIZED : 0)
+				| Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL;
+		}
+
+		@Override
+		public Comparator<? super Entry<K, V>> getComparator() {
+			return (e1, e2) -> compare(e1.getKey(), e2.getKey());
+		}
+	}
+
+	protected int compare(K k1, K k2) {
+		if (comparator != null)
+			return comparator.compare(k1, k2);
+		return ((Comparable<? super K>) k1).compareTo(k2);
+	}
+
+	/**
+	 * Depth-first traversal that walks the parent pointers instead of keeping a stack.
+	 * Rotations may leave a stale parent on the root node, so the walk never climbs above {@code top}.
+	 */
+	private class TreeNodeIterator implements Iterator<Entry<K, V>> {
+		private final Traversal order;
+		private final TreeNode<K, V> top;
+		private TreeNode<K, V> next;
+
+		TreeNodeIterator(Traversal order) {
+			this.order = order;
+			this.top = root;
+			if (top != null) {
+				next = switch (order) {
+					case PREORDER -> top;
+					case INORDER -> leftmost(top);
+					default -> firstPostorder(top);
+				};
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (next == null)
+				throw new NoSuchElementException();
+			TreeNode<K, V> curr = next;
+			next = switch (order) {
+				case PREORDER -> nextPreorder(curr);
+				case INORDER -> nextInorder(curr, top);
+				default -> nextPostorder(curr);
+			};
+			return curr;
+		}
+
+		private TreeNode<K, V> nextPreorder(TreeNode<K, V> p) {
+			if (p.left != null)
+				return p.left;
+			if (p.right != null)
+				return p.right;
+			while (p != top) {
+				TreeNode<K, V> parentNode = p.parent;
+				if (p == parentNode.left && parentNode.right != null)
+					return parentNode.right;
+				p = parentNode;
+			}
+			return null;
+		}
+
+		private TreeNode<K, V> nextPostorder(TreeNode<K, V> p) {
+			if (p == top)
+				return null;
+			TreeNode<K, V> parentNode = p.parent;
+			if (p == parentNode.right || parentNode.right == null)
+				return parentNode;
+			return firstPostorder(parentNode.right);
+		}
+
+		private TreeNode<K, V> firstPostorder(TreeNode<K, V> p) {
+			while (p.left != null || p.right != null) {
+				p = p.left != null ? p.left : p.right;
+			}
+			return p;
+		}
+	}
+
+	/**
+	 * One keyed update for the single-descent operations. {@code remapping} gets the current value,
+	 * or null if the key is absent, and returns the new one, null meaning the key should be absent.
+	 * With {@code ifAbsent} an existing mapping is left alone and {@code remapping} isn't called for it.
+	 */
+	protected static final class Update<K, V> {
+		private final boolean ifAbsent;
+		private final BiFunction<? super K, ? super V, ? extends V> remapping;
+		boolean present;
+		V oldValue;
+		V newValue;
+
+		Update(boolean ifAbsent, BiFunction<? super K, ? super V, ? extends V> remapping) {
+			this.ifAbsent = ifAbsent;
+			this.remapping = remapping;
+		}
+
+		// key is mapped to value; returns whether it stays, with newValue as its value
+		boolean present(K key, V value) {
+			present = true;
+			oldValue = value;
+			if (ifAbsent) {
+				newValue = value;
+				return true;
+			}
+			newValue = remapping.apply(key, value);
+			return newValue != null;
+		}
+
+		// key is absent; returns whether it should be added with newValue
+		boolean absent(K key) {
+			newValue = remapping.apply(key, null);
+			return ifAbsent || newValue != null;
+		}
+	}
+
+	protected static class TreeNode<K, V> implements Entry<K, V> {
+		K key;
+		V value;
+		TreeNode<K, V> parent;
+		TreeNode<K, V> left;
+		TreeNode<K, V> right;
+
+		TreeNode(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		void setLeft(TreeNode<K, V> child) {
+			left = child;
+			if (child != null)
+				child.parent = this;
+		}
+
+		void setRight(TreeNode<K, V> child) {
+			right = child;
+			if (child != null)
+				child.parent = this;
+		}
+	}
+}
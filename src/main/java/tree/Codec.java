@@ -0,0 +1,89 @@
+package tree;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes keys or values for {@link Tree#writeSnapshot}. {@code write} and {@code read} work at the
+ * buffer's position and advance it. When the value doesn't fit, {@code write} throws
+ * {@link java.nio.BufferOverflowException} and {@code read} throws
+ * {@link BufferUnderflowException}; the caller then retries from where it started with more
+ * room, so neither has to check the remaining space itself.
+ *
+ * <p>The name is stored in the snapshot header and has to match when reading it back.
+ */
+public interface Codec<T> {
+
+	String name();
+
+	void write(T value, ByteBuffer buffer);
+
+	T read(ByteBuffer buffer);
+
+	Codec<Integer> INT = new Codec<>() {
+		@Override
+		public String name() {
+			return "int";
+		}
+
+		@Override
+		public void write(Integer value, ByteBuffer buffer) {
+			buffer.putInt(value);
+		}
+
+		@Override
+		public Integer read(ByteBuffer buffer) {
+			return buffer.getInt();
+		}
+	};
+
+	Codec<Long> LONG = new Codec<>() {
+		@Override
+		public String name() {
+			return "long";
+		}
+
+		@Override
+		public void write(Long value, ByteBuffer buffer) {
+			buffer.putLong(value);
+		}
+
+		@Override
+		public Long read(ByteBuffer buffer) {
+			return buffer.getLong();
+		}
+	};
+
+	// UTF-8 after an int length; a length of -1 stands for null
+	Codec<String> STRING = new Codec<>() {
+		@Override
+		public String name() {
+			return "utf8";
+		}
+
+		@Override
+		public void write(String value, ByteBuffer buffer) {
+			if (value == null) {
+				buffer.putInt(-1);
+				return;
+			}
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			buffer.putInt(bytes.length);
+			buffer.put(bytes);
+		}
+
+		@Override
+		public String read(ByteBuffer buffer) {
+			int length = buffer.getInt();
+			if (length < 0)
+				return null;
+			// checked first so a corrupt length fails before allocating
+			if (length > buffer.remaining())
+				throw new BufferUnderflowException();
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+}
@@ -0,0 +1,939 @@
+package tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread-safe AVL tree after Bronson, Casper, Chafi and Olukotun, "A Practical Concurrent Binary
+ * Search Tree" (PPoPP 2010).
+ *
+ * <p>Reads take no locks. Every node carries a version that a rotation marks and then bumps when it
+ * moves the node down, shrinking the key range below it. A search reads a child, then checks that
+ * the parent's version is unchanged, and on a change backs up one level and retries from there.
+ * Writers lock only the nodes they relink, always a parent before its child.
+ *
+ * <p>Removing a key whose node has two children only clears the value, leaving a routing node that
+ * is unlinked once it has at most one child. Balance is relaxed: the thread that changes a height
+ * repairs it afterwards on the way up, so the tree is balanced again once the updates in progress
+ * have finished.
+ *
+ * <p>Null values are not allowed, since a null value marks a routing node. In-order iteration, and
+ * with it {@link #inorder()}, {@link #spliterator()} and {@link #clear()}, is weakly consistent: every
+ * step searches again from the root for the smallest key above the last one returned, so it returns
+ * keys in ascending order without repeats, every key present for the whole iteration, and some of
+ * the keys added or removed meanwhile. The other orders follow the child links and show the shape
+ * the tree has as they pass, which concurrent rotations change, so they are only exact while no
+ * update runs.
+ */
+public class ConcurrentAVLTree<K, V> implements Tree<K, V> {
+
+	// version bits: an unlinked node keeps UNLINKED for good; a shrink sets SHRINKING, then clears
+	// it and adds SHRINK_COUNT_INCREMENT
+	private static final long UNLINKED = 1L;
+	private static final long SHRINKING = 2L;
+	private static final long SHRINK_COUNT_INCREMENT = 4L;
+	private static final int SPIN_COUNT = 100;
+
+	// nodeCondition results other than a height to store
+	private static final int UNLINK_REQUIRED = -1;
+	private static final int REBALANCE_REQUIRED = -2;
+	private static final int NOTHING_REQUIRED = -3;
+
+	private static final Object RETRY = new Object();
+	private static final Object ANY = new Object();
+
+	private final Comparator<? super K> comparator;
+	private final Node<K, V> rootHolder = new Node<>(null, null, null);
+	private final LongAdder size = new LongAdder();
+
+	public ConcurrentAVLTree() {
+		this(null);
+	}
+
+	public ConcurrentAVLTree(Comparator<? super K> comparator) {
+		this.comparator = comparator;
+	}
+
+	@Override
+	public int size() {
+		return Math.max(0, size.intValue());
+	}
+
+	// removes the keys one at a time, so concurrent readers see the tree shrink gradually. Passes
+	// repeat until one finds nothing, which also takes out keys added during a pass
+	@Override
+	public void clear() {
+		boolean removed;
+		do {
+			removed = false;
+			for (Iterator<Entry<K, V>> iterator = inorderIterator(); iterator.hasNext(); ) {
+				remove(iterator.next().getKey());
+				removed = true;
+			}
+		} while (removed);
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		return putIfAbsent(key, value) == null;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public V get(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		while (true) {
+			Node<K, V> right = rootHolder.right;
+			if (right == null)
+				return null;
+
+			int comp = compare(key, right.key);
+			if (comp == 0)
+				return right.value;
+			long version = right.version;
+			if (isShrinkingOrUnlinked(version)) {
+				right.waitUntilShrinkCompleted(version);
+			} else if (right == rootHolder.right) {
+				Object result = attemptGet(key, right, comp, version);
+				if (result != RETRY)
+					return (V) result;
+			}
+		}
+	}
+
+	@Override
+	public V remove(K key) {
+		if (key == null)
+			throw new NullPointerException();
+		return (V) update(key, ANY, null);
+	}
+
+	@Override
+	public V put(K key, V value) {
+		if (key == null || value == null)
+			throw new NullPointerException();
+		return (V) update(key, ANY, value);
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		if (key == null || value == null)
+			throw new NullPointerException();
+		return (V) update(key, null, value);
+	}
+
+	// a conditional update on the value read, retried until no other thread changed it in between
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		if (key == null)
+			throw new NullPointerException();
+
+		while (true) {
+			V oldValue = get(key);
+			V newValue = remapping.apply(key, oldValue);
+			if (oldValue == null && newValue == null)
+				return null;
+			if (Objects.equals(update(key, oldValue, newValue), oldValue))
+				return newValue;
+		}
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		V oldValue = get(key);
+		if (oldValue != null)
+			return oldValue;
+		V newValue = mapping.apply(key);
+		if (newValue == null)
+			return null;
+		oldValue = putIfAbsent(key, newValue);
+		return oldValue == null ? newValue : oldValue;
+	}
+
+	private Object attemptGet(K key, Node<K, V> node, int dir, long nodeVersion) {
+		while (true) {
+			Node<K, V> child = node.child(dir);
+			if (child == null) {
+				if (node.version != nodeVersion)
+					return RETRY;
+				return null;
+			}
+
+			int comp = compare(key, child.key);
+			if (comp == 0)
+				return child.value;
+			long childVersion = child.version;
+			if (isShrinkingOrUnlinked(childVersion)) {
+				child.waitUntilShrinkCompleted(childVersion);
+				if (node.version != nodeVersion)
+					return RETRY;
+			} else if (child != node.child(dir)) {
+				if (node.version != nodeVersion)
+					return RETRY;
+			} else {
+				if (node.version != nodeVersion)
+					return RETRY;
+				Object result = attemptGet(key, child, comp, childVersion);
+				if (result != RETRY)
+					return result;
+			}
+		}
+	}
+
+	/**
+	 * Sets the value of key to newValue, or removes it when newValue is null, if its current value
+	 * (null when absent) equals expected or expected is ANY. Returns the value before, so the update
+	 * happened exactly when that equals expected.
+	 */
+	private Object update(K key, Object expected, V newValue) {
+		while (true) {
+			Node<K, V> right = rootHolder.right;
+			if (right == null) {
+				if (newValue == null || !shouldUpdate(null, expected))
+					return null;
+				synchronized (rootHolder) {
+					if (rootHolder.right == null) {
+						rootHolder.right = new Node<>(key, newValue, rootHolder);
+						rootHolder.height = 2;
+						size.increment();
+						return null;
+					}
+				}
+			} else {
+				long version = right.version;
+				if (isShrinkingOrUnlinked(version)) {
+					right.waitUntilShrinkCompleted(version);
+				} else if (right == rootHolder.right) {
+					Object result = attemptUpdate(key, expected, newValue, rootHolder, right, version);
+					if (result != RETRY)
+						return result;
+				}
+			}
+		}
+	}
+
+	private Object attemptUpdate(K key, Object expected, V newValue, Node<K, V> parent, Node<K, V> node, long nodeVersion) {
+		int dir = compare(key, node.key);
+		if (dir == 0)
+			return attemptNodeUpdate(expected, newValue, parent, node);
+
+		while (true) {
+			Node<K, V> child = node.child(dir);
+			if (node.version != nodeVersion)
+				return RETRY;
+
+			if (child == null) {
+				if (newValue == null || !shouldUpdate(null, expected))
+					return null;
+
+				boolean inserted;
+				Node<K, V> damaged = null;
+				synchronized (node) {
+					// node is locked, so no rotation can move it any more
+					if (node.version != nodeVersion)
+						return RETRY;
+					inserted = node.child(dir) == null;
+					if (inserted) {
+						node.setChild(dir, new Node<>(key, newValue, node));
+						damaged = fixHeight(node);
+					}
+				}
+				if (inserted) {
+					size.increment();
+					fixHeightAndRebalance(damaged);
+					return null;
+				}
+				// lost the race to another insert at the same place
+			} else {
+				long childVersion = child.version;
+				if (isShrinkingOrUnlinked(childVersion)) {
+					child.waitUntilShrinkCompleted(childVersion);
+				} else if (child == node.child(dir)) {
+					if (node.version != nodeVersion)
+						return RETRY;
+					Object result = attemptUpdate(key, expected, newValue, node, child, childVersion);
+					if (result != RETRY)
+						return result;
+				}
+			}
+		}
+	}
+
+	private Object attemptNodeUpdate(Object expected, V newValue, Node<K, V> parent, Node<K, V> node) {
+		if (newValue == null && node.value == null)
+			return null;
+
+		if (newValue == null && (node.left == null || node.right == null)) {
+			// the node can be unlinked, which needs its parent locked first
+			Object oldValue;
+			Node<K, V> damaged;
+			synchronized (parent) {
+				if (isUnlinked(parent.version) || node.parent != parent)
+					return RETRY;
+				synchronized (node) {
+					oldValue = node.value;
+					if (oldValue == null || !shouldUpdate(oldValue, expected))
+						return oldValue;
+					if (!attemptUnlink(parent, node))
+						return RETRY;
+				}
+				damaged = fixHeight(parent);
+			}
+			size.decrement();
+			fixHeightAndRebalance(damaged);
+			return oldValue;
+		}
+
+		synchronized (node) {
+			if (isUnlinked(node.version))
+				return RETRY;
+			Object oldValue = node.value;
+			if (!shouldUpdate(oldValue, expected))
+				return oldValue;
+			// a child went away since the check above, so the node has to be unlinked instead
+			if (newValue == null && (node.left == null || node.right == null))
+				return RETRY;
+			node.value = newValue;
+			if (oldValue == null)
+				size.increment();
+			else if (newValue == null)
+				size.decrement();
+			return oldValue;
+		}
+	}
+
+	private boolean shouldUpdate(Object oldValue, Object expected) {
+		return expected == ANY || Objects.equals(oldValue, expected);
+	}
+
+	// parent and node are locked
+	private boolean attemptUnlink(Node<K, V> parent, Node<K, V> node) {
+		Node<K, V> parentLeft = parent.left;
+		Node<K, V> parentRight = parent.right;
+		if (parentLeft != node && parentRight != node)
+			return false;
+
+		Node<K, V> left = node.left;
+		Node<K, V> right = node.right;
+		if (left != null && right != null)
+			return false;
+
+		Node<K, V> splice = left != null ? left : right;
+		if (parentLeft == node) {
+			parent.left = splice;
+		} else {
+			parent.right = splice;
+		}
+		if (splice != null)
+			splice.parent = parent;
+		node.version = UNLINKED;
+		node.value = null;
+		return true;
+	}
+
+	/**
+	 * Reads what node needs without locks. Whoever changes a node afterwards takes over repairing it,
+	 * so NOTHING_REQUIRED can be trusted even if the read was not consistent.
+	 */
+	private int nodeCondition(Node<K, V> node) {
+		Node<K, V> left = node.left;
+		Node<K, V> right = node.right;
+		if ((left == null || right == null) && node.value == null)
+			return UNLINK_REQUIRED;
+
+		int height = node.height;
+		int leftHeight = height(left);
+		int rightHeight = height(right);
+		int newHeight = 1 + Math.max(leftHeight, rightHeight);
+		int balance = leftHeight - rightHeight;
+		if (balance < -1 || balance > 1)
+			return REBALANCE_REQUIRED;
+		return height != newHeight ? newHeight : NOTHING_REQUIRED;
+	}
+
+	/**
+	 * Repairs node and then whatever each repair damages. A rotation hands back only its deepest
+	 * damage, so the parents of restructured subtrees are kept and rechecked once the walk below them
+	 * stops; otherwise a height change at the top of a rotation could be lost.
+	 */
+	private void fixHeightAndRebalance(Node<K, V> node) {
+		ArrayDeque<Node<K, V>> restructured = null;
+		while (true) {
+			int condition = NOTHING_REQUIRED;
+			if (node != null && node.parent != null && !isUnlinked(node.version))
+				condition = nodeCondition(node);
+
+			if (condition == NOTHING_REQUIRED) {
+				if (restructured == null || restructured.isEmpty())
+					return;
+				node = restructured.pop();
+			} else if (condition != UNLINK_REQUIRED && condition != REBALANCE_REQUIRED) {
+				synchronized (node) {
+					node = fixHeight(node);
+				}
+			} else {
+				Node<K, V> parent = node.parent;
+				synchronized (parent) {
+					if (!isUnlinked(parent.version) && node.parent == parent) {
+						synchronized (node) {
+							node = rebalance(parent, node);
+						}
+						if (restructured == null)
+							restructured = new ArrayDeque<>();
+						restructured.push(parent);
+					}
+				}
+			}
+		}
+	}
+
+	// node is locked; returns the next node this thread has to repair, or null
+	private Node<K, V> fixHeight(Node<K, V> node) {
+		int condition = nodeCondition(node);
+		switch (condition) {
+			case REBALANCE_REQUIRED:
+			case UNLINK_REQUIRED:
+				return node;
+			case NOTHING_REQUIRED:
+				return null;
+			default:
+				node.height = condition;
+				// the parent is damaged now, but its lock can't be taken while holding node's
+				return node.parent;
+		}
+	}
+
+	// parent and node are locked; returns the next node this thread has to repair, or null
+	private Node<K, V> rebalance(Node<K, V> parent, Node<K, V> node) {
+		Node<K, V> left = node.left;
+		Node<K, V> right = node.right;
+		if ((left == null || right == null) && node.value == null) {
+			if (attemptUnlink(parent, node))
+				return fixHeight(parent);
+			return node;
+		}
+
+		int height = node.height;
+		int leftHeight = height(left);
+		int rightHeight = height(right);
+		int newHeight = 1 + Math.max(leftHeight, rightHeight);
+		int balance = leftHeight - rightHeight;
+		if (balance > 1)
+			return rebalanceToRight(parent, node, left, rightHeight);
+		if (balance < -1)
+			return rebalanceToLeft(parent, node, right, leftHeight);
+		if (newHeight != height) {
+			node.height = newHeight;
+			return fixHeight(parent);
+		}
+		return null;
+	}
+
+	// the left side is too tall: rotate right, after rotating left at left if its right side is taller
+	private Node<K, V> rebalanceToRight(Node<K, V> parent, Node<K, V> node, Node<K, V> left, int rightHeight) {
+		synchronized (left) {
+			int leftHeight = left.height;
+			if (leftHeight - rightHeight <= 1)
+				return node;
+
+			Node<K, V> leftRight = left.right;
+			int leftLeftHeight = height(left.left);
+			int leftRightHeight = height(leftRight);
+			if (leftLeftHeight >= leftRightHeight)
+				return rotateRight(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightHeight);
+
+			synchronized (leftRight) {
+				leftRightHeight = leftRight.height;
+				if (leftLeftHeight >= leftRightHeight)
+					return rotateRight(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightHeight);
+
+				// a double rotation only if it leaves left in balance; otherwise left is fixed on its own
+				int leftRightLeftHeight = height(leftRight.left);
+				int balance = leftLeftHeight - leftRightLeftHeight;
+				if (balance >= -1 && balance <= 1)
+					return rotateRightOverLeft(parent, node, left, rightHeight, leftLeftHeight, leftRight, leftRightLeftHeight);
+			}
+			return rebalanceToLeft(node, left, leftRight, leftLeftHeight);
+		}
+	}
+
+	private Node<K, V> rebalanceToLeft(Node<K, V> parent, Node<K, V> node, Node<K, V> right, int leftHeight) {
+		synchronized (right) {
+			int rightHeight = right.height;
+			if (leftHeight - rightHeight >= -1)
+				return node;
+
+			Node<K, V> rightLeft = right.left;
+			int rightLeftHeight = height(rightLeft);
+			int rightRightHeight = height(right.right);
+			if (rightRightHeight >= rightLeftHeight)
+				return rotateLeft(parent, node, leftHeight, right, rightLeft, rightLeftHeight, rightRightHeight);
+
+			synchronized (rightLeft) {
+				rightLeftHeight = rightLeft.height;
+				if (rightRightHeight >= rightLeftHeight)
+					return rotateLeft(parent, node, leftHeight, right, rightLeft, rightLeftHeight, rightRightHeight);
+
+				int rightLeftRightHeight = height(rightLeft.right);
+				int balance = rightRightHeight - rightLeftRightHeight;
+				if (balance >= -1 && balance <= 1)
+					return rotateLeftOverRight(parent, node, leftHeight, right, rightLeft, rightRightHeight, rightLeftRightHeight);
+			}
+			return rebalanceToRight(node, right, rightLeft, rightRightHeight);
+		}
+	}
+
+	/**
+	 * Links out of a shrinking node change first and links into it last, so a search can't get past
+	 * the node without seeing its version change. Returns the deepest node the rotation left damaged.
+	 */
+	private Node<K, V> rotateRight(Node<K, V> parent, Node<K, V> node, Node<K, V> left, int rightHeight,
+			int leftLeftHeight, Node<K, V> leftRight, int leftRightHeight) {
+		long nodeVersion = node.version;
+		Node<K, V> parentLeft = parent.left;
+
+		node.version = nodeVersion | SHRINKING;
+		node.left = leftRight;
+		left.right = node;
+		if (parentLeft == node) {
+			parent.left = left;
+		} else {
+			parent.right = left;
+		}
+		left.parent = parent;
+		node.parent = left;
+		if (leftRight != null)
+			leftRight.parent = node;
+
+		int newNodeHeight = 1 + Math.max(leftRightHeight, rightHeight);
+		node.height = newNodeHeight;
+		left.height = 1 + Math.max(leftLeftHeight, newNodeHeight);
+		node.version = nodeVersion + SHRINK_COUNT_INCREMENT;
+
+		int nodeBalance = leftRightHeight - rightHeight;
+		if (nodeBalance < -1 || nodeBalance > 1)
+			return node;
+		if ((leftRight == null || rightHeight == 0) && node.value == null)
+			return node;
+		int leftBalance = leftLeftHeight - newNodeHeight;
+		if (leftBalance < -1 || leftBalance > 1)
+			return left;
+		if (leftLeftHeight == 0 && left.value == null)
+			return left;
+		return fixHeight(parent);
+	}
+
+	private Node<K, V> rotateLeft(Node<K, V> parent, Node<K, V> node, int leftHeight, Node<K, V> right,
+			Node<K, V> rightLeft, int rightLeftHeight, int rightRightHeight) {
+		long nodeVersion = node.version;
+		Node<K, V> parentLeft = parent.left;
+
+		node.version = nodeVersion | SHRINKING;
+		node.right = rightLeft;
+		right.left = node;
+		if (parentLeft == node) {
+			parent.left = right;
+		} else {
+			parent.right = right;
+		}
+		right.parent = parent;
+		node.parent = right;
+		if (rightLeft != null)
+			rightLeft.parent = node;
+
+		int newNodeHeight = 1 + Math.max(leftHeight, rightLeftHeight);
+		node.height = newNodeHeight;
+		right.height = 1 + Math.max(newNodeHeight, rightRightHeight);
+		node.version = nodeVersion + SHRINK_COUNT_INCREMENT;
+
+		int nodeBalance = rightLeftHeight - leftHeight;
+		if (nodeBalance < -1 || nodeBalance > 1)
+			return node;
+		if ((rightLeft == null || leftHeight == 0) && node.value == null)
+			return node;
+		int rightBalance = rightRightHeight - newNodeHeight;
+		if (rightBalance < -1 || rightBalance > 1)
+			return right;
+		if (rightRightHeight == 0 && right.value == null)
+			return right;
+		return fixHeight(parent);
+	}
+
+	private Node<K, V> rotateRightOverLeft(Node<K, V> parent, Node<K, V> node, Node<K, V> left, int rightHeight,
+			int leftLeftHeight, Node<K, V> leftRight, int leftRightLeftHeight) {
+		long nodeVersion = node.version;
+		long leftVersion = left.version;
+		Node<K, V> parentLeft = parent.left;
+		Node<K, V> leftRightLeft = leftRight.left;
+		Node<K, V> leftRightRight = leftRight.right;
+		int leftRightRightHeight = height(leftRightRight);
+
+		node.version = nodeVersion | SHRINKING;
+		left.version = leftVersion | SHRINKING;
+		node.left = leftRightRight;
+		left.right = leftRightLeft;
+		leftRight.left = left;
+		leftRight.right = node;
+		if (parentLeft == node) {
+			parent.left = leftRight;
+		} else {
+			parent.right = leftRight;
+		}
+		leftRight.parent = parent;
+		left.parent = leftRight;
+		node.parent = leftRight;
+		if (leftRightRight != null)
+			leftRightRight.parent = node;
+		if (leftRightLeft != null)
+			leftRightLeft.parent = left;
+
+		int newNodeHeight = 1 + Math.max(leftRightRightHeight, rightHeight);
+		node.height = newNodeHeight;
+		int newLeftHeight;
+		if (left.value == null && (leftRightLeft == null || left.left == null)) {
+			// a routing node left with one child goes now, while it and leftRight are locked
+			attemptUnlink(leftRight, left);
+			newLeftHeight = Math.max(leftLeftHeight, leftRightLeftHeight);
+		} else {
+			newLeftHeight = 1 + Math.max(leftLeftHeight, leftRightLeftHeight);
+			left.height = newLeftHeight;
+			left.version = leftVersion + SHRINK_COUNT_INCREMENT;
+		}
+		leftRight.height = 1 + Math.max(newLeftHeight, newNodeHeight);
+		node.version = nodeVersion + SHRINK_COUNT_INCREMENT;
+
+		int nodeBalance = leftRightRightHeight - rightHeight;
+		if (nodeBalance < -1 || nodeBalance > 1)
+			return node;
+		if ((leftRightRight == null || rightHeight == 0) && node.value == null)
+			return node;
+		int leftRightBalance = newLeftHeight - newNodeHeight;
+		if (leftRightBalance < -1 || leftRightBalance > 1)
+			return leftRight;
+		return fixHeight(parent);
+	}
+
+	private Node<K, V> rotateLeftOverRight(Node<K, V> parent, Node<K, V> node, int leftHeight, Node<K, V> right,
+			Node<K, V> rightLeft, int rightRightHeight, int rightLeftRightHeight) {
+		long nodeVersion = node.version;
+		long rightVersion = right.version;
+		Node<K, V> parentLeft = parent.left;
+		Node<K, V> rightLeftLeft = rightLeft.left;
+		Node<K, V> rightLeftRight = rightLeft.right;
+		int rightLeftLeftHeight = height(rightLeftLeft);
+
+		node.version = nodeVersion | SHRINKING;
+		right.version = rightVersion | SHRINKING;
+		node.right = rightLeftLeft;
+		right.left = rightLeftRight;
+		rightLeft.right = right;
+		rightLeft.left = node;
+		if (parentLeft == node) {
+			parent.left = rightLeft;
+		} else {
+			parent.right = rightLeft;
+		}
+		rightLeft.parent = parent;
+		right.parent = rightLeft;
+		node.parent = rightLeft;
+		if (rightLeftLeft != null)
+			rightLeftLeft.parent = node;
+		if (rightLeftRight != null)
+			rightLeftRight.parent = right;
+
+		int newNodeHeight = 1 + Math.max(leftHeight, rightLeftLeftHeight);
+		node.height = newNodeHeight;
+		int newRightHeight;
+		if (right.value == null && (rightLeftRight == null || right.right == null)) {
+			attemptUnlink(rightLeft, right);
+			newRightHeight = Math.max(rightLeftRightHeight, rightRightHeight);
+		} else {
+			newRightHeight = 1 + Math.max(rightLeftRightHeight, rightRightHeight);
+			right.height = newRightHeight;
+			right.version = rightVersion + SHRINK_COUNT_INCREMENT;
+		}
+		rightLeft.height = 1 + Math.max(newNodeHeight, newRightHeight);
+		node.version = nodeVersion + SHRINK_COUNT_INCREMENT;
+
+		int nodeBalance = rightLeftLeftHeight - leftHeight;
+		if (nodeBalance < -1 || nodeBalance > 1)
+			return node;
+		if ((rightLeftLeft == null || leftHeight == 0) && node.value == null)
+			return node;
+		int rightLeftBalance = newRightHeight - newNodeHeight;
+		if (rightLeftBalance < -1 || rightLeftBalance > 1)
+			return rightLeft;
+		return fixHeight(parent);
+	}
+
+	private static boolean isShrinkingOrUnlinked(long version) {
+		return (version & (SHRINKING | UNLINKED)) != 0;
+	}
+
+	private static boolean isUnlinked(long version) {
+		return (version & UNLINKED) != 0;
+	}
+
+	private static int height(Node<?, ?> node) {
+		return node == null ? 0 : node.height;
+	}
+
+	private int compare(K k1, K k2) {
+		if (comparator != null)
+			return comparator.compare(k1, k2);
+		return ((Comparable<? super K>) k1).compareTo(k2);
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		return toList(preorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		return toList(inorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		return toList(postorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		return toList(levelOrderIterator());
+	}
+
+	private List<Entry<K, V>> toList(Iterator<Entry<K, V>> iterator) {
+		List<Entry<K, V>> result = new ArrayList<>(size());
+		iterator.forEachRemaining(result::add);
+		return result;
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return new PresentIterator(Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new InorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return new PresentIterator(Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return new PresentIterator(Traversal.LEVEL_ORDER);
+	}
+
+	// the size may change while the iterator runs, so it is not reported
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return Spliterators.spliteratorUnknownSize(inorderIterator(),
+			Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.CONCURRENT);
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	// entries are copied as they are visited, and routing nodes are skipped
+	private class PresentIterator implements Iterator<Entry<K, V>> {
+		private final Iterator<Entry<K, V>> nodes;
+		private Entry<K, V> next;
+
+		PresentIterator(Traversal order) {
+			this.nodes = new NodeIterator<Node<K, V>, K, V>(rootHolder.right, order) {
+				@Override
+				Node<K, V> left(Node<K, V> node) {
+					return node.left;
+				}
+
+				@Override
+				Node<K, V> right(Node<K, V> node) {
+					return node.right;
+				}
+
+				@Override
+				Entry<K, V> entry(Node<K, V> node) {
+					return new NodeEntry<>(node.key, node.value);
+				}
+			};
+			next = advance();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (next == null)
+				throw new NoSuchElementException();
+			Entry<K, V> curr = next;
+			next = advance();
+			return curr;
+		}
+
+		private Entry<K, V> advance() {
+			while (nodes.hasNext()) {
+				Entry<K, V> entry = nodes.next();
+				if (entry.getValue() != null)
+					return entry;
+			}
+			return null;
+		}
+	}
+
+	// a rotation can move nodes past a walk along the child links, so every step searches from the root
+	private class InorderIterator implements Iterator<Entry<K, V>> {
+		private Entry<K, V> next = higherEntry(null);
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (next == null)
+				throw new NoSuchElementException();
+			Entry<K, V> curr = next;
+			next = higherEntry(curr.getKey());
+			return curr;
+		}
+	}
+
+	// the entry with the smallest key above key, the first entry for null; a routing node or a node
+	// removed since the search passed it is skipped with another search
+	private Entry<K, V> higherEntry(K key) {
+		while (true) {
+			Node<K, V> node = higherNode(key);
+			if (node == null)
+				return null;
+			V value = node.value;
+			if (value != null)
+				return new NodeEntry<>(node.key, value);
+			key = node.key;
+		}
+	}
+
+	/**
+	 * Returns the node with the smallest key above key, routing nodes included, which is the last
+	 * node on the search path for key where the search turned left. Each child is read before the
+	 * parent's version is checked again, as in {@link #attemptGet}, so every key in the range the
+	 * search narrows down to was below that node; a version change starts over from the root.
+	 */
+	private Node<K, V> higherNode(K key) {
+		retry:
+		while (true) {
+			Node<K, V> node = rootHolder.right;
+			if (node == null)
+				return null;
+			long version = node.version;
+			if (isShrinkingOrUnlinked(version)) {
+				node.waitUntilShrinkCompleted(version);
+				continue;
+			}
+			if (node != rootHolder.right)
+				continue;
+
+			Node<K, V> higher = null;
+			while (true) {
+				boolean left = key == null || compare(key, node.key) < 0;
+				if (left)
+					higher = node;
+				Node<K, V> child = left ? node.left : node.right;
+				if (child == null) {
+					if (node.version != version)
+						continue retry;
+					return higher;
+				}
+				long childVersion = child.version;
+				if (isShrinkingOrUnlinked(childVersion)) {
+					child.waitUntilShrinkCompleted(childVersion);
+					continue retry;
+				}
+				if (child != (left ? node.left : node.right) || node.version != version)
+					continue retry;
+				node = child;
+				version = childVersion;
+			}
+		}
+	}
+
+	private record NodeEntry<K, V>(K key, V value) implements Entry<K, V> {
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+
+	private static final class Node<K, V> {
+		final K key;
+		volatile V value;
+		volatile int height;
+		volatile long version;
+		volatile Node<K, V> parent;
+		volatile Node<K, V> left;
+		volatile Node<K, V> right;
+
+		Node(K key, V value, Node<K, V> parent) {
+			this.key = key;
+			this.value = value;
+			this.parent = parent;
+			this.height = 1;
+		}
+
+		Node<K, V> child(int dir) {
+			return dir < 0 ? left : right;
+		}
+
+		void setChild(int dir, Node<K, V> child) {
+			if (dir < 0) {
+				left = child;
+			} else {
+				right = child;
+			}
+		}
+
+		// a shrink holds the node's lock, so taking the lock waits it out
+		void waitUntilShrinkCompleted(long version) {
+			if ((version & SHRINKING) == 0)
+				return;
+			for (int i = 0; i < SPIN_COUNT; ++i) {
+				if (this.version != version)
+					return;
+			}
+			synchronized (this) {
+			}
+		}
+	}
+}
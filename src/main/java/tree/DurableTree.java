@@ -0,0 +1,474 @@
+package tree;
+
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * A tree whose updates survive a crash. Every update is applied to the tree and appended to a
+ * write-ahead log in a directory of its own (see {@link WriteAheadLog}). A checkpoint writes the
+ * whole tree as a snapshot ({@link Tree#writeSnapshot}) and deletes the log segments before it; one
+ * runs in the background whenever the log has grown by {@code CHECKPOINT_BYTES} since the last.
+ * {@link #open} loads the latest snapshot and replays the log after it.
+ *
+ * <p>An update is logged before it is applied, so one whose record can't be encoded leaves the
+ * tree unchanged, and one the tree rejects is taken out of the log again. When an update returns is
+ * up to the {@link Commit} mode, but other threads see it as soon as it is applied, which is before
+ * its record is forced: a lookup can return a value that a crash then loses, and only an update that
+ * has returned is as durable as the mode promises. Lookups and traversals go through
+ * {@link Trees#concurrent}, so the tree can be shared between threads; updates are serialized.
+ * Values must not be null, as the log has no way to tell them from a removal.
+ */
+public class DurableTree<K, V> implements Tree<K, V>, AutoCloseable {
+
+	public enum Commit {
+		/** Every update has forced the log when it returns. */
+		SYNC,
+		/** Updates wait for a shared force, taken at most the latency budget after the first was logged. */
+		GROUP,
+		/** Updates return at once and are forced as with GROUP; a crash loses about a latency budget's worth. */
+		ASYNC
+	}
+
+	static final long SEGMENT_SIZE = 64L << 20;
+	private static final long CHECKPOINT_BYTES = 4 * SEGMENT_SIZE;
+	private static final Duration LATENCY_BUDGET = Duration.ZERO;
+	private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{20})\\.snap");
+
+	private final Path directory;
+	private final Tree<K, V> tree;
+	private final Codec<K> keyCodec;
+	private final Codec<V> valueCodec;
+	private final WriteAheadLog<K, V> log;
+	private final long checkpointBytes;
+	private final ExecutorService checkpointer;
+	private final Object checkpointLock = new Object();
+	// LSN the latest snapshot covers the log up to
+	private volatile long checkpointed;
+	// guarded by the log's monitor
+	private boolean checkpointScheduled;
+	private volatile IOException checkpointFailure;
+
+	private DurableTree(Path directory, Tree<K, V> tree, Codec<K> keyCodec, Codec<V> valueCodec,
+		WriteAheadLog<K, V> log, long checkpointed, long checkpointBytes) {
+		this.directory = directory;
+		this.tree = Trees.concurrent(tree);
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
+		this.log = log;
+		this.checkpointed = checkpointed;
+		this.checkpointBytes = checkpointBytes;
+		this.checkpointer = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "tree-checkpoint");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Opens the log in directory with group commit and no latency budget: a force starts as soon as
+	 * the previous one is done, and takes every update that arrived meanwhile.
+	 *
+	 * @see #open(Path, Tree, Codec, Codec, Commit, Duration)
+	 */
+	public static <K, V> DurableTree<K, V> open(Path directory, Tree<K, V> tree, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		return open(directory, tree, keyCodec, valueCodec, Commit.GROUP, LATENCY_BUDGET);
+	}
+
+	/**
+	 * Replaces the contents of tree with the state recorded in directory, which is created if it
+	 * doesn't exist, and returns the durable view of it. The tree must not be used directly
+	 * afterwards. A record torn by a crash ends the log and is dropped.
+	 *
+	 * @param latencyBudget how long a logged update may wait for others to share its force
+	 */
+	public static <K, V> DurableTree<K, V> open(Path directory, Tree<K, V> tree, Codec<K> keyCodec, Codec<V> valueCodec,
+		Commit commit, Duration latencyBudget) throws IOException {
+		return open(directory, tree, keyCodec, valueCodec, commit, latencyBudget, SEGMENT_SIZE, CHECKPOINT_BYTES);
+	}
+
+	static <K, V> DurableTree<K, V> open(Path directory, Tree<K, V> tree, Codec<K> keyCodec, Codec<V> valueCodec,
+		Commit commit, Duration latencyBudget, long segmentSize, long checkpointBytes) throws IOException {
+		Files.createDirectories(directory);
+		TreeMap<Long, Path> snapshots = new TreeMap<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				String name = file.getFileName().toString();
+				Matcher matcher = SNAPSHOT.matcher(name);
+				if (matcher.matches()) {
+					snapshots.put(Long.parseLong(matcher.group(1)), file);
+				} else if (name.endsWith(".tmp")) {
+					// left by a checkpoint that didn't finish
+					Files.delete(file);
+				}
+			}
+		}
+
+		long lsn = 0;
+		if (snapshots.isEmpty()) {
+			tree.clear();
+		} else {
+			lsn = snapshots.lastKey();
+			tree.readSnapshot(snapshots.lastEntry().getValue(), keyCodec, valueCodec);
+		}
+		WriteAheadLog<K, V> log = new WriteAheadLog<>(directory, segmentSize, keyCodec, valueCodec, commit, latencyBudget.toNanos());
+		log.recover(lsn, tree);
+		return new DurableTree<>(directory, tree, keyCodec, valueCodec, log, lsn, checkpointBytes);
+	}
+
+	/**
+	 * Writes the tree as a snapshot and deletes the older snapshots and the log segments it covers.
+	 * Updates wait while the entries are copied, not while they are written.
+	 */
+	public void checkpoint() throws IOException {
+		synchronized (checkpointLock) {
+			List<Entry<K, V>> entries;
+			long lsn;
+			synchronized (log) {
+				entries = tree.inorder();
+				lsn = log.appended();
+			}
+			if (lsn == checkpointed)
+				return;
+			// the log up to lsn is written before its segments go, so the flusher is past them
+			log.sync();
+
+			TreeSnapshot.write(entries.iterator(), directory.resolve(String.format("snapshot-%020d.snap", lsn)), keyCodec, valueCodec);
+			forceDirectory(directory);
+			checkpointed = lsn;
+			try (Stream<Path> files = Files.list(directory)) {
+				for (Path file : (Iterable<Path>) files::iterator) {
+					Matcher matcher = SNAPSHOT.matcher(file.getFileName().toString());
+					if (matcher.matches() && Long.parseLong(matcher.group(1)) < lsn)
+						Files.delete(file);
+				}
+			}
+			log.truncate(lsn);
+		}
+	}
+
+	/**
+	 * Forces every update made so far to disk, without waiting for the latency budget. Useful with
+	 * {@link Commit#ASYNC}.
+	 */
+	public void sync() {
+		log.sync();
+	}
+
+	/**
+	 * Forces the log and stops the background threads. A running checkpoint is waited for; if an
+	 * earlier one failed, its exception is thrown here.
+	 */
+	@Override
+	public void close() throws IOException {
+		checkpointer.shutdown();
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (checkpointer.awaitTermination(1, TimeUnit.DAYS))
+					break;
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		log.close();
+		if (checkpointFailure != null)
+			throw checkpointFailure;
+	}
+
+	@Override
+	public int size() {
+		return tree.size();
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return tree.contains(key);
+	}
+
+	@Override
+	public V get(K key) {
+		return tree.get(key);
+	}
+
+	@Override
+	public void clear() {
+		long lsn;
+		synchronized (log) {
+			log.awaitRoom();
+			long start = log.appended();
+			lsn = log.append(WriteAheadLog.CLEAR, null, null);
+			try {
+				tree.clear();
+			} catch (RuntimeException | Error e) {
+				log.discard(start);
+				throw e;
+			}
+		}
+		log.commit(lsn);
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		Objects.requireNonNull(value);
+		long lsn;
+		synchronized (log) {
+			log.awaitRoom();
+			if (tree.get(key) != null)
+				return false;
+			lsn = applied(key, value);
+		}
+		log.commit(lsn);
+		return true;
+	}
+
+	@Override
+	public V remove(K key) {
+		long lsn;
+		V oldValue;
+		synchronized (log) {
+			log.awaitRoom();
+			oldValue = tree.get(key);
+			if (oldValue == null)
+				return null;
+			lsn = applied(key, null);
+		}
+		log.commit(lsn);
+		return oldValue;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		Objects.requireNonNull(value);
+		long lsn;
+		V oldValue;
+		synchronized (log) {
+			log.awaitRoom();
+			oldValue = tree.get(key);
+			lsn = applied(key, value);
+		}
+		log.commit(lsn);
+		return oldValue;
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		Objects.requireNonNull(value);
+		long lsn;
+		synchronized (log) {
+			log.awaitRoom();
+			V oldValue = tree.get(key);
+			if (oldValue != null)
+				return oldValue;
+			lsn = applied(key, value);
+		}
+		log.commit(lsn);
+		return null;
+	}
+
+	// the result is logged rather than the function, which replay couldn't call
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		long lsn;
+		V newValue;
+		synchronized (log) {
+			log.awaitRoom();
+			V oldValue = tree.get(key);
+			newValue = remapping.apply(key, oldValue);
+			if (oldValue == null && newValue == null)
+				return null;
+			lsn = applied(key, newValue);
+		}
+		log.commit(lsn);
+		return newValue;
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		long lsn;
+		V newValue;
+		synchronized (log) {
+			log.awaitRoom();
+			V oldValue = tree.get(key);
+			if (oldValue != null)
+				return oldValue;
+			newValue = mapping.apply(key);
+			if (newValue == null)
+				return null;
+			lsn = applied(key, newValue);
+		}
+		log.commit(lsn);
+		return newValue;
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		Objects.requireNonNull(value);
+		long lsn;
+		V newValue;
+		synchronized (log) {
+			log.awaitRoom();
+			V oldValue = tree.get(key);
+			newValue = oldValue == null ? value : remapping.apply(oldValue, value);
+			if (oldValue == null && newValue == null)
+				return null;
+			lsn = applied(key, newValue);
+		}
+		log.commit(lsn);
+		return newValue;
+	}
+
+	// the whole batch shares one commit
+	@Override
+	public boolean addAll(Collection<? extends Entry<K, V>> entries) {
+		long lsn = -1;
+		synchronized (log) {
+			log.awaitRoom();
+			for (Entry<K, V> entry : entries) {
+				V value = Objects.requireNonNull(entry.getValue());
+				if (tree.get(entry.getKey()) == null)
+					lsn = applied(entry.getKey(), value);
+			}
+		}
+		if (lsn < 0)
+			return false;
+		log.commit(lsn);
+		return true;
+	}
+
+	@Override
+	public boolean removeAll(Collection<? extends K> keys) {
+		long lsn = -1;
+		synchronized (log) {
+			log.awaitRoom();
+			for (K key : keys) {
+				if (tree.get(key) != null)
+					lsn = applied(key, null);
+			}
+		}
+		if (lsn < 0)
+			return false;
+		log.commit(lsn);
+		return true;
+	}
+
+	/**
+	 * Under the log's monitor: appends a put, or a removal for null, then applies it to the tree, and
+	 * starts a checkpoint if due. A record the codecs can't encode leaves the tree unchanged, and
+	 * one whose update the tree rejects is discarded, so the log never differs from the tree.
+	 */
+	private long applied(K key, V newValue) {
+		long start = log.appended();
+		long lsn = newValue == null
+			? log.append(WriteAheadLog.REMOVE, key, null)
+			: log.append(WriteAheadLog.PUT, key, newValue);
+		try {
+			if (newValue == null) {
+				tree.remove(key);
+			} else {
+				tree.put(key, newValue);
+			}
+		} catch (RuntimeException | Error e) {
+			log.discard(start);
+			throw e;
+		}
+		if (!checkpointScheduled && lsn - checkpointed >= checkpointBytes) {
+			checkpointScheduled = true;
+			checkpointer.execute(this::scheduledCheckpoint);
+		}
+		return lsn;
+	}
+
+	private void scheduledCheckpoint() {
+		try {
+			checkpoint();
+		} catch (IOException e) {
+			checkpointFailure = e;
+		} catch (UncheckedIOException e) {
+			checkpointFailure = e.getCause();
+		} finally {
+			synchronized (log) {
+				checkpointScheduled = false;
+			}
+		}
+	}
+
+	// makes the creation and deletion of files in directory durable
+	static void forceDirectory(Path directory) throws IOException {
+		try (FileChannel channel = FileChannel.open(directory, READ)) {
+			channel.force(true);
+		}
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		return tree.preorder();
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		return tree.inorder();
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		return tree.postorder();
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		return tree.levelOrder();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return tree.preorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return tree.inorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return tree.postorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return tree.levelOrderIterator();
+	}
+
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return tree.spliterator();
+	}
+
+	// reads go through the wrapper from Trees.concurrent, which serializes them as the tree needs
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+}
@@ -0,0 +1,132 @@
+package tree;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link NodeIterator} for trees that address their nodes by {@code int} index, with {@code -1} as
+ * the empty child. The stack and the level-order queue are plain {@code int} arrays.
+ */
+abstract class IndexIterator<K, V> implements Iterator<Tree.Entry<K, V>> {
+
+	static final int NIL = -1;
+	private static final byte ENTER = 0, LEFT_DONE = 1, RIGHT_DONE = 2;
+
+	private final Traversal order;
+	private int[] nodes = new int[16];
+	private byte[] state;
+	private int depth;
+	private int head, tail;
+	private int next;
+
+	IndexIterator(int root, Traversal order) {
+		this.order = order;
+		if (order != Traversal.LEVEL_ORDER)
+			state = new byte[16];
+		if (root != NIL)
+			push(root);
+		next = advance();
+	}
+
+	abstract int left(int node);
+
+	abstract int right(int node);
+
+	abstract Tree.Entry<K, V> entry(int node);
+
+	@Override
+	public boolean hasNext() {
+		return next != NIL;
+	}
+
+	@Override
+	public Tree.Entry<K, V> next() {
+		if (next == NIL)
+			throw new NoSuchElementException();
+		int curr = next;
+		next = advance();
+		return entry(curr);
+	}
+
+	private int advance() {
+		if (order == Traversal.LEVEL_ORDER) {
+			if (head == tail)
+				return NIL;
+			int curr = nodes[head];
+			head = (head + 1) & (nodes.length - 1);
+			if (left(curr) != NIL)
+				push(left(curr));
+			if (right(curr) != NIL)
+				push(right(curr));
+			return curr;
+		}
+
+		while (depth > 0) {
+			int curr = nodes[depth - 1];
+			switch (order) {
+				case PREORDER -> {
+					--depth;
+					if (right(curr) != NIL)
+						push(right(curr));
+					if (left(curr) != NIL)
+						push(left(curr));
+					return curr;
+				}
+				case INORDER -> {
+					if (state[depth - 1] == ENTER) {
+						state[depth - 1] = LEFT_DONE;
+						if (left(curr) != NIL)
+							push(left(curr));
+					} else {
+						--depth;
+						if (right(curr) != NIL)
+							push(right(curr));
+						return curr;
+					}
+				}
+				default -> {
+					if (state[depth - 1] == ENTER) {
+						state[depth - 1] = LEFT_DONE;
+						if (left(curr) != NIL)
+							push(left(curr));
+					} else if (state[depth - 1] == LEFT_DONE) {
+						state[depth - 1] = RIGHT_DONE;
+						if (right(curr) != NIL)
+							push(right(curr));
+					} else {
+						--depth;
+						return curr;
+					}
+				}
+			}
+		}
+		return NIL;
+	}
+
+	private void push(int node) {
+		if (order == Traversal.LEVEL_ORDER) {
+			// circular queue, capacity stays a power of two
+			nodes[tail] = node;
+			tail = (tail + 1) & (nodes.length - 1);
+			if (tail == head) {
+				int[] grown = new int[nodes.length << 1];
+				int n = nodes.length - head;
+				System.arraycopy(nodes, head, grown, 0, n);
+				System.arraycopy(nodes, 0, grown, n, head);
+				head = 0;
+				tail = nodes.length;
+				nodes = grown;
+			}
+			return;
+		}
+
+		if (depth == nodes.length) {
+			nodes = Arrays.copyOf(nodes, depth << 1);
+			state = Arrays.copyOf(state, depth << 1);
+		}
+		nodes[depth] = node;
+		state[depth] = ENTER;
+		++depth;
+	}
+}
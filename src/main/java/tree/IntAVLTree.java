@@ -0,0 +1,131 @@
+package tree;
+
+public class IntAVLTree<V> extends IntTree<V> {
+
+	private IntTreeNode<V> removed;
+
+	@Override
+	public boolean add(int key, V value) {
+		int oldSize = size;
+		root = add(root, key, value);
+		return size != oldSize;
+	}
+
+	@Override
+	public V removeInt(int key) {
+		root = delete(root, key);
+		if (removed == null)
+			return null;
+
+		V oldValue = removed.value;
+		removed = null;
+		--size;
+		return oldValue;
+	}
+
+	private IntTreeNode<V> add(IntTreeNode<V> node, int key, V value) {
+		if (node == null) {
+			++size;
+			return new IntAVLTreeNode<>(key, value);
+		}
+
+		if (key < node.key) {
+			node.left = add(node.left, key, value);
+		} else if (key > node.key) {
+			node.right = add(node.right, key, value);
+		} else {
+			return node;
+		}
+		return rebalance(node);
+	}
+
+	private IntTreeNode<V> delete(IntTreeNode<V> node, int key) {
+		if (node == null)
+			return null;
+
+		if (key < node.key) {
+			node.left = delete(node.left, key);
+		} else if (key > node.key) {
+			node.right = delete(node.right, key);
+		} else {
+			removed = node;
+			if (node.left == null)
+				return node.right;
+			if (node.right == null)
+				return node.left;
+
+			// Node has two children, the successor node takes its place
+			IntTreeNode<V> successor = node.right;
+			while (successor.left != null) {
+				successor = successor.left;
+			}
+			successor.right = deleteMin(node.right);
+			successor.left = node.left;
+			node = successor;
+		}
+		return rebalance(node);
+	}
+
+	private IntTreeNode<V> deleteMin(IntTreeNode<V> node) {
+		if (node.left == null)
+			return node.right;
+		node.left = deleteMin(node.left);
+		return rebalance(node);
+	}
+
+	private IntTreeNode<V> rebalance(IntTreeNode<V> node) {
+		heightUpdate(node);
+		int balance = height(node.left) - height(node.right);
+		if (balance > 1) {
+			// LR
+			if (height(node.left.left) < height(node.left.right))
+				node.left = leftRotate(node.left);
+			// LL
+			return rightRotate(node);
+		}
+		if (balance < -1) {
+			// RL
+			if (height(node.right.right) < height(node.right.left))
+				node.right = rightRotate(node.right);
+			// RR
+			return leftRotate(node);
+		}
+		return node;
+	}
+
+	private IntTreeNode<V> leftRotate(IntTreeNode<V> parentNode) {
+		IntTreeNode<V> newParentNode = parentNode.right;
+		parentNode.right = newParentNode.left;
+		newParentNode.left = parentNode;
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+		return newParentNode;
+	}
+
+	private IntTreeNode<V> rightRotate(IntTreeNode<V> parentNode) {
+		IntTreeNode<V> newParentNode = parentNode.left;
+		parentNode.left = newParentNode.right;
+		newParentNode.right = parentNode;
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+		return newParentNode;
+	}
+
+	private void heightUpdate(IntTreeNode<V> node) {
+		((IntAVLTreeNode<V>) node).height = (byte) (Math.max(height(node.left), height(node.right)) + 1);
+	}
+
+	private int height(IntTreeNode<V> node) {
+		if (node == null)
+			return -1;
+		return ((IntAVLTreeNode<V>) node).height;
+	}
+
+	private static class IntAVLTreeNode<V> extends IntTreeNode<V> {
+		byte height;
+
+		IntAVLTreeNode(int key, V value) {
+			super(key, value);
+		}
+	}
+}
@@ -0,0 +1,100 @@
+package tree;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+public class IntTreap<V> extends IntTree<V> {
+
+	private IntTreeNode<V> removed;
+
+	@Override
+	public boolean add(int key, V value) {
+		int oldSize = size;
+		root = add(root, key, value);
+		return size != oldSize;
+	}
+
+	@Override
+	public V removeInt(int key) {
+		root = delete(root, key);
+		if (removed == null)
+			return null;
+
+		V oldValue = removed.value;
+		removed = null;
+		--size;
+		return oldValue;
+	}
+
+	private IntTreeNode<V> add(IntTreeNode<V> node, int key, V value) {
+		if (node == null) {
+			++size;
+			return new IntTreapNode<>(key, value);
+		}
+
+		if (key < node.key) {
+			node.left = add(node.left, key, value);
+			if (priority(node.left) > priority(node))
+				return rightRotate(node);
+		} else if (key > node.key) {
+			node.right = add(node.right, key, value);
+			if (priority(node.right) > priority(node))
+				return leftRotate(node);
+		}
+		return node;
+	}
+
+	private IntTreeNode<V> delete(IntTreeNode<V> node, int key) {
+		if (node == null)
+			return null;
+
+		if (key < node.key) {
+			node.left = delete(node.left, key);
+		} else if (key > node.key) {
+			node.right = delete(node.right, key);
+		} else {
+			removed = node;
+			return merge(node.left, node.right);
+		}
+		return node;
+	}
+
+	private IntTreeNode<V> merge(IntTreeNode<V> a, IntTreeNode<V> b) {
+		if (a == null) return b;
+		if (b == null) return a;
+
+		if (priority(a) < priority(b)) {
+			b.left = merge(a, b.left);
+			return b;
+		} else {
+			a.right = merge(a.right, b);
+			return a;
+		}
+	}
+
+	private IntTreeNode<V> leftRotate(IntTreeNode<V> parentNode) {
+		IntTreeNode<V> newParentNode = parentNode.right;
+		parentNode.right = newParentNode.left;
+		newParentNode.left = parentNode;
+		return newParentNode;
+	}
+
+	private IntTreeNode<V> rightRotate(IntTreeNode<V> parentNode) {
+		IntTreeNode<V> newParentNode = parentNode.left;
+		parentNode.left = newParentNode.right;
+		newParentNode.right = parentNode;
+		return newParentNode;
+	}
+
+	private int priority(IntTreeNode<V> node) {
+		return ((IntTreapNode<V>) node).priority;
+	}
+
+	private static class IntTreapNode<V> extends IntTreeNode<V> {
+		final int priority;
+
+		IntTreapNode(int key, V value) {
+			super(key, value);
+			this.priority = ThreadLocalRandom.current().nextInt();
+		}
+	}
+}
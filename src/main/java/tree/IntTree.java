@@ -0,0 +1,219 @@
+package tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Base class for trees keyed by a primitive {@code int}. Nodes hold the key in a primitive field and
+ * compare it inline, so the {@code *Int} methods never box. The {@link Tree} methods are bridges
+ * that unbox once on entry.
+ */
+public abstract class IntTree<V> implements Tree<Integer, V> {
+
+	protected int size;
+	protected IntTreeNode<V> root;
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+
+	public abstract boolean add(int key, V value);
+
+	public abstract V removeInt(int key);
+
+	public V getInt(int key) {
+		IntTreeNode<V> find = getNode(key);
+		return find == null ? null : find.value;
+	}
+
+	public boolean containsInt(int key) {
+		return getNode(key) != null;
+	}
+
+	@Override
+	public boolean add(Integer key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+		return add(key.intValue(), value);
+	}
+
+	@Override
+	public boolean contains(Integer key) {
+		if (key == null)
+			throw new NullPointerException();
+		return containsInt(key);
+	}
+
+	@Override
+	public V get(Integer key) {
+		if (key == null)
+			throw new NullPointerException();
+		return getInt(key);
+	}
+
+	@Override
+	public V remove(Integer key) {
+		if (key == null)
+			throw new NullPointerException();
+		return removeInt(key);
+	}
+
+	private IntTreeNode<V> getNode(int key) {
+		IntTreeNode<V> p = root;
+		while (p != null) {
+			if (key < p.key) {
+				p = p.left;
+			} else if (key > p.key) {
+				p = p.right;
+			} else {
+				return p;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public List<Entry<Integer, V>> preorder() {
+		List<Entry<Integer, V>> result = new ArrayList<>(size);
+		traversePreorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Integer, V>> inorder() {
+		List<Entry<Integer, V>> result = new ArrayList<>(size);
+		traverseInorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Integer, V>> postorder() {
+		List<Entry<Integer, V>> result = new ArrayList<>(size);
+		traversePostorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Integer, V>> levelOrder() {
+		List<Entry<Integer, V>> result = new ArrayList<>(size);
+		traverseLevelOrder(root, result);
+		return result;
+	}
+
+	private void traversePreorder(IntTreeNode<V> node, List<Entry<Integer, V>> result) {
+		if (node == null)
+			return;
+		result.add(node);
+		traversePreorder(node.left, result);
+		traversePreorder(node.right, result);
+	}
+
+	private void traverseInorder(IntTreeNode<V> node, List<Entry<Integer, V>> result) {
+		if (node == null)
+			return;
+		traverseInorder(node.left, result);
+		result.add(node);
+		traverseInorder(node.right, result);
+	}
+
+	private void traversePostorder(IntTreeNode<V> node, List<Entry<Integer, V>> result) {
+		if (node == null)
+			return;
+		traversePostorder(node.left, result);
+		traversePostorder(node.right, result);
+		result.add(node);
+	}
+
+	private void traverseLevelOrder(IntTreeNode<V> node, List<Entry<Integer, V>> result) {
+		if (node == null)
+			return;
+		Queue<IntTreeNode<V>> queue = new ArrayDeque<>();
+		queue.add(node);
+		while (!queue.isEmpty()) {
+			IntTreeNode<V> curr = queue.poll();
+			result.add(curr);
+			if (curr.left != null)
+				queue.add(curr.left);
+			if (curr.right != null)
+				queue.add(curr.right);
+		}
+	}
+
+	@Override
+	public Iterator<Entry<Integer, V>> preorderIterator() {
+		return new IntTreeNodeIterator(Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Integer, V>> inorderIterator() {
+		return new IntTreeNodeIterator(Traversal.INORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Integer, V>> postorderIterator() {
+		return new IntTreeNodeIterator(Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Integer, V>> levelOrderIterator() {
+		return new IntTreeNodeIterator(Traversal.LEVEL_ORDER);
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	private class IntTreeNodeIterator extends NodeIterator<IntTreeNode<V>, Integer, V> {
+		IntTreeNodeIterator(Traversal order) {
+			super(root, order);
+		}
+
+		@Override
+		IntTreeNode<V> left(IntTreeNode<V> node) {
+			return node.left;
+		}
+
+		@Override
+		IntTreeNode<V> right(IntTreeNode<V> node) {
+			return node.right;
+		}
+
+		@Override
+		Entry<Integer, V> entry(IntTreeNode<V> node) {
+			return node;
+		}
+	}
+
+	protected static class IntTreeNode<V> implements Entry<Integer, V> {
+		final int key;
+		V value;
+		IntTreeNode<V> left;
+		IntTreeNode<V> right;
+
+		IntTreeNode(int key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public Integer getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,328 @@
+package tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * AVL tree keyed by a primitive {@code long}, see {@link IntTree}.
+ */
+public class LongAVLTree<V> implements Tree<Long, V> {
+
+	private int size;
+	private LongAVLTreeNode<V> root;
+	private LongAVLTreeNode<V> removed;
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		root = null;
+		size = 0;
+	}
+
+	public boolean add(long key, V value) {
+		int oldSize = size;
+		root = add(root, key, value);
+		return size != oldSize;
+	}
+
+	public V getLong(long key) {
+		LongAVLTreeNode<V> find = getNode(key);
+		return find == null ? null : find.value;
+	}
+
+	public boolean containsLong(long key) {
+		return getNode(key) != null;
+	}
+
+	public V removeLong(long key) {
+		root = delete(root, key);
+		if (removed == null)
+			return null;
+
+		V oldValue = removed.value;
+		removed = null;
+		--size;
+		return oldValue;
+	}
+
+	@Override
+	public boolean add(Long key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+		return add(key.longValue(), value);
+	}
+
+	@Override
+	public boolean contains(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+		return containsLong(key);
+	}
+
+	@Override
+	public V get(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+		return getLong(key);
+	}
+
+	@Override
+	public V remove(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+		return removeLong(key);
+	}
+
+	private LongAVLTreeNode<V> add(LongAVLTreeNode<V> node, long key, V value) {
+		if (node == null) {
+			++size;
+			return new LongAVLTreeNode<>(key, value);
+		}
+
+		if (key < node.key) {
+			node.left = add(node.left, key, value);
+		} else if (key > node.key) {
+			node.right = add(node.right, key, value);
+		} else {
+			return node;
+		}
+		return rebalance(node);
+	}
+
+	private LongAVLTreeNode<V> delete(LongAVLTreeNode<V> node, long key) {
+		if (node == null)
+			return null;
+
+		if (key < node.key) {
+			node.left = delete(node.left, key);
+		} else if (key > node.key) {
+			node.right = delete(node.right, key);
+		} else {
+			removed = node;
+			if (node.left == null)
+				return node.right;
+			if (node.right == null)
+				return node.left;
+
+			// Node has two children, the successor node takes its place
+			LongAVLTreeNode<V> successor = node.right;
+			while (successor.left != null) {
+				successor = successor.left;
+			}
+			successor.right = deleteMin(node.right);
+			successor.left = node.left;
+			node = successor;
+		}
+		return rebalance(node);
+	}
+
+	private LongAVLTreeNode<V> deleteMin(LongAVLTreeNode<V> node) {
+		if (node.left == null)
+			return node.right;
+		node.left = deleteMin(node.left);
+		return rebalance(node);
+	}
+
+	private LongAVLTreeNode<V> rebalance(LongAVLTreeNode<V> node) {
+		heightUpdate(node);
+		int balance = height(node.left) - height(node.right);
+		if (balance > 1) {
+			// LR
+			if (height(node.left.left) < height(node.left.right))
+				node.left = leftRotate(node.left);
+			// LL
+			return rightRotate(node);
+		}
+		if (balance < -1) {
+			// RL
+			if (height(node.right.right) < height(node.right.left))
+				node.right = rightRotate(node.right);
+			// RR
+			return leftRotate(node);
+		}
+		return node;
+	}
+
+	private LongAVLTreeNode<V> leftRotate(LongAVLTreeNode<V> parentNode) {
+		LongAVLTreeNode<V> newParentNode = parentNode.right;
+		parentNode.right = newParentNode.left;
+		newParentNode.left = parentNode;
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+		return newParentNode;
+	}
+
+	private LongAVLTreeNode<V> rightRotate(LongAVLTreeNode<V> parentNode) {
+		LongAVLTreeNode<V> newParentNode = parentNode.left;
+		parentNode.left = newParentNode.right;
+		newParentNode.right = parentNode;
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+		return newParentNode;
+	}
+
+	private void heightUpdate(LongAVLTreeNode<V> node) {
+		node.height = (byte) (Math.max(height(node.left), height(node.right)) + 1);
+	}
+
+	private int height(LongAVLTreeNode<V> node) {
+		return node == null ? -1 : node.height;
+	}
+
+	private LongAVLTreeNode<V> getNode(long key) {
+		LongAVLTreeNode<V> p = root;
+		while (p != null) {
+			if (key < p.key) {
+				p = p.left;
+			} else if (key > p.key) {
+				p = p.right;
+			} else {
+				return p;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public List<Entry<Long, V>> preorder() {
+		List<Entry<Long, V>> result = new ArrayList<>(size);
+		traversePreorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Long, V>> inorder() {
+		List<Entry<Long, V>> result = new ArrayList<>(size);
+		traverseInorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Long, V>> postorder() {
+		List<Entry<Long, V>> result = new ArrayList<>(size);
+		traversePostorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Long, V>> levelOrder() {
+		List<Entry<Long, V>> result = new ArrayList<>(size);
+		traverseLevelOrder(root, result);
+		return result;
+	}
+
+	private void traversePreorder(LongAVLTreeNode<V> node, List<Entry<Long, V>> result) {
+		if (node == null)
+			return;
+		result.add(node);
+		traversePreorder(node.left, result);
+		traversePreorder(node.right, result);
+	}
+
+	private void traverseInorder(LongAVLTreeNode<V> node, List<Entry<Long, V>> result) {
+		if (node == null)
+			return;
+		traverseInorder(node.left, result);
+		result.add(node);
+		traverseInorder(node.right, result);
+	}
+
+	private void traversePostorder(LongAVLTreeNode<V> node, List<Entry<Long, V>> result) {
+		if (node == null)
+			return;
+		traversePostorder(node.left, result);
+		traversePostorder(node.right, result);
+		result.add(node);
+	}
+
+	private void traverseLevelOrder(LongAVLTreeNode<V> node, List<Entry<Long, V>> result) {
+		if (node == null)
+			return;
+		Queue<LongAVLTreeNode<V>> queue = new ArrayDeque<>();
+		queue.add(node);
+		while (!queue.isEmpty()) {
+			LongAVLTreeNode<V> curr = queue.poll();
+			result.add(curr);
+			if (curr.left != null)
+				queue.add(curr.left);
+			if (curr.right != null)
+				queue.add(curr.right);
+		}
+	}
+
+	@Override
+	public Iterator<Entry<Long, V>> preorderIterator() {
+		return new LongAVLTreeNodeIterator(Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Long, V>> inorderIterator() {
+		return new LongAVLTreeNodeIterator(Traversal.INORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Long, V>> postorderIterator() {
+		return new LongAVLTreeNodeIterator(Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Long, V>> levelOrderIterator() {
+		return new LongAVLTreeNodeIterator(Traversal.LEVEL_ORDER);
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	private class LongAVLTreeNodeIterator extends NodeIterator<LongAVLTreeNode<V>, Long, V> {
+		LongAVLTreeNodeIterator(Traversal order) {
+			super(root, order);
+		}
+
+		@Override
+		LongAVLTreeNode<V> left(LongAVLTreeNode<V> node) {
+			return node.left;
+		}
+
+		@Override
+		LongAVLTreeNode<V> right(LongAVLTreeNode<V> node) {
+			return node.right;
+		}
+
+		@Override
+		Entry<Long, V> entry(LongAVLTreeNode<V> node) {
+			return node;
+		}
+	}
+
+	private static class LongAVLTreeNode<V> implements Entry<Long, V> {
+		final long key;
+		V value;
+		LongAVLTreeNode<V> left;
+		LongAVLTreeNode<V> right;
+		byte height;
+
+		LongAVLTreeNode(long key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public Long getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,500 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link BPlusTree} keyed by a primitive {@code long}. The keys of a node are one {@code long[]}, so
+ * a node's binary search reads consecutive memory instead of dereferencing a boxed key per probe.
+ * The {@link Tree} methods are bridges that unbox once on entry, as in {@link LongAVLTree}.
+ */
+public class LongBPlusTree<V> implements Tree<Long, V> {
+
+	private static final int MIN_FANOUT = 4;
+
+	private final int fanout;
+	private final int minimum;
+
+	private int size;
+	private Node root;
+	private Leaf first;
+	private Node split;
+	private long splitKey;
+	private Object removed;
+
+	public LongBPlusTree() {
+		this(BPlusTree.DEFAULT_FANOUT);
+	}
+
+	public LongBPlusTree(int fanout) {
+		if (fanout < MIN_FANOUT)
+			throw new IllegalArgumentException("fanout must be at least " + MIN_FANOUT + ": " + fanout);
+		this.fanout = fanout;
+		this.minimum = (fanout + 1) / 2;
+		clear();
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		root = first = new Leaf(fanout);
+		size = 0;
+	}
+
+	public boolean add(long key, V value) {
+		int oldSize = size;
+		insert(root, key, value, false);
+		grow();
+		return size != oldSize;
+	}
+
+	public V getLong(long key) {
+		Leaf leaf = leafOf(key);
+		int found = search(leaf, key);
+		return found >= 0 ? (V) leaf.values[found] : null;
+	}
+
+	public boolean containsLong(long key) {
+		return search(leafOf(key), key) >= 0;
+	}
+
+	public V removeLong(long key) {
+		if (!delete(root, key))
+			return null;
+		if (root instanceof Inner inner && inner.count == 0)
+			root = inner.children[0];
+		V oldValue = (V) removed;
+		removed = null;
+		return oldValue;
+	}
+
+	public V put(long key, V value) {
+		if (value == null)
+			throw new NullPointerException();
+		V oldValue = insert(root, key, value, true);
+		grow();
+		return oldValue;
+	}
+
+	/**
+	 * Iterates over the entries between two bounds in key order, see {@link BPlusTree#rangeIterator}.
+	 */
+	public Iterator<Entry<Long, V>> rangeIterator(long lo, boolean loInclusive, long hi, boolean hiInclusive) {
+		if (lo > hi)
+			throw new IllegalArgumentException("lo > hi: " + lo + ", " + hi);
+		Leaf leaf = leafOf(lo);
+		int found = search(leaf, lo);
+		int index = found >= 0 ? (loInclusive ? found : found + 1) : -found - 1;
+		return new LeafIterator(leaf, index, hi, hiInclusive);
+	}
+
+	@Override
+	public boolean add(Long key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+		return add(key.longValue(), value);
+	}
+
+	@Override
+	public boolean contains(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+		return containsLong(key);
+	}
+
+	@Override
+	public V get(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+		return getLong(key);
+	}
+
+	@Override
+	public V remove(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+		return removeLong(key);
+	}
+
+	@Override
+	public V put(Long key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+		return put(key.longValue(), value);
+	}
+
+	int height() {
+		int height = 1;
+		for (Node node = root; node instanceof Inner inner; node = inner.children[0]) {
+			++height;
+		}
+		return height;
+	}
+
+	private Leaf leafOf(long key) {
+		Node node = root;
+		while (node instanceof Inner inner) {
+			node = inner.children[childIndex(search(inner, key))];
+		}
+		return (Leaf) node;
+	}
+
+	private static int search(Node node, long key) {
+		long[] keys = node.keys;
+		int lo = 0;
+		int hi = node.count - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			long midKey = keys[mid];
+			if (midKey < key) {
+				lo = mid + 1;
+			} else if (midKey > key) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(lo + 1);
+	}
+
+	private static int childIndex(int found) {
+		return found >= 0 ? found + 1 : -found - 1;
+	}
+
+	private static int entries(Node node) {
+		return node instanceof Inner ? node.count + 1 : node.count;
+	}
+
+	private V insert(Node node, long key, V value, boolean replace) {
+		int found = search(node, key);
+		if (node instanceof Inner inner) {
+			int child = childIndex(found);
+			V oldValue = insert(inner.children[child], key, value, replace);
+			if (split != null)
+				insertChild(inner, child, splitKey, split);
+			return oldValue;
+		}
+
+		Leaf leaf = (Leaf) node;
+		if (found >= 0) {
+			V oldValue = (V) leaf.values[found];
+			if (replace)
+				leaf.values[found] = value;
+			return oldValue;
+		}
+		int at = -found - 1;
+		System.arraycopy(leaf.keys, at, leaf.keys, at + 1, leaf.count - at);
+		System.arraycopy(leaf.values, at, leaf.values, at + 1, leaf.count - at);
+		leaf.keys[at] = key;
+		leaf.values[at] = value;
+		++leaf.count;
+		++size;
+		if (leaf.count > fanout)
+			splitLeaf(leaf);
+		return null;
+	}
+
+	private void insertChild(Inner inner, int child, long key, Node right) {
+		System.arraycopy(inner.keys, child, inner.keys, child + 1, inner.count - child);
+		System.arraycopy(inner.children, child + 1, inner.children, child + 2, inner.count - child);
+		inner.keys[child] = key;
+		inner.children[child + 1] = right;
+		++inner.count;
+		split = null;
+		if (inner.count + 1 > fanout)
+			splitInner(inner);
+	}
+
+	private void splitLeaf(Leaf leaf) {
+		Leaf right = new Leaf(fanout);
+		int half = leaf.count / 2;
+		right.count = leaf.count - half;
+		System.arraycopy(leaf.keys, half, right.keys, 0, right.count);
+		System.arraycopy(leaf.values, half, right.values, 0, right.count);
+		clear(leaf.values, half, leaf.count);
+		leaf.count = half;
+		right.next = leaf.next;
+		leaf.next = right;
+		split = right;
+		splitKey = right.keys[0];
+	}
+
+	private void splitInner(Inner inner) {
+		Inner right = new Inner(fanout);
+		int mid = inner.count / 2;
+		right.count = inner.count - mid - 1;
+		System.arraycopy(inner.keys, mid + 1, right.keys, 0, right.count);
+		System.arraycopy(inner.children, mid + 1, right.children, 0, right.count + 1);
+		splitKey = inner.keys[mid];
+		clear(inner.children, mid + 1, inner.count + 1);
+		inner.count = mid;
+		split = right;
+	}
+
+	private void grow() {
+		if (split == null)
+			return;
+		Inner newRoot = new Inner(fanout);
+		newRoot.keys[0] = splitKey;
+		newRoot.children[0] = root;
+		newRoot.children[1] = split;
+		newRoot.count = 1;
+		root = newRoot;
+		split = null;
+	}
+
+	private boolean delete(Node node, long key) {
+		int found = search(node, key);
+		if (node instanceof Inner inner) {
+			int child = childIndex(found);
+			if (!delete(inner.children[child], key))
+				return false;
+			if (entries(inner.children[child]) < minimum)
+				rebalance(inner, child);
+			return true;
+		}
+
+		Leaf leaf = (Leaf) node;
+		if (found < 0)
+			return false;
+		removed = leaf.values[found];
+		System.arraycopy(leaf.keys, found + 1, leaf.keys, found, leaf.count - found - 1);
+		System.arraycopy(leaf.values, found + 1, leaf.values, found, leaf.count - found - 1);
+		--leaf.count;
+		leaf.values[leaf.count] = null;
+		--size;
+		return true;
+	}
+
+	private void rebalance(Inner parent, int child) {
+		int left = child > 0 ? child - 1 : child;
+		if (entries(parent.children[left]) + entries(parent.children[left + 1]) <= fanout) {
+			merge(parent, left);
+		} else {
+			redistribute(parent, left);
+		}
+	}
+
+	private void merge(Inner parent, int left) {
+		Node a = parent.children[left];
+		Node b = parent.children[left + 1];
+		if (a instanceof Leaf leaf) {
+			Leaf next = (Leaf) b;
+			System.arraycopy(next.keys, 0, leaf.keys, leaf.count, next.count);
+			System.arraycopy(next.values, 0, leaf.values, leaf.count, next.count);
+			leaf.count += next.count;
+			leaf.next = next.next;
+		} else {
+			Inner inner = (Inner) a;
+			Inner next = (Inner) b;
+			inner.keys[inner.count] = parent.keys[left];
+			System.arraycopy(next.keys, 0, inner.keys, inner.count + 1, next.count);
+			System.arraycopy(next.children, 0, inner.children, inner.count + 1, next.count + 1);
+			inner.count += next.count + 1;
+		}
+
+		System.arraycopy(parent.keys, left + 1, parent.keys, left, parent.count - left - 1);
+		System.arraycopy(parent.children, left + 2, parent.children, left + 1, parent.count - left - 1);
+		--parent.count;
+		parent.children[parent.count + 1] = null;
+	}
+
+	private void redistribute(Inner parent, int left) {
+		Node a = parent.children[left];
+		Node b = parent.children[left + 1];
+		int target = (entries(a) + entries(b)) / 2;
+		if (a instanceof Leaf leaf) {
+			Leaf next = (Leaf) b;
+			if (leaf.count < target) {
+				int m = target - leaf.count;
+				System.arraycopy(next.keys, 0, leaf.keys, leaf.count, m);
+				System.arraycopy(next.values, 0, leaf.values, leaf.count, m);
+				System.arraycopy(next.keys, m, next.keys, 0, next.count - m);
+				System.arraycopy(next.values, m, next.values, 0, next.count - m);
+				clear(next.values, next.count - m, next.count);
+				leaf.count += m;
+				next.count -= m;
+			} else {
+				int m = leaf.count - target;
+				System.arraycopy(next.keys, 0, next.keys, m, next.count);
+				System.arraycopy(next.values, 0, next.values, m, next.count);
+				System.arraycopy(leaf.keys, target, next.keys, 0, m);
+				System.arraycopy(leaf.values, target, next.values, 0, m);
+				clear(leaf.values, target, leaf.count);
+				leaf.count -= m;
+				next.count += m;
+			}
+			parent.keys[left] = next.keys[0];
+			return;
+		}
+
+		Inner inner = (Inner) a;
+		Inner next = (Inner) b;
+		int children = inner.count + 1;
+		if (children < target) {
+			int m = target - children;
+			inner.keys[inner.count] = parent.keys[left];
+			System.arraycopy(next.keys, 0, inner.keys, inner.count + 1, m - 1);
+			System.arraycopy(next.children, 0, inner.children, inner.count + 1, m);
+			parent.keys[left] = next.keys[m - 1];
+			System.arraycopy(next.keys, m, next.keys, 0, next.count - m);
+			System.arraycopy(next.children, m, next.children, 0, next.count + 1 - m);
+			clear(next.children, next.count + 1 - m, next.count + 1);
+			inner.count += m;
+			next.count -= m;
+		} else {
+			int m = children - target;
+			System.arraycopy(next.keys, 0, next.keys, m, next.count);
+			System.arraycopy(next.children, 0, next.children, m, next.count + 1);
+			next.keys[m - 1] = parent.keys[left];
+			System.arraycopy(inner.keys, inner.count - m + 1, next.keys, 0, m - 1);
+			System.arraycopy(inner.children, inner.count + 1 - m, next.children, 0, m);
+			parent.keys[left] = inner.keys[inner.count - m];
+			clear(inner.children, inner.count + 1 - m, inner.count + 1);
+			inner.count -= m;
+			next.count += m;
+		}
+	}
+
+	private static void clear(Object[] array, int from, int to) {
+		for (int i = from; i < to; i++) {
+			array[i] = null;
+		}
+	}
+
+	@Override
+	public List<Entry<Long, V>> preorder() {
+		return inorder();
+	}
+
+	@Override
+	public List<Entry<Long, V>> inorder() {
+		List<Entry<Long, V>> result = new ArrayList<>(size);
+		for (Leaf leaf = first; leaf != null; leaf = leaf.next) {
+			for (int i = 0; i < leaf.count; i++) {
+				result.add(new LeafEntry<>(leaf.keys[i], (V) leaf.values[i]));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public List<Entry<Long, V>> postorder() {
+		return inorder();
+	}
+
+	@Override
+	public List<Entry<Long, V>> levelOrder() {
+		return inorder();
+	}
+
+	@Override
+	public Iterator<Entry<Long, V>> preorderIterator() {
+		return inorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<Long, V>> inorderIterator() {
+		return new LeafIterator(first, 0, Long.MAX_VALUE, true);
+	}
+
+	@Override
+	public Iterator<Entry<Long, V>> postorderIterator() {
+		return inorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<Long, V>> levelOrderIterator() {
+		return inorderIterator();
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	private class LeafIterator implements Iterator<Entry<Long, V>> {
+		private final long hi;
+		private final boolean hiInclusive;
+		private Leaf leaf;
+		private int index;
+
+		LeafIterator(Leaf leaf, int index, long hi, boolean hiInclusive) {
+			this.leaf = leaf;
+			this.index = index;
+			this.hi = hi;
+			this.hiInclusive = hiInclusive;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (leaf != null && index == leaf.count) {
+				leaf = leaf.next;
+				index = 0;
+			}
+			if (leaf == null)
+				return false;
+			long key = leaf.keys[index];
+			if (key > hi || key == hi && !hiInclusive) {
+				leaf = null;
+				return false;
+			}
+			return true;
+		}
+
+		@Override
+		public Entry<Long, V> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			Entry<Long, V> entry = new LeafEntry<>(leaf.keys[index], (V) leaf.values[index]);
+			++index;
+			return entry;
+		}
+	}
+
+	private abstract static class Node {
+		final long[] keys;
+		int count;
+
+		Node(int capacity) {
+			keys = new long[capacity];
+		}
+	}
+
+	private static final class Leaf extends Node {
+		final Object[] values;
+		Leaf next;
+
+		Leaf(int fanout) {
+			super(fanout + 1);
+			values = new Object[fanout + 1];
+		}
+	}
+
+	private static final class Inner extends Node {
+		final Node[] children;
+
+		Inner(int fanout) {
+			super(fanout);
+			children = new Node[fanout + 1];
+		}
+	}
+
+	private record LeafEntry<V>(long key, V value) implements Entry<Long, V> {
+		@Override
+		public Long getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package tree;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy traversal over trees without parent pointers. Depth-first orders keep an explicit stack of
+ * the current root-to-node path (O(height) memory); level order keeps a queue of the frontier.
+ */
+abstract class NodeIterator<N, K, V> implements Iterator<Tree.Entry<K, V>> {
+
+	private static final byte ENTER = 0, LEFT_DONE = 1, RIGHT_DONE = 2;
+
+	private final Traversal order;
+	private Object[] stack;
+	private byte[] state;
+	private int depth;
+	private ArrayDeque<N> queue;
+	private N next;
+
+	NodeIterator(N root, Traversal order) {
+		this.order = order;
+		if (root == null)
+			return;
+		if (order == Traversal.LEVEL_ORDER) {
+			queue = new ArrayDeque<>();
+			queue.add(root);
+		} else {
+			stack = new Object[16];
+			state = new byte[16];
+			push(root);
+		}
+		next = advance();
+	}
+
+	abstract N left(N node);
+
+	abstract N right(N node);
+
+	abstract Tree.Entry<K, V> entry(N node);
+
+	@Override
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	@Override
+	public Tree.Entry<K, V> next() {
+		if (next == null)
+			throw new NoSuchElementException();
+		N curr = next;
+		next = advance();
+		return entry(curr);
+	}
+
+	// each child link is read once: read twice, a link cleared in between by a concurrent writer would be pushed as null
+	private N advance() {
+		if (order == Traversal.LEVEL_ORDER) {
+			N curr = queue == null ? null : queue.poll();
+			if (curr != null) {
+				add(left(curr));
+				add(right(curr));
+			}
+			return curr;
+		}
+
+		while (depth > 0) {
+			N curr = (N) stack[depth - 1];
+			switch (order) {
+				case PREORDER -> {
+					--depth;
+					push(right(curr));
+					push(left(curr));
+					return curr;
+				}
+				case INORDER -> {
+					if (state[depth - 1] == ENTER) {
+						state[depth - 1] = LEFT_DONE;
+						push(left(curr));
+					} else {
+						--depth;
+						push(right(curr));
+						return curr;
+					}
+				}
+				default -> {
+					if (state[depth - 1] == ENTER) {
+						state[depth - 1] = LEFT_DONE;
+						push(left(curr));
+					} else if (state[depth - 1] == LEFT_DONE) {
+						state[depth - 1] = RIGHT_DONE;
+						push(right(curr));
+					} else {
+						--depth;
+						return curr;
+					}
+				}
+			}
+		}
+		return null;
+	}
+
+	private void add(N node) {
+		if (node != null)
+			queue.add(node);
+	}
+
+	private void push(N node) {
+		if (node == null)
+			return;
+		if (depth == stack.length) {
+			stack = Arrays.copyOf(stack, depth << 1);
+			state = Arrays.copyOf(state, depth << 1);
+		}
+		stack[depth] = node;
+		state[depth] = ENTER;
+		++depth;
+	}
+}
@@ -0,0 +1,465 @@
+package tree;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * AVL tree mapping {@code long} keys to {@code long} values whose nodes live outside the Java heap,
+ * in fixed-size slots of direct {@link ByteBuffer} chunks. The heap only holds the chunk table, so
+ * the garbage collector never traces individual nodes.
+ *
+ * <p>{@link #reset()} empties the tree but keeps the chunks for reuse. {@link #close()} releases
+ * them; the native memory is returned once the buffers are collected.
+ */
+public class OffHeapLongTree implements Tree<Long, Long>, AutoCloseable {
+
+	private static final int NIL = -1;
+
+	// slot layout: key(8) value(8) left(4) right(4) height(1), padded to 32 bytes
+	private static final int NODE_SIZE = 32;
+	private static final int KEY = 0;
+	private static final int VALUE = 8;
+	private static final int LEFT = 16;
+	private static final int RIGHT = 20;
+	private static final int HEIGHT = 24;
+
+	private static final int CHUNK_SHIFT = 16;
+	private static final int CHUNK_NODES = 1 << CHUNK_SHIFT;
+	private static final int CHUNK_MASK = CHUNK_NODES - 1;
+
+	private ByteBuffer[] chunks = new ByteBuffer[4];
+	private int chunkCount;
+
+	private int size;
+	private int root = NIL;
+	private int freeHead = NIL;
+	private int used;
+	private int removed = NIL;
+	private boolean closed;
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public void clear() {
+		reset();
+	}
+
+	/**
+	 * Removes every entry. Allocated chunks are kept and reused by later inserts.
+	 */
+	public void reset() {
+		ensureOpen();
+		root = NIL;
+		freeHead = NIL;
+		used = 0;
+		size = 0;
+	}
+
+	/**
+	 * Releases the chunks. The tree can't be used afterwards.
+	 */
+	@Override
+	public void close() {
+		Arrays.fill(chunks, null);
+		chunkCount = 0;
+		root = NIL;
+		size = 0;
+		closed = true;
+	}
+
+	public boolean add(long key, long value) {
+		ensureOpen();
+		int oldSize = size;
+		root = add(root, key, value);
+		return size != oldSize;
+	}
+
+	public long getLong(long key, long defaultValue) {
+		ensureOpen();
+		int find = getNode(key);
+		return find == NIL ? defaultValue : value(find);
+	}
+
+	public boolean containsLong(long key) {
+		ensureOpen();
+		return getNode(key) != NIL;
+	}
+
+	public boolean removeLong(long key) {
+		ensureOpen();
+		root = delete(root, key);
+		if (removed == NIL)
+			return false;
+
+		free(removed);
+		removed = NIL;
+		--size;
+		return true;
+	}
+
+	@Override
+	public boolean add(Long key, Long value) {
+		if (key == null || value == null)
+			throw new NullPointerException();
+		return add(key.longValue(), value.longValue());
+	}
+
+	@Override
+	public boolean contains(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+		return containsLong(key);
+	}
+
+	@Override
+	public Long get(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		ensureOpen();
+		int find = getNode(key);
+		return find == NIL ? null : value(find);
+	}
+
+	@Override
+	public Long remove(Long key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		ensureOpen();
+		root = delete(root, key);
+		if (removed == NIL)
+			return null;
+
+		long oldValue = value(removed);
+		free(removed);
+		removed = NIL;
+		--size;
+		return oldValue;
+	}
+
+	private int getNode(long key) {
+		int p = root;
+		while (p != NIL) {
+			long k = key(p);
+			if (key < k) {
+				p = left(p);
+			} else if (key > k) {
+				p = right(p);
+			} else {
+				return p;
+			}
+		}
+		return NIL;
+	}
+
+	private int add(int node, long key, long value) {
+		if (node == NIL) {
+			++size;
+			return allocate(key, value);
+		}
+
+		long k = key(node);
+		if (key < k) {
+			setLeft(node, add(left(node), key, value));
+		} else if (key > k) {
+			setRight(node, add(right(node), key, value));
+		} else {
+			return node;
+		}
+		return rebalance(node);
+	}
+
+	private int delete(int node, long key) {
+		if (node == NIL)
+			return NIL;
+
+		long k = key(node);
+		if (key < k) {
+			setLeft(node, delete(left(node), key));
+		} else if (key > k) {
+			setRight(node, delete(right(node), key));
+		} else {
+			removed = node;
+			if (left(node) == NIL)
+				return right(node);
+			if (right(node) == NIL)
+				return left(node);
+
+			// Node has two children, the successor node takes its place
+			int successor = right(node);
+			while (left(successor) != NIL) {
+				successor = left(successor);
+			}
+			setRight(successor, deleteMin(right(node)));
+			setLeft(successor, left(node));
+			node = successor;
+		}
+		return rebalance(node);
+	}
+
+	private int deleteMin(int node) {
+		if (left(node) == NIL)
+			return right(node);
+		setLeft(node, deleteMin(left(node)));
+		return rebalance(node);
+	}
+
+	private int rebalance(int node) {
+		heightUpdate(node);
+		int balance = height(left(node)) - height(right(node));
+		if (balance > 1) {
+			// LR
+			if (height(left(left(node))) < height(right(left(node))))
+				setLeft(node, leftRotate(left(node)));
+			// LL
+			return rightRotate(node);
+		}
+		if (balance < -1) {
+			// RL
+			if (height(right(right(node))) < height(left(right(node))))
+				setRight(node, rightRotate(right(node)));
+			// RR
+			return leftRotate(node);
+		}
+		return node;
+	}
+
+	private int leftRotate(int parentNode) {
+		int newParentNode = right(parentNode);
+		setRight(parentNode, left(newParentNode));
+		setLeft(newParentNode, parentNode);
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+		return newParentNode;
+	}
+
+	private int rightRotate(int parentNode) {
+		int newParentNode = left(parentNode);
+		setLeft(parentNode, right(newParentNode));
+		setRight(newParentNode, parentNode);
+		heightUpdate(parentNode);
+		heightUpdate(newParentNode);
+		return newParentNode;
+	}
+
+	private void heightUpdate(int node) {
+		chunk(node).put(offset(node) + HEIGHT, (byte) (Math.max(height(left(node)), height(right(node))) + 1));
+	}
+
+	private int height(int node) {
+		return node == NIL ? -1 : chunk(node).get(offset(node) + HEIGHT);
+	}
+
+	private int allocate(long key, long value) {
+		int node;
+		if (freeHead != NIL) {
+			node = freeHead;
+			freeHead = left(node);
+		} else {
+			if (used == chunkCount << CHUNK_SHIFT)
+				addChunk();
+			node = used++;
+		}
+		ByteBuffer chunk = chunk(node);
+		int offset = offset(node);
+		chunk.putLong(offset + KEY, key);
+		chunk.putLong(offset + VALUE, value);
+		chunk.putInt(offset + LEFT, NIL);
+		chunk.putInt(offset + RIGHT, NIL);
+		chunk.put(offset + HEIGHT, (byte) 0);
+		return node;
+	}
+
+	private void free(int node) {
+		setLeft(node, freeHead);
+		freeHead = node;
+	}
+
+	private void addChunk() {
+		if (chunkCount == chunks.length)
+			chunks = Arrays.copyOf(chunks, chunks.length << 1);
+		if (chunks[chunkCount] == null)
+			chunks[chunkCount] = ByteBuffer.allocateDirect(CHUNK_NODES * NODE_SIZE).order(ByteOrder.nativeOrder());
+		++chunkCount;
+	}
+
+	private ByteBuffer chunk(int node) {
+		return chunks[node >>> CHUNK_SHIFT];
+	}
+
+	private int offset(int node) {
+		return (node & CHUNK_MASK) * NODE_SIZE;
+	}
+
+	private long key(int node) {
+		return chunk(node).getLong(offset(node) + KEY);
+	}
+
+	private long value(int node) {
+		return chunk(node).getLong(offset(node) + VALUE);
+	}
+
+	private int left(int node) {
+		return chunk(node).getInt(offset(node) + LEFT);
+	}
+
+	private int right(int node) {
+		return chunk(node).getInt(offset(node) + RIGHT);
+	}
+
+	private void setLeft(int node, int child) {
+		chunk(node).putInt(offset(node) + LEFT, child);
+	}
+
+	private void setRight(int node, int child) {
+		chunk(node).putInt(offset(node) + RIGHT, child);
+	}
+
+	private void ensureOpen() {
+		if (closed)
+			throw new IllegalStateException("tree is closed");
+	}
+
+	@Override
+	public List<Entry<Long, Long>> preorder() {
+		ensureOpen();
+		List<Entry<Long, Long>> result = new ArrayList<>(size);
+		traversePreorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Long, Long>> inorder() {
+		ensureOpen();
+		List<Entry<Long, Long>> result = new ArrayList<>(size);
+		traverseInorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Long, Long>> postorder() {
+		ensureOpen();
+		List<Entry<Long, Long>> result = new ArrayList<>(size);
+		traversePostorder(root, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<Long, Long>> levelOrder() {
+		ensureOpen();
+		List<Entry<Long, Long>> result = new ArrayList<>(size);
+		if (root == NIL)
+			return result;
+
+		int[] queue = new int[size];
+		int head = 0, tail = 0;
+		queue[tail++] = root;
+		while (head < tail) {
+			int curr = queue[head++];
+			result.add(entry(curr));
+			if (left(curr) != NIL)
+				queue[tail++] = left(curr);
+			if (right(curr) != NIL)
+				queue[tail++] = right(curr);
+		}
+		return result;
+	}
+
+	private void traversePreorder(int node, List<Entry<Long, Long>> result) {
+		if (node == NIL)
+			return;
+		result.add(entry(node));
+		traversePreorder(left(node), result);
+		traversePreorder(right(node), result);
+	}
+
+	private void traverseInorder(int node, List<Entry<Long, Long>> result) {
+		if (node == NIL)
+			return;
+		traverseInorder(left(node), result);
+		result.add(entry(node));
+		traverseInorder(right(node), result);
+	}
+
+	private void traversePostorder(int node, List<Entry<Long, Long>> result) {
+		if (node == NIL)
+			return;
+		traversePostorder(left(node), result);
+		traversePostorder(right(node), result);
+		result.add(entry(node));
+	}
+
+	@Override
+	public Iterator<Entry<Long, Long>> preorderIterator() {
+		ensureOpen();
+		return new IndexTreeIterator(Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Long, Long>> inorderIterator() {
+		ensureOpen();
+		return new IndexTreeIterator(Traversal.INORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Long, Long>> postorderIterator() {
+		ensureOpen();
+		return new IndexTreeIterator(Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<Long, Long>> levelOrderIterator() {
+		ensureOpen();
+		return new IndexTreeIterator(Traversal.LEVEL_ORDER);
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	private class IndexTreeIterator extends IndexIterator<Long, Long> {
+		IndexTreeIterator(Traversal order) {
+			super(root, order);
+		}
+
+		@Override
+		int left(int node) {
+			return OffHeapLongTree.this.left(node);
+		}
+
+		@Override
+		int right(int node) {
+			return OffHeapLongTree.this.right(node);
+		}
+
+		@Override
+		Entry<Long, Long> entry(int node) {
+			return OffHeapLongTree.this.entry(node);
+		}
+	}
+
+	private Entry<Long, Long> entry(int node) {
+		return new LongEntry(key(node), value(node));
+	}
+
+	private record LongEntry(long key, long value) implements Entry<Long, Long> {
+		@Override
+		public Long getKey() {
+			return key;
+		}
+
+		@Override
+		public Long getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,905 @@
+package tree;
+
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32C;
+
+/**
+ * B+tree whose nodes are fixed-size pages of one file, so it can hold more than fits in the heap.
+ * The buffer pool keeps up to {@code poolPages} pages as they are on disk; when it is full, a clock
+ * sweep evicts a page not used since the hand last passed it, writing it back first if it was
+ * changed. The pages of the operation in progress are never evicted. Pages begin with the CRC32C of
+ * the rest of the page, which is checked whenever one is read.
+ *
+ * <p>Keys and values are stored with their {@link Codec}s and decoded as searches probe them; an
+ * entry may take at most a quarter of a page. Nodes split when their entries no longer fit a page
+ * and are merged with or rebalanced against a sibling when they drop below a quarter of one. Pages
+ * freed by merges are reused.
+ *
+ * <p>Page 0 holds the root, the size and the codec names. It is written by {@link #flush()} and
+ * {@link #close()}, the only points at which the file is consistent: pages evicted in between may
+ * already be overwritten. Failed reads and writes are thrown as {@link UncheckedIOException}.
+ *
+ * <p>The tree is not thread-safe, not even for readers alone: every lookup and every step of an
+ * iterator goes through the buffer pool, which reads pages in, evicts others and moves the clock
+ * bits, the hand and the stamp of the current operation. One thread at a time may use it. To share
+ * it, wrap it in {@link Trees#concurrent}, which takes its write lock for reads too, as
+ * {@link #sharedReads()} is false; {@link DurableTree} does so.
+ *
+ * <pre>
+ * page 0    checksum int, magic int 0x42505452 ("BPTR"), version short 1, page size int,
+ *           root long, first leaf long, size long, page count long, first free page long,
+ *           key and value codec names (short length and UTF-8)
+ * page n    checksum int, type byte (1 leaf, 2 inner, 3 free), count char, start of the cells int,
+ *           bytes in cells int, next leaf, first child or next free page long,
+ *           count slots of cell offset and length chars in key order, free space, cells;
+ *           a leaf cell is a key and its value, an inner cell a key and the child right of it
+ * </pre>
+ */
+public class PagedBPlusTree<K, V> implements Tree<K, V>, AutoCloseable {
+
+	static final int PAGE_SIZE = 8192;
+	static final int MIN_PAGE_SIZE = 256;
+	static final int MAX_PAGE_SIZE = 32768;
+	static final int MIN_POOL_PAGES = 16;
+	static final int MAGIC = 0x42505452;
+	static final short VERSION = 1;
+
+	private static final byte LEAF = 1, INNER = 2, FREE = 3;
+	private static final int TYPE = 4, COUNT = 5, CELL_START = 7, LIVE = 11, NEXT = 15, HEADER = 23;
+	private static final int SLOT = 4;
+	private static final long NONE = -1;
+
+	private final Path file;
+	private final FileChannel channel;
+	private final Comparator<? super K> comparator;
+	private final Codec<K> keyCodec;
+	private final Codec<V> valueCodec;
+	private final int pageSize;
+	private final int maxCellSize;
+	private final ByteBuffer io;
+	private final CRC32C checksum = new CRC32C();
+
+	// the cell being inserted, and the cells of two pages laid out in one while they are divided
+	private final ByteBuffer cell;
+	private final ByteBuffer big;
+
+	// the buffer pool; a page read or created by the current operation carries its number
+	private final Frame[] frames;
+	private final Map<Long, Frame> pages;
+	private int used;
+	private int hand;
+	private long operation;
+	long pageReads;
+	long pageWrites;
+
+	private long root;
+	private long first;
+	private long size;
+	private long pageCount;
+	private long freeHead;
+	private boolean closed;
+
+	// set when a page split: the separator cell for its parent, which points at the new page
+	private boolean split;
+	private final ByteBuffer promoted;
+	private int promotedLength;
+	private Object removed;
+
+	private PagedBPlusTree(Path file, FileChannel channel, Comparator<? super K> comparator, Codec<K> keyCodec,
+		Codec<V> valueCodec, int poolPages, int pageSize) throws IOException {
+		this.file = file;
+		this.channel = channel;
+		this.comparator = comparator;
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
+		this.pageSize = pageSize;
+		this.maxCellSize = (pageSize - HEADER) / 4 - SLOT;
+		this.io = ByteBuffer.allocate(pageSize);
+		this.cell = ByteBuffer.allocate(pageSize);
+		this.big = ByteBuffer.allocate(2 * pageSize);
+		this.promoted = ByteBuffer.allocate(pageSize);
+		this.frames = new Frame[poolPages];
+		this.pages = new HashMap<>(poolPages * 2);
+
+		if (channel.size() == 0) {
+			clear();
+			flush();
+		} else {
+			readMeta();
+		}
+	}
+
+	/**
+	 * Opens the tree in file with 8 KiB pages, creating the file if it doesn't exist.
+	 *
+	 * @param comparator the key order, or null for the natural order; must be the same on every open
+	 * @param poolPages how many pages the buffer pool holds, at least {@value #MIN_POOL_PAGES}
+	 * @throws IOException if the file can't be read, is not a tree file, or was written with other
+	 *         codecs or another page size
+	 */
+	public static <K, V> PagedBPlusTree<K, V> open(Path file, Comparator<? super K> comparator, Codec<K> keyCodec,
+		Codec<V> valueCodec, int poolPages) throws IOException {
+		return open(file, comparator, keyCodec, valueCodec, poolPages, PAGE_SIZE);
+	}
+
+	static <K, V> PagedBPlusTree<K, V> open(Path file, Comparator<? super K> comparator, Codec<K> keyCodec,
+		Codec<V> valueCodec, int poolPages, int pageSize) throws IOException {
+		if (poolPages < MIN_POOL_PAGES)
+			throw new IllegalArgumentException("poolPages must be at least " + MIN_POOL_PAGES + ": " + poolPages);
+		if (pageSize < MIN_PAGE_SIZE || pageSize > MAX_PAGE_SIZE)
+			throw new IllegalArgumentException("pageSize must be between " + MIN_PAGE_SIZE + " and " + MAX_PAGE_SIZE + ": " + pageSize);
+		FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE);
+		try {
+			return new PagedBPlusTree<>(file, channel, comparator, keyCodec, valueCodec, poolPages, pageSize);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes every changed page and the header page, and forces the file to disk.
+	 */
+	public void flush() throws IOException {
+		checkOpen();
+		for (int i = 0; i < used; i++) {
+			if (frames[i].dirty)
+				write(frames[i]);
+		}
+		writeMeta();
+		channel.force(true);
+	}
+
+	/**
+	 * Flushes the tree and closes the file. The tree can't be used afterwards.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		try {
+			flush();
+		} finally {
+			closed = true;
+			channel.close();
+		}
+	}
+
+	// Tree.size() is an int; trees of more entries report Integer.MAX_VALUE
+	@Override
+	public int size() {
+		return (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	@Override
+	public void clear() {
+		begin();
+		for (int i = 0; i < used; i++) {
+			frames[i].id = NONE;
+			frames[i].dirty = false;
+		}
+		pages.clear();
+		try {
+			channel.truncate(pageSize);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		pageCount = 1;
+		freeHead = NONE;
+		size = 0;
+		root = first = allocate(LEAF).id;
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		if (key == null || value == null)
+			throw new NullPointerException();
+
+		long oldSize = size;
+		insert(key, value, false);
+		return size != oldSize;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public V get(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		begin();
+		ByteBuffer page = page(root).buffer;
+		while (type(page) == INNER) {
+			page = page(child(page, childIndex(search(page, key)))).buffer;
+		}
+		int found = search(page, key);
+		return found >= 0 ? valueAt(page, found) : null;
+	}
+
+	@Override
+	public V remove(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		begin();
+		Frame rootFrame = page(root);
+		if (!delete(rootFrame, key))
+			return null;
+		growRoot();
+		if (type(rootFrame.buffer) == INNER && count(rootFrame.buffer) == 0) {
+			root = next(rootFrame.buffer);
+			free(rootFrame);
+		}
+		V oldValue = (V) removed;
+		removed = null;
+		return oldValue;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		if (key == null || value == null)
+			throw new NullPointerException();
+		return insert(key, value, true);
+	}
+
+	/**
+	 * Iterates over the entries between two bounds in key order, see {@link BPlusTree#rangeIterator}.
+	 */
+	public Iterator<Entry<K, V>> rangeIterator(K lo, boolean loInclusive, K hi, boolean hiInclusive) {
+		if (lo != null && hi != null && compare(lo, hi) > 0)
+			throw new IllegalArgumentException("lo > hi: " + lo + ", " + hi);
+
+		begin();
+		if (lo == null)
+			return new LeafIterator(page(first), 0, hi, hiInclusive);
+
+		Frame leaf = page(root);
+		while (type(leaf.buffer) == INNER) {
+			leaf = page(child(leaf.buffer, childIndex(search(leaf.buffer, lo))));
+		}
+		int found = search(leaf.buffer, lo);
+		int index = found >= 0 ? (loInclusive ? found : found + 1) : -found - 1;
+		return new LeafIterator(leaf, index, hi, hiInclusive);
+	}
+
+	int height() {
+		begin();
+		int height = 1;
+		for (ByteBuffer page = page(root).buffer; type(page) == INNER; page = page(next(page)).buffer) {
+			++height;
+		}
+		return height;
+	}
+
+	long pageCount() {
+		return pageCount;
+	}
+
+	private void begin() {
+		checkOpen();
+		++operation;
+	}
+
+	private void checkOpen() {
+		if (closed)
+			throw new IllegalStateException("the tree is closed");
+	}
+
+	private int search(ByteBuffer page, K key) {
+		int lo = 0;
+		int hi = count(page) - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			int comp = compare(keyAt(page, mid), key);
+			if (comp < 0) {
+				lo = mid + 1;
+			} else if (comp > 0) {
+				hi = mid - 1;
+			} else {
+				return mid;
+			}
+		}
+		return -(lo + 1);
+	}
+
+	private static int childIndex(int found) {
+		return found >= 0 ? found + 1 : -found - 1;
+	}
+
+	private V insert(K key, V value, boolean replace) {
+		begin();
+		int length = encode(key, value);
+		V oldValue = insert(page(root), key, length, replace);
+		growRoot();
+		return oldValue;
+	}
+
+	// the entry is encoded in cell
+	private V insert(Frame frame, K key, int length, boolean replace) {
+		ByteBuffer page = frame.buffer;
+		int found = search(page, key);
+		if (type(page) == INNER) {
+			int child = childIndex(found);
+			V oldValue = insert(page(child(page, child)), key, length, replace);
+			if (split)
+				absorbSplit(frame, child);
+			return oldValue;
+		}
+
+		if (found >= 0) {
+			V oldValue = valueAt(page, found);
+			if (replace) {
+				removeCell(page, found);
+				insertCell(frame, found, cell, length);
+			}
+			return oldValue;
+		}
+		insertCell(frame, -found - 1, cell, length);
+		++size;
+		return null;
+	}
+
+	// adds the separator of the page split off the child at index child
+	private void absorbSplit(Frame frame, int child) {
+		split = false;
+		cell.put(0, promoted, 0, promotedLength);
+		insertCell(frame, child, cell, promotedLength);
+	}
+
+	private void growRoot() {
+		if (!split)
+			return;
+		split = false;
+		Frame newRoot = allocate(INNER);
+		newRoot.buffer.putLong(NEXT, root);
+		append(newRoot.buffer, promoted, 0, promotedLength);
+		root = newRoot.id;
+	}
+
+	// inserts the cell at index i, splitting the page if it doesn't fit
+	private void insertCell(Frame frame, int i, ByteBuffer source, int length) {
+		ByteBuffer page = frame.buffer;
+		frame.dirty = true;
+		if (usedBytes(page) + SLOT + length <= pageSize) {
+			if (page.getInt(CELL_START) - length < HEADER + SLOT * (count(page) + 1))
+				compact(page);
+			int offset = page.getInt(CELL_START) - length;
+			page.put(offset, source, 0, length);
+			int slot = HEADER + SLOT * i;
+			System.arraycopy(page.array(), slot, page.array(), slot + SLOT, SLOT * (count(page) - i));
+			page.putChar(slot, (char) offset).putChar(slot + 2, (char) length);
+			page.putChar(COUNT, (char) (count(page) + 1)).putInt(CELL_START, offset).putInt(LIVE, page.getInt(LIVE) + length);
+			return;
+		}
+
+		init(big, type(page), next(page));
+		copyCells(page, 0, i, big);
+		append(big, source, 0, length);
+		copyCells(page, i, count(page), big);
+		divide(frame, allocate(type(page)), big);
+		split = true;
+	}
+
+	private static void removeCell(ByteBuffer page, int i) {
+		int count = count(page);
+		int offset = offset(page, i);
+		int length = length(page, i);
+		int slot = HEADER + SLOT * i;
+		System.arraycopy(page.array(), slot + SLOT, page.array(), slot, SLOT * (count - i - 1));
+		page.putChar(COUNT, (char) (count - 1)).putInt(LIVE, page.getInt(LIVE) - length);
+		if (offset == page.getInt(CELL_START))
+			page.putInt(CELL_START, offset + length);
+	}
+
+	// moves the cells of big into left and right, about half of the bytes each, and leaves the
+	// separator pointing at right in promoted
+	private void divide(Frame left, Frame right, ByteBuffer big) {
+		int count = count(big);
+		int half = (usedBytes(big) - HEADER) / 2;
+		int bytes = 0;
+		int mid = 0;
+		while (mid < count && bytes < half) {
+			bytes += length(big, mid++) + SLOT;
+		}
+
+		left.dirty = true;
+		right.dirty = true;
+		if (type(big) == LEAF) {
+			mid = Math.max(1, Math.min(mid, count - 1));
+			init(left.buffer, LEAF, right.id);
+			copyCells(big, 0, mid, left.buffer);
+			init(right.buffer, LEAF, next(big));
+			copyCells(big, mid, count, right.buffer);
+			int offset = offset(big, mid);
+			big.position(offset);
+			keyCodec.read(big);
+			promote(big, offset, big.position() - offset, right.id);
+		} else {
+			// the middle key moves up, and its child becomes the first child of right
+			mid = Math.max(1, Math.min(mid, count - 2));
+			init(left.buffer, INNER, next(big));
+			copyCells(big, 0, mid, left.buffer);
+			init(right.buffer, INNER, child(big, mid + 1));
+			copyCells(big, mid + 1, count, right.buffer);
+			promote(big, offset(big, mid), length(big, mid) - Long.BYTES, right.id);
+		}
+	}
+
+	private void promote(ByteBuffer source, int offset, int keyLength, long child) {
+		promoted.put(0, source, offset, keyLength);
+		promoted.putLong(keyLength, child);
+		promotedLength = keyLength + Long.BYTES;
+	}
+
+	private boolean delete(Frame frame, K key) {
+		ByteBuffer page = frame.buffer;
+		int found = search(page, key);
+		if (type(page) == INNER) {
+			int child = childIndex(found);
+			Frame childFrame = page(child(page, child));
+			if (!delete(childFrame, key))
+				return false;
+			if (split) {
+				absorbSplit(frame, child);
+			} else if (usedBytes(childFrame.buffer) < pageSize / 4) {
+				rebalance(frame, child);
+			}
+			return true;
+		}
+
+		if (found < 0)
+			return false;
+		removed = valueAt(page, found);
+		removeCell(page, found);
+		frame.dirty = true;
+		--size;
+		return true;
+	}
+
+	// merges the child with a sibling if both fit in one page, otherwise shares their bytes evenly;
+	// a separator of another length may then split the parent
+	private void rebalance(Frame parentFrame, int child) {
+		ByteBuffer parent = parentFrame.buffer;
+		int left = child > 0 ? child - 1 : child;
+		Frame a = page(child(parent, left));
+		Frame b = page(child(parent, left + 1));
+		byte type = type(a.buffer);
+
+		init(big, type, type == LEAF ? next(b.buffer) : next(a.buffer));
+		copyCells(a.buffer, 0, count(a.buffer), big);
+		if (type == INNER) {
+			// the separator comes down, pointing at the first child of b
+			int length = length(parent, left);
+			cell.put(0, parent, offset(parent, left), length);
+			cell.putLong(length - Long.BYTES, next(b.buffer));
+			append(big, cell, 0, length);
+		}
+		copyCells(b.buffer, 0, count(b.buffer), big);
+		removeCell(parent, left);
+		parentFrame.dirty = true;
+
+		if (usedBytes(big) <= pageSize) {
+			init(a.buffer, type, next(big));
+			copyCells(big, 0, count(big), a.buffer);
+			a.dirty = true;
+			free(b);
+			return;
+		}
+		divide(a, b, big);
+		cell.put(0, promoted, 0, promotedLength);
+		insertCell(parentFrame, left, cell, promotedLength);
+	}
+
+	private Frame allocate(byte type) {
+		Frame frame;
+		if (freeHead != NONE) {
+			frame = page(freeHead);
+			freeHead = next(frame.buffer);
+		} else {
+			frame = admit(pageCount++);
+		}
+		init(frame.buffer, type, NONE);
+		frame.dirty = true;
+		return frame;
+	}
+
+	private void free(Frame frame) {
+		init(frame.buffer, FREE, freeHead);
+		frame.dirty = true;
+		freeHead = frame.id;
+	}
+
+	// encodes the entry into cell and returns its length
+	private int encode(K key, V value) {
+		cell.clear();
+		int keyLength;
+		try {
+			keyCodec.write(key, cell);
+			keyLength = cell.position();
+			valueCodec.write(value, cell);
+		} catch (BufferOverflowException e) {
+			throw new IllegalArgumentException("entry larger than a page of " + pageSize + " bytes");
+		}
+		// the key also goes into inner pages, followed by a child
+		int length = Math.max(cell.position(), keyLength + Long.BYTES);
+		if (length > maxCellSize)
+			throw new IllegalArgumentException("entry of " + length + " bytes exceeds the limit of " + maxCellSize);
+		return cell.position();
+	}
+
+	private K keyAt(ByteBuffer page, int i) {
+		page.position(offset(page, i));
+		return keyCodec.read(page);
+	}
+
+	private V valueAt(ByteBuffer page, int i) {
+		page.position(offset(page, i));
+		keyCodec.read(page);
+		return valueCodec.read(page);
+	}
+
+	private static void init(ByteBuffer page, byte type, long next) {
+		page.put(TYPE, type).putChar(COUNT, (char) 0).putInt(CELL_START, page.capacity()).putInt(LIVE, 0).putLong(NEXT, next);
+	}
+
+	private static byte type(ByteBuffer page) {
+		return page.get(TYPE);
+	}
+
+	private static int count(ByteBuffer page) {
+		return page.getChar(COUNT);
+	}
+
+	private static long next(ByteBuffer page) {
+		return page.getLong(NEXT);
+	}
+
+	private static int offset(ByteBuffer page, int i) {
+		return page.getChar(HEADER + SLOT * i);
+	}
+
+	private static int length(ByteBuffer page, int i) {
+		return page.getChar(HEADER + SLOT * i + 2);
+	}
+
+	// child 0 is in the header, child i + 1 ends cell i
+	private static long child(ByteBuffer page, int i) {
+		return i == 0 ? next(page) : page.getLong(offset(page, i - 1) + length(page, i - 1) - Long.BYTES);
+	}
+
+	private static int usedBytes(ByteBuffer page) {
+		return HEADER + SLOT * count(page) + page.getInt(LIVE);
+	}
+
+	private static void append(ByteBuffer page, ByteBuffer source, int sourceOffset, int length) {
+		int count = count(page);
+		int offset = page.getInt(CELL_START) - length;
+		page.put(offset, source, sourceOffset, length);
+		page.putChar(HEADER + SLOT * count, (char) offset).putChar(HEADER + SLOT * count + 2, (char) length);
+		page.putChar(COUNT, (char) (count + 1)).putInt(CELL_START, offset).putInt(LIVE, page.getInt(LIVE) + length);
+	}
+
+	private static void copyCells(ByteBuffer from, int start, int end, ByteBuffer to) {
+		for (int i = start; i < end; i++) {
+			append(to, from, offset(from, i), length(from, i));
+		}
+	}
+
+	// closes the gaps left by removed cells
+	private void compact(ByteBuffer page) {
+		init(big, type(page), next(page));
+		copyCells(page, 0, count(page), big);
+		init(page, type(big), next(big));
+		copyCells(big, 0, count(big), page);
+	}
+
+	private Frame page(long id) {
+		Frame frame = pages.get(id);
+		if (frame != null) {
+			frame.referenced = true;
+			frame.pinned = operation;
+			return frame;
+		}
+
+		frame = admit(id);
+		try {
+			readPage(frame.buffer, id);
+			byte type = type(frame.buffer);
+			if (type != LEAF && type != INNER && type != FREE)
+				throw corrupt(id, "unknown page type " + type);
+		} catch (IOException e) {
+			pages.remove(id);
+			frame.id = NONE;
+			throw new UncheckedIOException(e);
+		}
+		++pageReads;
+		return frame;
+	}
+
+	private Frame admit(long id) {
+		Frame frame;
+		if (used < frames.length) {
+			frame = frames[used++] = new Frame(pageSize);
+		} else {
+			frame = evict();
+		}
+		frame.id = id;
+		frame.dirty = false;
+		frame.referenced = true;
+		frame.pinned = operation;
+		pages.put(id, frame);
+		return frame;
+	}
+
+	// clock: a page gets a second chance if it was used since the hand last passed
+	private Frame evict() {
+		for (int scanned = 0; scanned < 2 * frames.length; ++scanned) {
+			Frame frame = frames[hand];
+			hand = hand + 1 == frames.length ? 0 : hand + 1;
+			if (frame.id == NONE)
+				return frame;
+			if (frame.pinned == operation)
+				continue;
+			if (frame.referenced) {
+				frame.referenced = false;
+				continue;
+			}
+			if (frame.dirty) {
+				try {
+					write(frame);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+			pages.remove(frame.id);
+			return frame;
+		}
+		throw new IllegalStateException("every page of the buffer pool is in use by one operation; make the pool larger than " + frames.length);
+	}
+
+	private void write(Frame frame) throws IOException {
+		writePage(frame.buffer, frame.id);
+		++pageWrites;
+		frame.dirty = false;
+	}
+
+	private void writeMeta() throws IOException {
+		io.clear();
+		io.position(Integer.BYTES);
+		io.putInt(MAGIC).putShort(VERSION).putInt(pageSize);
+		io.putLong(root).putLong(first).putLong(size).putLong(pageCount).putLong(freeHead);
+		putName(keyCodec.name());
+		putName(valueCodec.name());
+		writePage(io, 0);
+	}
+
+	private void readMeta() throws IOException {
+		ByteBuffer start = ByteBuffer.allocate(Integer.BYTES + Short.BYTES + Integer.BYTES);
+		while (start.hasRemaining()) {
+			if (channel.read(start, Integer.BYTES + start.position()) < 0)
+				throw new IOException("not a paged tree file: " + file);
+		}
+		start.flip();
+		if (start.getInt() != MAGIC)
+			throw new IOException("not a paged tree file: " + file);
+		short version = start.getShort();
+		if (version != VERSION)
+			throw new IOException("unsupported paged tree version: " + version);
+		int filePageSize = start.getInt();
+		if (filePageSize != pageSize)
+			throw new IOException("the tree was written with pages of " + filePageSize + " bytes, not " + pageSize);
+
+		readPage(io, 0);
+		io.position(Integer.BYTES + start.capacity());
+		root = io.getLong();
+		first = io.getLong();
+		size = io.getLong();
+		pageCount = io.getLong();
+		freeHead = io.getLong();
+		checkCodec("key", keyCodec);
+		checkCodec("value", valueCodec);
+	}
+
+	private void putName(String name) {
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		io.putShort((short) bytes.length);
+		io.put(bytes);
+	}
+
+	private void checkCodec(String role, Codec<?> codec) throws IOException {
+		byte[] bytes = new byte[io.getShort() & 0xFFFF];
+		io.get(bytes);
+		String name = new String(bytes, StandardCharsets.UTF_8);
+		if (!name.equals(codec.name()))
+			throw new IOException("tree " + role + "s were written with codec " + name + ", not " + codec.name());
+	}
+
+	private void readPage(ByteBuffer buffer, long id) throws IOException {
+		buffer.clear();
+		long position = id * pageSize;
+		while (buffer.hasRemaining()) {
+			if (channel.read(buffer, position + buffer.position()) < 0)
+				throw corrupt(id, "beyond the end of the file");
+		}
+		if (checksum(buffer) != buffer.getInt(0))
+			throw corrupt(id, "checksum mismatch");
+	}
+
+	private void writePage(ByteBuffer buffer, long id) throws IOException {
+		buffer.putInt(0, checksum(buffer));
+		buffer.clear();
+		long position = id * pageSize;
+		while (buffer.hasRemaining()) {
+			channel.write(buffer, position + buffer.position());
+		}
+	}
+
+	private int checksum(ByteBuffer buffer) {
+		checksum.reset();
+		checksum.update(buffer.array(), Integer.BYTES, pageSize - Integer.BYTES);
+		return (int) checksum.getValue();
+	}
+
+	private IOException corrupt(long id, String message) {
+		return new IOException("corrupt page " + id + " of " + file + ": " + message);
+	}
+
+	protected int compare(K k1, K k2) {
+		if (comparator != null)
+			return comparator.compare(k1, k2);
+		return ((Comparable<? super K>) k1).compareTo(k2);
+	}
+
+	// All traversals walk the leaves, loading one page at a time
+	@Override
+	public List<Entry<K, V>> preorder() {
+		return inorder();
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		List<Entry<K, V>> result = new ArrayList<>(size());
+		inorderIterator().forEachRemaining(result::add);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		return inorder();
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		return inorder();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return inorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return rangeIterator(null, false, null, false);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return inorderIterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return inorderIterator();
+	}
+
+	// lookups change the buffer pool, so they can't run alongside each other
+	@Override
+	public boolean sharedReads() {
+		return false;
+	}
+
+	private class LeafIterator implements Iterator<Entry<K, V>> {
+		private final K hi;
+		private final boolean hiInclusive;
+		private long leafId;
+		private Frame frame;
+		private int index;
+
+		LeafIterator(Frame frame, int index, K hi, boolean hiInclusive) {
+			this.frame = frame;
+			this.leafId = frame.id;
+			this.index = index;
+			this.hi = hi;
+			this.hiInclusive = hiInclusive;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (leafId == NONE)
+				return false;
+			ByteBuffer leaf = leaf();
+			while (index == count(leaf)) {
+				if (PagedBPlusTree.next(leaf) == NONE) {
+					leafId = NONE;
+					return false;
+				}
+				leafId = PagedBPlusTree.next(leaf);
+				leaf = load();
+				index = 0;
+			}
+			if (hi != null) {
+				int comp = compare(keyAt(leaf, index), hi);
+				if (comp > 0 || comp == 0 && !hiInclusive) {
+					leafId = NONE;
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (!hasNext())
+				throw new NoSuchElementException();
+			ByteBuffer leaf = leaf();
+			K key = keyAt(leaf, index);
+			V value = valueCodec.read(leaf);
+			++index;
+			return new LeafEntry<>(key, value);
+		}
+
+		// the frame may hold another page since the last call
+		private ByteBuffer leaf() {
+			return frame.id == leafId ? frame.buffer : load();
+		}
+
+		private ByteBuffer load() {
+			begin();
+			frame = page(leafId);
+			return frame.buffer;
+		}
+	}
+
+	private static final class Frame {
+		final ByteBuffer buffer;
+		long id = NONE;
+		boolean dirty;
+		boolean referenced;
+		long pinned;
+
+		Frame(int pageSize) {
+			buffer = ByteBuffer.allocate(pageSize);
+		}
+	}
+
+	private record LeafEntry<K, V>(K key, V value) implements Entry<K, V> {
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,99 @@
+package tree;
+
+import java.util.Comparator;
+
+import tree.BinarySearchTree.Update;
+
+/**
+ * An AVL tree of immutable nodes; see {@link PersistentTree}. An update copies the O(log n) nodes on
+ * the path to its key and at most two more per rotation on the way back.
+ */
+public class PersistentAVLTree<K, V> extends PersistentTree<K, V> {
+
+	public PersistentAVLTree() {
+		this(null);
+	}
+
+	public PersistentAVLTree(Comparator<? super K> comparator) {
+		super(comparator, null);
+	}
+
+	private PersistentAVLTree(Comparator<? super K> comparator, PersistentNode<K, V> root) {
+		super(comparator, root);
+	}
+
+	@Override
+	public PersistentAVLTree<K, V> snapshot() {
+		return new PersistentAVLTree<>(comparator, root);
+	}
+
+	@Override
+	protected PersistentNode<K, V> update(PersistentNode<K, V> node, K key, Update<K, V> update) {
+		if (node == null)
+			return update.absent(key) ? node(key, update.newValue, null, null) : null;
+
+		int comp = compare(key, node.key);
+		if (comp < 0) {
+			PersistentNode<K, V> left = update(node.left, key, update);
+			return left == node.left ? node : rebalance(node.key, node.value, left, node.right);
+		} else if (comp > 0) {
+			PersistentNode<K, V> right = update(node.right, key, update);
+			return right == node.right ? node : rebalance(node.key, node.value, node.left, right);
+		} else if (update.present(key, node.value)) {
+			return update.newValue == node.value ? node : new PersistentNode<>(key, update.newValue, node.left, node.right, node.rank);
+		} else if (node.left == null) {
+			return node.right;
+		} else if (node.right == null) {
+			return node.left;
+		}
+
+		// the successor takes node's place, copied along with the path down to it
+		PersistentNode<K, V> successor = node.right;
+		while (successor.left != null) {
+			successor = successor.left;
+		}
+		return rebalance(successor.key, successor.value, node.left, removeFirst(node.right));
+	}
+
+	private PersistentNode<K, V> removeFirst(PersistentNode<K, V> node) {
+		if (node.left == null)
+			return node.right;
+		return rebalance(node.key, node.value, removeFirst(node.left), node.right);
+	}
+
+	// builds the node for key over left and right, whose heights differ by at most two
+	private PersistentNode<K, V> rebalance(K key, V value, PersistentNode<K, V> left, PersistentNode<K, V> right) {
+		int balance = height(left) - height(right);
+		if (balance > 1) {
+			// LR
+			if (height(left.left) < height(left.right)) {
+				PersistentNode<K, V> middle = left.right;
+				return node(middle.key, middle.value,
+					node(left.key, left.value, left.left, middle.left),
+					node(key, value, middle.right, right));
+			}
+			// LL
+			return node(left.key, left.value, left.left, node(key, value, left.right, right));
+		}
+		if (balance < -1) {
+			// RL
+			if (height(right.right) < height(right.left)) {
+				PersistentNode<K, V> middle = right.left;
+				return node(middle.key, middle.value,
+					node(key, value, left, middle.left),
+					node(right.key, right.value, middle.right, right.right));
+			}
+			// RR
+			return node(right.key, right.value, node(key, value, left, right.left), right.right);
+		}
+		return node(key, value, left, right);
+	}
+
+	private PersistentNode<K, V> node(K key, V value, PersistentNode<K, V> left, PersistentNode<K, V> right) {
+		return new PersistentNode<>(key, value, left, right, Math.max(height(left), height(right)) + 1);
+	}
+
+	private int height(PersistentNode<K, V> node) {
+		return node == null ? -1 : node.rank;
+	}
+}
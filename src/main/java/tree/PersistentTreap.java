@@ -0,0 +1,77 @@
+package tree;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+import tree.BinarySearchTree.Update;
+
+/**
+ * A treap of immutable nodes; see {@link PersistentTree}. An insert copies the path to its key and
+ * one node per rotation on the way back; a delete copies the path and the spines merged in the
+ * deleted node's place. Both are expected O(log n).
+ */
+public class PersistentTreap<K, V> extends PersistentTree<K, V> {
+
+	private static final int MAX_PRIORITY = 1234567;
+
+	public PersistentTreap() {
+		this(null);
+	}
+
+	public PersistentTreap(Comparator<? super K> comparator) {
+		super(comparator, null);
+	}
+
+	private PersistentTreap(Comparator<? super K> comparator, PersistentNode<K, V> root) {
+		super(comparator, root);
+	}
+
+	@Override
+	public PersistentTreap<K, V> snapshot() {
+		return new PersistentTreap<>(comparator, root);
+	}
+
+	// a new node is added as a leaf and rotated up past parents of lower priority on the way back
+	@Override
+	protected PersistentNode<K, V> update(PersistentNode<K, V> node, K key, Update<K, V> update) {
+		if (node == null) {
+			if (!update.absent(key))
+				return null;
+			return new PersistentNode<>(key, update.newValue, null, null, ThreadLocalRandom.current().nextInt(MAX_PRIORITY));
+		}
+
+		int comp = compare(key, node.key);
+		if (comp < 0) {
+			PersistentNode<K, V> left = update(node.left, key, update);
+			if (left == node.left)
+				return node;
+			if (left != null && left.rank > node.rank)
+				return with(left, left.left, with(node, left.right, node.right));
+			return with(node, left, node.right);
+		} else if (comp > 0) {
+			PersistentNode<K, V> right = update(node.right, key, update);
+			if (right == node.right)
+				return node;
+			if (right != null && right.rank > node.rank)
+				return with(right, with(node, node.left, right.left), right.right);
+			return with(node, node.left, right);
+		} else if (update.present(key, node.value)) {
+			return update.newValue == node.value ? node : new PersistentNode<>(key, update.newValue, node.left, node.right, node.rank);
+		}
+		return merge(node.left, node.right);
+	}
+
+	private PersistentNode<K, V> merge(PersistentNode<K, V> a, PersistentNode<K, V> b) {
+		if (a == null) return b;
+		if (b == null) return a;
+
+		if (a.rank < b.rank)
+			return with(b, merge(a, b.left), b.right);
+		return with(a, a.left, merge(a.right, b));
+	}
+
+	// a copy of node with new children, keeping its priority
+	private PersistentNode<K, V> with(PersistentNode<K, V> node, PersistentNode<K, V> left, PersistentNode<K, V> right) {
+		return new PersistentNode<>(node.key, node.value, left, right, node.rank);
+	}
+}
@@ -0,0 +1,330 @@
+package tree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import tree.BinarySearchTree.Update;
+
+/**
+ * Base class for path-copying trees. Nodes are never modified once built: an update copies the nodes
+ * on the path to its key, rebalancing with fresh nodes as well, and publishes the new root. Every
+ * version is a complete tree that shares its untouched subtrees with the others, so
+ * {@link #snapshot()} just takes the current root, and a version nobody refers to any more is left
+ * to the garbage collector.
+ *
+ * <p>Updates are serialized on the tree. Lookups, traversals and iterators read the root once and
+ * need no locking; they see the version that was current when they started, whatever is written
+ * meanwhile.
+ */
+public abstract class PersistentTree<K, V> implements Tree<K, V> {
+
+	protected final Comparator<? super K> comparator;
+	protected volatile PersistentNode<K, V> root;
+
+	protected PersistentTree(Comparator<? super K> comparator, PersistentNode<K, V> root) {
+		this.comparator = comparator;
+		this.root = root;
+	}
+
+	/**
+	 * Returns a tree holding the current version, in O(1). The two trees share their nodes but are
+	 * independent: later updates to either are not seen by the other.
+	 */
+	public abstract PersistentTree<K, V> snapshot();
+
+	/**
+	 * Returns the root of node's subtree with update applied to key, built from new nodes on the path
+	 * and rebalanced; the subtree itself is left as it is. Returns node itself if nothing changed.
+	 */
+	protected abstract PersistentNode<K, V> update(PersistentNode<K, V> node, K key, Update<K, V> update);
+
+	@Override
+	public int size() {
+		return sizeOf(root);
+	}
+
+	@Override
+	public synchronized void clear() {
+		root = null;
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		return !update(key, new Update<>(true, (k, oldValue) -> value)).present;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public V get(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		PersistentNode<K, V> p = root;
+		while (p != null) {
+			int comp = compare(key, p.key);
+			if (comp < 0) {
+				p = p.left;
+			} else if (comp > 0) {
+				p = p.right;
+			} else {
+				return p.value;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public V remove(K key) {
+		return update(key, new Update<>(false, (k, oldValue) -> null)).oldValue;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		Objects.requireNonNull(value);
+		return update(key, new Update<>(false, (k, oldValue) -> value)).oldValue;
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		Objects.requireNonNull(value);
+		return update(key, new Update<>(true, (k, oldValue) -> value)).oldValue;
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		Objects.requireNonNull(remapping);
+		return update(key, new Update<>(false, remapping)).newValue;
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		Objects.requireNonNull(mapping);
+		return update(key, new Update<K, V>(false, (k, oldValue) -> oldValue != null ? oldValue : mapping.apply(k))).newValue;
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		Objects.requireNonNull(value);
+		Objects.requireNonNull(remapping);
+		return update(key, new Update<K, V>(false,
+			(k, oldValue) -> oldValue == null ? value : remapping.apply(oldValue, value))).newValue;
+	}
+
+	/**
+	 * Applies the whole batch to a private version and publishes it at once, so no reader sees part
+	 * of it.
+	 */
+	@Override
+	public synchronized boolean addAll(Collection<? extends Entry<K, V>> entries) {
+		PersistentNode<K, V> oldRoot = root;
+		PersistentNode<K, V> node = oldRoot;
+		for (Entry<K, V> entry : entries) {
+			V value = entry.getValue();
+			node = update(node, requireKey(entry.getKey()), new Update<>(true, (k, oldValue) -> value));
+		}
+		root = node;
+		return sizeOf(node) != sizeOf(oldRoot);
+	}
+
+	@Override
+	public synchronized boolean removeAll(Collection<? extends K> keys) {
+		PersistentNode<K, V> oldRoot = root;
+		PersistentNode<K, V> node = oldRoot;
+		for (K key : keys) {
+			node = update(node, requireKey(key), new Update<>(false, (k, oldValue) -> null));
+		}
+		root = node;
+		return sizeOf(node) != sizeOf(oldRoot);
+	}
+
+	private synchronized Update<K, V> update(K key, Update<K, V> update) {
+		PersistentNode<K, V> node = update(root, requireKey(key), update);
+		if (node != root)
+			root = node;
+		return update;
+	}
+
+	private K requireKey(K key) {
+		if (key == null)
+			throw new NullPointerException();
+		return key;
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		PersistentNode<K, V> top = root;
+		List<Entry<K, V>> result = new ArrayList<>(sizeOf(top));
+		traversePreorder(top, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		PersistentNode<K, V> top = root;
+		List<Entry<K, V>> result = new ArrayList<>(sizeOf(top));
+		traverseInorder(top, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		PersistentNode<K, V> top = root;
+		List<Entry<K, V>> result = new ArrayList<>(sizeOf(top));
+		traversePostorder(top, result);
+		return result;
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		PersistentNode<K, V> top = root;
+		List<Entry<K, V>> result = new ArrayList<>(sizeOf(top));
+		if (top == null)
+			return result;
+		Queue<PersistentNode<K, V>> queue = new ArrayDeque<>();
+		queue.add(top);
+		while (!queue.isEmpty()) {
+			PersistentNode<K, V> curr = queue.poll();
+			result.add(curr);
+			if (curr.left != null)
+				queue.add(curr.left);
+			if (curr.right != null)
+				queue.add(curr.right);
+		}
+		return result;
+	}
+
+	private void traversePreorder(PersistentNode<K, V> node, List<Entry<K, V>> result) {
+		if (node == null)
+			return;
+		result.add(node);
+		traversePreorder(node.left, result);
+		traversePreorder(node.right, result);
+	}
+
+	private void traverseInorder(PersistentNode<K, V> node, List<Entry<K, V>> result) {
+		if (node == null)
+			return;
+		traverseInorder(node.left, result);
+		result.add(node);
+		traverseInorder(node.right, result);
+	}
+
+	private void traversePostorder(PersistentNode<K, V> node, List<Entry<K, V>> result) {
+		if (node == null)
+			return;
+		traversePostorder(node.left, result);
+		traversePostorder(node.right, result);
+		result.add(node);
+	}
+
+	// unlike the mutable trees, the tree may be updated while an iterator is in use
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return new PersistentNodeIterator(root, Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new PersistentNodeIterator(root, Traversal.INORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return new PersistentNodeIterator(root, Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return new PersistentNodeIterator(root, Traversal.LEVEL_ORDER);
+	}
+
+	// sized by the version being iterated, not by whatever size() says by the time it is read
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		PersistentNode<K, V> top = root;
+		return Spliterators.spliterator(new PersistentNodeIterator(top, Traversal.INORDER), sizeOf(top),
+			Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	protected int compare(K k1, K k2) {
+		if (comparator != null)
+			return comparator.compare(k1, k2);
+		return ((Comparable<? super K>) k1).compareTo(k2);
+	}
+
+	protected static int sizeOf(PersistentNode<?, ?> node) {
+		return node == null ? 0 : node.size;
+	}
+
+	private class PersistentNodeIterator extends NodeIterator<PersistentNode<K, V>, K, V> {
+		PersistentNodeIterator(PersistentNode<K, V> top, Traversal order) {
+			super(top, order);
+		}
+
+		@Override
+		PersistentNode<K, V> left(PersistentNode<K, V> node) {
+			return node.left;
+		}
+
+		@Override
+		PersistentNode<K, V> right(PersistentNode<K, V> node) {
+			return node.right;
+		}
+
+		@Override
+		Entry<K, V> entry(PersistentNode<K, V> node) {
+			return node;
+		}
+	}
+
+	/**
+	 * An immutable node. Its subtree size is kept so size() can be read off the root of any version;
+	 * {@code rank} is the height in an AVL tree and the priority in a treap.
+	 */
+	protected static final class PersistentNode<K, V> implements Entry<K, V> {
+		final K key;
+		final V value;
+		final PersistentNode<K, V> left;
+		final PersistentNode<K, V> right;
+		final int size;
+		final int rank;
+
+		PersistentNode(K key, V value, PersistentNode<K, V> left, PersistentNode<K, V> right, int rank) {
+			this.key = key;
+			this.value = value;
+			this.left = left;
+			this.right = right;
+			this.size = sizeOf(left) + sizeOf(right) + 1;
+			this.rank = rank;
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
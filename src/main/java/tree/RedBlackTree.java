@@ -0,0 +1,315 @@
+package tree;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+public class RedBlackTree<K, V> extends BinarySearchTree<K, V> {
+
+	private static final boolean RED = false;
+	private static final boolean BLACK = true;
+
+	public RedBlackTree() {
+		this(null);
+	}
+
+	public RedBlackTree(Comparator<? super K> comparator) {
+		super(comparator);
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (root == null) {
+			root = new RedBlackTreeNode<>(key, value, BLACK);
+			++size;
+			return true;
+		}
+
+		RedBlackTreeNode<K, V> newNode;
+		if (comparator != null) {
+			newNode = addUsingComparator(key, value, comparator);
+		} else {
+			newNode = addUsingComparable(key, value);
+		}
+		if (newNode == null)
+			return false;
+
+		fixAfterInsertion(newNode);
+		++size;
+		return true;
+	}
+
+	@Override
+	public V remove(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (root == null)
+			return null;
+
+		TreeNode<K, V> p;
+		if (comparator != null) {
+			p = getNodeUsingComparator(key, comparator);
+		} else {
+			p = getNodeUsingComparable(key);
+		}
+
+		if (p != null && Objects.equals(p.key, key)) {
+			V oldValue = p.value;
+			delete(p);
+			return oldValue;
+		} else {
+			return null;
+		}
+	}
+
+	@Override
+	protected TreeNode<K, V> attach(TreeNode<K, V> parent, int comp, K key, V value) {
+		TreeNode<K, V> node = super.attach(parent, comp, key, value);
+		if (parent != null) {
+			setColor(node, RED);
+			fixAfterInsertion(node);
+		}
+		return node;
+	}
+
+	@Override
+	protected TreeNode<K, V> newNode(K key, V value) {
+		return new RedBlackTreeNode<>(key, value, BLACK);
+	}
+
+	// all paths of a loaded tree have the same length except into the deepest, partially filled
+	// level, so coloring just that level red keeps the black heights equal
+	@Override
+	protected void loaded(TreeNode<K, V> node, int depth, int count) {
+		if (depth == redLevel(count))
+			setColor(node, RED);
+	}
+
+	// depth of the deepest level when it isn't full, one past the last level otherwise
+	private static int redLevel(int count) {
+		return 31 - Integer.numberOfLeadingZeros(count + 1);
+	}
+
+	private RedBlackTreeNode<K, V> addUsingComparator(K key, V value, Comparator<? super K> comparator) {
+		TreeNode<K, V> p = root;
+		while (true) {
+			int comp = comparator.compare(key, p.key);
+			if (comp < 0) {
+				if (p.left == null) {
+					RedBlackTreeNode<K, V> newNode = new RedBlackTreeNode<>(key, value, RED);
+					p.setLeft(newNode);
+					return newNode;
+				}
+				p = p.left;
+			} else if (comp > 0) {
+				if (p.right == null) {
+					RedBlackTreeNode<K, V> newNode = new RedBlackTreeNode<>(key, value, RED);
+					p.setRight(newNode);
+					return newNode;
+				}
+				p = p.right;
+			} else {
+				return null;
+			}
+		}
+	}
+
+	private RedBlackTreeNode<K, V> addUsingComparable(K key, V value) {
+		Comparable<? super K> compKey = (Comparable<? super K>) key;
+		TreeNode<K, V> p = root;
+		while (true) {
+			int comp = compKey.compareTo(p.key);
+			if (comp < 0) {
+				if (p.left == null) {
+					RedBlackTreeNode<K, V> newNode = new RedBlackTreeNode<>(key, value, RED);
+					p.setLeft(newNode);
+					return newNode;
+				}
+				p = p.left;
+			} else if (comp > 0) {
+				if (p.right == null) {
+					RedBlackTreeNode<K, V> newNode = new RedBlackTreeNode<>(key, value, RED);
+					p.setRight(newNode);
+					return newNode;
+				}
+				p = p.right;
+			} else {
+				return null;
+			}
+		}
+	}
+
+	@Override
+	protected void delete(TreeNode<K, V> p) {
+		--size;
+
+		// Node has two children, move the successor's entry into p and remove the successor instead
+		if (p.left != null && p.right != null) {
+			TreeNode<K, V> s = successor(p);
+			p.key = s.key;
+			p.value = s.value;
+			p = s;
+		}
+
+		TreeNode<K, V> replacement = p.left != null ? p.left : p.right;
+		if (replacement != null) {
+			replaceChild(p, replacement);
+			p.parent = p.left = p.right = null;
+			if (colorOf(p) == BLACK)
+				fixAfterDeletion(replacement);
+		} else if (p.parent == null) {
+			root = null;
+		} else {
+			// No children, use p itself as a phantom leaf during the fix-up, then unlink it
+			if (colorOf(p) == BLACK)
+				fixAfterDeletion(p);
+			replaceChild(p, null);
+			p.parent = null;
+		}
+	}
+
+	private void fixAfterInsertion(TreeNode<K, V> x) {
+		while (x != root && colorOf(x.parent) == RED) {
+			TreeNode<K, V> parent = x.parent;
+			TreeNode<K, V> grandParent = parent.parent;
+			if (parent == grandParent.left) {
+				TreeNode<K, V> uncle = grandParent.right;
+				if (colorOf(uncle) == RED) {
+					setColor(parent, BLACK);
+					setColor(uncle, BLACK);
+					setColor(grandParent, RED);
+					x = grandParent;
+				} else {
+					if (x == parent.right) {
+						x = parent;
+						rotateLeft(x);
+					}
+					setColor(x.parent, BLACK);
+					setColor(grandParent, RED);
+					rotateRight(grandParent);
+				}
+			} else {
+				TreeNode<K, V> uncle = grandParent.left;
+				if (colorOf(uncle) == RED) {
+					setColor(parent, BLACK);
+					setColor(uncle, BLACK);
+					setColor(grandParent, RED);
+					x = grandParent;
+				} else {
+					if (x == parent.left) {
+						x = parent;
+						rotateRight(x);
+					}
+					setColor(x.parent, BLACK);
+					setColor(grandParent, RED);
+					rotateLeft(grandParent);
+				}
+			}
+		}
+		setColor(root, BLACK);
+	}
+
+	private void fixAfterDeletion(TreeNode<K, V> x) {
+		while (x != root && colorOf(x) == BLACK) {
+			TreeNode<K, V> parent = x.parent;
+			if (x == parent.left) {
+				TreeNode<K, V> sibling = parent.right;
+				if (colorOf(sibling) == RED) {
+					setColor(sibling, BLACK);
+					setColor(parent, RED);
+					rotateLeft(parent);
+					sibling = parent.right;
+				}
+				if (colorOf(sibling.left) == BLACK && colorOf(sibling.right) == BLACK) {
+					setColor(sibling, RED);
+					x = parent;
+				} else {
+					if (colorOf(sibling.right) == BLACK) {
+						setColor(sibling.left, BLACK);
+						setColor(sibling, RED);
+						rotateRight(sibling);
+						sibling = parent.right;
+					}
+					setColor(sibling, colorOf(parent));
+					setColor(parent, BLACK);
+					setColor(sibling.right, BLACK);
+					rotateLeft(parent);
+					x = root;
+				}
+			} else {
+				TreeNode<K, V> sibling = parent.left;
+				if (colorOf(sibling) == RED) {
+					setColor(sibling, BLACK);
+					setColor(parent, RED);
+					rotateRight(parent);
+					sibling = parent.left;
+				}
+				if (colorOf(sibling.right) == BLACK && colorOf(sibling.left) == BLACK) {
+					setColor(sibling, RED);
+					x = parent;
+				} else {
+					if (colorOf(sibling.left) == BLACK) {
+						setColor(sibling.right, BLACK);
+						setColor(sibling, RED);
+						rotateLeft(sibling);
+						sibling = parent.left;
+					}
+					setColor(sibling, colorOf(parent));
+					setColor(parent, BLACK);
+					setColor(sibling.left, BLACK);
+					rotateRight(parent);
+					x = root;
+				}
+			}
+		}
+		setColor(x, BLACK);
+	}
+
+	private void rotateLeft(TreeNode<K, V> node) {
+		TreeNode<K, V> newParentNode = node.right;
+		replaceChild(node, newParentNode);
+		node.setRight(newParentNode.left);
+		newParentNode.setLeft(node);
+	}
+
+	private void rotateRight(TreeNode<K, V> node) {
+		TreeNode<K, V> newParentNode = node.left;
+		replaceChild(node, newParentNode);
+		node.setLeft(newParentNode.right);
+		newParentNode.setRight(node);
+	}
+
+	private void replaceChild(TreeNode<K, V> oldChild, TreeNode<K, V> newChild) {
+		TreeNode<K, V> parentNode = oldChild.parent;
+		if (parentNode == null) {
+			root = newChild;
+			if (newChild != null)
+				newChild.parent = null;
+		} else if (oldChild == parentNode.left) {
+			parentNode.setLeft(newChild);
+		} else {
+			parentNode.setRight(newChild);
+		}
+	}
+
+	private boolean colorOf(TreeNode<K, V> node) {
+		return node == null ? BLACK : ((RedBlackTreeNode<K, V>) node).color;
+	}
+
+	private void setColor(TreeNode<K, V> node, boolean color) {
+		if (node != null)
+			((RedBlackTreeNode<K, V>) node).color = color;
+	}
+
+	private static class RedBlackTreeNode<K, V> extends TreeNode<K, V> {
+		boolean color;
+
+		RedBlackTreeNode(K key, V value, boolean color) {
+			super(key, value);
+			this.color = color;
+		}
+	}
+}
@@ -0,0 +1,7 @@
+package tree;
+
+enum SetOperation {
+	UNION,
+	INTERSECTION,
+	DIFFERENCE
+}
@@ -0,0 +1,579 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Thread-safe tree that splits the key space into ranges, each held by its own {@link Treap} or
+ * {@link AVLTree} behind its own {@link StampedLock}. Point operations lock the one shard whose range
+ * holds the key, so writers to different ranges don't contend; {@link #size()} is a striped counter.
+ *
+ * <p>A shard that takes more than twice the average writes of the others is hot. Every
+ * {@code RESPLIT_INTERVAL} writes to a shard the write counts are compared and hot shards are split
+ * at their median key with the backing tree's {@code split}, up to {@code maxShards}. A shard never
+ * changes its range: a split retires it and publishes two new shards, and an operation that finds
+ * its shard retired after locking it routes again.
+ *
+ * <p>Traversals visit the shards in key order, each in the given order, so only the inorder ones
+ * are sorted. Each shard is copied under its read lock as the traversal reaches it; the result is
+ * consistent per shard but not across shards.
+ */
+public class ShardedTree<K, V> implements Tree<K, V> {
+
+	private static final int RESPLIT_INTERVAL = 1 << 14;
+	private static final int HOT_FACTOR = 2;
+	private static final int MIN_SPLIT_SIZE = 64;
+	private static final int DEFAULT_MAX_SHARDS = 64;
+	private static final int SAMPLE_SIZE = 1 << 12;
+
+	/**
+	 * The tree behind each shard, and how it is split.
+	 */
+	public enum Backing {
+		TREAP {
+			@Override
+			<K, V> BinarySearchTree<K, V> create(Comparator<? super K> comparator) {
+				return new Treap<>(comparator);
+			}
+
+			@Override
+			<K, V> BinarySearchTree<K, V> split(BinarySearchTree<K, V> tree, K key) {
+				return ((Treap<K, V>) tree).split(key);
+			}
+
+			@Override
+			<K, V> K median(BinarySearchTree<K, V> tree) {
+				return ((Treap<K, V>) tree).select(tree.size() / 2).getKey();
+			}
+		},
+		AVL_TREE {
+			@Override
+			<K, V> BinarySearchTree<K, V> create(Comparator<? super K> comparator) {
+				return new AVLTree<>(comparator);
+			}
+
+			@Override
+			<K, V> BinarySearchTree<K, V> split(BinarySearchTree<K, V> tree, K key) {
+				return ((AVLTree<K, V>) tree).split(key);
+			}
+
+			// without order statistics the root is the closest to the median in reach
+			@Override
+			<K, V> K median(BinarySearchTree<K, V> tree) {
+				return tree.root.key;
+			}
+		};
+
+		abstract <K, V> BinarySearchTree<K, V> create(Comparator<? super K> comparator);
+
+		abstract <K, V> BinarySearchTree<K, V> split(BinarySearchTree<K, V> tree, K key);
+
+		abstract <K, V> K median(BinarySearchTree<K, V> tree);
+	}
+
+	private final Backing backing;
+	private final Comparator<? super K> comparator;
+	private final int maxShards;
+	private final LongAdder size = new LongAdder();
+	private final ReentrantLock resplitLock = new ReentrantLock();
+
+	// ordered by range; replaced as a whole under resplitLock
+	private volatile Shard<K, V>[] shards;
+
+	public ShardedTree(Backing backing, Comparator<? super K> comparator, List<? extends K> splitPoints) {
+		this(backing, comparator, splitPoints, DEFAULT_MAX_SHARDS);
+	}
+
+	/**
+	 * @param splitPoints the lowest key of every shard but the first, in ascending order
+	 * @param maxShards   hot shards are split until there are this many; at most
+	 *                    {@code splitPoints.size() + 1} turns re-splitting off
+	 */
+	public ShardedTree(Backing backing, Comparator<? super K> comparator, List<? extends K> splitPoints, int maxShards) {
+		if (backing == null)
+			throw new NullPointerException();
+		this.backing = backing;
+		this.comparator = comparator;
+		this.maxShards = maxShards;
+
+		Shard<K, V>[] initial = new Shard[splitPoints.size() + 1];
+		K lo = null;
+		for (int i = 0; i < splitPoints.size(); ++i) {
+			K hi = splitPoints.get(i);
+			if (hi == null)
+				throw new NullPointerException();
+			if (lo != null && compare(lo, hi) >= 0)
+				throw new IllegalArgumentException("split points are not in ascending order: " + lo + ", " + hi);
+			initial[i] = new Shard<>(backing.create(comparator), lo, hi);
+			lo = hi;
+		}
+		initial[splitPoints.size()] = new Shard<>(backing.create(comparator), lo, null);
+		shards = initial;
+	}
+
+	/**
+	 * Builds a tree of {@code shardCount} shards whose split points are quantiles of a random sample
+	 * of the keys, then adds the entries shard by shard.
+	 */
+	public static <K, V> ShardedTree<K, V> bulkLoad(Backing backing, Comparator<? super K> comparator,
+			Collection<? extends Entry<K, V>> entries, int shardCount) {
+		if (shardCount < 1)
+			throw new IllegalArgumentException("shardCount must be positive: " + shardCount);
+
+		// reservoir sample, so the split points don't depend on the input order
+		List<K> sample = new ArrayList<>(Math.min(entries.size(), SAMPLE_SIZE));
+		Random random = new Random(entries.size());
+		int seen = 0;
+		for (Entry<K, V> entry : entries) {
+			K key = entry.getKey();
+			if (key == null)
+				throw new NullPointerException();
+			if (sample.size() < SAMPLE_SIZE) {
+				sample.add(key);
+			} else {
+				int slot = random.nextInt(seen + 1);
+				if (slot < SAMPLE_SIZE)
+					sample.set(slot, key);
+			}
+			++seen;
+		}
+
+		Comparator<? super K> order = comparator != null ? comparator : (Comparator<? super K>) Comparator.naturalOrder();
+		sample.sort(order);
+		List<K> splitPoints = new ArrayList<>(shardCount - 1);
+		for (int i = 1; i < shardCount && !sample.isEmpty(); ++i) {
+			K key = sample.get((int) ((long) i * sample.size() / shardCount));
+			// a quantile can repeat on a small sample, and the first key would leave the first shard empty
+			if (order.compare(sample.get(0), key) < 0
+					&& (splitPoints.isEmpty() || order.compare(splitPoints.get(splitPoints.size() - 1), key) < 0))
+				splitPoints.add(key);
+		}
+
+		ShardedTree<K, V> tree = new ShardedTree<>(backing, comparator, splitPoints, Math.max(DEFAULT_MAX_SHARDS, shardCount));
+		List<List<Entry<K, V>>> batches = new ArrayList<>(splitPoints.size() + 1);
+		for (int i = 0; i <= splitPoints.size(); ++i) {
+			batches.add(new ArrayList<>());
+		}
+		Shard<K, V>[] shards = tree.shards;
+		for (Entry<K, V> entry : entries) {
+			batches.get(tree.indexOf(shards, entry.getKey())).add(entry);
+		}
+		for (int i = 0; i < shards.length; ++i) {
+			BinarySearchTree<K, V> shardTree = shards[i].tree;
+			shardTree.addAll(batches.get(i));
+			tree.size.add(shardTree.size());
+		}
+		return tree;
+	}
+
+	@Override
+	public int size() {
+		return (int) size.sum();
+	}
+
+	public int shardCount() {
+		return shards.length;
+	}
+
+	/**
+	 * Returns the lowest key of every shard but the first, in ascending order.
+	 */
+	public List<K> splitPoints() {
+		Shard<K, V>[] current = shards;
+		List<K> result = new ArrayList<>(current.length - 1);
+		for (int i = 1; i < current.length; ++i) {
+			result.add(current[i].lo);
+		}
+		return result;
+	}
+
+	@Override
+	public void clear() {
+		resplitLock.lock();
+		try {
+			Shard<K, V>[] current = shards;
+			for (Shard<K, V> shard : current) {
+				shard.lock.writeLock();
+			}
+			for (Shard<K, V> shard : current) {
+				size.add(-shard.tree.size());
+				shard.tree.clear();
+				shard.lock.tryUnlockWrite();
+			}
+		} finally {
+			resplitLock.unlock();
+		}
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		Shard<K, V> shard = lockShard(key, true);
+		boolean added;
+		try {
+			added = shard.tree.add(key, value);
+			if (added)
+				size.increment();
+		} finally {
+			unlockAfterWrite(shard);
+		}
+		return added;
+	}
+
+	@Override
+	public boolean contains(K key) {
+		Shard<K, V> shard = lockShard(key, false);
+		try {
+			return shard.tree.contains(key);
+		} finally {
+			shard.lock.tryUnlockRead();
+		}
+	}
+
+	@Override
+	public V get(K key) {
+		Shard<K, V> shard = lockShard(key, false);
+		try {
+			return shard.tree.get(key);
+		} finally {
+			shard.lock.tryUnlockRead();
+		}
+	}
+
+	@Override
+	public V remove(K key) {
+		Shard<K, V> shard = lockShard(key, true);
+		V oldValue;
+		try {
+			oldValue = shard.tree.remove(key);
+			if (oldValue != null)
+				size.decrement();
+		} finally {
+			unlockAfterWrite(shard);
+		}
+		return oldValue;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		return update(key, tree -> tree.put(key, value));
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		return update(key, tree -> tree.putIfAbsent(key, value));
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		return update(key, tree -> tree.compute(key, remapping));
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		return update(key, tree -> tree.computeIfAbsent(key, mapping));
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		return update(key, tree -> tree.merge(key, value, remapping));
+	}
+
+	// runs an update on the shard of key under its write lock; the shard's size change is counted
+	private V update(K key, Function<BinarySearchTree<K, V>, V> operation) {
+		Shard<K, V> shard = lockShard(key, true);
+		V result;
+		try {
+			int oldSize = shard.tree.size();
+			result = operation.apply(shard.tree);
+			size.add(shard.tree.size() - oldSize);
+		} finally {
+			unlockAfterWrite(shard);
+		}
+		return result;
+	}
+
+	/**
+	 * Splits the shards that took more than twice the average writes of the others since the last
+	 * check, as long as there are fewer than {@code maxShards}, and starts counting anew. Returns the
+	 * number of shards split.
+	 */
+	public int resplitHotShards() {
+		resplitLock.lock();
+		try {
+			return resplit();
+		} finally {
+			resplitLock.unlock();
+		}
+	}
+
+	private int resplit() {
+		Shard<K, V>[] current = shards;
+		long total = 0;
+		long[] writes = new long[current.length];
+		for (int i = 0; i < current.length; ++i) {
+			writes[i] = current[i].writes;
+			total += writes[i];
+			current[i].writes = 0;
+		}
+
+		int split = 0;
+		for (int i = 0; i < current.length && shards.length < maxShards; ++i) {
+			long others = current.length == 1 ? 0 : (total - writes[i]) / (current.length - 1);
+			if (writes[i] > HOT_FACTOR * others && split(current[i]))
+				++split;
+		}
+		return split;
+	}
+
+	// called with resplitLock held
+	private boolean split(Shard<K, V> shard) {
+		shard.lock.writeLock();
+		try {
+			if (shard.retired || shard.tree.size() < MIN_SPLIT_SIZE)
+				return false;
+
+			K key = backing.median(shard.tree);
+			BinarySearchTree<K, V> upper = backing.split(shard.tree, key);
+			Shard<K, V> lowerShard = new Shard<>(shard.tree, shard.lo, key);
+			Shard<K, V> upperShard = new Shard<>(upper, key, shard.hi);
+
+			Shard<K, V>[] current = shards;
+			int index = Arrays.asList(current).indexOf(shard);
+			Shard<K, V>[] next = new Shard[current.length + 1];
+			System.arraycopy(current, 0, next, 0, index);
+			next[index] = lowerShard;
+			next[index + 1] = upperShard;
+			System.arraycopy(current, index + 1, next, index + 2, current.length - index - 1);
+			shards = next;
+			shard.retired = true;
+			return true;
+		} finally {
+			shard.lock.tryUnlockWrite();
+		}
+	}
+
+	/**
+	 * Returns the shard whose range holds key, locked. A shard retired between routing and locking is
+	 * given up and the key routed again.
+	 */
+	private Shard<K, V> lockShard(K key, boolean exclusive) {
+		if (key == null)
+			throw new NullPointerException();
+		while (true) {
+			Shard<K, V> shard = shards[indexOf(shards, key)];
+			if (exclusive) {
+				shard.lock.writeLock();
+			} else {
+				shard.lock.readLock();
+			}
+			if (!shard.retired)
+				return shard;
+			if (exclusive) {
+				shard.lock.tryUnlockWrite();
+			} else {
+				shard.lock.tryUnlockRead();
+			}
+		}
+	}
+
+	private void unlockAfterWrite(Shard<K, V> shard) {
+		boolean check = ++shard.writes % RESPLIT_INTERVAL == 0;
+		shard.lock.tryUnlockWrite();
+		// the shard lock is released first, so a split never waits on the thread that asked for it
+		if (check && shards.length < maxShards && resplitLock.tryLock()) {
+			try {
+				resplit();
+			} finally {
+				resplitLock.unlock();
+			}
+		}
+	}
+
+	// the last shard whose lowest key is not greater than key
+	private int indexOf(Shard<K, V>[] shards, K key) {
+		int lo = 1, hi = shards.length - 1;
+		while (lo <= hi) {
+			int mid = (lo + hi) >>> 1;
+			if (compare(shards[mid].lo, key) <= 0) {
+				lo = mid + 1;
+			} else {
+				hi = mid - 1;
+			}
+		}
+		return hi < 1 ? 0 : hi;
+	}
+
+	private int compare(K k1, K k2) {
+		if (comparator != null)
+			return comparator.compare(k1, k2);
+		return ((Comparable<? super K>) k1).compareTo(k2);
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		return toList(preorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		return toList(inorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		return toList(postorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		return toList(levelOrderIterator());
+	}
+
+	private List<Entry<K, V>> toList(Iterator<Entry<K, V>> iterator) {
+		List<Entry<K, V>> result = new ArrayList<>(size());
+		iterator.forEachRemaining(result::add);
+		return result;
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return new ShardIterator(Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new ShardIterator(Traversal.INORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return new ShardIterator(Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return new ShardIterator(Traversal.LEVEL_ORDER);
+	}
+
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return Spliterators.spliteratorUnknownSize(inorderIterator(),
+			Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.CONCURRENT);
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	/**
+	 * Copies one shard at a time. The next shard is found by routing the upper bound of the last one,
+	 * so shards split in the meantime are still covered.
+	 */
+	private class ShardIterator implements Iterator<Entry<K, V>> {
+		private final Traversal order;
+		private Iterator<Entry<K, V>> entries = Collections.emptyIterator();
+		private K nextLo;
+		private boolean last;
+
+		ShardIterator(Traversal order) {
+			this.order = order;
+			advance();
+		}
+
+		@Override
+		public boolean hasNext() {
+			return entries.hasNext();
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (!entries.hasNext())
+				throw new NoSuchElementException();
+			Entry<K, V> entry = entries.next();
+			if (!entries.hasNext())
+				advance();
+			return entry;
+		}
+
+		private void advance() {
+			while (!entries.hasNext() && !last) {
+				Shard<K, V> shard = nextLo == null ? lockFirst() : lockShard(nextLo, false);
+				try {
+					entries = copy(shard.tree).iterator();
+					nextLo = shard.hi;
+					last = shard.hi == null;
+				} finally {
+					shard.lock.tryUnlockRead();
+				}
+			}
+		}
+
+		private Shard<K, V> lockFirst() {
+			while (true) {
+				Shard<K, V> shard = shards[0];
+				shard.lock.readLock();
+				if (!shard.retired)
+					return shard;
+				shard.lock.tryUnlockRead();
+			}
+		}
+
+		private List<Entry<K, V>> copy(BinarySearchTree<K, V> tree) {
+			Iterator<Entry<K, V>> iterator = switch (order) {
+				case PREORDER -> tree.preorderIterator();
+				case INORDER -> tree.inorderIterator();
+				case POSTORDER -> tree.postorderIterator();
+				case LEVEL_ORDER -> tree.levelOrderIterator();
+			};
+			List<Entry<K, V>> result = new ArrayList<>(tree.size());
+			while (iterator.hasNext()) {
+				Entry<K, V> entry = iterator.next();
+				result.add(new ShardEntry<>(entry.getKey(), entry.getValue()));
+			}
+			return result;
+		}
+	}
+
+	private record ShardEntry<K, V>(K key, V value) implements Entry<K, V> {
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+
+	private static final class Shard<K, V> {
+		final BinarySearchTree<K, V> tree;
+		final K lo;
+		final K hi;
+		final StampedLock lock = new StampedLock();
+		// both written under the write lock; writes is read without it to pick hot shards
+		volatile long writes;
+		boolean retired;
+
+		Shard(BinarySearchTree<K, V> tree, K lo, K hi) {
+			this.tree = tree;
+			this.lo = lo;
+			this.hi = hi;
+		}
+	}
+}
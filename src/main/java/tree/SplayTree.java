@@ -0,0 +1,261 @@
+package tree;
+
+import java.util.Comparator;
+
+public class SplayTree<K, V> extends BinarySearchTree<K, V> {
+
+	private final int splayInterval;
+	private final TreeNode<K, V> header = new TreeNode<>(null, null);
+	private int accessCount;
+
+	public SplayTree() {
+		this(null, 1);
+	}
+
+	public SplayTree(Comparator<? super K> comparator) {
+		this(comparator, 1);
+	}
+
+	public SplayTree(int splayInterval) {
+		this(null, splayInterval);
+	}
+
+	/**
+	 * @param splayInterval lookups splay only on every {@code splayInterval}-th call and otherwise
+	 *                      descend without restructuring. Insertions and deletions always splay.
+	 */
+	public SplayTree(Comparator<? super K> comparator, int splayInterval) {
+		super(comparator);
+		if (splayInterval < 1)
+			throw new IllegalArgumentException("splayInterval must be positive: " + splayInterval);
+		this.splayInterval = splayInterval;
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (root == null) {
+			root = new TreeNode<>(key, value);
+			++size;
+			return true;
+		}
+
+		root = splay(root, key);
+		int comp = compare(key, root.key);
+		if (comp == 0)
+			return false;
+
+		insertAtRoot(key, value, comp);
+		return true;
+	}
+
+	@Override
+	public V get(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (root == null)
+			return null;
+
+		if (++accessCount < splayInterval)
+			return super.get(key);
+
+		accessCount = 0;
+		root = splay(root, key);
+		return compare(key, root.key) == 0 ? root.value : null;
+	}
+
+	@Override
+	public V remove(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (root == null)
+			return null;
+
+		root = splay(root, key);
+		if (compare(key, root.key) != 0)
+			return null;
+
+		V oldValue = root.value;
+		removeRoot(key);
+		return oldValue;
+	}
+
+	// splays key to the root first, so the Map-style updates restructure the tree as add and remove do
+	@Override
+	protected void update(K key, Update<K, V> update) {
+		if (key == null)
+			throw new NullPointerException();
+
+		if (root == null) {
+			if (update.absent(key)) {
+				root = new TreeNode<>(key, update.newValue);
+				++size;
+			}
+			return;
+		}
+
+		root = splay(root, key);
+		int comp = compare(key, root.key);
+		if (comp == 0) {
+			if (update.present(key, root.value)) {
+				root.value = update.newValue;
+			} else {
+				removeRoot(key);
+			}
+		} else if (update.absent(key)) {
+			insertAtRoot(key, update.newValue, comp);
+		}
+	}
+
+	// the root was splayed for key, which compares to it as comp; the new node splits it off its other side
+	private void insertAtRoot(K key, V value, int comp) {
+		TreeNode<K, V> newNode = new TreeNode<>(key, value);
+		if (comp < 0) {
+			newNode.setLeft(root.left);
+			root.left = null;
+			newNode.setRight(root);
+		} else {
+			newNode.setRight(root.right);
+			root.right = null;
+			newNode.setLeft(root);
+		}
+		root = newNode;
+		++size;
+	}
+
+	// the root holds key
+	private void removeRoot(K key) {
+		TreeNode<K, V> removeNode = root;
+		if (removeNode.left == null) {
+			root = removeNode.right;
+		} else {
+			// every key in the left subtree is smaller, so its new root has no right child
+			root = splay(removeNode.left, key);
+			root.setRight(removeNode.right);
+		}
+		if (root != null)
+			root.parent = null;
+		--size;
+	}
+
+	// lookups splay, so even they restructure the tree
+	@Override
+	public boolean sharedReads() {
+		return false;
+	}
+
+	private TreeNode<K, V> splay(TreeNode<K, V> node, K key) {
+		if (comparator != null) {
+			return splayUsingComparator(node, key, comparator);
+		} else {
+			return splayUsingComparable(node, key);
+		}
+	}
+
+	/**
+	 * Top-down splay: nodes passed on the way down are hung off the left and right trees,
+	 * which are reassembled under the last node visited.
+	 */
+	private TreeNode<K, V> splayUsingComparator(TreeNode<K, V> node, K key, Comparator<? super K> comparator) {
+		header.left = header.right = null;
+		TreeNode<K, V> leftMax = header;
+		TreeNode<K, V> rightMin = header;
+		TreeNode<K, V> t = node;
+
+		while (true) {
+			int comp = comparator.compare(key, t.key);
+			if (comp < 0) {
+				if (t.left == null)
+					break;
+				if (comparator.compare(key, t.left.key) < 0) {
+					t = rotateRight(t);
+					if (t.left == null)
+						break;
+				}
+				rightMin.setLeft(t);
+				rightMin = t;
+				t = t.left;
+			} else if (comp > 0) {
+				if (t.right == null)
+					break;
+				if (comparator.compare(key, t.right.key) > 0) {
+					t = rotateLeft(t);
+					if (t.right == null)
+						break;
+				}
+				leftMax.setRight(t);
+				leftMax = t;
+				t = t.right;
+			} else {
+				break;
+			}
+		}
+		return assemble(t, leftMax, rightMin);
+	}
+
+	private TreeNode<K, V> splayUsingComparable(TreeNode<K, V> node, K key) {
+		Comparable<? super K> compKey = (Comparable<? super K>) key;
+		header.left = header.right = null;
+		TreeNode<K, V> leftMax = header;
+		TreeNode<K, V> rightMin = header;
+		TreeNode<K, V> t = node;
+
+		while (true) {
+			int comp = compKey.compareTo(t.key);
+			if (comp < 0) {
+				if (t.left == null)
+					break;
+				if (compKey.compareTo(t.left.key) < 0) {
+					t = rotateRight(t);
+					if (t.left == null)
+						break;
+				}
+				rightMin.setLeft(t);
+				rightMin = t;
+				t = t.left;
+			} else if (comp > 0) {
+				if (t.right == null)
+					break;
+				if (compKey.compareTo(t.right.key) > 0) {
+					t = rotateLeft(t);
+					if (t.right == null)
+						break;
+				}
+				leftMax.setRight(t);
+				leftMax = t;
+				t = t.right;
+			} else {
+				break;
+			}
+		}
+		return assemble(t, leftMax, rightMin);
+	}
+
+	private TreeNode<K, V> assemble(TreeNode<K, V> t, TreeNode<K, V> leftMax, TreeNode<K, V> rightMin) {
+		leftMax.setRight(t.left);
+		rightMin.setLeft(t.right);
+		t.setLeft(header.right);
+		t.setRight(header.left);
+		t.parent = null;
+		header.left = header.right = null;
+		return t;
+	}
+
+	private TreeNode<K, V> rotateLeft(TreeNode<K, V> node) {
+		TreeNode<K, V> newParentNode = node.right;
+		node.setRight(newParentNode.left);
+		newParentNode.setLeft(node);
+		return newParentNode;
+	}
+
+	private TreeNode<K, V> rotateRight(TreeNode<K, V> node) {
+		TreeNode<K, V> newParentNode = node.left;
+		node.setLeft(newParentNode.right);
+		newParentNode.setRight(node);
+		return newParentNode;
+	}
+}
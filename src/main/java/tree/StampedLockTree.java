@@ -0,0 +1,248 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The view behind {@link Trees#concurrent(Tree)}.
+ */
+class StampedLockTree<K, V> implements Tree<K, V> {
+
+	static final Object RETRY = new Object();
+
+	// optimistic tries before a lookup waits for the read lock
+	private static final int OPTIMISTIC_ATTEMPTS = 2;
+
+	private final Tree<K, V> tree;
+	private final boolean sharedReads;
+	// the tree, if its lookups can run alongside a writer; see BinarySearchTree.optimisticGet
+	private final BinarySearchTree<K, V> optimistic;
+	private final StampedLock lock = new StampedLock();
+
+	StampedLockTree(Tree<K, V> tree) {
+		this.tree = tree;
+		this.sharedReads = tree.sharedReads();
+		this.optimistic = sharedReads && tree instanceof BinarySearchTree<K, V> bst ? bst : null;
+	}
+
+	@Override
+	public int size() {
+		if (optimistic != null) {
+			long stamp = lock.tryOptimisticRead();
+			int size = optimistic.size();
+			if (stamp != 0 && lock.validate(stamp))
+				return size;
+		}
+		return read(Tree::size);
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return get(key) != null;
+	}
+
+	/**
+	 * Runs the lookup without locking and keeps the result if no write started in between. Otherwise,
+	 * or if a write is in progress, the lookup is repeated; the last try waits for the lock.
+	 */
+	@Override
+	public V get(K key) {
+		if (optimistic != null) {
+			for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; ++attempt) {
+				long stamp = lock.tryOptimisticRead();
+				if (stamp == 0)
+					break;
+				try {
+					Object result = optimistic.optimisticGet(key, lock, stamp);
+					if (result != RETRY && lock.validate(stamp))
+						return (V) result;
+				} catch (RuntimeException e) {
+					// a torn read can fail in any way; only a valid one has a real error to report
+					if (lock.validate(stamp))
+						throw e;
+				}
+			}
+		}
+		return read(tree -> tree.get(key));
+	}
+
+	// under the read lock if the tree's reads can be shared, and under the write lock otherwise
+	private <R> R read(Function<Tree<K, V>, R> lookup) {
+		if (!sharedReads)
+			return write(lookup);
+
+		long stamp = lock.readLock();
+		try {
+			return lookup.apply(tree);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	private <R> R write(Function<Tree<K, V>, R> update) {
+		long stamp = lock.writeLock();
+		try {
+			return update.apply(tree);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public void clear() {
+		long stamp = lock.writeLock();
+		try {
+			tree.clear();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		return write(tree -> tree.add(key, value));
+	}
+
+	@Override
+	public V remove(K key) {
+		return write(tree -> tree.remove(key));
+	}
+
+	@Override
+	public V put(K key, V value) {
+		return write(tree -> tree.put(key, value));
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		return write(tree -> tree.putIfAbsent(key, value));
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		return write(tree -> tree.compute(key, remapping));
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		return write(tree -> tree.computeIfAbsent(key, mapping));
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		return write(tree -> tree.merge(key, value, remapping));
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends Entry<K, V>> entries) {
+		return write(tree -> tree.addAll(entries));
+	}
+
+	@Override
+	public boolean removeAll(Collection<? extends K> keys) {
+		return write(tree -> tree.removeAll(keys));
+	}
+
+	// writeSnapshot needs nothing more, as it only iterates a copy
+	@Override
+	public void readSnapshot(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		long stamp = lock.writeLock();
+		try {
+			tree.readSnapshot(path, keyCodec, valueCodec);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		return snapshot(Traversal.PREORDER);
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		return snapshot(Traversal.INORDER);
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		return snapshot(Traversal.POSTORDER);
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		return snapshot(Traversal.LEVEL_ORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return snapshot(Traversal.PREORDER).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return snapshot(Traversal.INORDER).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return snapshot(Traversal.POSTORDER).iterator();
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return snapshot(Traversal.LEVEL_ORDER).iterator();
+	}
+
+	// the copy splits evenly for parallel streams, unlike an iterator
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return snapshot(Traversal.INORDER).spliterator();
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return true;
+	}
+
+	/**
+	 * Copies the entries under the read lock, detached from the nodes so later updates don't show
+	 * through. Trees whose reads can't be shared are copied under the write lock.
+	 */
+	private List<Entry<K, V>> snapshot(Traversal order) {
+		return read(tree -> {
+			Iterator<Entry<K, V>> iterator = switch (order) {
+				case PREORDER -> tree.preorderIterator();
+				case INORDER -> tree.inorderIterator();
+				case POSTORDER -> tree.postorderIterator();
+				case LEVEL_ORDER -> tree.levelOrderIterator();
+			};
+			List<Entry<K, V>> result = new ArrayList<>(tree.size());
+			while (iterator.hasNext()) {
+				Entry<K, V> entry = iterator.next();
+				result.add(new SnapshotEntry<>(entry.getKey(), entry.getValue()));
+			}
+			return result;
+		});
+	}
+
+	private record SnapshotEntry<K, V>(K key, V value) implements Entry<K, V> {
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package tree;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import tree.BinarySearchTree.TreeNode;
+
+/**
+ * View of the keys of a {@link BinarySearchTree} between two bounds; a null bound is open. Changes
+ * go through to the backing tree and keys outside the bounds can't be added.
+ *
+ * <p>Traversals walk the backing tree as if the subtrees outside the bounds were cut off: a child
+ * out of range is replaced by the first node in range below it. That costs O(log n) nodes on the two
+ * boundary paths on top of the k nodes in range, in every order.
+ */
+class SubTree<K, V> implements Tree<K, V> {
+
+	private final BinarySearchTree<K, V> tree;
+	private final K lo;
+	private final boolean loInclusive;
+	private final K hi;
+	private final boolean hiInclusive;
+
+	SubTree(BinarySearchTree<K, V> tree, K lo, boolean loInclusive, K hi, boolean hiInclusive) {
+		if (lo != null && hi != null && tree.compare(lo, hi) > 0)
+			throw new IllegalArgumentException("lo > hi: " + lo + ", " + hi);
+		this.tree = tree;
+		this.lo = lo;
+		this.loInclusive = loInclusive;
+		this.hi = hi;
+		this.hiInclusive = hiInclusive;
+	}
+
+	// counts the entries in range, O(log n + k)
+	@Override
+	public int size() {
+		int count = 0;
+		for (Iterator<Entry<K, V>> iterator = inorderIterator(); iterator.hasNext(); iterator.next()) {
+			++count;
+		}
+		return count;
+	}
+
+	@Override
+	public void clear() {
+		List<K> keys = new ArrayList<>();
+		for (Iterator<Entry<K, V>> iterator = inorderIterator(); iterator.hasNext(); ) {
+			keys.add(iterator.next().getKey());
+		}
+		tree.removeAll(keys);
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		return tree.add(checkRange(key), value);
+	}
+
+	@Override
+	public boolean contains(K key) {
+		return inRange(key) && tree.contains(key);
+	}
+
+	@Override
+	public V get(K key) {
+		return inRange(key) ? tree.get(key) : null;
+	}
+
+	@Override
+	public V remove(K key) {
+		return inRange(key) ? tree.remove(key) : null;
+	}
+
+	@Override
+	public V put(K key, V value) {
+		return tree.put(checkRange(key), value);
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		return tree.putIfAbsent(checkRange(key), value);
+	}
+
+	@Override
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		return tree.compute(checkRange(key), remapping);
+	}
+
+	@Override
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		return tree.computeIfAbsent(checkRange(key), mapping);
+	}
+
+	@Override
+	public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		return tree.merge(checkRange(key), value, remapping);
+	}
+
+	private boolean inRange(K key) {
+		if (key == null)
+			throw new NullPointerException();
+		return !tooLow(key) && !tooHigh(key);
+	}
+
+	private K checkRange(K key) {
+		if (!inRange(key))
+			throw new IllegalArgumentException("key out of range: " + key);
+		return key;
+	}
+
+	private boolean tooLow(K key) {
+		if (lo == null)
+			return false;
+		int comp = tree.compare(key, lo);
+		return comp < 0 || comp == 0 && !loInclusive;
+	}
+
+	private boolean tooHigh(K key) {
+		if (hi == null)
+			return false;
+		int comp = tree.compare(key, hi);
+		return comp > 0 || comp == 0 && !hiInclusive;
+	}
+
+	// the first node in range met going down from node
+	private TreeNode<K, V> trim(TreeNode<K, V> node) {
+		while (node != null) {
+			if (tooLow(node.key)) {
+				node = node.right;
+			} else if (tooHigh(node.key)) {
+				node = node.left;
+			} else {
+				return node;
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public List<Entry<K, V>> preorder() {
+		return toList(preorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> inorder() {
+		return toList(inorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> postorder() {
+		return toList(postorderIterator());
+	}
+
+	@Override
+	public List<Entry<K, V>> levelOrder() {
+		return toList(levelOrderIterator());
+	}
+
+	private List<Entry<K, V>> toList(Iterator<Entry<K, V>> iterator) {
+		List<Entry<K, V>> result = new ArrayList<>();
+		iterator.forEachRemaining(result::add);
+		return result;
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> preorderIterator() {
+		return new SubTreeIterator(Traversal.PREORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> inorderIterator() {
+		return new SubTreeIterator(Traversal.INORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> postorderIterator() {
+		return new SubTreeIterator(Traversal.POSTORDER);
+	}
+
+	@Override
+	public Iterator<Entry<K, V>> levelOrderIterator() {
+		return new SubTreeIterator(Traversal.LEVEL_ORDER);
+	}
+
+	// size() would be a counting pass, so the size is left unknown
+	@Override
+	public Spliterator<Entry<K, V>> spliterator() {
+		return Spliterators.spliteratorUnknownSize(inorderIterator(),
+			Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+	}
+
+	@Override
+	public boolean sharedReads() {
+		return tree.sharedReads();
+	}
+
+	private class SubTreeIterator extends NodeIterator<TreeNode<K, V>, K, V> {
+		SubTreeIterator(Traversal order) {
+			super(trim(tree.root), order);
+		}
+
+		@Override
+		TreeNode<K, V> left(TreeNode<K, V> node) {
+			return trim(node.left);
+		}
+
+		@Override
+		TreeNode<K, V> right(TreeNode<K, V> node) {
+			return trim(node.right);
+		}
+
+		@Override
+		Entry<K, V> entry(TreeNode<K, V> node) {
+			return node;
+		}
+	}
+}
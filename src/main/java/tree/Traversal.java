@@ -0,0 +1,8 @@
+package tree;
+
+enum Traversal {
+	PREORDER,
+	INORDER,
+	POSTORDER,
+	LEVEL_ORDER
+}
@@ -0,0 +1,394 @@
+package tree;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Treap<K, V> extends BinarySearchTree<K, V> {
+
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	public Treap() {
+		this(null);
+	}
+
+	public Treap(Comparator<? super K> comparator) {
+		super(comparator);
+	}
+
+	@Override
+	public int size() {
+		return sizeOf(root);
+	}
+
+	/**
+	 * Returns the entry with the k-th smallest key, counting from 0.
+	 *
+	 * @throws IndexOutOfBoundsException if k is negative or not less than {@link #size()}
+	 */
+	public Entry<K, V> select(int k) {
+		return selectNode(k);
+	}
+
+	/**
+	 * Returns the number of keys smaller than key.
+	 */
+	public int rank(K key) {
+		return rankOf(key, false);
+	}
+
+	/**
+	 * Returns the number of keys from lo to hi, both inclusive.
+	 */
+	public int countInRange(K lo, K hi) {
+		int below = rankOf(lo, false);
+		return Math.max(0, rankOf(hi, true) - below);
+	}
+
+	/**
+	 * Moves the entries with keys from key upwards into a new treap and returns it; this treap keeps
+	 * the smaller keys. Expected O(log n).
+	 */
+	public Treap<K, V> split(K key) {
+		if (key == null)
+			throw new NullPointerException();
+
+		TreeNodePair<K, V> parts = splitExcluding(root, key);
+		if (parts.match != null) {
+			// key itself goes to the upper treap, where it is the smallest key
+			parts.match.setLeft(null);
+			parts.match.setRight(null);
+			parts.second = merge(parts.match, parts.second);
+		}
+		root = parts.first;
+		if (root != null)
+			root.parent = null;
+
+		Treap<K, V> upper = new Treap<>(comparator);
+		upper.root = parts.second;
+		if (upper.root != null)
+			upper.root.parent = null;
+		return upper;
+	}
+
+	/**
+	 * Moves the entries of both treaps into a new one, ordered by the comparator of left, and leaves
+	 * them empty. Expected O(log n).
+	 *
+	 * @throws IllegalArgumentException if a key of left is not smaller than every key of right
+	 */
+	public static <K, V> Treap<K, V> join(Treap<K, V> left, Treap<K, V> right) {
+		Entry<K, V> last = left.lastEntry();
+		Entry<K, V> first = right.firstEntry();
+		if (last != null && first != null && left.compare(last.getKey(), first.getKey()) >= 0)
+			throw new IllegalArgumentException("keys are not ordered: " + last.getKey() + ", " + first.getKey());
+
+		Treap<K, V> joined = new Treap<>(left.comparator);
+		joined.root = left.merge(left.root, right.root);
+		if (joined.root != null)
+			joined.root.parent = null;
+		left.clear();
+		right.clear();
+		return joined;
+	}
+
+	/**
+	 * Returns a treap of the keys in a or b, computed in parallel; on keys in both the value of a is
+	 * kept. The nodes of a and b are reused, so both are left empty.
+	 */
+	public static <K, V> Treap<K, V> union(Treap<K, V> a, Treap<K, V> b) {
+		return combine(SetOperation.UNION, a, b);
+	}
+
+	/**
+	 * Returns a treap of the keys in both a and b with the values of a, computed in parallel. Both
+	 * are left empty.
+	 */
+	public static <K, V> Treap<K, V> intersection(Treap<K, V> a, Treap<K, V> b) {
+		return combine(SetOperation.INTERSECTION, a, b);
+	}
+
+	/**
+	 * Returns a treap of the keys in a that are not in b, computed in parallel. Both are left empty.
+	 */
+	public static <K, V> Treap<K, V> difference(Treap<K, V> a, Treap<K, V> b) {
+		return combine(SetOperation.DIFFERENCE, a, b);
+	}
+
+	private static <K, V> Treap<K, V> combine(SetOperation operation, Treap<K, V> a, Treap<K, V> b) {
+		Treap<K, V> result = new Treap<>(a.comparator);
+		result.root = a.combine(operation, a.root, b.root, true);
+		if (result.root != null)
+			result.root.parent = null;
+		a.clear();
+		b.clear();
+		return result;
+	}
+
+	@Override
+	public boolean add(K key, V value) {
+		Update<K, V> update = new Update<>(true, (k, oldValue) -> value);
+		update(key, update);
+		return !update.present;
+	}
+
+	@Override
+	public V remove(K key) {
+		Update<K, V> update = new Update<>(false, (k, oldValue) -> null);
+		update(key, update);
+		return update.oldValue;
+	}
+
+	@Override
+	protected void update(K key, Update<K, V> update) {
+		if (key == null)
+			throw new NullPointerException();
+
+		root = update(root, key, update);
+		if (root != null)
+			root.parent = null;
+	}
+
+	// a new node is added as a leaf and rotated up past parents of lower priority on the way back;
+	// a deleted node is replaced by the merge of its subtrees. size only counts the changes.
+	private TreeNode<K, V> update(TreeNode<K, V> node, K key, Update<K, V> update) {
+		if (node == null) {
+			if (!update.absent(key))
+				return null;
+			++size;
+			return newNode(key, update.newValue);
+		}
+
+		int oldSize = size;
+		int comp = compare(key, node.key);
+		if (comp < 0) {
+			TreeNode<K, V> left = update(node.left, key, update);
+			if (size == oldSize)
+				return node;
+			node.setLeft(left);
+			if (size > oldSize && priority(left) > priority(node))
+				return rightRotate(node);
+		} else if (comp > 0) {
+			TreeNode<K, V> right = update(node.right, key, update);
+			if (size == oldSize)
+				return node;
+			node.setRight(right);
+			if (size > oldSize && priority(right) > priority(node))
+				return leftRotate(node);
+		} else if (update.present(key, node.value)) {
+			node.value = update.newValue;
+		} else {
+			--size;
+			return merge(node.left, node.right);
+		}
+		return node;
+	}
+
+	@Override
+	protected TreeNode<K, V> newNode(K key, V value) {
+		return new TreapNode<>(key, value);
+	}
+
+	/**
+	 * The priority range is cut into one band per depth, sized by the number of nodes at that depth
+	 * and ordered so every band lies above the ones below it. That gives a valid heap order, and the
+	 * priorities as a whole stay spread over the full range like those of inserted nodes.
+	 */
+	@Override
+	protected void loaded(TreeNode<K, V> node, int depth, int count) {
+		long above = Math.min(count, (1L << depth) - 1);
+		long through = Math.min(count, (1L << (depth + 1)) - 1);
+		int high = (int) (TreapNode.MAX_PRIORITY - TreapNode.MAX_PRIORITY * above / count);
+		int low = (int) (TreapNode.MAX_PRIORITY - TreapNode.MAX_PRIORITY * through / count);
+		((TreapNode<K, V>) node).priority = high > low ? ThreadLocalRandom.current().nextInt(low, high) : low;
+	}
+
+	/**
+	 * Builds the sorted batch into a treap of its own and unions it with this one.
+	 */
+	@Override
+	public boolean addAll(Collection<? extends Entry<K, V>> entries) {
+		Entry<K, V>[] batch = sortedBatch(entries);
+		int oldSize = size();
+		root = combine(SetOperation.UNION, root, buildBalanced(batch, 0, batch.length), false);
+		if (root != null)
+			root.parent = null;
+		return size() != oldSize;
+	}
+
+	// the expected height is O(log n), so the single-descent removal is used
+	@Override
+	public boolean removeAll(Collection<? extends K> keys) {
+		return removeAllByJoin(keys);
+	}
+
+	// a node left in place by removeAll still outranks everything below it, so only removed nodes merge
+	@Override
+	protected TreeNode<K, V> join(TreeNode<K, V> left, TreeNode<K, V> right) {
+		return merge(left, right);
+	}
+
+	/**
+	 * One step of a set operation: the root of a is the pivot (for a union, the root of higher
+	 * priority), the other treap is split around its key, and the halves are combined recursively.
+	 * The pivot stays on top if its key belongs in the result, otherwise the halves are merged.
+	 * The expected work is O(m log(n/m + 1)) for treaps of sizes m <= n. When parallel, halves with
+	 * at least PARALLEL_THRESHOLD entries between them are combined as fork-join tasks.
+	 *
+	 * <p>On keys in both treaps the value of a is kept.
+	 */
+	private TreeNode<K, V> combine(SetOperation operation, TreeNode<K, V> a, TreeNode<K, V> b, boolean parallel) {
+		if (a == null)
+			return operation == SetOperation.UNION ? b : null;
+		if (b == null)
+			return operation == SetOperation.INTERSECTION ? null : a;
+
+		boolean fork = parallel && sizeOf(a) + sizeOf(b) >= PARALLEL_THRESHOLD;
+		TreeNode<K, V> pivot, aLeft, aRight, bLeft, bRight;
+		boolean match;
+		if (operation == SetOperation.UNION && priority(b) > priority(a)) {
+			TreeNodePair<K, V> parts = splitExcluding(a, b.key);
+			if (parts.match != null)
+				b.value = parts.match.value;
+			pivot = b;
+			match = parts.match != null;
+			aLeft = parts.first;
+			aRight = parts.second;
+			bLeft = b.left;
+			bRight = b.right;
+		} else {
+			TreeNodePair<K, V> parts = splitExcluding(b, a.key);
+			pivot = a;
+			match = parts.match != null;
+			aLeft = a.left;
+			aRight = a.right;
+			bLeft = parts.first;
+			bRight = parts.second;
+		}
+
+		TreeNode<K, V> left, right;
+		if (fork) {
+			ForkJoinTask<TreeNode<K, V>> leftTask = ForkJoinTask.adapt(() -> combine(operation, aLeft, bLeft, true)).fork();
+			right = combine(operation, aRight, bRight, true);
+			left = leftTask.join();
+		} else {
+			left = combine(operation, aLeft, bLeft, parallel);
+			right = combine(operation, aRight, bRight, parallel);
+		}
+
+		boolean keep = switch (operation) {
+			case UNION -> true;
+			case INTERSECTION -> match;
+			case DIFFERENCE -> !match;
+		};
+		if (!keep)
+			return merge(left, right);
+		pivot.setLeft(left);
+		pivot.setRight(right);
+		return pivot;
+	}
+
+	// splits into the keys below and above key; a node holding key itself is dropped and kept in match
+	private TreeNodePair<K, V> splitExcluding(TreeNode<K, V> root, K key) {
+		if (root == null)
+			return new TreeNodePair<>(null, null);
+
+		int comp = compare(root.key, key);
+		if (comp < 0) {
+			TreeNodePair<K, V> rs = splitExcluding(root.right, key);
+			root.setRight(rs.first);
+			rs.first = root;
+			return rs;
+		} else if (comp > 0) {
+			TreeNodePair<K, V> ls = splitExcluding(root.left, key);
+			root.setLeft(ls.second);
+			ls.second = root;
+			return ls;
+		} else {
+			TreeNodePair<K, V> pair = new TreeNodePair<>(root.left, root.right);
+			pair.match = root;
+			return pair;
+		}
+	}
+
+	private TreeNode<K, V> merge(TreeNode<K, V> _a, TreeNode<K, V> _b) {
+		if (_a == null) return _b;
+		if (_b == null) return _a;
+
+		TreapNode<K, V> a = (TreapNode<K, V>) _a;
+		TreapNode<K, V> b = (TreapNode<K, V>) _b;
+		if (a.priority < b.priority) {
+			b.setLeft(merge(a, b.left));
+			return b;
+		} else {
+			a.setRight(merge(a.right, b));
+			return a;
+		}
+	}
+
+	private TreeNode<K, V> leftRotate(TreeNode<K, V> parentNode) {
+		TreeNode<K, V> newParentNode = parentNode.right;
+		parentNode.setRight(newParentNode.left);
+		newParentNode.setLeft(parentNode);
+		return newParentNode;
+	}
+
+	private TreeNode<K, V> rightRotate(TreeNode<K, V> parentNode) {
+		TreeNode<K, V> newParentNode = parentNode.left;
+		parentNode.setLeft(newParentNode.right);
+		newParentNode.setRight(parentNode);
+		return newParentNode;
+	}
+
+	@Override
+	protected int sizeOf(TreeNode<K, V> node) {
+		return node == null ? 0 : ((TreapNode<K, V>) node).size;
+	}
+
+	private int priority(TreeNode<K, V> node) {
+		return ((TreapNode<K, V>) node).priority;
+	}
+
+	private static class TreeNodePair<K, V> {
+		TreeNode<K, V> first;
+		TreeNode<K, V> second;
+		TreeNode<K, V> match;
+
+		TreeNodePair(TreeNode<K, V> first, TreeNode<K, V> second) {
+			this.first = first;
+			this.second = second;
+		}
+	}
+
+	private static class TreapNode<K, V> extends BinarySearchTree.TreeNode<K, V> {
+		private static final int MAX_PRIORITY = 1234567;
+		int priority, size;
+
+		TreapNode(K key, V value) {
+			super(key, value);
+			this.priority = ThreadLocalRandom.current().nextInt(MAX_PRIORITY);
+			this.size = 1;
+		}
+
+		@Override
+		void setLeft(TreeNode<K, V> child) {
+			super.setLeft(child);
+			calcSize();
+		}
+
+		@Override
+		void setRight(TreeNode<K, V> child) {
+			super.setRight(child);
+			calcSize();
+		}
+
+		void calcSize() {
+			size = 1;
+			if (left != null)
+				size += ((TreapNode<K, V>) left).size;
+			if (right != null)
+				size += ((TreapNode<K, V>) right).size;
+		}
+	}
+}
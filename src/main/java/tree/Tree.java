@@ -0,0 +1,138 @@
+package tree;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public interface Tree<K, V> {
+
+	int size();
+	void clear();
+	boolean add(K key, V value);
+	boolean contains(K key);
+	V get(K key);
+	V remove(K key);
+
+	// Map-style updates. A null value stands for an absent key: a remapping function returning null
+	// removes the key or leaves it absent. The defaults look the key up again for every step;
+	// implementations that can do each call in a single descent override them.
+	default V put(K key, V value) {
+		Objects.requireNonNull(value);
+		V oldValue = remove(key);
+		add(key, value);
+		return oldValue;
+	}
+
+	default V putIfAbsent(K key, V value) {
+		Objects.requireNonNull(value);
+		V oldValue = get(key);
+		if (oldValue == null)
+			add(key, value);
+		return oldValue;
+	}
+
+	default V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		V oldValue = get(key);
+		V newValue = remapping.apply(key, oldValue);
+		if (oldValue != null)
+			remove(key);
+		if (newValue != null)
+			add(key, newValue);
+		return newValue;
+	}
+
+	default V computeIfAbsent(K key, Function<? super K, ? extends V> mapping) {
+		V oldValue = get(key);
+		if (oldValue != null)
+			return oldValue;
+		V newValue = mapping.apply(key);
+		if (newValue != null)
+			add(key, newValue);
+		return newValue;
+	}
+
+	default V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remapping) {
+		Objects.requireNonNull(value);
+		return compute(key, (k, oldValue) -> oldValue == null ? value : remapping.apply(oldValue, value));
+	}
+
+	// Batch updates. Implementations that can may sort the batch and apply it in one pass;
+	// the result is the same as calling add or remove for each element in order.
+	default boolean addAll(Collection<? extends Entry<K, V>> entries) {
+		boolean changed = false;
+		for (Entry<K, V> entry : entries) {
+			changed |= add(entry.getKey(), entry.getValue());
+		}
+		return changed;
+	}
+
+	default boolean removeAll(Collection<? extends K> keys) {
+		int oldSize = size();
+		for (K key : keys) {
+			remove(key);
+		}
+		return size() != oldSize;
+	}
+
+	// Snapshots. The entries are written in key order to a single checksummed file (see TreeSnapshot),
+	// which is replaced only once complete. Reading replaces the contents, and leaves them unchanged if
+	// the file can't be read, was written with other codecs or fails its checksum. The default reads
+	// the whole file before adding the entries in one batch; BinarySearchTree builds straight from it.
+	default void writeSnapshot(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		TreeSnapshot.write(inorderIterator(), path, keyCodec, valueCodec);
+	}
+
+	default void readSnapshot(Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		List<Entry<K, V>> entries = new ArrayList<>();
+		TreeSnapshot.read(path, keyCodec, valueCodec, iterator -> iterator.forEachRemaining(entries::add));
+		clear();
+		addAll(entries);
+	}
+
+	List<Entry<K, V>> preorder();
+	List<Entry<K, V>> inorder();
+	List<Entry<K, V>> postorder();
+	List<Entry<K, V>> levelOrder();
+
+	// Lazy traversals: nodes are visited on demand, so stopping early costs only what was visited.
+	// The tree must not be modified while an iterator is in use.
+	Iterator<Entry<K, V>> preorderIterator();
+	Iterator<Entry<K, V>> inorderIterator();
+	Iterator<Entry<K, V>> postorderIterator();
+	Iterator<Entry<K, V>> levelOrderIterator();
+
+	default Spliterator<Entry<K, V>> spliterator() {
+		return Spliterators.spliterator(inorderIterator(), size(),
+			Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+	}
+
+	default Stream<Entry<K, V>> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	default Stream<Entry<K, V>> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	// Whether lookups, traversals and iterators leave the tree as it is, so several threads may run
+	// them at once while no update runs. Trees.concurrent reads a tree that doesn't say so under its
+	// write lock; false is the default, as the safe answer for a tree that doesn't know.
+	default boolean sharedReads() {
+		return false;
+	}
+
+	interface Entry<K, V> {
+		K getKey();
+		V getValue();
+	}
+}
@@ -0,0 +1,292 @@
+package tree;
+
+import static java.nio.file.StandardCopyOption.*;
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * The file format behind {@link Tree#writeSnapshot} and {@link Tree#readSnapshot}, big-endian:
+ *
+ * <pre>
+ * magic     int    0x54524545 ("TREE")
+ * version   short  1
+ * codecs    short length and UTF-8 name of the key codec, then of the value codec
+ * entries   key, value, key, value, ... in ascending key order, as encoded by the codecs
+ * count     long   number of entries
+ * checksum  int    CRC32C of everything before it
+ * </pre>
+ *
+ * The entries are written through 1 MiB direct buffers to a temporary file that replaces the target
+ * once it is forced to disk. Reading maps the file in windows of up to 1 GiB and decodes straight
+ * from the mapping; the checksum is taken window by window as the entries are consumed and checked
+ * after the last one, before the caller gets to see that the input is complete.
+ */
+final class TreeSnapshot {
+
+	static final int MAGIC = 0x54524545;
+	static final short VERSION = 1;
+
+	private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+	private static final int BUFFER_SIZE = 1 << 20;
+	private static final int WINDOW_SIZE = 1 << 30;
+
+	private TreeSnapshot() {
+	}
+
+	static <K, V> void write(Iterator<Tree.Entry<K, V>> entries, Path path, Codec<K> keyCodec, Codec<V> valueCodec) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+			Output output = new Output(channel);
+			output.buffer.putInt(MAGIC).putShort(VERSION);
+			output.put(keyCodec.name(), Output::putName);
+			output.put(valueCodec.name(), Output::putName);
+
+			long count = 0;
+			while (entries.hasNext()) {
+				Tree.Entry<K, V> entry = entries.next();
+				output.put(entry.getKey(), keyCodec::write);
+				output.put(entry.getValue(), valueCodec::write);
+				++count;
+			}
+			output.put(count, (value, buffer) -> buffer.putLong(value));
+			output.flush();
+			output.buffer.putInt((int) output.checksum.getValue());
+			output.write();
+			channel.force(true);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		Files.move(temp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+	}
+
+	/**
+	 * Hands the entries of the snapshot at path to load, in key order, and returns once load does.
+	 * If the file turns out to be corrupt, the iterator throws before reporting its end, and the
+	 * error is rethrown here as the {@link IOException} it is.
+	 */
+	static <K, V> void read(Path path, Codec<K> keyCodec, Codec<V> valueCodec,
+		Consumer<Iterator<Tree.Entry<K, V>>> load) throws IOException {
+		read(path, keyCodec, valueCodec, WINDOW_SIZE, load);
+	}
+
+	static <K, V> void read(Path path, Codec<K> keyCodec, Codec<V> valueCodec, int windowSize,
+		Consumer<Iterator<Tree.Entry<K, V>>> load) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, READ)) {
+			load.accept(new Input<>(channel, keyCodec, valueCodec, windowSize));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	private static IOException corrupt(String message) {
+		return new IOException("corrupt tree snapshot: " + message);
+	}
+
+	private interface Encoder<T> {
+		void write(T value, ByteBuffer buffer);
+	}
+
+	private static final class Output {
+		private final FileChannel channel;
+		private final CRC32C checksum = new CRC32C();
+		private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+		Output(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		// a value that doesn't fit is written again after a flush, or into a larger buffer if it is
+		// larger than the whole buffer
+		<T> void put(T value, Encoder<T> encoder) throws IOException {
+			while (true) {
+				int start = buffer.position();
+				try {
+					encoder.write(value, buffer);
+					return;
+				} catch (BufferOverflowException e) {
+					buffer.position(start);
+					if (start == 0) {
+						buffer = ByteBuffer.allocateDirect(buffer.capacity() << 1);
+					} else {
+						flush();
+					}
+				}
+			}
+		}
+
+		static void putName(String name, ByteBuffer buffer) {
+			byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+			buffer.putShort((short) bytes.length);
+			buffer.put(bytes);
+		}
+
+		void flush() throws IOException {
+			buffer.flip();
+			buffer.mark();
+			checksum.update(buffer);
+			buffer.reset();
+			writeFully();
+		}
+
+		void write() throws IOException {
+			buffer.flip();
+			writeFully();
+		}
+
+		private void writeFully() throws IOException {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+	}
+
+	private static final class Input<K, V> implements Iterator<Tree.Entry<K, V>> {
+		private final FileChannel channel;
+		private final Codec<K> keyCodec;
+		private final Codec<V> valueCodec;
+		private final long end;
+		private final long count;
+		private final int expectedChecksum;
+		private final CRC32C checksum = new CRC32C();
+		private int windowSize;
+		private MappedByteBuffer window;
+		private long windowStart;
+		// the part of the window before this has been added to the checksum
+		private int checked;
+		private long read;
+
+		Input(FileChannel channel, Codec<K> keyCodec, Codec<V> valueCodec, int windowSize) throws IOException {
+			this.channel = channel;
+			this.keyCodec = keyCodec;
+			this.valueCodec = valueCodec;
+			this.windowSize = windowSize;
+
+			long size = channel.size();
+			if (size < Integer.BYTES + Short.BYTES + TRAILER_SIZE)
+				throw corrupt("too short");
+			ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+			while (trailer.hasRemaining()) {
+				if (channel.read(trailer, size - TRAILER_SIZE + trailer.position()) < 0)
+					throw corrupt("too short");
+			}
+			trailer.flip();
+			end = size - TRAILER_SIZE;
+			count = trailer.getLong();
+			expectedChecksum = trailer.getInt();
+
+			map(0);
+			try {
+				if (window.getInt() != MAGIC)
+					throw new IOException("not a tree snapshot");
+				short version = window.getShort();
+				if (version != VERSION)
+					throw new IOException("unsupported tree snapshot version: " + version);
+				checkCodec("key", keyCodec);
+				checkCodec("value", valueCodec);
+			} catch (BufferUnderflowException e) {
+				throw corrupt("truncated header");
+			}
+			if (count < 0)
+				throw corrupt("negative count");
+			if (count == 0)
+				finish();
+		}
+
+		private void checkCodec(String role, Codec<?> codec) throws IOException {
+			byte[] bytes = new byte[window.getShort() & 0xFFFF];
+			window.get(bytes);
+			String name = new String(bytes, StandardCharsets.UTF_8);
+			if (!name.equals(codec.name()))
+				throw new IOException("snapshot " + role + "s were written with codec " + name + ", not " + codec.name());
+		}
+
+		@Override
+		public boolean hasNext() {
+			return read < count;
+		}
+
+		@Override
+		public Tree.Entry<K, V> next() {
+			if (read >= count)
+				throw new NoSuchElementException();
+
+			try {
+				K key;
+				V value;
+				while (true) {
+					int start = window.position();
+					try {
+						key = keyCodec.read(window);
+						value = valueCodec.read(window);
+						break;
+					} catch (BufferUnderflowException e) {
+						window.position(start);
+						if (windowStart + window.limit() == end)
+							throw corrupt("truncated after " + read + " of " + count + " entries");
+						// an entry larger than a whole window needs a larger one
+						if (start == 0)
+							windowSize = (int) Math.min(Integer.MAX_VALUE, (long) windowSize << 1);
+						map(windowStart + start);
+					}
+				}
+				if (++read == count)
+					finish();
+				return new SnapshotEntry<>(key, value);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		private void map(long position) throws IOException {
+			if (window != null)
+				updateChecksum(window.position());
+			windowStart = position;
+			window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, end - position));
+			checked = 0;
+		}
+
+		private void updateChecksum(int upTo) {
+			ByteBuffer done = window.duplicate();
+			done.limit(upTo).position(checked);
+			checksum.update(done);
+			checked = upTo;
+		}
+
+		private void finish() throws IOException {
+			if (windowStart + window.position() != end)
+				throw corrupt((end - windowStart - window.position()) + " bytes after the last entry");
+			updateChecksum(window.position());
+			checksum.update(ByteBuffer.allocate(Long.BYTES).putLong(0, count));
+			if ((int) checksum.getValue() != expectedChecksum)
+				throw corrupt("checksum mismatch");
+		}
+	}
+
+	private record SnapshotEntry<K, V>(K key, V value) implements Tree.Entry<K, V> {
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package tree;
+
+/**
+ * Static helpers around {@link Tree}.
+ */
+public final class Trees {
+
+	private Trees() {
+	}
+
+	/**
+	 * Returns a thread-safe view of tree guarded by a {@link java.util.concurrent.locks.StampedLock}.
+	 * Updates take the lock exclusively. Reads take it shared if the tree declares
+	 * {@link Tree#sharedReads()}, and exclusively otherwise, so a tree whose lookups restructure it
+	 * ({@link SplayTree}, {@link PagedBPlusTree}), or a view over one, is never read by two threads at
+	 * once. Traversals copy the entries under the lock and iterate the copy.
+	 *
+	 * <p>{@code get}, {@code contains} and {@code size} of a {@link BinarySearchTree} with shared reads
+	 * first run without locking and are repeated under the lock if a write ran meanwhile, so the lock
+	 * word is only read on the common path. Such a lookup can see the tree halfway through an update,
+	 * with the update's stores in any order; its result or exception is discarded, and a descent that
+	 * gets deeper than the tree can be checks the stamp, so it ends even if it meets a cycle of child
+	 * links mid-rotation. The wrapped tree must not be used directly afterwards.
+	 */
+	public static <K, V> Tree<K, V> concurrent(Tree<K, V> tree) {
+		if (tree == null)
+			throw new NullPointerException();
+		return new StampedLockTree<>(tree);
+	}
+}
@@ -0,0 +1,476 @@
+package tree;
+
+import static java.nio.file.StandardOpenOption.*;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import tree.DurableTree.Commit;
+
+/**
+ * The log behind {@link DurableTree}: one byte stream, addressed by offset (the LSN), cut into
+ * segment files of {@code segmentSize} bytes named after the LSN they start at. A record is its
+ * payload length (int), the CRC32C of the payload (int) and the payload: a type byte, the key and,
+ * for PUT, the value. Records may continue in the next segment.
+ *
+ * <p>Records are encoded into a buffer under the log's monitor, which {@link DurableTree} also holds
+ * while it updates the tree, so the log has the updates in the order they were applied. It appends a
+ * record before applying it and {@link #discard}s the record if the tree then rejects the update. With
+ * {@link Commit#SYNC} the caller writes and forces the buffer itself. Otherwise a flusher thread
+ * takes the buffer once its oldest record has waited for the latency budget, or earlier once
+ * {@code GROUP_BYTES} are pending, and writes and forces it as one group while the next one fills.
+ */
+final class WriteAheadLog<K, V> {
+
+	static final byte PUT = 1, REMOVE = 2, CLEAR = 3;
+
+	private static final int HEADER = 2 * Integer.BYTES;
+	private static final int GROUP_BYTES = 1 << 20;
+	// updates wait for the flusher beyond this
+	private static final int MAX_PENDING = 64 << 20;
+	private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{20})\\.log");
+
+	private final Path directory;
+	private final long segmentSize;
+	private final Codec<K> keyCodec;
+	private final Codec<V> valueCodec;
+	private final Commit commit;
+	private final long budgetNanos;
+	private final CRC32C checksum = new CRC32C();
+	private final Thread flusher;
+
+	private ByteBuffer pending = ByteBuffer.allocate(1 << 16);
+	private ByteBuffer spare = ByteBuffer.allocate(1 << 16);
+	private long firstPendingNanos;
+	// LSNs: the end of the last record appended, of the records handed to the writer, and forced
+	private long appended;
+	private long taken;
+	private long durable;
+	private boolean flushRequested;
+	private boolean closed;
+	private IOException failure;
+
+	// the segment being written; only touched by the flusher, or under the monitor with SYNC
+	private FileChannel segment;
+	private long segmentStart = -1;
+
+	WriteAheadLog(Path directory, long segmentSize, Codec<K> keyCodec, Codec<V> valueCodec, Commit commit, long budgetNanos) {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		this.keyCodec = keyCodec;
+		this.valueCodec = valueCodec;
+		this.commit = commit;
+		this.budgetNanos = budgetNanos;
+		this.flusher = commit == Commit.SYNC ? null : new Thread(this::flushLoop, "tree-wal-flusher");
+		if (flusher != null)
+			flusher.setDaemon(true);
+	}
+
+	/**
+	 * Replays the records from LSN from onto tree, and cuts the log off after the last complete one:
+	 * a record torn by a crash, or one that fails its checksum, ends the log. Segments entirely before
+	 * from are deleted. Appending continues at the returned LSN. Must be called once, before anything
+	 * else.
+	 */
+	long recover(long from, Tree<K, V> tree) throws IOException {
+		TreeMap<Long, Path> segments = new TreeMap<>();
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Matcher matcher = SEGMENT.matcher(file.getFileName().toString());
+				if (matcher.matches())
+					segments.put(Long.parseLong(matcher.group(1)), file);
+			}
+		}
+		for (Long start : new ArrayList<>(segments.headMap(from - from % segmentSize).keySet())) {
+			Files.delete(segments.remove(start));
+		}
+
+		// the stream runs on while the segments follow each other without a gap
+		List<InputStream> parts = new ArrayList<>();
+		long available = 0;
+		long expected = from - from % segmentSize;
+		for (var segmentEntry : segments.entrySet()) {
+			if (segmentEntry.getKey() != expected)
+				break;
+			FileChannel channel = FileChannel.open(segmentEntry.getValue(), READ);
+			long skip = Math.max(0, from - expected);
+			channel.position(Math.min(skip, channel.size()));
+			available += Math.max(0, channel.size() - skip);
+			parts.add(Channels.newInputStream(channel));
+			if (channel.size() < segmentSize)
+				break;
+			expected += segmentSize;
+		}
+
+		long lsn = from;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+			new SequenceInputStream(Collections.enumeration(parts)), 1 << 16))) {
+			while (true) {
+				int length;
+				try {
+					length = in.readInt();
+				} catch (EOFException e) {
+					break;
+				}
+				int expectedChecksum = in.readInt();
+				if (length <= 0 || length > available - (lsn - from) - HEADER)
+					break;
+				byte[] payload = new byte[length];
+				in.readFully(payload);
+				checksum.reset();
+				checksum.update(payload);
+				if ((int) checksum.getValue() != expectedChecksum)
+					break;
+				apply(ByteBuffer.wrap(payload), tree);
+				lsn += HEADER + length;
+			}
+		} catch (EOFException e) {
+			// torn in the middle of a record
+		} finally {
+			for (InputStream part : parts) {
+				part.close();
+			}
+		}
+
+		// the torn tail goes, so later records aren't followed by garbage
+		long tailStart = lsn - lsn % segmentSize;
+		for (var segmentEntry : segments.tailMap(tailStart, true).entrySet()) {
+			if (segmentEntry.getKey() > tailStart) {
+				Files.delete(segmentEntry.getValue());
+			} else {
+				try (FileChannel channel = FileChannel.open(segmentEntry.getValue(), WRITE)) {
+					if (channel.size() > lsn - tailStart) {
+						channel.truncate(lsn - tailStart);
+						channel.force(true);
+					}
+				}
+			}
+		}
+
+		appended = taken = durable = lsn;
+		if (flusher != null)
+			flusher.start();
+		return lsn;
+	}
+
+	private void apply(ByteBuffer payload, Tree<K, V> tree) {
+		byte type = payload.get();
+		switch (type) {
+			case PUT -> tree.put(keyCodec.read(payload), valueCodec.read(payload));
+			case REMOVE -> tree.remove(keyCodec.read(payload));
+			case CLEAR -> tree.clear();
+			default -> throw new IllegalStateException("unknown log record type: " + type);
+		}
+	}
+
+	/**
+	 * Waits while the buffer is full, so a slow disk can't grow it without bound. To be called under
+	 * the monitor before the tree is updated: waiting releases the monitor, which must not happen
+	 * between an update and its record.
+	 */
+	synchronized void awaitRoom() {
+		boolean interrupted = false;
+		while (pending.position() >= MAX_PENDING && failure == null && !closed) {
+			interrupted |= await();
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+		checkUsable();
+	}
+
+	/**
+	 * Appends a record and returns the LSN after it, to be passed to {@link #commit(long)}.
+	 *
+	 * @throws UncheckedIOException if writing the log has failed before
+	 * @throws IllegalStateException if the log is closed
+	 */
+	synchronized long append(byte type, K key, V value) {
+		checkUsable();
+		if (pending.position() == 0) {
+			firstPendingNanos = System.nanoTime();
+			notifyAll();
+		}
+
+		while (true) {
+			int start = pending.position();
+			try {
+				if (pending.remaining() <= HEADER)
+					throw new BufferOverflowException();
+				pending.position(start + HEADER);
+				pending.put(type);
+				if (type != CLEAR)
+					keyCodec.write(key, pending);
+				if (type == PUT)
+					valueCodec.write(value, pending);
+				int end = pending.position();
+				ByteBuffer payload = pending.duplicate();
+				payload.limit(end).position(start + HEADER);
+				checksum.reset();
+				checksum.update(payload);
+				pending.putInt(start, end - start - HEADER).putInt(start + Integer.BYTES, (int) checksum.getValue());
+				appended += end - start;
+				break;
+			} catch (BufferOverflowException e) {
+				pending.position(start);
+				ByteBuffer larger = ByteBuffer.allocate(pending.capacity() << 1);
+				pending.flip();
+				pending = larger.put(pending);
+			} catch (RuntimeException e) {
+				// a key or value the codec rejects leaves nothing behind
+				pending.position(start);
+				throw e;
+			}
+		}
+		if (pending.position() >= GROUP_BYTES)
+			wakeFlusher();
+		return appended;
+	}
+
+	/**
+	 * Takes back the records appended after lsn. They must not have been handed to the writer yet, so
+	 * this is only for the caller that appended them, without releasing the monitor in between.
+	 */
+	synchronized void discard(long lsn) {
+		pending.position(pending.position() - (int) (appended - lsn));
+		appended = lsn;
+	}
+
+	/**
+	 * Returns once the records up to lsn are forced to disk, except with {@link Commit#ASYNC}, which
+	 * returns at once.
+	 */
+	void commit(long lsn) {
+		switch (commit) {
+			case SYNC -> {
+				synchronized (this) {
+					if (durable < lsn)
+						writeNow();
+				}
+			}
+			case GROUP -> awaitDurable(lsn);
+			case ASYNC -> {
+			}
+		}
+	}
+
+	/**
+	 * Forces every record appended so far, without waiting for the latency budget.
+	 */
+	void sync() {
+		long lsn;
+		synchronized (this) {
+			lsn = appended;
+			if (commit == Commit.SYNC) {
+				if (durable < lsn)
+					writeNow();
+				return;
+			}
+			if (pending.position() > 0) {
+				flushRequested = true;
+				wakeFlusher();
+			}
+		}
+		awaitDurable(lsn);
+	}
+
+	synchronized long appended() {
+		return appended;
+	}
+
+	// records appended before close() are still written, so only a failure ends the wait early
+	private synchronized void awaitDurable(long lsn) {
+		boolean interrupted = false;
+		while (durable < lsn) {
+			if (failure != null)
+				throw new UncheckedIOException("the write-ahead log failed", failure);
+			interrupted |= await();
+		}
+		if (interrupted)
+			Thread.currentThread().interrupt();
+	}
+
+	// with SYNC, under the monitor
+	private void writeNow() {
+		try {
+			write(pending, taken);
+		} catch (IOException e) {
+			failure = e;
+			throw new UncheckedIOException(e);
+		}
+		pending.clear();
+		taken = durable = appended;
+	}
+
+	private void flushLoop() {
+		while (true) {
+			ByteBuffer batch;
+			long start, end;
+			synchronized (this) {
+				// only close() ends the flusher, so interrupts are ignored
+				while (pending.position() == 0 && !closed) {
+					await();
+				}
+				if (pending.position() == 0)
+					return;
+			}
+			awaitBudget();
+			synchronized (this) {
+				flushRequested = false;
+				batch = pending;
+				pending = spare;
+				spare = null;
+				start = taken;
+				end = taken = appended;
+				notifyAll();
+			}
+
+			try {
+				write(batch, start);
+			} catch (IOException e) {
+				synchronized (this) {
+					failure = e;
+					notifyAll();
+				}
+				return;
+			}
+			synchronized (this) {
+				batch.clear();
+				spare = batch;
+				durable = end;
+				notifyAll();
+			}
+		}
+	}
+
+	// Object.wait rounds its timeout up to whole milliseconds, too coarse for a budget, so the flusher
+	// parks instead and is unparked when it should stop waiting
+	private void awaitBudget() {
+		while (true) {
+			long remaining;
+			synchronized (this) {
+				remaining = firstPendingNanos + budgetNanos - System.nanoTime();
+				if (closed || flushRequested || pending.position() >= GROUP_BYTES || remaining <= 0)
+					return;
+			}
+			LockSupport.parkNanos(this, remaining);
+		}
+	}
+
+	private void wakeFlusher() {
+		notifyAll();
+		if (flusher != null)
+			LockSupport.unpark(flusher);
+	}
+
+	// writes the records in batch, which start at LSN start, and forces every segment written to
+	private void write(ByteBuffer batch, long start) throws IOException {
+		batch.flip();
+		long lsn = start;
+		boolean created = false;
+		while (batch.hasRemaining()) {
+			long segmentOf = lsn - lsn % segmentSize;
+			if (segmentOf != segmentStart) {
+				if (segment != null) {
+					segment.force(false);
+					segment.close();
+				}
+				Path path = segmentPath(segmentOf);
+				created |= Files.notExists(path);
+				segment = FileChannel.open(path, CREATE, WRITE);
+				segmentStart = segmentOf;
+			}
+			int length = (int) Math.min(batch.remaining(), segmentStart + segmentSize - lsn);
+			ByteBuffer part = batch.slice(batch.position(), length);
+			long position = lsn - segmentStart;
+			while (part.hasRemaining()) {
+				position += segment.write(part, position);
+			}
+			batch.position(batch.position() + length);
+			lsn += length;
+		}
+		if (segment != null)
+			segment.force(false);
+		if (created)
+			DurableTree.forceDirectory(directory);
+	}
+
+	/**
+	 * Deletes the segments that hold nothing at or after LSN upTo. Only called for an LSN that is
+	 * already durable, so the writer is past those segments.
+	 */
+	void truncate(long upTo) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : (Iterable<Path>) files::iterator) {
+				Matcher matcher = SEGMENT.matcher(file.getFileName().toString());
+				if (matcher.matches() && Long.parseLong(matcher.group(1)) + segmentSize <= upTo)
+					Files.delete(file);
+			}
+		}
+	}
+
+	/**
+	 * Writes out what is pending, stops the flusher and closes the segment.
+	 */
+	void close() throws IOException {
+		synchronized (this) {
+			if (closed)
+				return;
+			closed = true;
+			wakeFlusher();
+			if (flusher == null && failure == null && pending.position() > 0)
+				writeNow();
+		}
+		if (flusher != null) {
+			try {
+				flusher.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (segment != null)
+			segment.close();
+		if (failure != null)
+			throw failure;
+	}
+
+	private void checkUsable() {
+		if (failure != null)
+			throw new UncheckedIOException("the write-ahead log failed", failure);
+		if (closed)
+			throw new IllegalStateException("the tree is closed");
+	}
+
+	// returns whether the wait was interrupted; the callers keep waiting and restore the flag after
+	private boolean await() {
+		try {
+			wait();
+			return false;
+		} catch (InterruptedException e) {
+			return true;
+		}
+	}
+
+	private Path segmentPath(long start) {
+		return directory.resolve(String.format("wal-%020d.log", start));
+	}
+}
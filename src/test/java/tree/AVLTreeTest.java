@@ -0,0 +1,673 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class AVLTreeTest {
+	
+	Tree<Integer, String> tree = new AVLTree<>();
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(10, CardinalNumber._10);
+		tree.add(20, CardinalNumber._20);
+		tree.add(30, CardinalNumber._30);
+		tree.add(40, CardinalNumber._40);
+		tree.add(50, CardinalNumber._50);
+		tree.add(60, CardinalNumber._60);
+		tree.add(70, CardinalNumber._70);
+		tree.add(80, CardinalNumber._80);
+		tree.add(90, CardinalNumber._90);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("AVL트리: 원소 삽입 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(40, 20, 10, 30, 80, 60, 50, 70, 90, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 30, 20, 50, 70, 60, 100, 90, 80, 40);
+		assertThat(levelOrderResult).containsExactly(40, 20, 80, 10, 30, 60, 90, 50, 70, 100);
+	}
+
+	@Test
+	@DisplayName("AVL트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		boolean result2 = tree.add(50, "newValue2");
+		boolean result3 = tree.add(70, "newValue3");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(result3).isFalse();
+	}
+
+	@Test
+	@DisplayName("AVL트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		int keyForRemove = 30;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result).isEqualTo(CardinalNumber._30);
+		assertThat(tree.contains(keyForRemove)).isFalse();
+		assertThat(preorderResult).containsExactly(40, 20, 10, 80, 60, 50, 70, 90, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 20, 50, 70, 60, 100, 90, 80, 40);
+		assertThat(levelOrderResult).containsExactly(40, 20, 80, 10, 60, 90, 50, 70, 100);
+	}
+
+	@Test
+	@DisplayName("AVL트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
+	void removeTest2() throws Exception {
+		// when
+		int keyForRemove = 33;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result).isNull();
+	}
+
+	@Test
+	@DisplayName("AVL트리: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
+	void getTest() throws Exception {
+		// when
+		String result1 = tree.get(30);
+		String result2 = tree.get(50);
+		String result3 = tree.get(80);
+
+		// then
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._50);
+		assertThat(result3).isEqualTo(CardinalNumber._80);
+	}
+
+	@Test
+	@DisplayName("AVL트리: 원소 조회 연산 시 존재하지 않는 key로 조회하면 null을 반환한다.")
+	void getTest2() throws Exception {
+		// when
+		String result1 = tree.get(33);
+		String result2 = tree.get(30);
+
+		// then
+		assertThat(result1).isNull();
+		assertThat(result2).isNotNull();
+	}
+
+	@Test
+	@DisplayName("AVL트리: 원소 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void containsTest() throws Exception {
+		// when
+		boolean result1 = tree.contains(33);
+		boolean result2 = tree.contains(30);
+
+		// then
+		assertThat(result1).isFalse();
+		assertThat(result2).isTrue();
+	}
+
+	@Test
+	@DisplayName("AVL트리: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		// add
+		assertThatThrownBy(() -> tree.add(null, "null"))
+			.isInstanceOf(NullPointerException.class);
+
+		// remove
+		assertThatThrownBy(() -> tree.remove(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// contains
+		assertThatThrownBy(() -> tree.contains(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// get
+		assertThatThrownBy(() -> tree.get(null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("AVL트리: Comparator를 사용하여 생성한 트리에 대해 올바른 Traversal 결과를 제공한다.")
+	void comparatorTest() throws Exception {
+		// given: 내림차순 트리
+		Tree<Integer, String> comparatorTree = new AVLTree<>(
+			(o1, o2) -> Integer.compare(o2, o1));
+
+		// when
+		comparatorTree.add(10, CardinalNumber._10);
+		comparatorTree.add(20, CardinalNumber._20);
+		comparatorTree.add(30, CardinalNumber._30);
+		comparatorTree.add(40, CardinalNumber._40);
+		comparatorTree.add(50, CardinalNumber._50);
+		comparatorTree.add(60, CardinalNumber._60);
+		comparatorTree.add(70, CardinalNumber._70);
+		comparatorTree.add(80, CardinalNumber._80);
+		comparatorTree.add(90, CardinalNumber._90);
+		comparatorTree.add(100, CardinalNumber._100);
+
+		// then
+		List<Integer> preorderResult = comparatorTree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = comparatorTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = comparatorTree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = comparatorTree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(40, 80, 90, 100, 60, 70, 50, 20, 30, 10);
+		assertThat(inorderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+		assertThat(postorderResult).containsExactly(100, 90, 70, 50, 60, 80, 30, 10, 20, 40);
+		assertThat(levelOrderResult).containsExactly(40, 80, 20, 90, 60, 30, 10, 100, 70, 50);
+	}
+
+	@Test
+	@DisplayName("AVL트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공한다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Integer> preorderResult = new ArrayList<>();
+		List<Integer> inorderResult = new ArrayList<>();
+		List<Integer> postorderResult = new ArrayList<>();
+		List<Integer> levelOrderResult = new ArrayList<>();
+		tree.preorderIterator().forEachRemaining(e -> preorderResult.add(e.getKey()));
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		tree.postorderIterator().forEachRemaining(e -> postorderResult.add(e.getKey()));
+		tree.levelOrderIterator().forEachRemaining(e -> levelOrderResult.add(e.getKey()));
+		List<Integer> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+
+		// then
+		assertThat(preorderResult).isEqualTo(tree.preorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(postorderResult).isEqualTo(tree.postorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(levelOrderResult).isEqualTo(tree.levelOrder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10, 20, 30);
+	}
+
+	@Test
+	@DisplayName("AVL트리: 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest2() throws Exception {
+		// when
+		tree.clear();
+
+		// then
+		assertThat(tree.preorderIterator().hasNext()).isFalse();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.postorderIterator().hasNext()).isFalse();
+		assertThat(tree.levelOrderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
+
+	@Test
+	@DisplayName("AVL트리: parallelStream은 서브트리 단위로 분할되어도 Inorder 순서를 유지한다.")
+	void parallelStreamTest() throws Exception {
+		// given
+		Tree<Integer, Integer> largeTree = new AVLTree<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 10000; ++i) {
+			int key = random.nextInt(100000);
+			largeTree.add(key, key);
+		}
+
+		// when
+		List<Integer> parallelResult = largeTree.parallelStream().map(Tree.Entry::getKey).toList();
+		long parallelSum = largeTree.parallelStream().mapToLong(Tree.Entry::getKey).sum();
+		Spliterator<Tree.Entry<Integer, Integer>> spliterator = largeTree.spliterator();
+
+		// then
+		List<Integer> inorderResult = largeTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(parallelResult).isEqualTo(inorderResult);
+		assertThat(parallelSum).isEqualTo(inorderResult.stream().mapToLong(Integer::longValue).sum());
+		assertThat(spliterator.hasCharacteristics(Spliterator.SORTED | Spliterator.SIZED)).isTrue();
+		assertThat(spliterator.estimateSize()).isEqualTo(largeTree.size());
+		assertThat(spliterator.trySplit()).isNotNull();
+	}
+
+	@Test
+	@DisplayName("AVL트리: 정렬된 입력으로 생성한 트리는 균형 잡힌 모양과 올바른 Traversal 결과를 제공한다.")
+	void loadSortedTest() throws Exception {
+		// given
+		AVLTree<Integer, String> loaded = new AVLTree<>();
+
+		// when
+		loaded.loadSorted(tree.inorderIterator());
+
+		// then
+		List<Integer> inorderResult = loaded.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = loaded.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(loaded.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(levelOrderResult).containsExactly(50, 20, 80, 10, 30, 60, 90, 40, 70, 100);
+		assertThat(loaded.get(70)).isEqualTo(CardinalNumber._70);
+	}
+
+	@Test
+	@DisplayName("AVL트리: 정렬되지 않은 입력으로 생성하면 IllegalArgumentException이 발생하고 기존 원소를 유지한다.")
+	void loadSortedTest2() throws Exception {
+		// given
+		AVLTree<Integer, String> loaded = new AVLTree<>();
+		loaded.add(1, CardinalNumber._10);
+
+		// when, then
+		assertThatThrownBy(() -> loaded.loadSorted(tree.postorderIterator()))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThat(loaded.size()).isEqualTo(1);
+		assertThat(loaded.get(1)).isEqualTo(CardinalNumber._10);
+	}
+
+	@Test
+	@DisplayName("AVL트리: 정렬된 입력으로 생성한 트리는 올바른 높이를 가져 이후 삽입에도 균형을 유지한다.")
+	void loadSortedTest3() throws Exception {
+		// given
+		BinarySearchTree<Integer, String> source = new BinarySearchTree<>();
+		for (int key = 1; key <= 7; ++key) {
+			source.add(key, String.valueOf(key));
+		}
+		AVLTree<Integer, String> loaded = new AVLTree<>();
+		loaded.loadSorted(source.inorderIterator());
+
+		// when
+		for (int key = 8; key <= 15; ++key) {
+			loaded.add(key, String.valueOf(key));
+		}
+
+		// then
+		List<Integer> levelOrderResult = loaded.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(levelOrderResult).containsExactly(8, 4, 12, 2, 6, 10, 14, 1, 3, 5, 7, 9, 11, 13, 15);
+	}
+
+	@Test
+	@DisplayName("AVL트리: 여러 원소를 한 번에 삽입하면 이미 존재하는 key와 중복된 key는 처음 원소만 유지한다.")
+	void addAllTest() throws Exception {
+		// given
+		List<Tree.Entry<Integer, String>> batch = List.of(
+			entry(55, "Fifty-five"), entry(5, "Five"), entry(50, "Fifty?"), entry(55, "Fifty-five?"), entry(105, "Hundred five"));
+
+		// when
+		boolean changed = tree.addAll(batch);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(changed).isTrue();
+		assertThat(tree.size()).isEqualTo(13);
+		assertThat(inorderResult).containsExactly(5, 10, 20, 30, 40, 50, 55, 60, 70, 80, 90, 100, 105);
+		assertThat(tree.get(50)).isEqualTo(CardinalNumber._50);
+		assertThat(tree.get(55)).isEqualTo("Fifty-five");
+		assertThat(tree.addAll(List.of(entry(10, "Ten?")))).isFalse();
+	}
+
+	@Test
+	@DisplayName("AVL트리: 여러 key를 한 번에 삭제하면 존재하지 않는 key는 무시한다.")
+	void removeAllTest() throws Exception {
+		// when
+		boolean changed = tree.removeAll(List.of(90, 15, 40, 10, 40, 100));
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(changed).isTrue();
+		assertThat(tree.size()).isEqualTo(6);
+		assertThat(inorderResult).containsExactly(20, 30, 50, 60, 70, 80);
+		assertThat(tree.get(60)).isEqualTo(CardinalNumber._60);
+		assertThat(tree.removeAll(List.of(15, 25))).isFalse();
+	}
+
+	@Test
+	@DisplayName("AVL트리: put은 기존 값을 교체하고, putIfAbsent는 key가 없을 때만 삽입한다.")
+	void putTest() throws Exception {
+		// when
+		String replaced = tree.put(30, "Thirty!");
+		String added = tree.put(35, "Thirty-five");
+		String kept = tree.putIfAbsent(40, "Forty!");
+		String absent = tree.putIfAbsent(45, "Forty-five");
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(replaced).isEqualTo(CardinalNumber._30);
+		assertThat(added).isNull();
+		assertThat(kept).isEqualTo(CardinalNumber._40);
+		assertThat(absent).isNull();
+		assertThat(tree.size()).isEqualTo(12);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 35, 40, 45, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.get(30)).isEqualTo("Thirty!");
+		assertThat(tree.get(40)).isEqualTo(CardinalNumber._40);
+	}
+
+	@Test
+	@DisplayName("AVL트리: compute, computeIfAbsent, merge는 함수 결과로 값을 갱신하고, 결과가 null이면 원소를 삭제한다.")
+	void computeTest() throws Exception {
+		// when
+		String computed = tree.compute(10, (key, value) -> value + "!");
+		String removed = tree.compute(20, (key, value) -> null);
+		String notAdded = tree.compute(25, (key, value) -> null);
+		String existing = tree.computeIfAbsent(50, key -> "Fifty!");
+		String computedIfAbsent = tree.computeIfAbsent(55, key -> "Fifty-five");
+		String merged = tree.merge(60, "!", String::concat);
+		String mergedAbsent = tree.merge(65, "Sixty-five", String::concat);
+		String mergedRemoved = tree.merge(70, "!", (oldValue, value) -> null);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(computed).isEqualTo("Ten!");
+		assertThat(removed).isNull();
+		assertThat(notAdded).isNull();
+		assertThat(existing).isEqualTo(CardinalNumber._50);
+		assertThat(computedIfAbsent).isEqualTo("Fifty-five");
+		assertThat(merged).isEqualTo(CardinalNumber._60 + "!");
+		assertThat(mergedAbsent).isEqualTo("Sixty-five");
+		assertThat(mergedRemoved).isNull();
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 30, 40, 50, 55, 60, 65, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("AVL트리: 삽입과 삭제를 반복해도 TreeMap과 같은 원소와 AVL 높이 상한을 유지한다.")
+	void churnTest() throws Exception {
+		// given
+		AVLTree<Integer, Integer> churnTree = new AVLTree<>();
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		Random random = new Random(42);
+
+		// when
+		for (int i = 0; i < 100000; ++i) {
+			int key = random.nextInt(5000);
+			if (random.nextBoolean()) {
+				assertThat(churnTree.add(key, key)).isEqualTo(expected.putIfAbsent(key, key) == null);
+			} else {
+				assertThat(churnTree.remove(key)).isEqualTo(expected.remove(key));
+			}
+		}
+
+		// then
+		List<Integer> inorderResult = churnTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		double maxHeight = 1.4405 * Math.log(churnTree.size() + 2) / Math.log(2) - 0.3277;
+
+		assertThat(churnTree.size()).isEqualTo(expected.size());
+		assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+		assertThat(height(churnTree.root)).isLessThanOrEqualTo((int) maxHeight);
+	}
+
+	@Test
+	@DisplayName("AVL 트리: 순서 통계를 켜면 삽입, 삭제가 반복되어도 select, rank, countInRange가 올바른 결과를 제공한다.")
+	void orderStatisticTest() throws Exception {
+		// given
+		AVLTree<Integer, Integer> churnTree = new AVLTree<>(null, true);
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		Random random = new Random(42);
+
+		// when
+		for (int i = 0; i < 20000; ++i) {
+			int key = random.nextInt(2000);
+			if (random.nextBoolean()) {
+				churnTree.add(key, key);
+				expected.putIfAbsent(key, key);
+			} else {
+				churnTree.remove(key);
+				expected.remove(key);
+			}
+		}
+
+		// then
+		List<Integer> keys = new ArrayList<>(expected.keySet());
+		for (int k = 0; k < keys.size(); ++k) {
+			assertThat(churnTree.select(k).getKey()).isEqualTo(keys.get(k));
+		}
+		for (int key = -1; key <= 2000; key += 7) {
+			assertThat(churnTree.rank(key)).isEqualTo(expected.headMap(key).size());
+			assertThat(churnTree.countInRange(key, key + 100)).isEqualTo(expected.subMap(key, true, key + 100, true).size());
+		}
+		assertThatThrownBy(() -> churnTree.select(keys.size())).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	@DisplayName("AVL 트리: 순서 통계를 켜지 않으면 select는 UnsupportedOperationException이 발생한다.")
+	void orderStatisticTest2() throws Exception {
+		// given
+		AVLTree<Integer, String> avlTree = (AVLTree<Integer, String>) tree;
+
+		// then
+		assertThatThrownBy(() -> avlTree.select(0)).isInstanceOf(UnsupportedOperationException.class);
+		assertThatThrownBy(() -> avlTree.rank(10)).isInstanceOf(UnsupportedOperationException.class);
+	}
+
+	@Test
+	@DisplayName("AVL 트리: subTree는 Comparator로 생성한 트리에서는 Comparator 순서의 범위 안 원소만 제공한다.")
+	void subTreeTest() throws Exception {
+		// given
+		AVLTree<Integer, String> reversed = new AVLTree<>(Comparator.reverseOrder());
+		for (Tree.Entry<Integer, String> entry : tree.inorder()) {
+			reversed.add(entry.getKey(), entry.getValue());
+		}
+
+		// when
+		Tree<Integer, String> subTree = reversed.subTree(80, true, 30, false);
+		Tree<Integer, String> comparableSubTree = ((AVLTree<Integer, String>) tree).subTree(30, false, 80, true);
+		subTree.clear();
+
+		// then
+		List<Integer> inorderResult = reversed.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(comparableSubTree.inorder()).extracting(Tree.Entry::getKey).containsExactly(40, 50, 60, 70, 80);
+		assertThat(inorderResult).containsExactly(100, 90, 30, 20, 10);
+		assertThat(reversed.tailTree(20, true).inorder()).extracting(Tree.Entry::getKey).containsExactly(20, 10);
+		assertThatThrownBy(() -> reversed.subTree(30, true, 80, true)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("AVL 트리: floor, lower, ceiling, higher는 주어진 key에 가장 가까운 원소를 제공한다.")
+	void navigationTest() throws Exception {
+		// given
+		AVLTree<Integer, String> navigable = (AVLTree<Integer, String>) tree;
+
+		// then
+		assertThat(navigable.floorEntry(50).getKey()).isEqualTo(50);
+		assertThat(navigable.floorEntry(55).getKey()).isEqualTo(50);
+		assertThat(navigable.floorEntry(5)).isNull();
+		assertThat(navigable.lowerEntry(50).getKey()).isEqualTo(40);
+		assertThat(navigable.lowerEntry(10)).isNull();
+		assertThat(navigable.ceilingEntry(50).getKey()).isEqualTo(50);
+		assertThat(navigable.ceilingEntry(45).getValue()).isEqualTo(CardinalNumber._50);
+		assertThat(navigable.ceilingEntry(105)).isNull();
+		assertThat(navigable.higherEntry(50).getKey()).isEqualTo(60);
+		assertThat(navigable.higherEntry(100)).isNull();
+	}
+
+	@Test
+	@DisplayName("AVL 트리: pollFirstEntry, pollLastEntry는 가장 작은, 가장 큰 원소를 삭제하고 제공한다.")
+	void pollTest() throws Exception {
+		// given
+		AVLTree<Integer, String> navigable = (AVLTree<Integer, String>) tree;
+
+		// when
+		Tree.Entry<Integer, String> first = navigable.pollFirstEntry();
+		Tree.Entry<Integer, String> last = navigable.pollLastEntry();
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(first.getKey()).isEqualTo(10);
+		assertThat(first.getValue()).isEqualTo(CardinalNumber._10);
+		assertThat(last.getKey()).isEqualTo(100);
+		assertThat(navigable.firstEntry().getKey()).isEqualTo(20);
+		assertThat(navigable.lastEntry().getKey()).isEqualTo(90);
+		assertThat(tree.size()).isEqualTo(8);
+		assertThat(inorderResult).containsExactly(20, 30, 40, 50, 60, 70, 80, 90);
+
+		tree.clear();
+		assertThat(navigable.firstEntry()).isNull();
+		assertThat(navigable.pollLastEntry()).isNull();
+	}
+
+	@Test
+	@DisplayName("AVL 트리: split은 key 이상의 원소를 새 트리로 옮기고, join은 두 트리를 균형 잡힌 하나의 트리로 합친다.")
+	void splitJoinTest() throws Exception {
+		// given
+		AVLTree<Integer, String> avlTree = (AVLTree<Integer, String>) tree;
+
+		// when
+		AVLTree<Integer, String> upper = avlTree.split(35);
+		List<Integer> lowerResult = avlTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> upperResult = upper.inorder().stream().map(Tree.Entry::getKey).toList();
+		int lowerSize = avlTree.size();
+		int upperSize = upper.size();
+		AVLTree<Integer, String> joined = AVLTree.join(avlTree, upper);
+
+		// then
+		List<Integer> joinedResult = joined.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(lowerResult).containsExactly(10, 20, 30);
+		assertThat(upperResult).containsExactly(40, 50, 60, 70, 80, 90, 100);
+		assertThat(lowerSize).isEqualTo(3);
+		assertThat(upperSize).isEqualTo(7);
+		assertThat(joinedResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(joined.size()).isEqualTo(10);
+		assertThat(height(joined.root)).isLessThanOrEqualTo(4);
+		assertThat(avlTree.size()).isZero();
+		assertThatThrownBy(() -> AVLTree.join(joined, new AVLTree<>(null, true))).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("AVL 트리: 순서 통계를 켠 트리는 split, join 후에도 올바른 select, rank 결과를 제공한다.")
+	void splitJoinTest2() throws Exception {
+		// given
+		AVLTree<Integer, Integer> lower = new AVLTree<>(null, true);
+		for (int key = 0; key < 1000; ++key) {
+			lower.add(key, key);
+		}
+
+		// when
+		AVLTree<Integer, Integer> middle = lower.split(300);
+		AVLTree<Integer, Integer> upper = middle.split(700);
+		AVLTree<Integer, Integer> joined = AVLTree.join(lower, upper);
+
+		// then
+		assertThat(middle.size()).isEqualTo(400);
+		assertThat(middle.select(0).getKey()).isEqualTo(300);
+		assertThat(middle.rank(500)).isEqualTo(200);
+		assertThat(joined.size()).isEqualTo(600);
+		assertThat(joined.select(300).getKey()).isEqualTo(700);
+		assertThat(joined.countInRange(250, 750)).isEqualTo(101);
+		assertThat(height(joined.root)).isLessThanOrEqualTo(13);
+	}
+
+	@Test
+	@DisplayName("AVL 트리: union, intersection, difference는 두 트리의 합집합, 교집합, 차집합을 제공하고 공통 key는 첫 번째 트리의 값을 유지한다.")
+	void setOperationTest() throws Exception {
+		// given
+		AVLTree<Integer, String> other = new AVLTree<>();
+		other.add(50, "Fifty!");
+		other.add(55, "Fifty-five");
+		other.add(100, "Hundred!");
+		other.add(110, "Hundred ten");
+		AVLTree<Integer, String> copy = new AVLTree<>();
+		AVLTree<Integer, String> otherCopy = new AVLTree<>();
+		for (Tree.Entry<Integer, String> entry : tree.inorder()) {
+			copy.add(entry.getKey(), entry.getValue());
+		}
+		for (Tree.Entry<Integer, String> entry : other.inorder()) {
+			otherCopy.add(entry.getKey(), entry.getValue());
+		}
+
+		// when
+		AVLTree<Integer, String> union = AVLTree.union((AVLTree<Integer, String>) tree, other);
+		AVLTree<Integer, String> difference = AVLTree.difference(copy, otherCopy);
+
+		// then
+		List<Integer> unionResult = union.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> differenceResult = difference.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(unionResult).containsExactly(10, 20, 30, 40, 50, 55, 60, 70, 80, 90, 100, 110);
+		assertThat(union.size()).isEqualTo(12);
+		assertThat(union.get(50)).isEqualTo(CardinalNumber._50);
+		assertThat(union.get(55)).isEqualTo("Fifty-five");
+		assertThat(differenceResult).containsExactly(10, 20, 30, 40, 60, 70, 80, 90);
+		assertThat(difference.size()).isEqualTo(8);
+		assertThat(tree.size()).isZero();
+		assertThat(other.size()).isZero();
+	}
+
+	@Test
+	@DisplayName("AVL 트리: 큰 트리의 intersection은 fork-join으로 나누어 계산해도 공통 key만 순서대로 제공한다.")
+	void setOperationTest2() throws Exception {
+		// given
+		AVLTree<Integer, Integer> multiplesOf2 = new AVLTree<>();
+		AVLTree<Integer, Integer> multiplesOf3 = new AVLTree<>();
+		for (int key = 0; key < 60000; ++key) {
+			multiplesOf2.add(2 * key, key);
+			multiplesOf3.add(3 * key, key);
+		}
+
+		// when
+		AVLTree<Integer, Integer> intersection = AVLTree.intersection(multiplesOf2, multiplesOf3);
+
+		// then
+		List<Integer> inorderResult = intersection.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(intersection.size()).isEqualTo(20000);
+		assertThat(inorderResult).isEqualTo(IntStream.range(0, 20000).map(key -> 6 * key).boxed().toList());
+		assertThat(intersection.get(6)).isEqualTo(3);
+	}
+
+	private static int height(BinarySearchTree.TreeNode<?, ?> node) {
+		if (node == null)
+			return 0;
+		return Math.max(height(node.left), height(node.right)) + 1;
+	}
+
+	private static Tree.Entry<Integer, String> entry(Integer key, String value) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public String getValue() {
+				return value;
+			}
+		};
+	}
+}
@@ -1,6 +1,11 @@
+package tree;
+
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,9 +14,9 @@ import org.junit.jupiter.api.Test;
 
 import data.CardinalNumber;
 
-public class AVLTreeTest {
+public class ArrayAVLTreeTest {
 	
-	Tree<Integer, String> tree = new AVLTree<>();
+	Tree<Integer, String> tree = new ArrayAVLTree<>();
 
 	@BeforeEach
 	void beforeEach() {
@@ -33,7 +38,7 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: 원소 삽입 연산 후에 올바른 Traversal 결과를 제공한다.")
+	@DisplayName("배열 AVL트리: 원소 삽입 연산 후에 올바른 Traversal 결과를 제공한다.")
 	void addTest() throws Exception {
 		// given: beforeEach에서 원소 삽입
 
@@ -51,7 +56,7 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	@DisplayName("배열 AVL트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
 	void addTest2() throws Exception {
 		// given: beforeEach에서 원소 삽입
 
@@ -68,7 +73,7 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	@DisplayName("배열 AVL트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
 	void removeTest() throws Exception {
 		// when
 		int keyForRemove = 30;
@@ -90,7 +95,7 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
+	@DisplayName("배열 AVL트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
 	void removeTest2() throws Exception {
 		// when
 		int keyForRemove = 33;
@@ -102,7 +107,7 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
+	@DisplayName("배열 AVL트리: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
 	void getTest() throws Exception {
 		// when
 		String result1 = tree.get(30);
@@ -116,7 +121,7 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: 원소 조회 연산 시 존재하지 않는 key로 조회하면 null을 반환한다.")
+	@DisplayName("배열 AVL트리: 원소 조회 연산 시 존재하지 않는 key로 조회하면 null을 반환한다.")
 	void getTest2() throws Exception {
 		// when
 		String result1 = tree.get(33);
@@ -128,7 +133,7 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: 원소 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	@DisplayName("배열 AVL트리: 원소 존재 여부 연산에 대해 올바른 결과를 제공한다.")
 	void containsTest() throws Exception {
 		// when
 		boolean result1 = tree.contains(33);
@@ -140,7 +145,7 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	@DisplayName("배열 AVL트리: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
 	void nullPointerTest() throws Exception {
 		// add
 		assertThatThrownBy(() -> tree.add(null, "null"))
@@ -160,10 +165,10 @@ public class AVLTreeTest {
 	}
 
 	@Test
-	@DisplayName("AVL트리: Comparator를 사용하여 생성한 트리에 대해 올바른 Traversal 결과를 제공한다.")
+	@DisplayName("배열 AVL트리: Comparator를 사용하여 생성한 트리에 대해 올바른 Traversal 결과를 제공한다.")
 	void comparatorTest() throws Exception {
 		// given: 내림차순 트리
-		Tree<Integer, String> comparatorTree = new AVLTree<>(
+		Tree<Integer, String> comparatorTree = new ArrayAVLTree<>(
 			(o1, o2) -> Integer.compare(o2, o1));
 
 		// when
@@ -190,4 +195,65 @@ public class AVLTreeTest {
 		assertThat(postorderResult).containsExactly(100, 90, 70, 50, 60, 80, 30, 10, 20, 40);
 		assertThat(levelOrderResult).containsExactly(40, 80, 20, 90, 60, 30, 10, 100, 70, 50);
 	}
+
+	@Test
+	@DisplayName("배열 AVL트리: 초기 용량을 넘어 삽입과 삭제를 반복해도 TreeMap과 같은 원소를 유지한다.")
+	void churnTest() throws Exception {
+		// given
+		Tree<Integer, Integer> churnTree = new ArrayAVLTree<>(null, 1);
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		Random random = new Random(42);
+
+		// when
+		for (int i = 0; i < 100000; ++i) {
+			int key = random.nextInt(5000);
+			if (random.nextBoolean()) {
+				assertThat(churnTree.add(key, key)).isEqualTo(expected.putIfAbsent(key, key) == null);
+			} else {
+				assertThat(churnTree.remove(key)).isEqualTo(expected.remove(key));
+			}
+		}
+
+		// then
+		List<Integer> inorderResult = churnTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(churnTree.size()).isEqualTo(expected.size());
+		assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+	}
+
+	@Test
+	@DisplayName("배열 AVL트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공한다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Integer> preorderResult = new ArrayList<>();
+		List<Integer> inorderResult = new ArrayList<>();
+		List<Integer> postorderResult = new ArrayList<>();
+		List<Integer> levelOrderResult = new ArrayList<>();
+		tree.preorderIterator().forEachRemaining(e -> preorderResult.add(e.getKey()));
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		tree.postorderIterator().forEachRemaining(e -> postorderResult.add(e.getKey()));
+		tree.levelOrderIterator().forEachRemaining(e -> levelOrderResult.add(e.getKey()));
+		List<Integer> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+
+		// then
+		assertThat(preorderResult).isEqualTo(tree.preorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(postorderResult).isEqualTo(tree.postorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(levelOrderResult).isEqualTo(tree.levelOrder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10, 20, 30);
+	}
+
+	@Test
+	@DisplayName("배열 AVL트리: 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest2() throws Exception {
+		// when
+		tree.clear();
+
+		// then
+		assertThat(tree.preorderIterator().hasNext()).isFalse();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.postorderIterator().hasNext()).isFalse();
+		assertThat(tree.levelOrderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
 }
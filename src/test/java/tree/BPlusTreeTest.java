@@ -0,0 +1,242 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class BPlusTreeTest {
+
+	BPlusTree<Integer, String> tree = new BPlusTree<>(null, 4);
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(50, CardinalNumber._50);
+		tree.add(20, CardinalNumber._20);
+		tree.add(80, CardinalNumber._80);
+		tree.add(10, CardinalNumber._10);
+		tree.add(30, CardinalNumber._30);
+		tree.add(60, CardinalNumber._60);
+		tree.add(90, CardinalNumber._90);
+		tree.add(40, CardinalNumber._40);
+		tree.add(70, CardinalNumber._70);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("B+트리: 원소 삽입 연산 후에 모든 Traversal이 key 순서로 원소를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Integer> keys = List.of(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(tree.height()).isEqualTo(2);
+		assertThat(tree.preorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.inorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.postorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.levelOrder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+	}
+
+	@Test
+	@DisplayName("B+트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않고, put은 값을 바꾼다.")
+	void addTest2() throws Exception {
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		boolean result2 = tree.add(100, "newValue2");
+		String result3 = tree.put(70, "newValue3");
+		String result4 = tree.put(75, "newValue4");
+
+		// then
+		assertThat(tree.size()).isEqualTo(11);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(tree.get(30)).isEqualTo(CardinalNumber._30);
+		assertThat(result3).isEqualTo(CardinalNumber._70);
+		assertThat(tree.get(70)).isEqualTo("newValue3");
+		assertThat(result4).isNull();
+		assertThat(tree.get(75)).isEqualTo("newValue4");
+	}
+
+	@Test
+	@DisplayName("B+트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		String result1 = tree.remove(30);
+		String result2 = tree.remove(10);
+		String result3 = tree.remove(20);
+
+		// then
+		assertThat(tree.size()).isEqualTo(7);
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._10);
+		assertThat(result3).isEqualTo(CardinalNumber._20);
+		assertThat(tree.contains(30)).isFalse();
+		assertThat(tree.inorder().stream().map(Tree.Entry::getKey).toList()).containsExactly(40, 50, 60, 70, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("B+트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
+	void removeTest2() throws Exception {
+		// when
+		String result1 = tree.remove(33);
+		String result2 = tree.remove(0);
+		String result3 = tree.remove(1000);
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isNull();
+		assertThat(result2).isNull();
+		assertThat(result3).isNull();
+	}
+
+	@Test
+	@DisplayName("B+트리: 원소 조회와 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void getTest() throws Exception {
+		// when
+		String result1 = tree.get(30);
+		String result2 = tree.get(100);
+		String result3 = tree.get(33);
+		boolean result4 = tree.contains(10);
+		boolean result5 = tree.contains(11);
+
+		// then
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._100);
+		assertThat(result3).isNull();
+		assertThat(result4).isTrue();
+		assertThat(result5).isFalse();
+	}
+
+	@Test
+	@DisplayName("B+트리: 연산 수행 시 null을 key로 제공하거나 fanout이 너무 작으면 예외가 발생한다.")
+	void nullPointerTest() throws Exception {
+		assertThatThrownBy(() -> tree.add(null, "null")).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.remove(null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.contains(null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.get(null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.put(null, "null")).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> new BPlusTree<Integer, String>(null, 3)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("B+트리: Comparator를 사용하여 생성한 트리는 Comparator 순서로 원소를 제공한다.")
+	void comparatorTest() throws Exception {
+		// given
+		BPlusTree<Integer, String> reversed = new BPlusTree<>(Comparator.reverseOrder(), 4);
+
+		// when
+		for (Tree.Entry<Integer, String> entry : tree.inorder()) {
+			reversed.add(entry.getKey(), entry.getValue());
+		}
+		reversed.remove(50);
+
+		// then
+		assertThat(reversed.inorder().stream().map(Tree.Entry::getKey).toList()).containsExactly(100, 90, 80, 70, 60, 40, 30, 20, 10);
+		assertThat(reversed.get(60)).isEqualTo(CardinalNumber._60);
+	}
+
+	@Test
+	@DisplayName("B+트리: 삽입과 삭제를 반복해도 TreeMap과 같은 원소를 유지하고, 삭제로 비워지면 높이가 줄어든다.")
+	void churnTest() throws Exception {
+		// given
+		for (int fanout : new int[] {4, 5, 32, 128}) {
+			BPlusTree<Integer, Integer> churnTree = new BPlusTree<>(Integer::compare, fanout);
+			TreeMap<Integer, Integer> expected = new TreeMap<>();
+			Random random = new Random(42);
+
+			// when
+			for (int i = 0; i < 100000; ++i) {
+				int key = random.nextInt(5000);
+				if (random.nextBoolean()) {
+					assertThat(churnTree.add(key, key)).isEqualTo(expected.putIfAbsent(key, key) == null);
+				} else {
+					assertThat(churnTree.remove(key)).isEqualTo(expected.remove(key));
+				}
+			}
+			int height = churnTree.height();
+			for (int key = 0; key < 5000; key += 2) {
+				assertThat(churnTree.remove(key)).isEqualTo(expected.remove(key));
+			}
+			for (int key = 1; key < 4990; key += 2) {
+				assertThat(churnTree.remove(key)).isEqualTo(expected.remove(key));
+			}
+
+			// then
+			List<Integer> inorderResult = churnTree.inorder().stream().map(Tree.Entry::getKey).toList();
+			assertThat(churnTree.size()).isEqualTo(expected.size());
+			assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+			assertThat(churnTree.height()).isLessThan(height);
+		}
+	}
+
+	@Test
+	@DisplayName("B+트리: 노드가 절반 이상 차 있으므로 높이는 log(fanout/2) n을 넘지 않는다.")
+	void heightTest() throws Exception {
+		// given
+		BPlusTree<Integer, Integer> large = new BPlusTree<>(Integer::compare, 64);
+
+		// when
+		Random random = new Random(42);
+		for (int i = 0; i < 100000; ++i) {
+			large.add(random.nextInt(), i);
+		}
+
+		// then
+		assertThat(large.height()).isBetween(3, 4);
+	}
+
+	@Test
+	@DisplayName("B+트리: 범위 Iterator는 경계의 포함 여부에 맞춰 범위 안의 원소만 key 순서로 제공한다.")
+	void rangeIteratorTest() throws Exception {
+		// when
+		List<Integer> result1 = new ArrayList<>();
+		List<Integer> result2 = new ArrayList<>();
+		List<Integer> result3 = new ArrayList<>();
+		List<Integer> result4 = new ArrayList<>();
+		tree.rangeIterator(30, true, 70, false).forEachRemaining(e -> result1.add(e.getKey()));
+		tree.rangeIterator(30, false, 70, true).forEachRemaining(e -> result2.add(e.getKey()));
+		tree.rangeIterator(null, false, 35, false).forEachRemaining(e -> result3.add(e.getKey()));
+		tree.rangeIterator(85, true, null, false).forEachRemaining(e -> result4.add(e.getKey()));
+
+		// then
+		assertThat(result1).containsExactly(30, 40, 50, 60);
+		assertThat(result2).containsExactly(40, 50, 60, 70);
+		assertThat(result3).containsExactly(10, 20, 30);
+		assertThat(result4).containsExactly(90, 100);
+		assertThat(tree.rangeIterator(41, true, 49, true).hasNext()).isFalse();
+		assertThatThrownBy(() -> tree.rangeIterator(50, true, 40, true)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("B+트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공하고, 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Integer> inorderResult = new ArrayList<>();
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		List<Integer> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+		BPlusTree<Integer, String> empty = new BPlusTree<>();
+
+		// then
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10, 20, 30);
+		assertThat(empty.inorderIterator().hasNext()).isFalse();
+		assertThat(empty.levelOrderIterator().hasNext()).isFalse();
+		assertThat(empty.stream().count()).isZero();
+	}
+}
@@ -0,0 +1,512 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class BinarySearchTreeTest {
+	
+	Tree<Integer, String> tree = new BinarySearchTree<>();
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(50, CardinalNumber._50);
+		tree.add(30, CardinalNumber._30);
+		tree.add(70, CardinalNumber._70);
+		tree.add(20, CardinalNumber._20);
+		tree.add(40, CardinalNumber._40);
+		tree.add(60, CardinalNumber._60);
+		tree.add(80, CardinalNumber._80);
+		tree.add(90, CardinalNumber._90);
+		tree.add(100, CardinalNumber._100);
+		tree.add(10, CardinalNumber._10);
+	}
+	
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 원소 삽입 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(50, 30, 20, 10, 40, 70, 60, 80, 90, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 20, 40, 30, 60, 100, 90, 80, 70, 50);
+		assertThat(levelOrderResult).containsExactly(50, 30, 70, 20, 40, 60, 80, 10, 90, 100);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		boolean result2 = tree.add(50, "newValue2");
+		boolean result3 = tree.add(70, "newValue3");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(result3).isFalse();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		int keyForRemove = 30;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result).isEqualTo(CardinalNumber._30);
+		assertThat(tree.contains(keyForRemove)).isFalse();
+		assertThat(preorderResult).containsExactly(50, 40, 20, 10, 70, 60, 80, 90, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 20, 40, 60, 100, 90, 80, 70, 50);
+		assertThat(levelOrderResult).containsExactly(50, 40, 70, 20, 60, 80, 10, 90, 100);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
+	void removeTest2() throws Exception {
+		// when
+		int keyForRemove = 33;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result).isNull();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
+	void getTest() throws Exception {
+		// when
+		String result1 = tree.get(30);
+		String result2 = tree.get(50);
+		String result3 = tree.get(80);
+
+		// then
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._50);
+		assertThat(result3).isEqualTo(CardinalNumber._80);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 원소 조회 연산 시 존재하지 않는 key로 조회하면 null을 반환한다.")
+	void getTest2() throws Exception {
+		// when
+		String result1 = tree.get(33);
+		String result2 = tree.get(30);
+
+		// then
+		assertThat(result1).isNull();
+		assertThat(result2).isNotNull();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 원소 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void containsTest() throws Exception {
+		// when
+		boolean result1 = tree.contains(33);
+		boolean result2 = tree.contains(30);
+
+		// then
+		assertThat(result1).isFalse();
+		assertThat(result2).isTrue();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		// add
+		assertThatThrownBy(() -> tree.add(null, "null"))
+			.isInstanceOf(NullPointerException.class);
+
+		// remove
+		assertThatThrownBy(() -> tree.remove(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// contains
+		assertThatThrownBy(() -> tree.contains(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// get
+		assertThatThrownBy(() -> tree.get(null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: Comparator를 사용하여 생성한 트리에 대해 올바른 Traversal 결과를 제공한다.")
+	void comparatorTest() throws Exception {
+	    // given: 내림차순 트리
+		Tree<Integer, String> comparatorTree = new BinarySearchTree<>(
+			(o1, o2) -> Integer.compare(o2, o1));
+
+	    // when
+		comparatorTree.add(50, CardinalNumber._50);
+		comparatorTree.add(30, CardinalNumber._30);
+		comparatorTree.add(70, CardinalNumber._70);
+		comparatorTree.add(20, CardinalNumber._20);
+		comparatorTree.add(40, CardinalNumber._40);
+		comparatorTree.add(60, CardinalNumber._60);
+		comparatorTree.add(80, CardinalNumber._80);
+		comparatorTree.add(90, CardinalNumber._90);
+		comparatorTree.add(100, CardinalNumber._100);
+		comparatorTree.add(10, CardinalNumber._10);
+
+		// then
+		List<Integer> preorderResult = comparatorTree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = comparatorTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = comparatorTree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = comparatorTree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(50, 70, 80, 90, 100, 60, 30, 40, 20, 10);
+		assertThat(inorderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+		assertThat(postorderResult).containsExactly(100, 90, 80, 60, 70, 40, 10, 20, 30, 50);
+		assertThat(levelOrderResult).containsExactly(50, 70, 30, 80, 60, 40, 20, 90, 10, 100);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공한다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Integer> preorderResult = new ArrayList<>();
+		List<Integer> inorderResult = new ArrayList<>();
+		List<Integer> postorderResult = new ArrayList<>();
+		List<Integer> levelOrderResult = new ArrayList<>();
+		tree.preorderIterator().forEachRemaining(e -> preorderResult.add(e.getKey()));
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		tree.postorderIterator().forEachRemaining(e -> postorderResult.add(e.getKey()));
+		tree.levelOrderIterator().forEachRemaining(e -> levelOrderResult.add(e.getKey()));
+		List<Integer> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+
+		// then
+		assertThat(preorderResult).isEqualTo(tree.preorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(postorderResult).isEqualTo(tree.postorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(levelOrderResult).isEqualTo(tree.levelOrder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10, 20, 30);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest2() throws Exception {
+		// when
+		tree.clear();
+
+		// then
+		assertThat(tree.preorderIterator().hasNext()).isFalse();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.postorderIterator().hasNext()).isFalse();
+		assertThat(tree.levelOrderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: parallelStream은 서브트리 단위로 분할되어도 Inorder 순서를 유지한다.")
+	void parallelStreamTest() throws Exception {
+		// given
+		Tree<Integer, Integer> largeTree = new BinarySearchTree<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 10000; ++i) {
+			int key = random.nextInt(100000);
+			largeTree.add(key, key);
+		}
+
+		// when
+		List<Integer> parallelResult = largeTree.parallelStream().map(Tree.Entry::getKey).toList();
+		long parallelSum = largeTree.parallelStream().mapToLong(Tree.Entry::getKey).sum();
+		Spliterator<Tree.Entry<Integer, Integer>> spliterator = largeTree.spliterator();
+
+		// then
+		List<Integer> inorderResult = largeTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(parallelResult).isEqualTo(inorderResult);
+		assertThat(parallelSum).isEqualTo(inorderResult.stream().mapToLong(Integer::longValue).sum());
+		assertThat(spliterator.hasCharacteristics(Spliterator.SORTED | Spliterator.SIZED)).isTrue();
+		assertThat(spliterator.estimateSize()).isEqualTo(largeTree.size());
+		assertThat(spliterator.trySplit()).isNotNull();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 정렬된 입력으로 생성한 트리는 균형 잡힌 모양과 올바른 Traversal 결과를 제공한다.")
+	void loadSortedTest() throws Exception {
+		// given
+		BinarySearchTree<Integer, String> loaded = new BinarySearchTree<>();
+
+		// when
+		loaded.loadSorted(tree.inorderIterator());
+
+		// then
+		List<Integer> inorderResult = loaded.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = loaded.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(loaded.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(levelOrderResult).containsExactly(50, 20, 80, 10, 30, 60, 90, 40, 70, 100);
+		assertThat(loaded.get(70)).isEqualTo(CardinalNumber._70);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 정렬되지 않은 입력으로 생성하면 IllegalArgumentException이 발생하고 기존 원소를 유지한다.")
+	void loadSortedTest2() throws Exception {
+		// given
+		BinarySearchTree<Integer, String> loaded = new BinarySearchTree<>();
+		loaded.add(1, CardinalNumber._10);
+
+		// when, then
+		assertThatThrownBy(() -> loaded.loadSorted(tree.postorderIterator()))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThat(loaded.size()).isEqualTo(1);
+		assertThat(loaded.get(1)).isEqualTo(CardinalNumber._10);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 여러 원소를 한 번에 삽입하면 이미 존재하는 key와 중복된 key는 처음 원소만 유지한다.")
+	void addAllTest() throws Exception {
+		// given
+		List<Tree.Entry<Integer, String>> batch = List.of(
+			entry(55, "Fifty-five"), entry(5, "Five"), entry(50, "Fifty?"), entry(55, "Fifty-five?"), entry(105, "Hundred five"));
+
+		// when
+		boolean changed = tree.addAll(batch);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(changed).isTrue();
+		assertThat(tree.size()).isEqualTo(13);
+		assertThat(inorderResult).containsExactly(5, 10, 20, 30, 40, 50, 55, 60, 70, 80, 90, 100, 105);
+		assertThat(tree.get(50)).isEqualTo(CardinalNumber._50);
+		assertThat(tree.get(55)).isEqualTo("Fifty-five");
+		assertThat(tree.addAll(List.of(entry(10, "Ten?")))).isFalse();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 여러 key를 한 번에 삭제하면 존재하지 않는 key는 무시한다.")
+	void removeAllTest() throws Exception {
+		// when
+		boolean changed = tree.removeAll(List.of(90, 15, 40, 10, 40, 100));
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(changed).isTrue();
+		assertThat(tree.size()).isEqualTo(6);
+		assertThat(inorderResult).containsExactly(20, 30, 50, 60, 70, 80);
+		assertThat(tree.get(60)).isEqualTo(CardinalNumber._60);
+		assertThat(tree.removeAll(List.of(15, 25))).isFalse();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: put은 기존 값을 교체하고, putIfAbsent는 key가 없을 때만 삽입한다.")
+	void putTest() throws Exception {
+		// when
+		String replaced = tree.put(30, "Thirty!");
+		String added = tree.put(35, "Thirty-five");
+		String kept = tree.putIfAbsent(40, "Forty!");
+		String absent = tree.putIfAbsent(45, "Forty-five");
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(replaced).isEqualTo(CardinalNumber._30);
+		assertThat(added).isNull();
+		assertThat(kept).isEqualTo(CardinalNumber._40);
+		assertThat(absent).isNull();
+		assertThat(tree.size()).isEqualTo(12);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 35, 40, 45, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.get(30)).isEqualTo("Thirty!");
+		assertThat(tree.get(40)).isEqualTo(CardinalNumber._40);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: compute, computeIfAbsent, merge는 함수 결과로 값을 갱신하고, 결과가 null이면 원소를 삭제한다.")
+	void computeTest() throws Exception {
+		// when
+		String computed = tree.compute(10, (key, value) -> value + "!");
+		String removed = tree.compute(20, (key, value) -> null);
+		String notAdded = tree.compute(25, (key, value) -> null);
+		String existing = tree.computeIfAbsent(50, key -> "Fifty!");
+		String computedIfAbsent = tree.computeIfAbsent(55, key -> "Fifty-five");
+		String merged = tree.merge(60, "!", String::concat);
+		String mergedAbsent = tree.merge(65, "Sixty-five", String::concat);
+		String mergedRemoved = tree.merge(70, "!", (oldValue, value) -> null);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(computed).isEqualTo("Ten!");
+		assertThat(removed).isNull();
+		assertThat(notAdded).isNull();
+		assertThat(existing).isEqualTo(CardinalNumber._50);
+		assertThat(computedIfAbsent).isEqualTo("Fifty-five");
+		assertThat(merged).isEqualTo(CardinalNumber._60 + "!");
+		assertThat(mergedAbsent).isEqualTo("Sixty-five");
+		assertThat(mergedRemoved).isNull();
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 30, 40, 50, 55, 60, 65, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: subTree는 범위 안의 원소만 원래 트리의 모양대로 순회한다.")
+	void subTreeTest() throws Exception {
+		// given
+		Tree<Integer, String> subTree = ((BinarySearchTree<Integer, String>) tree).subTree(25, true, 80, false);
+
+		// then
+		List<Integer> preorderResult = subTree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = subTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = subTree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = subTree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> iteratorResult = new ArrayList<>();
+		subTree.inorderIterator().forEachRemaining(entry -> iteratorResult.add(entry.getKey()));
+
+		assertThat(subTree.size()).isEqualTo(5);
+		assertThat(preorderResult).containsExactly(50, 30, 40, 70, 60);
+		assertThat(inorderResult).containsExactly(30, 40, 50, 60, 70);
+		assertThat(postorderResult).containsExactly(40, 30, 60, 70, 50);
+		assertThat(levelOrderResult).containsExactly(50, 30, 70, 40, 60);
+		assertThat(iteratorResult).containsExactly(30, 40, 50, 60, 70);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 범위 view에 대한 변경은 원래 트리에 반영되고, 범위 밖의 key는 삽입할 수 없다.")
+	void subTreeTest2() throws Exception {
+		// given
+		Tree<Integer, String> headTree = ((BinarySearchTree<Integer, String>) tree).headTree(40, true);
+		Tree<Integer, String> tailTree = ((BinarySearchTree<Integer, String>) tree).tailTree(80, false);
+
+		// when
+		headTree.add(35, "Thirty-five");
+		String removed = headTree.remove(20);
+		String outOfRange = headTree.remove(50);
+		tree.add(95, "Ninety-five");
+
+		// then
+		List<Integer> headResult = headTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> tailResult = tailTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(removed).isEqualTo(CardinalNumber._20);
+		assertThat(outOfRange).isNull();
+		assertThat(headResult).containsExactly(10, 30, 35, 40);
+		assertThat(tailResult).containsExactly(90, 95, 100);
+		assertThat(tree.size()).isEqualTo(11);
+		assertThat(headTree.contains(50)).isFalse();
+		assertThat(tailTree.get(90)).isEqualTo(CardinalNumber._90);
+		assertThatThrownBy(() -> headTree.add(45, "Forty-five")).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> tailTree.put(80, "Eighty!")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: floor, lower, ceiling, higher는 주어진 key에 가장 가까운 원소를 제공한다.")
+	void navigationTest() throws Exception {
+		// given
+		BinarySearchTree<Integer, String> navigable = (BinarySearchTree<Integer, String>) tree;
+
+		// then
+		assertThat(navigable.floorEntry(50).getKey()).isEqualTo(50);
+		assertThat(navigable.floorEntry(55).getKey()).isEqualTo(50);
+		assertThat(navigable.floorEntry(5)).isNull();
+		assertThat(navigable.lowerEntry(50).getKey()).isEqualTo(40);
+		assertThat(navigable.lowerEntry(10)).isNull();
+		assertThat(navigable.ceilingEntry(50).getKey()).isEqualTo(50);
+		assertThat(navigable.ceilingEntry(45).getValue()).isEqualTo(CardinalNumber._50);
+		assertThat(navigable.ceilingEntry(105)).isNull();
+		assertThat(navigable.higherEntry(50).getKey()).isEqualTo(60);
+		assertThat(navigable.higherEntry(100)).isNull();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: pollFirstEntry, pollLastEntry는 가장 작은, 가장 큰 원소를 삭제하고 제공한다.")
+	void pollTest() throws Exception {
+		// given
+		BinarySearchTree<Integer, String> navigable = (BinarySearchTree<Integer, String>) tree;
+
+		// when
+		Tree.Entry<Integer, String> first = navigable.pollFirstEntry();
+		Tree.Entry<Integer, String> last = navigable.pollLastEntry();
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(first.getKey()).isEqualTo(10);
+		assertThat(first.getValue()).isEqualTo(CardinalNumber._10);
+		assertThat(last.getKey()).isEqualTo(100);
+		assertThat(navigable.firstEntry().getKey()).isEqualTo(20);
+		assertThat(navigable.lastEntry().getKey()).isEqualTo(90);
+		assertThat(tree.size()).isEqualTo(8);
+		assertThat(inorderResult).containsExactly(20, 30, 40, 50, 60, 70, 80, 90);
+
+		tree.clear();
+		assertThat(navigable.firstEntry()).isNull();
+		assertThat(navigable.pollLastEntry()).isNull();
+	}
+
+	@Test
+	@DisplayName("이진탐색트리: 순차 삽입으로 한쪽으로 치우친 트리에도 addAll, removeAll 연산을 수행한다.")
+	void degenerateBatchTest() throws Exception {
+		// given
+		Tree<Integer, String> degenerate = new BinarySearchTree<>();
+		for (int i = 0; i < 100_000; ++i) {
+			degenerate.add(i, CardinalNumber._10);
+		}
+
+		// when
+		boolean added = degenerate.addAll(List.of(entry(100_000, "Hundred thousand"), entry(-1, "Minus one")));
+		boolean removed = degenerate.removeAll(List.of(99_999, 0, 50_000));
+
+		// then
+		assertThat(added).isTrue();
+		assertThat(removed).isTrue();
+		assertThat(degenerate.size()).isEqualTo(99_999);
+		assertThat(degenerate.get(100_000)).isEqualTo("Hundred thousand");
+		assertThat(degenerate.contains(99_999)).isFalse();
+		assertThat(degenerate.contains(50_000)).isFalse();
+		assertThat(degenerate.contains(-1)).isTrue();
+	}
+
+	private static Tree.Entry<Integer, String> entry(Integer key, String value) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public String getValue() {
+				return value;
+			}
+		};
+	}
+}
@@ -0,0 +1,454 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class ConcurrentAVLTreeTest {
+	
+	Tree<Integer, String> tree = new ConcurrentAVLTree<>();
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(10, CardinalNumber._10);
+		tree.add(20, CardinalNumber._20);
+		tree.add(30, CardinalNumber._30);
+		tree.add(40, CardinalNumber._40);
+		tree.add(50, CardinalNumber._50);
+		tree.add(60, CardinalNumber._60);
+		tree.add(70, CardinalNumber._70);
+		tree.add(80, CardinalNumber._80);
+		tree.add(90, CardinalNumber._90);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 원소 삽입 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(40, 20, 10, 30, 80, 60, 50, 70, 90, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 30, 20, 50, 70, 60, 100, 90, 80, 40);
+		assertThat(levelOrderResult).containsExactly(40, 20, 80, 10, 30, 60, 90, 50, 70, 100);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		boolean result2 = tree.add(50, "newValue2");
+		boolean result3 = tree.add(70, "newValue3");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(result3).isFalse();
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		int keyForRemove = 30;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result).isEqualTo(CardinalNumber._30);
+		assertThat(tree.contains(keyForRemove)).isFalse();
+		assertThat(preorderResult).containsExactly(40, 20, 10, 80, 60, 50, 70, 90, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 20, 50, 70, 60, 100, 90, 80, 40);
+		assertThat(levelOrderResult).containsExactly(40, 20, 80, 10, 60, 90, 50, 70, 100);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
+	void removeTest2() throws Exception {
+		// when
+		int keyForRemove = 33;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result).isNull();
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
+	void getTest() throws Exception {
+		// when
+		String result1 = tree.get(30);
+		String result2 = tree.get(50);
+		String result3 = tree.get(80);
+
+		// then
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._50);
+		assertThat(result3).isEqualTo(CardinalNumber._80);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 원소 조회 연산 시 존재하지 않는 key로 조회하면 null을 반환한다.")
+	void getTest2() throws Exception {
+		// when
+		String result1 = tree.get(33);
+		String result2 = tree.get(30);
+
+		// then
+		assertThat(result1).isNull();
+		assertThat(result2).isNotNull();
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 원소 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void containsTest() throws Exception {
+		// when
+		boolean result1 = tree.contains(33);
+		boolean result2 = tree.contains(30);
+
+		// then
+		assertThat(result1).isFalse();
+		assertThat(result2).isTrue();
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		// add
+		assertThatThrownBy(() -> tree.add(null, "null"))
+			.isInstanceOf(NullPointerException.class);
+
+		// remove
+		assertThatThrownBy(() -> tree.remove(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// contains
+		assertThatThrownBy(() -> tree.contains(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// get
+		assertThatThrownBy(() -> tree.get(null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: Comparator를 사용하여 생성한 트리에 대해 올바른 Traversal 결과를 제공한다.")
+	void comparatorTest() throws Exception {
+		// given: 내림차순 트리
+		Tree<Integer, String> comparatorTree = new ConcurrentAVLTree<>(
+			(o1, o2) -> Integer.compare(o2, o1));
+
+		// when
+		comparatorTree.add(10, CardinalNumber._10);
+		comparatorTree.add(20, CardinalNumber._20);
+		comparatorTree.add(30, CardinalNumber._30);
+		comparatorTree.add(40, CardinalNumber._40);
+		comparatorTree.add(50, CardinalNumber._50);
+		comparatorTree.add(60, CardinalNumber._60);
+		comparatorTree.add(70, CardinalNumber._70);
+		comparatorTree.add(80, CardinalNumber._80);
+		comparatorTree.add(90, CardinalNumber._90);
+		comparatorTree.add(100, CardinalNumber._100);
+
+		// then
+		List<Integer> preorderResult = comparatorTree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = comparatorTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = comparatorTree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = comparatorTree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(40, 80, 90, 100, 60, 70, 50, 20, 30, 10);
+		assertThat(inorderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+		assertThat(postorderResult).containsExactly(100, 90, 70, 50, 60, 80, 30, 10, 20, 40);
+		assertThat(levelOrderResult).containsExactly(40, 80, 20, 90, 60, 30, 10, 100, 70, 50);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공한다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Integer> preorderResult = new ArrayList<>();
+		List<Integer> inorderResult = new ArrayList<>();
+		List<Integer> postorderResult = new ArrayList<>();
+		List<Integer> levelOrderResult = new ArrayList<>();
+		tree.preorderIterator().forEachRemaining(e -> preorderResult.add(e.getKey()));
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		tree.postorderIterator().forEachRemaining(e -> postorderResult.add(e.getKey()));
+		tree.levelOrderIterator().forEachRemaining(e -> levelOrderResult.add(e.getKey()));
+		List<Integer> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+
+		// then
+		assertThat(preorderResult).isEqualTo(tree.preorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(postorderResult).isEqualTo(tree.postorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(levelOrderResult).isEqualTo(tree.levelOrder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10, 20, 30);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest2() throws Exception {
+		// when
+		tree.clear();
+
+		// then
+		assertThat(tree.preorderIterator().hasNext()).isFalse();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.postorderIterator().hasNext()).isFalse();
+		assertThat(tree.levelOrderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: put은 기존 값을 교체하고, putIfAbsent는 key가 없을 때만 삽입한다.")
+	void putTest() throws Exception {
+		// when
+		String replaced = tree.put(30, "Thirty!");
+		String added = tree.put(35, "Thirty-five");
+		String kept = tree.putIfAbsent(40, "Forty!");
+		String absent = tree.putIfAbsent(45, "Forty-five");
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(replaced).isEqualTo(CardinalNumber._30);
+		assertThat(added).isNull();
+		assertThat(kept).isEqualTo(CardinalNumber._40);
+		assertThat(absent).isNull();
+		assertThat(tree.size()).isEqualTo(12);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 35, 40, 45, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.get(30)).isEqualTo("Thirty!");
+		assertThat(tree.get(40)).isEqualTo(CardinalNumber._40);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: compute, computeIfAbsent, merge는 함수 결과로 값을 갱신하고, 결과가 null이면 원소를 삭제한다.")
+	void computeTest() throws Exception {
+		// when
+		String computed = tree.compute(10, (key, value) -> value + "!");
+		String removed = tree.compute(20, (key, value) -> null);
+		String notAdded = tree.compute(25, (key, value) -> null);
+		String existing = tree.computeIfAbsent(50, key -> "Fifty!");
+		String computedIfAbsent = tree.computeIfAbsent(55, key -> "Fifty-five");
+		String merged = tree.merge(60, "!", String::concat);
+		String mergedAbsent = tree.merge(65, "Sixty-five", String::concat);
+		String mergedRemoved = tree.merge(70, "!", (oldValue, value) -> null);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(computed).isEqualTo("Ten!");
+		assertThat(removed).isNull();
+		assertThat(notAdded).isNull();
+		assertThat(existing).isEqualTo(CardinalNumber._50);
+		assertThat(computedIfAbsent).isEqualTo("Fifty-five");
+		assertThat(merged).isEqualTo(CardinalNumber._60 + "!");
+		assertThat(mergedAbsent).isEqualTo("Sixty-five");
+		assertThat(mergedRemoved).isNull();
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 30, 40, 50, 55, 60, 65, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: null 값은 라우팅 노드 표시로 쓰이므로 삽입하면 NullPointerException이 발생한다.")
+	void nullValueTest() throws Exception {
+		assertThatThrownBy(() -> tree.add(35, null))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.put(35, null))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.putIfAbsent(35, null))
+			.isInstanceOf(NullPointerException.class);
+		assertThat(tree.size()).isEqualTo(10);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 자식이 둘인 원소를 삭제해도 남은 원소의 조회와 Traversal 결과는 올바르다.")
+	void routingNodeTest() throws Exception {
+		// when: 40, 80은 자식이 둘이므로 라우팅 노드로 남는다
+		String result1 = tree.remove(40);
+		String result2 = tree.remove(80);
+		String result3 = tree.remove(40);
+		boolean result4 = tree.add(40, "Forty!");
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(result1).isEqualTo(CardinalNumber._40);
+		assertThat(result2).isEqualTo(CardinalNumber._80);
+		assertThat(result3).isNull();
+		assertThat(result4).isTrue();
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(tree.get(40)).isEqualTo("Forty!");
+		assertThat(tree.contains(80)).isFalse();
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 90, 100);
+		assertThat(tree.preorder()).hasSize(9);
+		assertThat(tree.levelOrder()).hasSize(9);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 여러 스레드가 삽입, 삭제, 조회를 동시에 수행해도 각 스레드의 결과와 최종 원소가 올바르다.")
+	void concurrentTest() throws Exception {
+		// given: 스레드마다 나머지가 다른 key를 맡고, 조회는 모든 key에 대해 수행한다
+		ConcurrentAVLTree<Integer, Integer> sharedTree = new ConcurrentAVLTree<>();
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<Map<Integer, Integer>>> futures = new ArrayList<>();
+
+		// when
+		for (int t = 0; t < threads; ++t) {
+			int owner = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(owner);
+				Map<Integer, Integer> owned = new HashMap<>();
+				for (int i = 0; i < 50000; ++i) {
+					int key = random.nextInt(1000) * threads + owner;
+					switch (random.nextInt(4)) {
+						case 0 -> assertThat(sharedTree.add(key, i)).isEqualTo(owned.putIfAbsent(key, i) == null);
+						case 1 -> assertThat(sharedTree.remove(key)).isEqualTo(owned.remove(key));
+						case 2 -> assertThat(sharedTree.put(key, i)).isEqualTo(owned.put(key, i));
+						default -> {
+							assertThat(sharedTree.get(key)).isEqualTo(owned.get(key));
+							sharedTree.get(random.nextInt(1000 * threads));
+						}
+					}
+				}
+				return owned;
+			}));
+		}
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		for (Future<Map<Integer, Integer>> future : futures) {
+			expected.putAll(future.get());
+		}
+		executor.shutdown();
+
+		// then
+		List<Integer> inorderResult = sharedTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(sharedTree.size()).isEqualTo(expected.size());
+		assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+		for (Tree.Entry<Integer, Integer> entry : sharedTree.inorder()) {
+			assertThat(entry.getValue()).isEqualTo(expected.get(entry.getKey()));
+		}
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 여러 스레드가 같은 key에 merge를 수행해도 갱신이 유실되지 않는다.")
+	void concurrentMergeTest() throws Exception {
+		// given
+		ConcurrentAVLTree<Integer, Integer> counters = new ConcurrentAVLTree<>();
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> futures = new ArrayList<>();
+
+		// when
+		for (int t = 0; t < threads; ++t) {
+			futures.add(executor.submit(() -> {
+				for (int i = 0; i < 20000; ++i) {
+					counters.merge(i % 100, 1, Integer::sum);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		// then
+		assertThat(counters.size()).isEqualTo(100);
+		assertThat(counters.inorder().stream().mapToInt(Tree.Entry::getValue).sum()).isEqualTo(threads * 20000);
+		assertThat(counters.inorder()).allMatch(entry -> entry.getValue() == threads * 200);
+	}
+
+	@Test
+	@DisplayName("동시성 AVL트리: 다른 스레드가 삽입, 삭제하는 동안에도 in-order 순회는 변경되지 않은 key를 모두 오름차순으로 제공한다.")
+	void concurrentScanTest() throws Exception {
+		// given: 짝수 key는 고정하고, 쓰기 스레드는 홀수 key만 삽입, 삭제해 회전을 일으킨다
+		ConcurrentAVLTree<Integer, Integer> sharedTree = new ConcurrentAVLTree<>();
+		int keys = 20000;
+		for (int key = 0; key < keys; key += 2) {
+			sharedTree.add(key, key);
+		}
+		int writers = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		AtomicBoolean done = new AtomicBoolean();
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < writers; ++t) {
+			int seed = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(seed);
+				while (!done.get()) {
+					int key = random.nextInt(keys / 2) * 2 + 1;
+					if (random.nextBoolean()) {
+						sharedTree.add(key, key);
+					} else {
+						sharedTree.remove(key);
+					}
+				}
+			}));
+		}
+
+		// when
+		List<List<Integer>> scans = new ArrayList<>();
+		try {
+			for (int i = 0; i < 20; ++i) {
+				List<Integer> scan = new ArrayList<>();
+				sharedTree.inorderIterator().forEachRemaining(entry -> scan.add(entry.getKey()));
+				scans.add(scan);
+				sharedTree.preorderIterator().forEachRemaining(entry -> {});
+				sharedTree.postorderIterator().forEachRemaining(entry -> {});
+				sharedTree.levelOrderIterator().forEachRemaining(entry -> {});
+			}
+		} finally {
+			done.set(true);
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			executor.shutdown();
+		}
+
+		// then
+		for (List<Integer> scan : scans) {
+			assertThat(scan).isSortedAccordingTo(Integer::compare).doesNotHaveDuplicates();
+			assertThat(scan.stream().filter(key -> key % 2 == 0).count()).isEqualTo(keys / 2);
+		}
+	}
+}
@@ -0,0 +1,295 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import data.CardinalNumber;
+import tree.DurableTree.Commit;
+
+public class DurableTreeTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	@DisplayName("내구성: 닫았다 다시 연 트리는 삽입, 삭제, 갱신, 비우기를 모두 반영한 상태를 복구한다.")
+	void recoveryTest() throws Exception {
+		// given
+		try (DurableTree<Integer, String> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.STRING)) {
+			tree.add(10, CardinalNumber._10);
+			tree.add(20, CardinalNumber._20);
+			tree.clear();
+			tree.add(30, CardinalNumber._30);
+			tree.add(40, CardinalNumber._40);
+			tree.add(50, CardinalNumber._50);
+			tree.remove(40);
+			tree.put(30, CardinalNumber._60);
+			tree.merge(50, "!", String::concat);
+			tree.computeIfAbsent(70, key -> CardinalNumber._70);
+			tree.compute(80, (key, value) -> null);
+			tree.addAll(List.of(entry(90, CardinalNumber._90), entry(100, CardinalNumber._100)));
+			tree.removeAll(List.of(90));
+		}
+
+		// when
+		DurableTree<Integer, String> recovered = DurableTree.open(dir, new RedBlackTree<>(), Codec.INT, Codec.STRING);
+
+		// then
+		assertThat(recovered.inorder()).extracting(Tree.Entry::getKey).containsExactly(30, 50, 70, 100);
+		assertThat(recovered.get(30)).isEqualTo(CardinalNumber._60);
+		assertThat(recovered.get(50)).isEqualTo(CardinalNumber._50 + "!");
+		recovered.close();
+	}
+
+	@Test
+	@DisplayName("내구성: 마지막 레코드가 잘리거나 깨져 있으면 그 앞까지만 복구하고, 이후의 쓰기는 그 뒤에 이어서 기록한다.")
+	void tornTailTest() throws Exception {
+		// given
+		try (DurableTree<Integer, Integer> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT, Commit.SYNC, Duration.ZERO)) {
+			for (int key = 0; key < 100; key++) {
+				tree.add(key, key);
+			}
+		}
+		Path segment = segments().get(0);
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+			// the last record is the header, a type byte and two ints
+			channel.truncate(channel.size() - 3);
+		}
+
+		// when
+		try (DurableTree<Integer, Integer> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT)) {
+			assertThat(tree.size()).isEqualTo(99);
+			assertThat(tree.contains(99)).isFalse();
+			tree.add(-1, -1);
+		}
+		try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			// flip the last byte of the value of -1
+			ByteBuffer last = ByteBuffer.allocate(1);
+			channel.read(last, channel.size() - 1);
+			channel.write(last.put(0, (byte) ~last.get(0)).rewind(), channel.size() - 1);
+		}
+		DurableTree<Integer, Integer> recovered = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT);
+
+		// then
+		assertThat(recovered.size()).isEqualTo(99);
+		assertThat(recovered.contains(-1)).isFalse();
+		assertThat(recovered.inorder()).extracting(Tree.Entry::getKey).isEqualTo(IntStream.range(0, 99).boxed().toList());
+		recovered.close();
+	}
+
+	@Test
+	@DisplayName("내구성: 체크포인트는 스냅샷을 남기고 지난 세그먼트를 지우며, 복구는 스냅샷 위에 남은 로그를 재생한다.")
+	void checkpointTest() throws Exception {
+		// given
+		DurableTree<Integer, Integer> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT,
+			Commit.GROUP, Duration.ofMillis(1), 1024, Long.MAX_VALUE);
+		tree.addAll(IntStream.range(0, 1000).mapToObj(key -> entry(key, key)).toList());
+		int before = segments().size();
+
+		// when
+		tree.checkpoint();
+		int after = segments().size();
+		tree.removeAll(IntStream.range(0, 500).boxed().toList());
+		tree.put(999, -999);
+		tree.close();
+		DurableTree<Integer, Integer> recovered = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT,
+			Commit.GROUP, Duration.ofMillis(1), 1024, Long.MAX_VALUE);
+
+		// then
+		assertThat(before).isGreaterThan(10);
+		assertThat(after).isLessThanOrEqualTo(1);
+		assertThat(snapshots()).hasSize(1);
+		assertThat(recovered.size()).isEqualTo(500);
+		assertThat(recovered.inorder().get(0).getKey()).isEqualTo(500);
+		assertThat(recovered.get(999)).isEqualTo(-999);
+		recovered.close();
+	}
+
+	@Test
+	@DisplayName("내구성: 로그가 정해진 크기만큼 자라면 백그라운드에서 체크포인트를 만들고, 이전 스냅샷은 지운다.")
+	void scheduledCheckpointTest() throws Exception {
+		// given
+		DurableTree<Integer, Integer> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT,
+			Commit.ASYNC, Duration.ofMillis(1), 1024, 4096);
+
+		// when
+		for (int key = 0; key < 10000; key++) {
+			tree.add(key, key);
+		}
+		tree.close();
+		DurableTree<Integer, Integer> recovered = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT,
+			Commit.ASYNC, Duration.ofMillis(1), 1024, 4096);
+
+		// then
+		assertThat(snapshots()).hasSize(1);
+		assertThat(segments().size()).isLessThan(10000 * 17 / 1024);
+		assertThat(recovered.size()).isEqualTo(10000);
+		recovered.close();
+	}
+
+	@Test
+	@DisplayName("내구성: 그룹 커밋으로 여러 스레드가 동시에 쓴 원소는 반환된 시점에 모두 디스크에 있다.")
+	void groupCommitTest() throws Exception {
+		// given
+		DurableTree<Integer, Integer> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT,
+			Commit.GROUP, Duration.ofMillis(1), 4096, Long.MAX_VALUE);
+		List<Thread> writers = new ArrayList<>();
+		for (int t = 0; t < 8; t++) {
+			int offset = t;
+			writers.add(new Thread(() -> {
+				for (int i = 0; i < 500; i++) {
+					tree.add(i * 8 + offset, offset);
+				}
+			}));
+		}
+
+		// when
+		writers.forEach(Thread::start);
+		for (Thread writer : writers) {
+			writer.join();
+		}
+		// opened without closing the first, as after a crash
+		DurableTree<Integer, Integer> recovered = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT,
+			Commit.GROUP, Duration.ofMillis(1), 4096, Long.MAX_VALUE);
+
+		// then
+		assertThat(recovered.size()).isEqualTo(4000);
+		assertThat(recovered.get(3999)).isEqualTo(7);
+		recovered.close();
+		tree.close();
+	}
+
+	@Test
+	@DisplayName("내구성: 비동기 모드에서도 sync를 호출하면 그때까지의 쓰기가 디스크에 있다.")
+	void asyncTest() throws Exception {
+		// given
+		DurableTree<Integer, Integer> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT,
+			Commit.ASYNC, Duration.ofSeconds(10));
+		for (int key = 0; key < 1000; key++) {
+			tree.add(key, key);
+		}
+
+		// when
+		tree.sync();
+		DurableTree<Integer, Integer> recovered = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT);
+
+		// then
+		assertThat(recovered.size()).isEqualTo(1000);
+		recovered.close();
+		tree.close();
+	}
+
+	@Test
+	@DisplayName("내구성: null 값은 거부하고, 닫힌 트리에 쓰면 예외를 던진다.")
+	void nullPointerTest() throws Exception {
+		// given
+		DurableTree<Integer, Integer> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, Codec.INT);
+
+		// when
+		tree.close();
+
+		// then
+		assertThatThrownBy(() -> tree.add(1, null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.add(1, 1)).isInstanceOf(IllegalStateException.class);
+		assertThat(tree.contains(1)).isFalse();
+	}
+
+	@Test
+	@DisplayName("내구성: 로그에 기록할 수 없는 갱신은 트리에도 반영하지 않고, 이후의 기록과 복구에 영향을 주지 않는다.")
+	void unloggableUpdateTest() throws Exception {
+		// given: 음수 값을 인코딩하지 못하는 codec
+		Codec<Integer> positive = new Codec<>() {
+			@Override
+			public String name() {
+				return "positive int";
+			}
+
+			@Override
+			public void write(Integer value, ByteBuffer buffer) {
+				if (value < 0)
+					throw new IllegalArgumentException("negative: " + value);
+				buffer.putInt(value);
+			}
+
+			@Override
+			public Integer read(ByteBuffer buffer) {
+				return buffer.getInt();
+			}
+		};
+
+		// when
+		try (DurableTree<Integer, Integer> tree = DurableTree.open(dir, new AVLTree<>(), Codec.INT, positive)) {
+			tree.add(1, 1);
+			assertThatThrownBy(() -> tree.put(1, -1)).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> tree.add(2, -2)).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> tree.merge(1, -5, Integer::sum)).isInstanceOf(IllegalArgumentException.class);
+			tree.add(3, 3);
+
+			assertThat(tree.get(1)).isEqualTo(1);
+			assertThat(tree.contains(2)).isFalse();
+		}
+		DurableTree<Integer, Integer> recovered = DurableTree.open(dir, new AVLTree<>(), Codec.INT, positive);
+
+		// then
+		assertThat(recovered.inorder()).extracting(Tree.Entry::getKey).containsExactly(1, 3);
+		assertThat(recovered.get(1)).isEqualTo(1);
+		recovered.close();
+	}
+
+	private List<Path> segments() throws IOException {
+		return files("wal-");
+	}
+
+	private List<Path> snapshots() throws IOException {
+		return files("snapshot-");
+	}
+
+	private List<Path> files(String prefix) throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.filter(file -> file.getFileName().toString().startsWith(prefix)).sorted().toList();
+		}
+	}
+
+	private static Tree.Entry<Integer, Integer> entry(int key, int value) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public Integer getValue() {
+				return value;
+			}
+		};
+	}
+
+	private static Tree.Entry<Integer, String> entry(int key, String value) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public String getValue() {
+				return value;
+			}
+		};
+	}
+}
@@ -0,0 +1,221 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class LongAVLTreeTest {
+
+	LongAVLTree<String> tree = new LongAVLTree<>();
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(10L, CardinalNumber._10);
+		tree.add(20L, CardinalNumber._20);
+		tree.add(30L, CardinalNumber._30);
+		tree.add(40L, CardinalNumber._40);
+		tree.add(50L, CardinalNumber._50);
+		tree.add(60L, CardinalNumber._60);
+		tree.add(70L, CardinalNumber._70);
+		tree.add(80L, CardinalNumber._80);
+		tree.add(90L, CardinalNumber._90);
+		tree.add(100L, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("long AVL트리: 원소 삽입 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Long> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(40L, 20L, 10L, 30L, 80L, 60L, 50L, 70L, 90L, 100L);
+		assertThat(inorderResult).containsExactly(10L, 20L, 30L, 40L, 50L, 60L, 70L, 80L, 90L, 100L);
+		assertThat(postorderResult).containsExactly(10L, 30L, 20L, 50L, 70L, 60L, 100L, 90L, 80L, 40L);
+		assertThat(levelOrderResult).containsExactly(40L, 20L, 80L, 10L, 30L, 60L, 90L, 50L, 70L, 100L);
+	}
+
+	@Test
+	@DisplayName("long AVL트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// when
+		boolean result1 = tree.add(30L, "newValue1");
+		boolean result2 = tree.add(50L, "newValue2");
+		boolean result3 = tree.add(Long.valueOf(70), "newValue3");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(result3).isFalse();
+	}
+
+	@Test
+	@DisplayName("long AVL트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		long keyForRemove = 30;
+		String result = tree.removeLong(keyForRemove);
+
+		// then
+		List<Long> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result).isEqualTo(CardinalNumber._30);
+		assertThat(tree.containsLong(keyForRemove)).isFalse();
+		assertThat(preorderResult).containsExactly(40L, 20L, 10L, 80L, 60L, 50L, 70L, 90L, 100L);
+		assertThat(inorderResult).containsExactly(10L, 20L, 40L, 50L, 60L, 70L, 80L, 90L, 100L);
+		assertThat(postorderResult).containsExactly(10L, 20L, 50L, 70L, 60L, 100L, 90L, 80L, 40L);
+		assertThat(levelOrderResult).containsExactly(40L, 20L, 80L, 10L, 60L, 90L, 50L, 70L, 100L);
+	}
+
+	@Test
+	@DisplayName("long AVL트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
+	void removeTest2() throws Exception {
+		// when
+		String result1 = tree.removeLong(33);
+		String result2 = tree.remove(Long.valueOf(33));
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isNull();
+		assertThat(result2).isNull();
+	}
+
+	@Test
+	@DisplayName("long AVL트리: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
+	void getTest() throws Exception {
+		// when
+		String result1 = tree.getLong(30);
+		String result2 = tree.getLong(50);
+		String result3 = tree.get(Long.valueOf(80));
+		String result4 = tree.getLong(33);
+
+		// then
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._50);
+		assertThat(result3).isEqualTo(CardinalNumber._80);
+		assertThat(result4).isNull();
+	}
+
+	@Test
+	@DisplayName("long AVL트리: 원소 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void containsTest() throws Exception {
+		// when
+		boolean result1 = tree.containsLong(33);
+		boolean result2 = tree.containsLong(30);
+		boolean result3 = tree.contains(Long.valueOf(30));
+
+		// then
+		assertThat(result1).isFalse();
+		assertThat(result2).isTrue();
+		assertThat(result3).isTrue();
+	}
+
+	@Test
+	@DisplayName("long AVL트리: Tree 인터페이스로 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		Tree<Long, String> bridge = tree;
+
+		// add
+		assertThatThrownBy(() -> bridge.add(null, "null"))
+			.isInstanceOf(NullPointerException.class);
+
+		// remove
+		assertThatThrownBy(() -> bridge.remove(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// contains
+		assertThatThrownBy(() -> bridge.contains(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// get
+		assertThatThrownBy(() -> bridge.get(null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("long AVL트리: 삽입과 삭제를 반복해도 TreeMap과 같은 원소를 유지한다.")
+	void churnTest() throws Exception {
+		// given
+		LongAVLTree<Long> churnTree = new LongAVLTree<>();
+		TreeMap<Long, Long> expected = new TreeMap<>();
+		Random random = new Random(42);
+
+		// when
+		for (int i = 0; i < 100000; ++i) {
+			long key = random.nextInt(5000);
+			if (random.nextBoolean()) {
+				Long value = key;
+				assertThat(churnTree.add(key, value)).isEqualTo(expected.putIfAbsent(key, value) == null);
+			} else {
+				assertThat(churnTree.removeLong(key)).isEqualTo(expected.remove(key));
+			}
+		}
+
+		// then
+		List<Long> inorderResult = churnTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(churnTree.size()).isEqualTo(expected.size());
+		assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+	}
+
+	@Test
+	@DisplayName("long AVL트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공한다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Long> preorderResult = new ArrayList<>();
+		List<Long> inorderResult = new ArrayList<>();
+		List<Long> postorderResult = new ArrayList<>();
+		List<Long> levelOrderResult = new ArrayList<>();
+		tree.preorderIterator().forEachRemaining(e -> preorderResult.add(e.getKey()));
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		tree.postorderIterator().forEachRemaining(e -> postorderResult.add(e.getKey()));
+		tree.levelOrderIterator().forEachRemaining(e -> levelOrderResult.add(e.getKey()));
+		List<Long> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+
+		// then
+		assertThat(preorderResult).isEqualTo(tree.preorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(postorderResult).isEqualTo(tree.postorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(levelOrderResult).isEqualTo(tree.levelOrder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10L, 20L, 30L);
+	}
+
+	@Test
+	@DisplayName("long AVL트리: 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest2() throws Exception {
+		// when
+		tree.clear();
+
+		// then
+		assertThat(tree.preorderIterator().hasNext()).isFalse();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.postorderIterator().hasNext()).isFalse();
+		assertThat(tree.levelOrderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
+}
@@ -0,0 +1,167 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class LongBPlusTreeTest {
+
+	LongBPlusTree<String> tree = new LongBPlusTree<>(4);
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(50L, CardinalNumber._50);
+		tree.add(20L, CardinalNumber._20);
+		tree.add(80L, CardinalNumber._80);
+		tree.add(10L, CardinalNumber._10);
+		tree.add(30L, CardinalNumber._30);
+		tree.add(60L, CardinalNumber._60);
+		tree.add(90L, CardinalNumber._90);
+		tree.add(40L, CardinalNumber._40);
+		tree.add(70L, CardinalNumber._70);
+		tree.add(100L, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("long B+트리: 원소 삽입 연산 후에 모든 Traversal이 key 순서로 원소를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Long> keys = List.of(10L, 20L, 30L, 40L, 50L, 60L, 70L, 80L, 90L, 100L);
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(tree.preorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.inorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.postorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.levelOrder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+	}
+
+	@Test
+	@DisplayName("long B+트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않고, put은 값을 바꾼다.")
+	void addTest2() throws Exception {
+		// when
+		boolean result1 = tree.add(30L, "newValue1");
+		boolean result2 = tree.add(Long.valueOf(70), "newValue2");
+		String result3 = tree.put(90L, "newValue3");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(result3).isEqualTo(CardinalNumber._90);
+		assertThat(tree.getLong(90)).isEqualTo("newValue3");
+	}
+
+	@Test
+	@DisplayName("long B+트리: 원소 삭제, 조회, 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		String result1 = tree.removeLong(30);
+		String result2 = tree.remove(Long.valueOf(33));
+		String result3 = tree.getLong(50);
+		String result4 = tree.get(Long.valueOf(80));
+
+		// then
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isNull();
+		assertThat(result3).isEqualTo(CardinalNumber._50);
+		assertThat(result4).isEqualTo(CardinalNumber._80);
+		assertThat(tree.containsLong(30)).isFalse();
+		assertThat(tree.contains(Long.valueOf(40))).isTrue();
+	}
+
+	@Test
+	@DisplayName("long B+트리: Tree 인터페이스로 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		Tree<Long, String> bridge = tree;
+
+		assertThatThrownBy(() -> bridge.add(null, "null")).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> bridge.remove(null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> bridge.contains(null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> bridge.get(null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> bridge.put(null, "null")).isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("long B+트리: 삽입과 삭제를 반복해도 TreeMap과 같은 원소를 유지하고, 삭제로 비워지면 높이가 줄어든다.")
+	void churnTest() throws Exception {
+		// given
+		for (int fanout : new int[] {4, 7, 64}) {
+			LongBPlusTree<Long> churnTree = new LongBPlusTree<>(fanout);
+			TreeMap<Long, Long> expected = new TreeMap<>();
+			Random random = new Random(42);
+
+			// when
+			for (int i = 0; i < 100000; ++i) {
+				long key = random.nextInt(5000) - 2500;
+				if (random.nextBoolean()) {
+					Long value = key;
+					assertThat(churnTree.add(key, value)).isEqualTo(expected.putIfAbsent(key, value) == null);
+				} else {
+					assertThat(churnTree.removeLong(key)).isEqualTo(expected.remove(key));
+				}
+			}
+			int height = churnTree.height();
+			for (long key = -2500; key < 2490; ++key) {
+				assertThat(churnTree.removeLong(key)).isEqualTo(expected.remove(key));
+			}
+
+			// then
+			List<Long> inorderResult = churnTree.inorder().stream().map(Tree.Entry::getKey).toList();
+			assertThat(churnTree.size()).isEqualTo(expected.size());
+			assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+			assertThat(churnTree.height()).isLessThan(height);
+		}
+	}
+
+	@Test
+	@DisplayName("long B+트리: 범위 Iterator는 경계의 포함 여부에 맞춰 범위 안의 원소만 key 순서로 제공한다.")
+	void rangeIteratorTest() throws Exception {
+		// when
+		List<Long> result1 = new ArrayList<>();
+		List<Long> result2 = new ArrayList<>();
+		tree.rangeIterator(30, true, 70, false).forEachRemaining(e -> result1.add(e.getKey()));
+		tree.rangeIterator(Long.MIN_VALUE, false, 25, true).forEachRemaining(e -> result2.add(e.getKey()));
+
+		// then
+		assertThat(result1).containsExactly(30L, 40L, 50L, 60L);
+		assertThat(result2).containsExactly(10L, 20L);
+		assertThat(tree.rangeIterator(101, true, Long.MAX_VALUE, true).hasNext()).isFalse();
+		assertThatThrownBy(() -> tree.rangeIterator(50, true, 40, true)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("long B+트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공하고, 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Long> inorderResult = new ArrayList<>();
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		List<Long> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+		tree.add(Long.MAX_VALUE, "max");
+		long last = tree.stream().reduce((a, b) -> b).orElseThrow().getKey();
+		tree.clear();
+
+		// then
+		assertThat(inorderResult).containsExactly(10L, 20L, 30L, 40L, 50L, 60L, 70L, 80L, 90L, 100L);
+		assertThat(streamResult).containsExactly(10L, 20L, 30L);
+		assertThat(last).isEqualTo(Long.MAX_VALUE);
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
+}
@@ -0,0 +1,196 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OffHeapLongTreeTest {
+
+	OffHeapLongTree tree = new OffHeapLongTree();
+
+	@BeforeEach
+	void beforeEach() {
+		for (long key = 10; key <= 100; key += 10) {
+			tree.add(key, key * 100);
+		}
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.close();
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: 원소 삽입 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Long> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Long> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(40L, 20L, 10L, 30L, 80L, 60L, 50L, 70L, 90L, 100L);
+		assertThat(inorderResult).containsExactly(10L, 20L, 30L, 40L, 50L, 60L, 70L, 80L, 90L, 100L);
+		assertThat(postorderResult).containsExactly(10L, 30L, 20L, 50L, 70L, 60L, 100L, 90L, 80L, 40L);
+		assertThat(levelOrderResult).containsExactly(40L, 20L, 80L, 10L, 30L, 60L, 90L, 50L, 70L, 100L);
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// when
+		boolean result1 = tree.add(30L, 1L);
+		boolean result2 = tree.add(Long.valueOf(50), Long.valueOf(1));
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(tree.getLong(30, -1)).isEqualTo(3000L);
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		Long result1 = tree.remove(30L);
+		boolean result2 = tree.removeLong(70);
+
+		// then
+		List<Long> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(8);
+		assertThat(result1).isEqualTo(3000L);
+		assertThat(result2).isTrue();
+		assertThat(tree.containsLong(30)).isFalse();
+		assertThat(inorderResult).containsExactly(10L, 20L, 40L, 50L, 60L, 80L, 90L, 100L);
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않는다.")
+	void removeTest2() throws Exception {
+		// when
+		Long result1 = tree.remove(33L);
+		boolean result2 = tree.removeLong(33);
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isNull();
+		assertThat(result2).isFalse();
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
+	void getTest() throws Exception {
+		// when
+		Long result1 = tree.get(30L);
+		Long result2 = tree.get(33L);
+		long result3 = tree.getLong(80, -1);
+		long result4 = tree.getLong(33, -1);
+
+		// then
+		assertThat(result1).isEqualTo(3000L);
+		assertThat(result2).isNull();
+		assertThat(result3).isEqualTo(8000L);
+		assertThat(result4).isEqualTo(-1L);
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: reset 이후에는 비어 있고, 다시 원소를 삽입할 수 있다.")
+	void resetTest() throws Exception {
+		// when
+		tree.reset();
+		boolean result = tree.add(5L, 500L);
+
+		// then
+		assertThat(result).isTrue();
+		assertThat(tree.size()).isEqualTo(1);
+		assertThat(tree.containsLong(10)).isFalse();
+		assertThat(tree.getLong(5, -1)).isEqualTo(500L);
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: close 이후에 연산을 수행하면 IllegalStateException이 발생한다.")
+	void closeTest() throws Exception {
+		// when
+		tree.close();
+
+		// then
+		assertThatThrownBy(() -> tree.get(10L))
+			.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> tree.add(10L, 1L))
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: 여러 청크에 걸쳐 삽입과 삭제를 반복해도 TreeMap과 같은 원소를 유지한다.")
+	void churnTest() throws Exception {
+		// given
+		tree.reset();
+		TreeMap<Long, Long> expected = new TreeMap<>();
+		Random random = new Random(42);
+
+		// when
+		for (int i = 0; i < 400000; ++i) {
+			long key = random.nextInt(200000);
+			if (random.nextInt(3) > 0) {
+				assertThat(tree.add(key, -key)).isEqualTo(expected.putIfAbsent(key, -key) == null);
+			} else {
+				assertThat(tree.remove(key)).isEqualTo(expected.remove(key));
+			}
+		}
+
+		// then
+		List<Long> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(expected.size());
+		assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공한다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Long> preorderResult = new ArrayList<>();
+		List<Long> inorderResult = new ArrayList<>();
+		List<Long> postorderResult = new ArrayList<>();
+		List<Long> levelOrderResult = new ArrayList<>();
+		tree.preorderIterator().forEachRemaining(e -> preorderResult.add(e.getKey()));
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		tree.postorderIterator().forEachRemaining(e -> postorderResult.add(e.getKey()));
+		tree.levelOrderIterator().forEachRemaining(e -> levelOrderResult.add(e.getKey()));
+		List<Long> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+
+		// then
+		assertThat(preorderResult).isEqualTo(tree.preorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(postorderResult).isEqualTo(tree.postorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(levelOrderResult).isEqualTo(tree.levelOrder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10L, 20L, 30L);
+	}
+
+	@Test
+	@DisplayName("오프힙 트리: 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest2() throws Exception {
+		// when
+		tree.clear();
+
+		// then
+		assertThat(tree.preorderIterator().hasNext()).isFalse();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.postorderIterator().hasNext()).isFalse();
+		assertThat(tree.levelOrderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
+}
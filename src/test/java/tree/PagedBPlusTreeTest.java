@@ -0,0 +1,307 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import data.CardinalNumber;
+
+public class PagedBPlusTreeTest {
+
+	static final int PAGE_SIZE = 256;
+	static final int POOL_PAGES = PagedBPlusTree.MIN_POOL_PAGES;
+
+	@TempDir
+	Path dir;
+
+	Path file;
+	PagedBPlusTree<Integer, String> tree;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		file = dir.resolve("tree.db");
+		tree = PagedBPlusTree.open(file, null, Codec.INT, Codec.STRING, POOL_PAGES, PAGE_SIZE);
+		tree.add(50, CardinalNumber._50);
+		tree.add(20, CardinalNumber._20);
+		tree.add(80, CardinalNumber._80);
+		tree.add(10, CardinalNumber._10);
+		tree.add(30, CardinalNumber._30);
+		tree.add(60, CardinalNumber._60);
+		tree.add(90, CardinalNumber._90);
+		tree.add(40, CardinalNumber._40);
+		tree.add(70, CardinalNumber._70);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() throws IOException {
+		tree.close();
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: 원소 삽입 연산 후에 모든 Traversal이 key 순서로 원소를 제공하고, 다시 연 파일에서도 같은 원소를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// when
+		tree.close();
+		tree = PagedBPlusTree.open(file, null, Codec.INT, Codec.STRING, POOL_PAGES, PAGE_SIZE);
+
+		// then
+		List<Integer> keys = List.of(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(tree.preorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.inorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.postorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.levelOrder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(keys);
+		assertThat(tree.get(70)).isEqualTo(CardinalNumber._70);
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않고, put은 값을 바꾼다.")
+	void addTest2() throws Exception {
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		String result2 = tree.put(70, "newValue2");
+		String result3 = tree.put(75, "newValue3");
+
+		// then
+		assertThat(tree.size()).isEqualTo(11);
+		assertThat(result1).isFalse();
+		assertThat(tree.get(30)).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._70);
+		assertThat(tree.get(70)).isEqualTo("newValue2");
+		assertThat(result3).isNull();
+		assertThat(tree.get(75)).isEqualTo("newValue3");
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: 원소 삭제, 조회, 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		String result1 = tree.remove(30);
+		String result2 = tree.remove(33);
+		String result3 = tree.get(50);
+		String result4 = tree.get(30);
+
+		// then
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isNull();
+		assertThat(result3).isEqualTo(CardinalNumber._50);
+		assertThat(result4).isNull();
+		assertThat(tree.contains(40)).isTrue();
+		assertThat(tree.contains(30)).isFalse();
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: 버퍼 풀보다 큰 트리에 삽입과 삭제를 반복해도 TreeMap과 같은 원소를 유지하고, 비워진 페이지를 다시 사용한다.")
+	void churnTest() throws Exception {
+		// given
+		Path churnFile = dir.resolve("churn.db");
+		PagedBPlusTree<Integer, Integer> churnTree = PagedBPlusTree.open(churnFile, Integer::compare, Codec.INT, Codec.INT, POOL_PAGES, PAGE_SIZE);
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		Random random = new Random(42);
+
+		// when
+		for (int i = 0; i < 100000; ++i) {
+			int key = random.nextInt(5000);
+			if (random.nextBoolean()) {
+				assertThat(churnTree.add(key, key)).isEqualTo(expected.putIfAbsent(key, key) == null);
+			} else {
+				assertThat(churnTree.remove(key)).isEqualTo(expected.remove(key));
+			}
+		}
+		int height = churnTree.height();
+		long pageCount = churnTree.pageCount();
+		long pageReads = churnTree.pageReads;
+		long pageWrites = churnTree.pageWrites;
+		List<Integer> closed = new ArrayList<>(expected.keySet());
+		churnTree.close();
+		churnTree = PagedBPlusTree.open(churnFile, Integer::compare, Codec.INT, Codec.INT, POOL_PAGES, PAGE_SIZE);
+		List<Integer> reopened = churnTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		for (int key = 0; key < 4990; ++key) {
+			assertThat(churnTree.remove(key)).isEqualTo(expected.remove(key));
+		}
+		int emptiedHeight = churnTree.height();
+		for (int key = 0; key < 1000; ++key) {
+			churnTree.add(key, key);
+			expected.put(key, key);
+		}
+
+		// then
+		assertThat(pageReads).isPositive();
+		assertThat(pageWrites).isPositive();
+		assertThat(height).isGreaterThan(2);
+		assertThat(reopened).isEqualTo(closed);
+		assertThat(emptiedHeight).isLessThan(height);
+		assertThat(churnTree.size()).isEqualTo(expected.size());
+		assertThat(churnTree.inorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(new ArrayList<>(expected.keySet()));
+		assertThat(churnTree.pageCount()).isEqualTo(pageCount);
+		churnTree.close();
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: 길이가 다른 key와 값을 바꿔 넣어도 페이지를 넘치지 않게 나누고 합쳐서 같은 원소를 유지한다.")
+	void variableLengthTest() throws Exception {
+		// given
+		Path stringFile = dir.resolve("string.db");
+		PagedBPlusTree<String, String> stringTree = PagedBPlusTree.open(stringFile, null, Codec.STRING, Codec.STRING, POOL_PAGES, PAGE_SIZE);
+		TreeMap<String, String> expected = new TreeMap<>();
+		Random random = new Random(42);
+
+		// when
+		for (int i = 0; i < 50000; ++i) {
+			String key = "k".repeat(random.nextInt(10)) + random.nextInt(2000);
+			if (random.nextInt(3) > 0) {
+				String value = "v".repeat(random.nextInt(25));
+				assertThat(stringTree.put(key, value)).isEqualTo(expected.put(key, value));
+			} else {
+				assertThat(stringTree.remove(key)).isEqualTo(expected.remove(key));
+			}
+		}
+		stringTree.close();
+		stringTree = PagedBPlusTree.open(stringFile, null, Codec.STRING, Codec.STRING, POOL_PAGES, PAGE_SIZE);
+
+		// then
+		List<Tree.Entry<String, String>> result = stringTree.inorder();
+		assertThat(result).extracting(Tree.Entry::getKey).isEqualTo(new ArrayList<>(expected.keySet()));
+		assertThat(result).extracting(Tree.Entry::getValue).isEqualTo(new ArrayList<>(expected.values()));
+		stringTree.close();
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: checksum이 맞지 않는 페이지를 읽거나, 다른 codec이나 페이지 크기로 파일을 열면 예외가 발생한다.")
+	void corruptionTest() throws Exception {
+		// given
+		for (int key = 0; key < 1000; ++key) {
+			tree.add(key, "value" + key);
+		}
+		tree.close();
+
+		// when
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), 3L * PAGE_SIZE + 100);
+		}
+
+		// then
+		tree = PagedBPlusTree.open(file, null, Codec.INT, Codec.STRING, POOL_PAGES, PAGE_SIZE);
+		assertThatThrownBy(() -> {
+			for (int key = 0; key < 1000; ++key) {
+				tree.get(key);
+			}
+		}).isInstanceOf(UncheckedIOException.class).hasMessageContaining("corrupt page 3").hasMessageContaining("checksum");
+		assertThatThrownBy(() -> PagedBPlusTree.open(file, null, Codec.INT, Codec.INT, POOL_PAGES, PAGE_SIZE))
+			.isInstanceOf(IOException.class).hasMessageContaining("codec");
+		assertThatThrownBy(() -> PagedBPlusTree.open(file, null, Codec.INT, Codec.STRING, POOL_PAGES, 512))
+			.isInstanceOf(IOException.class).hasMessageContaining("page");
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: null key나 페이지에 맞지 않는 원소, 너무 작은 버퍼 풀, 닫힌 트리를 사용하면 예외가 발생한다.")
+	void nullPointerTest() throws Exception {
+		assertThatThrownBy(() -> tree.add(null, "null")).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.add(1, null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.remove(null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.get(null)).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.put(null, "null")).isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.add(1, "x".repeat(PAGE_SIZE))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> PagedBPlusTree.open(dir.resolve("small.db"), null, Codec.INT, Codec.INT, POOL_PAGES - 1))
+			.isInstanceOf(IllegalArgumentException.class);
+		tree.close();
+		assertThatThrownBy(() -> tree.get(10)).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: 범위 Iterator는 경계의 포함 여부에 맞춰 범위 안의 원소만 key 순서로 제공한다.")
+	void rangeIteratorTest() throws Exception {
+		// given
+		for (int key = 101; key < 2000; ++key) {
+			tree.add(key, "value" + key);
+		}
+
+		// when
+		List<Integer> result1 = new ArrayList<>();
+		List<Integer> result2 = new ArrayList<>();
+		List<Integer> result3 = new ArrayList<>();
+		tree.rangeIterator(30, true, 70, false).forEachRemaining(e -> result1.add(e.getKey()));
+		tree.rangeIterator(30, false, 70, true).forEachRemaining(e -> result2.add(e.getKey()));
+		tree.rangeIterator(1500, true, null, false).forEachRemaining(e -> result3.add(e.getKey()));
+
+		// then
+		assertThat(result1).containsExactly(30, 40, 50, 60);
+		assertThat(result2).containsExactly(40, 50, 60, 70);
+		assertThat(result3).hasSize(500).startsWith(1500).endsWith(1999);
+		assertThat(tree.rangeIterator(41, true, 49, true).hasNext()).isFalse();
+		assertThatThrownBy(() -> tree.rangeIterator(50, true, 40, true)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(tree.stream().limit(3).map(Tree.Entry::getKey).toList()).containsExactly(10, 20, 30);
+		tree.clear();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.get(50)).isNull();
+	}
+
+	@Test
+	@DisplayName("페이지 B+트리: 동시성 래퍼로 감싸면 버퍼 풀보다 큰 트리를 여러 스레드가 함께 조회하고 갱신할 수 있다.")
+	void concurrentTest() throws Exception {
+		// given: 짝수 key는 고정, 홀수 key는 쓰기 스레드가 삽입과 삭제를 반복한다
+		Path sharedFile = dir.resolve("shared.db");
+		PagedBPlusTree<Integer, Integer> pagedTree = PagedBPlusTree.open(sharedFile, Integer::compare, Codec.INT, Codec.INT, POOL_PAGES, PAGE_SIZE);
+		Tree<Integer, Integer> sharedTree = Trees.concurrent(pagedTree);
+		for (int key = 0; key < 4000; key += 2) {
+			sharedTree.add(key, -key);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<?>> futures = new ArrayList<>();
+
+		// when
+		futures.add(executor.submit(() -> {
+			Random random = new Random(0);
+			for (int i = 0; i < 20000; ++i) {
+				int key = random.nextInt(2000) * 2 + 1;
+				if (random.nextBoolean()) {
+					sharedTree.add(key, -key);
+				} else {
+					sharedTree.remove(key);
+				}
+			}
+		}));
+		for (int t = 1; t < 4; ++t) {
+			int seed = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(seed);
+				for (int i = 0; i < 20000; ++i) {
+					int key = random.nextInt(2000) * 2;
+					assertThat(sharedTree.get(key)).isEqualTo(-key);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		// then
+		assertThat(pagedTree.sharedReads()).isFalse();
+		assertThat(pagedTree.pageReads).isPositive();
+		assertThat(sharedTree.inorder().stream().map(Tree.Entry::getKey).filter(key -> key % 2 == 0).count()).isEqualTo(2000);
+		pagedTree.close();
+	}
+}
@@ -0,0 +1,293 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class PersistentAVLTreeTest {
+
+	PersistentAVLTree<Integer, String> tree = new PersistentAVLTree<>();
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(10, CardinalNumber._10);
+		tree.add(20, CardinalNumber._20);
+		tree.add(30, CardinalNumber._30);
+		tree.add(40, CardinalNumber._40);
+		tree.add(50, CardinalNumber._50);
+		tree.add(60, CardinalNumber._60);
+		tree.add(70, CardinalNumber._70);
+		tree.add(80, CardinalNumber._80);
+		tree.add(90, CardinalNumber._90);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: 원소 삽입 연산 후에 AVL트리와 같은 Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(40, 20, 10, 30, 80, 60, 50, 70, 90, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 30, 20, 50, 70, 60, 100, 90, 80, 40);
+		assertThat(levelOrderResult).containsExactly(40, 20, 80, 10, 30, 60, 90, 50, 70, 100);
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		boolean result2 = tree.add(70, "newValue2");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(tree.get(30)).isEqualTo(CardinalNumber._30);
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		String removed1 = tree.remove(40);
+		String removed2 = tree.remove(10);
+		String removed3 = tree.remove(15);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(removed1).isEqualTo(CardinalNumber._40);
+		assertThat(removed2).isEqualTo(CardinalNumber._10);
+		assertThat(removed3).isNull();
+		assertThat(tree.size()).isEqualTo(8);
+		assertThat(inorderResult).containsExactly(20, 30, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.contains(40)).isFalse();
+		assertThat(tree.contains(50)).isTrue();
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		assertThatThrownBy(() -> tree.add(null, "null"))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.get(null))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.remove(null))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.addAll(List.of(entry(null, "null"))))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: put, compute, merge는 함수 결과로 값을 갱신하고, 결과가 null이면 원소를 삭제한다.")
+	void computeTest() throws Exception {
+		// when
+		String replaced = tree.put(30, "Thirty!");
+		String kept = tree.putIfAbsent(40, "Forty!");
+		String computed = tree.compute(10, (key, value) -> value + "!");
+		String removed = tree.compute(20, (key, value) -> null);
+		String computedIfAbsent = tree.computeIfAbsent(55, key -> "Fifty-five");
+		String merged = tree.merge(60, "!", String::concat);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(replaced).isEqualTo(CardinalNumber._30);
+		assertThat(kept).isEqualTo(CardinalNumber._40);
+		assertThat(computed).isEqualTo("Ten!");
+		assertThat(removed).isNull();
+		assertThat(computedIfAbsent).isEqualTo("Fifty-five");
+		assertThat(merged).isEqualTo(CardinalNumber._60 + "!");
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 30, 40, 50, 55, 60, 70, 80, 90, 100);
+		assertThat(tree.get(30)).isEqualTo("Thirty!");
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: 여러 원소를 한 번에 삽입, 삭제하면 이미 존재하는 key는 유지하고 존재하지 않는 key는 무시한다.")
+	void addAllTest() throws Exception {
+		// when
+		boolean added = tree.addAll(List.of(entry(55, "Fifty-five"), entry(5, "Five"), entry(50, "Fifty?"), entry(55, "Fifty-five?")));
+		boolean removed = tree.removeAll(List.of(90, 15, 40));
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(added).isTrue();
+		assertThat(removed).isTrue();
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(5, 10, 20, 30, 50, 55, 60, 70, 80, 100);
+		assertThat(tree.get(50)).isEqualTo(CardinalNumber._50);
+		assertThat(tree.get(55)).isEqualTo("Fifty-five");
+		assertThat(tree.removeAll(List.of(15, 25))).isFalse();
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: snapshot과 원래 트리는 노드를 공유하지만 이후의 갱신은 서로에게 보이지 않는다.")
+	void snapshotTest() throws Exception {
+		// given
+		PersistentAVLTree<Integer, String> snapshot = tree.snapshot();
+
+		// when
+		tree.remove(40);
+		tree.put(50, "Fifty!");
+		boolean shared = snapshot.root.left == tree.root.left;
+		snapshot.add(45, "Forty-five");
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> snapshotResult = snapshot.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(inorderResult).containsExactly(10, 20, 30, 50, 60, 70, 80, 90, 100);
+		assertThat(snapshotResult).containsExactly(10, 20, 30, 40, 45, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.get(50)).isEqualTo("Fifty!");
+		assertThat(snapshot.get(50)).isEqualTo(CardinalNumber._50);
+		assertThat(shared).isTrue();
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: Iterator는 생성 시점의 버전을 순회하므로 순회 중에 트리를 갱신해도 된다.")
+	void iteratorTest() throws Exception {
+		// given
+		Iterator<Tree.Entry<Integer, String>> iterator = tree.inorderIterator();
+		List<Integer> iteratorResult = new ArrayList<>();
+
+		// when
+		while (iterator.hasNext()) {
+			Tree.Entry<Integer, String> entry = iterator.next();
+			iteratorResult.add(entry.getKey());
+			tree.remove(entry.getKey());
+			tree.add(entry.getKey() + 1, entry.getValue());
+		}
+
+		// then
+		assertThat(iteratorResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.inorder().stream().map(Tree.Entry::getKey).toList())
+			.containsExactly(11, 21, 31, 41, 51, 61, 71, 81, 91, 101);
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: 삽입과 삭제를 반복해도 모든 버전이 TreeMap과 같은 원소와 AVL 균형을 유지한다.")
+	void churnTest() throws Exception {
+		// given
+		PersistentAVLTree<Integer, Integer> churnTree = new PersistentAVLTree<>();
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		List<PersistentAVLTree<Integer, Integer>> snapshots = new ArrayList<>();
+		List<List<Integer>> expectedSnapshots = new ArrayList<>();
+		Random random = new Random(42);
+
+		// when
+		for (int i = 0; i < 100000; ++i) {
+			int key = random.nextInt(5000);
+			if (random.nextBoolean()) {
+				assertThat(churnTree.add(key, key)).isEqualTo(expected.putIfAbsent(key, key) == null);
+			} else {
+				assertThat(churnTree.remove(key)).isEqualTo(expected.remove(key));
+			}
+			if (i % 10000 == 0) {
+				snapshots.add(churnTree.snapshot());
+				expectedSnapshots.add(new ArrayList<>(expected.keySet()));
+			}
+		}
+
+		// then
+		for (int i = 0; i < snapshots.size(); ++i) {
+			PersistentAVLTree<Integer, Integer> snapshot = snapshots.get(i);
+			assertThat(snapshot.inorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(expectedSnapshots.get(i));
+			assertThat(snapshot.size()).isEqualTo(expectedSnapshots.get(i).size());
+			assertBalanced(snapshot.root);
+		}
+		assertThat(churnTree.inorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(new ArrayList<>(expected.keySet()));
+		assertBalanced(churnTree.root);
+	}
+
+	@Test
+	@DisplayName("영속 AVL트리: 쓰기 스레드가 갱신하는 동안에도 읽기 스레드의 snapshot은 항상 한 시점의 원소를 제공한다.")
+	void concurrentSnapshotTest() throws Exception {
+		// given: 쓰기 스레드는 0부터 차례로 key를 삽입하므로 어느 시점이든 원소는 0부터 size - 1까지다
+		PersistentAVLTree<Integer, Integer> sharedTree = new PersistentAVLTree<>();
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<?>> readers = new ArrayList<>();
+
+		// when
+		Future<?> writer = executor.submit(() -> {
+			for (int key = 0; key < 200000; ++key) {
+				sharedTree.add(key, key);
+			}
+		});
+		for (int t = 0; t < 3; ++t) {
+			readers.add(executor.submit(() -> {
+				while (!writer.isDone()) {
+					PersistentAVLTree<Integer, Integer> snapshot = sharedTree.snapshot();
+					int size = snapshot.size();
+					assertThat(snapshot.stream().mapToInt(Tree.Entry::getKey).toArray())
+						.isEqualTo(IntStream.range(0, size).toArray());
+				}
+			}));
+		}
+		writer.get();
+		for (Future<?> reader : readers) {
+			reader.get();
+		}
+		executor.shutdown();
+
+		// then
+		assertThat(sharedTree.size()).isEqualTo(200000);
+		assertBalanced(sharedTree.root);
+	}
+
+	// checks the stored heights and sizes and the AVL balance, returning the height
+	private static int assertBalanced(PersistentTree.PersistentNode<Integer, Integer> node) {
+		if (node == null)
+			return -1;
+		int left = assertBalanced(node.left);
+		int right = assertBalanced(node.right);
+		assertThat(Math.abs(left - right)).isLessThanOrEqualTo(1);
+		assertThat(node.rank).isEqualTo(Math.max(left, right) + 1);
+		assertThat(node.size).isEqualTo(PersistentTree.sizeOf(node.left) + PersistentTree.sizeOf(node.right) + 1);
+		return node.rank;
+	}
+
+	private static Tree.Entry<Integer, String> entry(Integer key, String value) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public String getValue() {
+				return value;
+			}
+		};
+	}
+}
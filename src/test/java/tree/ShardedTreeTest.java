@@ -0,0 +1,250 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class ShardedTreeTest {
+
+	ShardedTree<Integer, String> tree = new ShardedTree<>(ShardedTree.Backing.TREAP, null, List.of(35, 75));
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(10, CardinalNumber._10);
+		tree.add(20, CardinalNumber._20);
+		tree.add(30, CardinalNumber._30);
+		tree.add(40, CardinalNumber._40);
+		tree.add(50, CardinalNumber._50);
+		tree.add(60, CardinalNumber._60);
+		tree.add(70, CardinalNumber._70);
+		tree.add(80, CardinalNumber._80);
+		tree.add(90, CardinalNumber._90);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("샤드 트리: 원소 삽입 연산 후에 샤드를 key 순서로 이어 붙인 Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입, 샤드는 [, 35) [35, 75) [75, )
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(tree.shardCount()).isEqualTo(3);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(preorderResult.subList(0, 3)).containsExactlyInAnyOrder(10, 20, 30);
+		assertThat(preorderResult.subList(3, 7)).containsExactlyInAnyOrder(40, 50, 60, 70);
+		assertThat(levelOrderResult.subList(7, 10)).containsExactlyInAnyOrder(80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("샤드 트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		boolean result2 = tree.add(50, "newValue2");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(tree.get(30)).isEqualTo(CardinalNumber._30);
+	}
+
+	@Test
+	@DisplayName("샤드 트리: 원소 삭제, 조회, 존재 여부 연산은 key가 속한 샤드에서 수행된다.")
+	void removeTest() throws Exception {
+		// when
+		String result1 = tree.remove(30);
+		String result2 = tree.remove(33);
+		String result3 = tree.get(80);
+		String result4 = tree.get(75);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isNull();
+		assertThat(result3).isEqualTo(CardinalNumber._80);
+		assertThat(result4).isNull();
+		assertThat(tree.contains(30)).isFalse();
+		assertThat(tree.contains(40)).isTrue();
+		assertThat(inorderResult).containsExactly(10, 20, 40, 50, 60, 70, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("샤드 트리: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		assertThatThrownBy(() -> tree.add(null, "null"))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.remove(null))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.contains(null))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.get(null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("샤드 트리: 분할 지점이 오름차순이 아니면 IllegalArgumentException이 발생한다.")
+	void splitPointTest() throws Exception {
+		assertThatThrownBy(() -> new ShardedTree<Integer, String>(ShardedTree.Backing.AVL_TREE, null, List.of(50, 50)))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new ShardedTree<Integer, String>(ShardedTree.Backing.AVL_TREE, null, List.of(50, 20)))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("샤드 트리: put, compute, merge는 값을 갱신하고 크기 변화를 반영한다.")
+	void computeTest() throws Exception {
+		// when
+		String replaced = tree.put(30, "Thirty!");
+		String absent = tree.putIfAbsent(45, "Forty-five");
+		String removed = tree.compute(20, (key, value) -> null);
+		String merged = tree.merge(60, "!", String::concat);
+		String computedIfAbsent = tree.computeIfAbsent(85, key -> "Eighty-five");
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(replaced).isEqualTo(CardinalNumber._30);
+		assertThat(absent).isNull();
+		assertThat(removed).isNull();
+		assertThat(merged).isEqualTo(CardinalNumber._60 + "!");
+		assertThat(computedIfAbsent).isEqualTo("Eighty-five");
+		assertThat(tree.size()).isEqualTo(11);
+		assertThat(inorderResult).containsExactly(10, 30, 40, 45, 50, 60, 70, 80, 85, 90, 100);
+	}
+
+	@Test
+	@DisplayName("샤드 트리: 대량 적재는 표본 key의 분위수로 분할 지점을 정하고 모든 원소를 key 순서로 제공한다.")
+	void bulkLoadTest() throws Exception {
+		// given
+		List<Tree.Entry<Integer, Integer>> entries = new ArrayList<>();
+		Random random = new Random(42);
+		for (int key : random.ints(0, 1_000_000).distinct().limit(20000).toArray()) {
+			entries.add(entry(key, -key));
+		}
+
+		// when
+		ShardedTree<Integer, Integer> loaded = ShardedTree.bulkLoad(ShardedTree.Backing.AVL_TREE, null, entries, 8);
+
+		// then
+		List<Integer> inorderResult = loaded.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(loaded.shardCount()).isEqualTo(8);
+		assertThat(loaded.splitPoints()).isSorted();
+		assertThat(loaded.size()).isEqualTo(20000);
+		assertThat(inorderResult).isEqualTo(entries.stream().map(Tree.Entry::getKey).sorted().toList());
+		assertThat(loaded.get(entries.get(123).getKey())).isEqualTo(-entries.get(123).getKey());
+	}
+
+	@Test
+	@DisplayName("샤드 트리: 쓰기가 몰리는 샤드는 중앙값에서 분할되고, 분할 후에도 모든 원소를 유지한다.")
+	void resplitTest() throws Exception {
+		// given: 샤드는 [, 10000) [10000, 50000) [50000, )
+		ShardedTree<Integer, Integer> hotTree = new ShardedTree<>(ShardedTree.Backing.TREAP, Integer::compare, List.of(10000, 50000), 16);
+
+		// when: 0 ~ 9999 범위에만 쓰기가 몰린다
+		Random random = new Random(7);
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		for (int i = 0; i < 300000; ++i) {
+			int key = random.nextInt(10) == 0 ? 10000 + random.nextInt(90000) : random.nextInt(10000);
+			if (random.nextBoolean()) {
+				assertThat(hotTree.add(key, key)).isEqualTo(expected.putIfAbsent(key, key) == null);
+			} else {
+				assertThat(hotTree.remove(key)).isEqualTo(expected.remove(key));
+			}
+		}
+
+		// then
+		List<Integer> inorderResult = hotTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		long hotSplitPoints = hotTree.splitPoints().stream().filter(key -> key < 10000).count();
+
+		assertThat(hotTree.shardCount()).isGreaterThan(3);
+		assertThat(hotSplitPoints).isEqualTo(hotTree.shardCount() - 3);
+		assertThat(hotTree.size()).isEqualTo(expected.size());
+		assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+	}
+
+	@Test
+	@DisplayName("샤드 트리: 여러 스레드가 동시에 쓰는 동안 샤드가 분할되어도 각 스레드의 결과와 최종 원소가 올바르다.")
+	void concurrentTest() throws Exception {
+		// given: 하나의 샤드에서 시작하여 쓰기 중에 분할된다
+		ShardedTree<Integer, Integer> sharedTree = new ShardedTree<>(ShardedTree.Backing.AVL_TREE, Integer::compare, List.of(), 32);
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<Map<Integer, Integer>>> futures = new ArrayList<>();
+
+		// when
+		for (int t = 0; t < threads; ++t) {
+			int owner = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(owner);
+				Map<Integer, Integer> owned = new HashMap<>();
+				for (int i = 0; i < 100000; ++i) {
+					int key = random.nextInt(2000) * threads + owner;
+					switch (random.nextInt(4)) {
+						case 0, 1 -> assertThat(sharedTree.add(key, i)).isEqualTo(owned.putIfAbsent(key, i) == null);
+						case 2 -> assertThat(sharedTree.remove(key)).isEqualTo(owned.remove(key));
+						default -> assertThat(sharedTree.get(key)).isEqualTo(owned.get(key));
+					}
+				}
+				return owned;
+			}));
+		}
+		TreeMap<Integer, Integer> expected = new TreeMap<>();
+		for (Future<Map<Integer, Integer>> future : futures) {
+			expected.putAll(future.get());
+		}
+		executor.shutdown();
+
+		// then
+		List<Integer> inorderResult = sharedTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(sharedTree.shardCount()).isGreaterThan(1);
+		assertThat(sharedTree.size()).isEqualTo(expected.size());
+		assertThat(inorderResult).isEqualTo(new ArrayList<>(expected.keySet()));
+		for (Tree.Entry<Integer, Integer> entry : sharedTree.inorder()) {
+			assertThat(entry.getValue()).isEqualTo(expected.get(entry.getKey()));
+		}
+	}
+
+	private static Tree.Entry<Integer, Integer> entry(Integer key, Integer value) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public Integer getValue() {
+				return value;
+			}
+		};
+	}
+}
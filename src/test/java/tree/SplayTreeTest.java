@@ -0,0 +1,418 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class SplayTreeTest {
+	
+	Tree<Integer, String> tree = new SplayTree<>();
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(10, CardinalNumber._10);
+		tree.add(20, CardinalNumber._20);
+		tree.add(30, CardinalNumber._30);
+		tree.add(40, CardinalNumber._40);
+		tree.add(50, CardinalNumber._50);
+		tree.add(60, CardinalNumber._60);
+		tree.add(70, CardinalNumber._70);
+		tree.add(80, CardinalNumber._80);
+		tree.add(90, CardinalNumber._90);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 원소 삽입 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(levelOrderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		boolean result2 = tree.add(50, "newValue2");
+		boolean result3 = tree.add(70, "newValue3");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(result3).isFalse();
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 원소 삭제 연산 후에 올바른 Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		int keyForRemove = 30;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result).isEqualTo(CardinalNumber._30);
+		assertThat(tree.contains(keyForRemove)).isFalse();
+		assertThat(preorderResult).containsExactly(20, 10, 90, 70, 50, 40, 60, 80, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(postorderResult).containsExactly(10, 40, 60, 50, 80, 70, 100, 90, 20);
+		assertThat(levelOrderResult).containsExactly(20, 10, 90, 70, 100, 50, 80, 40, 60);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
+	void removeTest2() throws Exception {
+		// when
+		int keyForRemove = 33;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result).isNull();
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
+	void getTest() throws Exception {
+		// when
+		String result1 = tree.get(30);
+		String result2 = tree.get(50);
+		String result3 = tree.get(80);
+
+		// then
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._50);
+		assertThat(result3).isEqualTo(CardinalNumber._80);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 원소 조회 연산 시 존재하지 않는 key로 조회하면 null을 반환한다.")
+	void getTest2() throws Exception {
+		// when
+		String result1 = tree.get(33);
+		String result2 = tree.get(30);
+
+		// then
+		assertThat(result1).isNull();
+		assertThat(result2).isNotNull();
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 원소 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void containsTest() throws Exception {
+		// when
+		boolean result1 = tree.contains(33);
+		boolean result2 = tree.contains(30);
+
+		// then
+		assertThat(result1).isFalse();
+		assertThat(result2).isTrue();
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		// add
+		assertThatThrownBy(() -> tree.add(null, "null"))
+			.isInstanceOf(NullPointerException.class);
+
+		// remove
+		assertThatThrownBy(() -> tree.remove(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// contains
+		assertThatThrownBy(() -> tree.contains(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// get
+		assertThatThrownBy(() -> tree.get(null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: Comparator를 사용하여 생성한 트리에 대해 올바른 Traversal 결과를 제공한다.")
+	void comparatorTest() throws Exception {
+		// given: 내림차순 트리
+		Tree<Integer, String> comparatorTree = new SplayTree<>(
+			(o1, o2) -> Integer.compare(o2, o1));
+
+		// when
+		comparatorTree.add(10, CardinalNumber._10);
+		comparatorTree.add(20, CardinalNumber._20);
+		comparatorTree.add(30, CardinalNumber._30);
+		comparatorTree.add(40, CardinalNumber._40);
+		comparatorTree.add(50, CardinalNumber._50);
+		comparatorTree.add(60, CardinalNumber._60);
+		comparatorTree.add(70, CardinalNumber._70);
+		comparatorTree.add(80, CardinalNumber._80);
+		comparatorTree.add(90, CardinalNumber._90);
+		comparatorTree.add(100, CardinalNumber._100);
+
+		// then
+		List<Integer> preorderResult = comparatorTree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = comparatorTree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = comparatorTree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = comparatorTree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(preorderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+		assertThat(inorderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+		assertThat(postorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(levelOrderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 원소 조회 연산 후 조회한 원소가 루트로 이동한다.")
+	void splayTest() throws Exception {
+		// when
+		tree.get(50);
+		tree.get(80);
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(preorderResult.get(0)).isEqualTo(80);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: splayInterval을 지정하면 N번째 조회 연산에서만 스플레이를 수행한다.")
+	void splayIntervalTest() throws Exception {
+		// given
+		Tree<Integer, String> intervalTree = new SplayTree<>(3);
+		intervalTree.add(10, CardinalNumber._10);
+		intervalTree.add(20, CardinalNumber._20);
+		intervalTree.add(30, CardinalNumber._30);
+
+		// when
+		String result1 = intervalTree.get(10);
+		String result2 = intervalTree.get(10);
+		Integer rootAfterSecondGet = intervalTree.preorder().get(0).getKey();
+		String result3 = intervalTree.get(10);
+		Integer rootAfterThirdGet = intervalTree.preorder().get(0).getKey();
+
+		// then
+		assertThat(result1).isEqualTo(CardinalNumber._10);
+		assertThat(result2).isEqualTo(CardinalNumber._10);
+		assertThat(result3).isEqualTo(CardinalNumber._10);
+		assertThat(rootAfterSecondGet).isEqualTo(30);
+		assertThat(rootAfterThirdGet).isEqualTo(10);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: splayInterval이 1보다 작으면 IllegalArgumentException이 발생한다.")
+	void splayIntervalTest2() throws Exception {
+		assertThatThrownBy(() -> new SplayTree<Integer, String>(0))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: put은 기존 값을 교체하고, putIfAbsent는 key가 없을 때만 삽입한다.")
+	void putTest() throws Exception {
+		// when
+		String replaced = tree.put(30, "Thirty!");
+		String added = tree.put(35, "Thirty-five");
+		String kept = tree.putIfAbsent(40, "Forty!");
+		String absent = tree.putIfAbsent(45, "Forty-five");
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(replaced).isEqualTo(CardinalNumber._30);
+		assertThat(added).isNull();
+		assertThat(kept).isEqualTo(CardinalNumber._40);
+		assertThat(absent).isNull();
+		assertThat(tree.size()).isEqualTo(12);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 35, 40, 45, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.get(30)).isEqualTo("Thirty!");
+		assertThat(tree.get(40)).isEqualTo(CardinalNumber._40);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: compute, computeIfAbsent, merge는 함수 결과로 값을 갱신하고, 결과가 null이면 원소를 삭제한다.")
+	void computeTest() throws Exception {
+		// when
+		String computed = tree.compute(10, (key, value) -> value + "!");
+		String removed = tree.compute(20, (key, value) -> null);
+		String notAdded = tree.compute(25, (key, value) -> null);
+		String existing = tree.computeIfAbsent(50, key -> "Fifty!");
+		String computedIfAbsent = tree.computeIfAbsent(55, key -> "Fifty-five");
+		String merged = tree.merge(60, "!", String::concat);
+		String mergedAbsent = tree.merge(65, "Sixty-five", String::concat);
+		String mergedRemoved = tree.merge(70, "!", (oldValue, value) -> null);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(computed).isEqualTo("Ten!");
+		assertThat(removed).isNull();
+		assertThat(notAdded).isNull();
+		assertThat(existing).isEqualTo(CardinalNumber._50);
+		assertThat(computedIfAbsent).isEqualTo("Fifty-five");
+		assertThat(merged).isEqualTo(CardinalNumber._60 + "!");
+		assertThat(mergedAbsent).isEqualTo("Sixty-five");
+		assertThat(mergedRemoved).isNull();
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 30, 40, 50, 55, 60, 65, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: put, putIfAbsent, compute, merge 연산 후 대상 key가 루트로 이동한다.")
+	void updateSplayTest() throws Exception {
+		// when
+		tree.put(35, "Thirty-five");
+		Integer afterPut = tree.preorder().get(0).getKey();
+		tree.putIfAbsent(70, "Seventy!");
+		Integer afterPutIfAbsent = tree.preorder().get(0).getKey();
+		tree.compute(20, (key, value) -> value + "!");
+		Integer afterCompute = tree.preorder().get(0).getKey();
+		tree.merge(90, "!", String::concat);
+		Integer afterMerge = tree.preorder().get(0).getKey();
+		tree.compute(90, (key, value) -> null);
+
+		// then
+		assertThat(afterPut).isEqualTo(35);
+		assertThat(afterPutIfAbsent).isEqualTo(70);
+		assertThat(afterCompute).isEqualTo(20);
+		assertThat(afterMerge).isEqualTo(90);
+		assertThat(tree.contains(90)).isFalse();
+		assertThat(tree.inorder().stream().map(Tree.Entry::getKey).toList())
+			.containsExactly(10, 20, 30, 35, 40, 50, 60, 70, 80, 100);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: Iterator 순회는 List 순회와 같은 순서로 원소를 제공한다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Integer> preorderResult = new ArrayList<>();
+		List<Integer> inorderResult = new ArrayList<>();
+		List<Integer> postorderResult = new ArrayList<>();
+		List<Integer> levelOrderResult = new ArrayList<>();
+		tree.preorderIterator().forEachRemaining(e -> preorderResult.add(e.getKey()));
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		tree.postorderIterator().forEachRemaining(e -> postorderResult.add(e.getKey()));
+		tree.levelOrderIterator().forEachRemaining(e -> levelOrderResult.add(e.getKey()));
+		List<Integer> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+
+		// then
+		assertThat(preorderResult).isEqualTo(tree.preorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(postorderResult).isEqualTo(tree.postorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(levelOrderResult).isEqualTo(tree.levelOrder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10, 20, 30);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest2() throws Exception {
+		// when
+		tree.clear();
+
+		// then
+		assertThat(tree.preorderIterator().hasNext()).isFalse();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.postorderIterator().hasNext()).isFalse();
+		assertThat(tree.levelOrderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 순차 삽입으로 한쪽으로 치우친 트리도 List 순회를 제공한다.")
+	void degenerateTraversalTest() throws Exception {
+		// given
+		Tree<Integer, Integer> degenerate = new SplayTree<>();
+		for (int i = 0; i < 100_000; ++i) {
+			degenerate.add(i, i);
+		}
+
+		// when
+		List<Tree.Entry<Integer, Integer>> preorder = degenerate.preorder();
+		List<Tree.Entry<Integer, Integer>> inorder = degenerate.inorder();
+		List<Tree.Entry<Integer, Integer>> postorder = degenerate.postorder();
+
+		// then
+		assertThat(preorder).hasSize(100_000);
+		assertThat(preorder.get(0).getKey()).isEqualTo(99_999);
+		assertThat(inorder).extracting(Tree.Entry::getKey).isSorted().hasSize(100_000);
+		assertThat(postorder).hasSize(100_000);
+		assertThat(postorder.get(0).getKey()).isEqualTo(0);
+	}
+
+	@Test
+	@DisplayName("스플레이트리: 한쪽으로 치우친 트리에도 addAll, removeAll 연산을 수행한다.")
+	void degenerateBatchTest() throws Exception {
+		// given
+		Tree<Integer, Integer> degenerate = new SplayTree<>();
+		for (int i = 0; i < 100_000; i += 2) {
+			degenerate.add(i, i);
+		}
+		List<Tree.Entry<Integer, Integer>> odd = new ArrayList<>();
+		List<Integer> multiplesOfFour = new ArrayList<>();
+		for (int i = 0; i < 100_000; ++i) {
+			if (i % 2 == 1)
+				odd.add(entry(i, i));
+			if (i % 4 == 0)
+				multiplesOfFour.add(i);
+		}
+
+		// when
+		boolean added = degenerate.addAll(odd);
+		boolean removed = degenerate.removeAll(multiplesOfFour);
+
+		// then
+		assertThat(added).isTrue();
+		assertThat(removed).isTrue();
+		assertThat(degenerate.size()).isEqualTo(75_000);
+		assertThat(degenerate.contains(3)).isTrue();
+		assertThat(degenerate.contains(4)).isFalse();
+		assertThat(degenerate.contains(6)).isTrue();
+	}
+
+	private static Tree.Entry<Integer, Integer> entry(Integer key, Integer value) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public Integer getValue() {
+				return value;
+			}
+		};
+	}
+}
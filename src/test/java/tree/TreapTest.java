@@ -0,0 +1,588 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class TreapTest {
+	
+	Tree<Integer, String> tree = new Treap<>();
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(10, CardinalNumber._10);
+		tree.add(20, CardinalNumber._20);
+		tree.add(30, CardinalNumber._30);
+		tree.add(40, CardinalNumber._40);
+		tree.add(50, CardinalNumber._50);
+		tree.add(60, CardinalNumber._60);
+		tree.add(70, CardinalNumber._70);
+		tree.add(80, CardinalNumber._80);
+		tree.add(90, CardinalNumber._90);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@AfterEach
+	void afterEach() {
+		tree.clear();
+	}
+
+	@Test
+	@DisplayName("트립: 원소 삽입 연산 후에 올바른 Inorder Traversal 결과를 제공한다.")
+	void addTest() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> postorderResult = tree.postorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = tree.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+
+		System.out.println("preorder=" + preorderResult);	// random
+		System.out.println("inorder=" + inorderResult);
+		System.out.println("postorder=" + postorderResult);	// random
+		System.out.println("levelOrder=" + levelOrderResult);	// random
+	}
+
+	@Test
+	@DisplayName("트립: 원소 삽입 시 이미 존재하는 key로 삽입하는 경우 원소를 삽입하지 않는다.")
+	void addTest2() throws Exception {
+		// given: beforeEach에서 원소 삽입
+
+		// when
+		boolean result1 = tree.add(30, "newValue1");
+		boolean result2 = tree.add(50, "newValue2");
+		boolean result3 = tree.add(70, "newValue3");
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result1).isFalse();
+		assertThat(result2).isFalse();
+		assertThat(result3).isFalse();
+	}
+
+	@Test
+	@DisplayName("트립: 원소 삭제 연산 후에 올바른 Inorder Traversal 결과를 제공한다.")
+	void removeTest() throws Exception {
+		// when
+		int keyForRemove = 30;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(result).isEqualTo(CardinalNumber._30);
+		assertThat(tree.contains(keyForRemove)).isFalse();
+		assertThat(inorderResult).containsExactly(10, 20, 40, 50, 60, 70, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("트립: 원소 삭제 시 존재하지 않는 key를 사용하면 삭제 연산을 수행하지 않고, null을 반환한다.")
+	void removeTest2() throws Exception {
+		// when
+		int keyForRemove = 33;
+		String result = tree.remove(keyForRemove);
+
+		// then
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(result).isNull();
+	}
+
+	@Test
+	@DisplayName("트립: 원소 조회 연산에 대해 올바른 결과를 제공한다.")
+	void getTest() throws Exception {
+		// when
+		String result1 = tree.get(30);
+		String result2 = tree.get(50);
+		String result3 = tree.get(80);
+
+		// then
+		assertThat(result1).isEqualTo(CardinalNumber._30);
+		assertThat(result2).isEqualTo(CardinalNumber._50);
+		assertThat(result3).isEqualTo(CardinalNumber._80);
+	}
+
+	@Test
+	@DisplayName("트립: 원소 조회 연산 시 존재하지 않는 key로 조회하면 null을 반환한다.")
+	void getTest2() throws Exception {
+		// when
+		String result1 = tree.get(33);
+		String result2 = tree.get(30);
+
+		// then
+		assertThat(result1).isNull();
+		assertThat(result2).isNotNull();
+	}
+
+	@Test
+	@DisplayName("트립: 원소 존재 여부 연산에 대해 올바른 결과를 제공한다.")
+	void containsTest() throws Exception {
+		// when
+		boolean result1 = tree.contains(33);
+		boolean result2 = tree.contains(30);
+
+		// then
+		assertThat(result1).isFalse();
+		assertThat(result2).isTrue();
+	}
+
+	@Test
+	@DisplayName("트립: 연산 수행 시 null을 key로 제공하면 NullPointerException이 발생한다.")
+	void nullPointerTest() throws Exception {
+		// add
+		assertThatThrownBy(() -> tree.add(null, "null"))
+			.isInstanceOf(NullPointerException.class);
+
+		// remove
+		assertThatThrownBy(() -> tree.remove(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// contains
+		assertThatThrownBy(() -> tree.contains(null))
+			.isInstanceOf(NullPointerException.class);
+
+		// get
+		assertThatThrownBy(() -> tree.get(null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("트립: Comparator를 사용하여 생성한 트리에 대해 올바른 Traversal 결과를 제공한다.")
+	void comparatorTest() throws Exception {
+		// given: 내림차순 트리
+		Tree<Integer, String> comparatorTreap = new Treap<>(
+			(o1, o2) -> Integer.compare(o2, o1));
+
+		// when
+		comparatorTreap.add(10, CardinalNumber._10);
+		comparatorTreap.add(20, CardinalNumber._20);
+		comparatorTreap.add(30, CardinalNumber._30);
+		comparatorTreap.add(40, CardinalNumber._40);
+		comparatorTreap.add(50, CardinalNumber._50);
+		comparatorTreap.add(60, CardinalNumber._60);
+		comparatorTreap.add(70, CardinalNumber._70);
+		comparatorTreap.add(80, CardinalNumber._80);
+		comparatorTreap.add(90, CardinalNumber._90);
+		comparatorTreap.add(100, CardinalNumber._100);
+
+		// then
+		List<Integer> inorderResult = comparatorTreap.inorder().stream().map(Tree.Entry::getKey).toList();
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(100, 90, 80, 70, 60, 50, 40, 30, 20, 10);
+	}
+
+	@Test
+	@DisplayName("트립: Iterator 순회는 List 순회와 같은 순서로 원소를 제공한다.")
+	void iteratorTest() throws Exception {
+		// when
+		List<Integer> preorderResult = new ArrayList<>();
+		List<Integer> inorderResult = new ArrayList<>();
+		List<Integer> postorderResult = new ArrayList<>();
+		List<Integer> levelOrderResult = new ArrayList<>();
+		tree.preorderIterator().forEachRemaining(e -> preorderResult.add(e.getKey()));
+		tree.inorderIterator().forEachRemaining(e -> inorderResult.add(e.getKey()));
+		tree.postorderIterator().forEachRemaining(e -> postorderResult.add(e.getKey()));
+		tree.levelOrderIterator().forEachRemaining(e -> levelOrderResult.add(e.getKey()));
+		List<Integer> streamResult = tree.stream().limit(3).map(Tree.Entry::getKey).toList();
+
+		// then
+		assertThat(preorderResult).isEqualTo(tree.preorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(inorderResult).isEqualTo(tree.inorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(postorderResult).isEqualTo(tree.postorder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(levelOrderResult).isEqualTo(tree.levelOrder().stream().map(Tree.Entry::getKey).toList());
+		assertThat(streamResult).containsExactly(10, 20, 30);
+	}
+
+	@Test
+	@DisplayName("트립: 빈 트리의 Iterator는 원소를 제공하지 않는다.")
+	void iteratorTest2() throws Exception {
+		// when
+		tree.clear();
+
+		// then
+		assertThat(tree.preorderIterator().hasNext()).isFalse();
+		assertThat(tree.inorderIterator().hasNext()).isFalse();
+		assertThat(tree.postorderIterator().hasNext()).isFalse();
+		assertThat(tree.levelOrderIterator().hasNext()).isFalse();
+		assertThat(tree.stream().count()).isZero();
+	}
+
+	@Test
+	@DisplayName("트립: parallelStream은 서브트리 단위로 분할되어도 Inorder 순서를 유지한다.")
+	void parallelStreamTest() throws Exception {
+		// given
+		Tree<Integer, Integer> largeTree = new Treap<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 10000; ++i) {
+			int key = random.nextInt(100000);
+			largeTree.add(key, key);
+		}
+
+		// when
+		List<Integer> parallelResult = largeTree.parallelStream().map(Tree.Entry::getKey).toList();
+		long parallelSum = largeTree.parallelStream().mapToLong(Tree.Entry::getKey).sum();
+		Spliterator<Tree.Entry<Integer, Integer>> spliterator = largeTree.spliterator();
+
+		// then
+		List<Integer> inorderResult = largeTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(parallelResult).isEqualTo(inorderResult);
+		assertThat(parallelSum).isEqualTo(inorderResult.stream().mapToLong(Integer::longValue).sum());
+		assertThat(spliterator.hasCharacteristics(Spliterator.SORTED | Spliterator.SIZED)).isTrue();
+		assertThat(spliterator.estimateSize()).isEqualTo(largeTree.size());
+		assertThat(spliterator.trySplit()).isNotNull();
+	}
+
+	@Test
+	@DisplayName("트립: 정렬된 입력으로 생성한 트리는 균형 잡힌 모양과 올바른 Traversal 결과를 제공한다.")
+	void loadSortedTest() throws Exception {
+		// given
+		Treap<Integer, String> loaded = new Treap<>();
+
+		// when
+		loaded.loadSorted(tree.inorderIterator());
+
+		// then
+		List<Integer> inorderResult = loaded.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> levelOrderResult = loaded.levelOrder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(loaded.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(levelOrderResult).containsExactly(50, 20, 80, 10, 30, 60, 90, 40, 70, 100);
+		assertThat(loaded.get(70)).isEqualTo(CardinalNumber._70);
+	}
+
+	@Test
+	@DisplayName("트립: 정렬되지 않은 입력으로 생성하면 IllegalArgumentException이 발생하고 기존 원소를 유지한다.")
+	void loadSortedTest2() throws Exception {
+		// given
+		Treap<Integer, String> loaded = new Treap<>();
+		loaded.add(1, CardinalNumber._10);
+
+		// when, then
+		assertThatThrownBy(() -> loaded.loadSorted(tree.postorderIterator()))
+			.isInstanceOf(IllegalArgumentException.class);
+		assertThat(loaded.size()).isEqualTo(1);
+		assertThat(loaded.get(1)).isEqualTo(CardinalNumber._10);
+	}
+
+	@Test
+	@DisplayName("트립: 정렬된 입력으로 생성한 트리는 이후 삽입, 삭제에도 올바른 크기를 유지한다.")
+	void loadSortedTest3() throws Exception {
+		// given
+		Treap<Integer, String> loaded = new Treap<>();
+		loaded.loadSorted(tree.inorderIterator());
+
+		// when
+		loaded.remove(30);
+		loaded.remove(80);
+		loaded.add(35, CardinalNumber._30);
+		loaded.add(110, CardinalNumber._100);
+
+		// then
+		List<Integer> inorderResult = loaded.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(loaded.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 20, 35, 40, 50, 60, 70, 90, 100, 110);
+	}
+
+	@Test
+	@DisplayName("트립: 여러 원소를 한 번에 삽입하면 이미 존재하는 key와 중복된 key는 처음 원소만 유지한다.")
+	void addAllTest() throws Exception {
+		// given
+		List<Tree.Entry<Integer, String>> batch = List.of(
+			entry(55, "Fifty-five"), entry(5, "Five"), entry(50, "Fifty?"), entry(55, "Fifty-five?"), entry(105, "Hundred five"));
+
+		// when
+		boolean changed = tree.addAll(batch);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(changed).isTrue();
+		assertThat(tree.size()).isEqualTo(13);
+		assertThat(inorderResult).containsExactly(5, 10, 20, 30, 40, 50, 55, 60, 70, 80, 90, 100, 105);
+		assertThat(tree.get(50)).isEqualTo(CardinalNumber._50);
+		assertThat(tree.get(55)).isEqualTo("Fifty-five");
+		assertThat(tree.addAll(List.of(entry(10, "Ten?")))).isFalse();
+	}
+
+	@Test
+	@DisplayName("트립: 여러 key를 한 번에 삭제하면 존재하지 않는 key는 무시한다.")
+	void removeAllTest() throws Exception {
+		// when
+		boolean changed = tree.removeAll(List.of(90, 15, 40, 10, 40, 100));
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(changed).isTrue();
+		assertThat(tree.size()).isEqualTo(6);
+		assertThat(inorderResult).containsExactly(20, 30, 50, 60, 70, 80);
+		assertThat(tree.get(60)).isEqualTo(CardinalNumber._60);
+		assertThat(tree.removeAll(List.of(15, 25))).isFalse();
+	}
+
+	@Test
+	@DisplayName("트립: put은 기존 값을 교체하고, putIfAbsent는 key가 없을 때만 삽입한다.")
+	void putTest() throws Exception {
+		// when
+		String replaced = tree.put(30, "Thirty!");
+		String added = tree.put(35, "Thirty-five");
+		String kept = tree.putIfAbsent(40, "Forty!");
+		String absent = tree.putIfAbsent(45, "Forty-five");
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(replaced).isEqualTo(CardinalNumber._30);
+		assertThat(added).isNull();
+		assertThat(kept).isEqualTo(CardinalNumber._40);
+		assertThat(absent).isNull();
+		assertThat(tree.size()).isEqualTo(12);
+		assertThat(inorderResult).containsExactly(10, 20, 30, 35, 40, 45, 50, 60, 70, 80, 90, 100);
+		assertThat(tree.get(30)).isEqualTo("Thirty!");
+		assertThat(tree.get(40)).isEqualTo(CardinalNumber._40);
+	}
+
+	@Test
+	@DisplayName("트립: compute, computeIfAbsent, merge는 함수 결과로 값을 갱신하고, 결과가 null이면 원소를 삭제한다.")
+	void computeTest() throws Exception {
+		// when
+		String computed = tree.compute(10, (key, value) -> value + "!");
+		String removed = tree.compute(20, (key, value) -> null);
+		String notAdded = tree.compute(25, (key, value) -> null);
+		String existing = tree.computeIfAbsent(50, key -> "Fifty!");
+		String computedIfAbsent = tree.computeIfAbsent(55, key -> "Fifty-five");
+		String merged = tree.merge(60, "!", String::concat);
+		String mergedAbsent = tree.merge(65, "Sixty-five", String::concat);
+		String mergedRemoved = tree.merge(70, "!", (oldValue, value) -> null);
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(computed).isEqualTo("Ten!");
+		assertThat(removed).isNull();
+		assertThat(notAdded).isNull();
+		assertThat(existing).isEqualTo(CardinalNumber._50);
+		assertThat(computedIfAbsent).isEqualTo("Fifty-five");
+		assertThat(merged).isEqualTo(CardinalNumber._60 + "!");
+		assertThat(mergedAbsent).isEqualTo("Sixty-five");
+		assertThat(mergedRemoved).isNull();
+		assertThat(tree.size()).isEqualTo(10);
+		assertThat(inorderResult).containsExactly(10, 30, 40, 50, 55, 60, 65, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("트립: select는 k번째로 작은 원소를, rank는 더 작은 key의 개수를, countInRange는 범위 안의 key 개수를 제공한다.")
+	void orderStatisticTest() throws Exception {
+		// given
+		Treap<Integer, String> treap = (Treap<Integer, String>) tree;
+		treap.remove(40);
+
+		// then
+		assertThat(treap.select(0).getKey()).isEqualTo(10);
+		assertThat(treap.select(3).getKey()).isEqualTo(50);
+		assertThat(treap.select(8).getValue()).isEqualTo(CardinalNumber._100);
+		assertThat(treap.rank(10)).isEqualTo(0);
+		assertThat(treap.rank(40)).isEqualTo(3);
+		assertThat(treap.rank(50)).isEqualTo(3);
+		assertThat(treap.rank(200)).isEqualTo(9);
+		assertThat(treap.countInRange(30, 70)).isEqualTo(4);
+		assertThat(treap.countInRange(25, 35)).isEqualTo(1);
+		assertThat(treap.countInRange(70, 30)).isEqualTo(0);
+		assertThatThrownBy(() -> treap.select(9)).isInstanceOf(IndexOutOfBoundsException.class);
+		assertThatThrownBy(() -> treap.select(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+	}
+
+	@Test
+	@DisplayName("트립: subTree, headTree, tailTree는 경계 포함 여부에 맞는 범위의 원소를 Inorder 순서로 제공한다.")
+	void subTreeTest() throws Exception {
+		// given
+		Treap<Integer, String> treap = (Treap<Integer, String>) tree;
+
+		// then
+		assertThat(treap.subTree(30, false, 70, true).inorder()).extracting(Tree.Entry::getKey).containsExactly(40, 50, 60, 70);
+		assertThat(treap.subTree(35, true, 45, true).inorder()).extracting(Tree.Entry::getKey).containsExactly(40);
+		assertThat(treap.subTree(50, false, 50, false).size()).isZero();
+		assertThat(treap.headTree(30, false).inorder()).extracting(Tree.Entry::getKey).containsExactly(10, 20);
+		assertThat(treap.tailTree(90, true).inorder()).extracting(Tree.Entry::getKey).containsExactly(90, 100);
+		assertThat(treap.subTree(20, true, 60, true).preorder()).extracting(Tree.Entry::getKey).containsExactlyInAnyOrder(20, 30, 40, 50, 60);
+	}
+
+	@Test
+	@DisplayName("트립: floor, lower, ceiling, higher는 주어진 key에 가장 가까운 원소를 제공한다.")
+	void navigationTest() throws Exception {
+		// given
+		Treap<Integer, String> navigable = (Treap<Integer, String>) tree;
+
+		// then
+		assertThat(navigable.floorEntry(50).getKey()).isEqualTo(50);
+		assertThat(navigable.floorEntry(55).getKey()).isEqualTo(50);
+		assertThat(navigable.floorEntry(5)).isNull();
+		assertThat(navigable.lowerEntry(50).getKey()).isEqualTo(40);
+		assertThat(navigable.lowerEntry(10)).isNull();
+		assertThat(navigable.ceilingEntry(50).getKey()).isEqualTo(50);
+		assertThat(navigable.ceilingEntry(45).getValue()).isEqualTo(CardinalNumber._50);
+		assertThat(navigable.ceilingEntry(105)).isNull();
+		assertThat(navigable.higherEntry(50).getKey()).isEqualTo(60);
+		assertThat(navigable.higherEntry(100)).isNull();
+	}
+
+	@Test
+	@DisplayName("트립: pollFirstEntry, pollLastEntry는 가장 작은, 가장 큰 원소를 삭제하고 제공한다.")
+	void pollTest() throws Exception {
+		// given
+		Treap<Integer, String> navigable = (Treap<Integer, String>) tree;
+
+		// when
+		Tree.Entry<Integer, String> first = navigable.pollFirstEntry();
+		Tree.Entry<Integer, String> last = navigable.pollLastEntry();
+
+		// then
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(first.getKey()).isEqualTo(10);
+		assertThat(first.getValue()).isEqualTo(CardinalNumber._10);
+		assertThat(last.getKey()).isEqualTo(100);
+		assertThat(navigable.firstEntry().getKey()).isEqualTo(20);
+		assertThat(navigable.lastEntry().getKey()).isEqualTo(90);
+		assertThat(tree.size()).isEqualTo(8);
+		assertThat(inorderResult).containsExactly(20, 30, 40, 50, 60, 70, 80, 90);
+
+		tree.clear();
+		assertThat(navigable.firstEntry()).isNull();
+		assertThat(navigable.pollLastEntry()).isNull();
+	}
+
+	@Test
+	@DisplayName("트립: split은 key 이상의 원소를 새 트립으로 옮기고, join은 두 트립을 하나로 합친다.")
+	void splitJoinTest() throws Exception {
+		// given
+		Treap<Integer, String> treap = (Treap<Integer, String>) tree;
+
+		// when
+		Treap<Integer, String> upper = treap.split(60);
+		List<Integer> lowerResult = treap.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> upperResult = upper.inorder().stream().map(Tree.Entry::getKey).toList();
+		int lowerSize = treap.size();
+		int upperSize = upper.size();
+		Treap<Integer, String> joined = Treap.join(treap, upper);
+
+		// then
+		List<Integer> joinedResult = joined.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(lowerResult).containsExactly(10, 20, 30, 40, 50);
+		assertThat(upperResult).containsExactly(60, 70, 80, 90, 100);
+		assertThat(lowerSize).isEqualTo(5);
+		assertThat(upperSize).isEqualTo(5);
+		assertThat(joinedResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(joined.size()).isEqualTo(10);
+		assertThat(joined.select(5).getKey()).isEqualTo(60);
+		assertThat(treap.size()).isZero();
+		assertThat(upper.size()).isZero();
+	}
+
+	@Test
+	@DisplayName("트립: 왼쪽 트립의 key가 오른쪽 트립의 key보다 작지 않으면 join은 IllegalArgumentException이 발생한다.")
+	void splitJoinTest2() throws Exception {
+		// given
+		Treap<Integer, String> treap = (Treap<Integer, String>) tree;
+		Treap<Integer, String> upper = treap.split(55);
+
+		// then
+		assertThatThrownBy(() -> Treap.join(upper, treap)).isInstanceOf(IllegalArgumentException.class);
+		assertThat(treap.size()).isEqualTo(5);
+		assertThat(upper.size()).isEqualTo(5);
+		assertThat(upper.split(5).size()).isEqualTo(5);
+		assertThat(upper.size()).isZero();
+	}
+
+	@Test
+	@DisplayName("트립: union, intersection, difference는 두 트리의 합집합, 교집합, 차집합을 제공하고 공통 key는 첫 번째 트리의 값을 유지한다.")
+	void setOperationTest() throws Exception {
+		// given
+		Treap<Integer, String> other = new Treap<>();
+		other.add(50, "Fifty!");
+		other.add(55, "Fifty-five");
+		other.add(100, "Hundred!");
+		other.add(110, "Hundred ten");
+		Treap<Integer, String> copy = new Treap<>();
+		Treap<Integer, String> otherCopy = new Treap<>();
+		for (Tree.Entry<Integer, String> entry : tree.inorder()) {
+			copy.add(entry.getKey(), entry.getValue());
+		}
+		for (Tree.Entry<Integer, String> entry : other.inorder()) {
+			otherCopy.add(entry.getKey(), entry.getValue());
+		}
+
+		// when
+		Treap<Integer, String> union = Treap.union((Treap<Integer, String>) tree, other);
+		Treap<Integer, String> difference = Treap.difference(copy, otherCopy);
+
+		// then
+		List<Integer> unionResult = union.inorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> differenceResult = difference.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(unionResult).containsExactly(10, 20, 30, 40, 50, 55, 60, 70, 80, 90, 100, 110);
+		assertThat(union.size()).isEqualTo(12);
+		assertThat(union.get(50)).isEqualTo(CardinalNumber._50);
+		assertThat(union.get(55)).isEqualTo("Fifty-five");
+		assertThat(differenceResult).containsExactly(10, 20, 30, 40, 60, 70, 80, 90);
+		assertThat(difference.size()).isEqualTo(8);
+		assertThat(tree.size()).isZero();
+		assertThat(other.size()).isZero();
+	}
+
+	@Test
+	@DisplayName("트립: 큰 트리의 intersection은 fork-join으로 나누어 계산해도 공통 key만 순서대로 제공한다.")
+	void setOperationTest2() throws Exception {
+		// given
+		Treap<Integer, Integer> multiplesOf2 = new Treap<>();
+		Treap<Integer, Integer> multiplesOf3 = new Treap<>();
+		for (int key = 0; key < 60000; ++key) {
+			multiplesOf2.add(2 * key, key);
+			multiplesOf3.add(3 * key, key);
+		}
+
+		// when
+		Treap<Integer, Integer> intersection = Treap.intersection(multiplesOf2, multiplesOf3);
+
+		// then
+		List<Integer> inorderResult = intersection.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(intersection.size()).isEqualTo(20000);
+		assertThat(inorderResult).isEqualTo(IntStream.range(0, 20000).map(key -> 6 * key).boxed().toList());
+		assertThat(intersection.get(6)).isEqualTo(3);
+	}
+
+	private static Tree.Entry<Integer, String> entry(Integer key, String value) {
+		return new Tree.Entry<>() {
+			@Override
+			public Integer getKey() {
+				return key;
+			}
+
+			@Override
+			public String getValue() {
+				return value;
+			}
+		};
+	}
+}
@@ -0,0 +1,185 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import data.CardinalNumber;
+
+public class TreeSnapshotTest {
+
+	@TempDir
+	Path dir;
+
+	@Test
+	@DisplayName("스냅샷: AVL트리를 파일로 저장하고 읽으면 같은 원소를 가진 균형 잡힌 트리를 만든다.")
+	void avlTreeTest() throws Exception {
+		// given
+		AVLTree<Integer, Integer> tree = new AVLTree<>();
+		for (int key : shuffled(100000)) {
+			tree.add(key, -key);
+		}
+		Path path = dir.resolve("avl.snapshot");
+
+		// when
+		tree.writeSnapshot(path, Codec.INT, Codec.INT);
+		AVLTree<Integer, Integer> loaded = new AVLTree<>();
+		loaded.add(-1, -1);
+		loaded.readSnapshot(path, Codec.INT, Codec.INT);
+
+		// then
+		assertThat(loaded.size()).isEqualTo(100000);
+		assertThat(loaded.inorder().stream().map(Tree.Entry::getKey).toList()).isEqualTo(IntStream.range(0, 100000).boxed().toList());
+		assertThat(loaded.get(12345)).isEqualTo(-12345);
+		assertThat(loaded.contains(-1)).isFalse();
+		assertThat(height(loaded.root)).isEqualTo(17);
+		assertThat(Files.exists(dir.resolve("avl.snapshot.tmp"))).isFalse();
+	}
+
+	@Test
+	@DisplayName("스냅샷: 트립과 다른 트리도 저장한 원소를 그대로 읽고, 읽은 뒤에도 삽입과 삭제를 올바르게 수행한다.")
+	void otherTreeTest() throws Exception {
+		// given
+		List<Tree<Integer, String>> trees = List.of(new Treap<>(), new SplayTree<>(), new RedBlackTree<>(),
+			new ConcurrentAVLTree<>(), new PersistentAVLTree<>(), Trees.concurrent(new AVLTree<>()));
+		Path path = dir.resolve("other.snapshot");
+
+		for (Tree<Integer, String> tree : trees) {
+			tree.add(30, CardinalNumber._30);
+			tree.add(10, CardinalNumber._10);
+			tree.add(20, CardinalNumber._20);
+			tree.writeSnapshot(path, Codec.INT, Codec.STRING);
+			tree.clear();
+
+			// when
+			tree.readSnapshot(path, Codec.INT, Codec.STRING);
+			tree.add(15, "Fifteen");
+			tree.remove(30);
+
+			// then
+			assertThat(tree.inorder().stream().map(Tree.Entry::getKey).toList()).containsExactly(10, 15, 20);
+			assertThat(tree.get(20)).isEqualTo(CardinalNumber._20);
+		}
+	}
+
+	@Test
+	@DisplayName("스냅샷: 빈 트리, null 값, 버퍼보다 큰 값도 저장하고 읽을 수 있다.")
+	void edgeCaseTest() throws Exception {
+		// given
+		Path empty = dir.resolve("empty.snapshot");
+		Path large = dir.resolve("large.snapshot");
+		String big = "x".repeat(3 << 20);
+		Treap<Integer, String> tree = new Treap<>();
+		tree.add(1, null);
+		tree.add(2, big);
+		tree.add(3, CardinalNumber._30);
+
+		// when
+		new Treap<Integer, String>().writeSnapshot(empty, Codec.INT, Codec.STRING);
+		tree.writeSnapshot(large, Codec.INT, Codec.STRING);
+		Treap<Integer, String> emptyLoaded = new Treap<>();
+		emptyLoaded.add(1, "One");
+		emptyLoaded.readSnapshot(empty, Codec.INT, Codec.STRING);
+		Treap<Integer, String> loaded = new Treap<>();
+		loaded.readSnapshot(large, Codec.INT, Codec.STRING);
+
+		// then
+		assertThat(emptyLoaded.size()).isZero();
+		assertThat(loaded.size()).isEqualTo(3);
+		assertThat(loaded.contains(1)).isFalse();
+		assertThat(loaded.get(2)).isEqualTo(big);
+		assertThat(loaded.get(3)).isEqualTo(CardinalNumber._30);
+	}
+
+	@Test
+	@DisplayName("스냅샷: 매핑 창 경계에 걸친 원소는 다음 창에서 다시 읽고, 창보다 큰 원소는 창을 키워 읽는다.")
+	void windowTest() throws Exception {
+		// given
+		AVLTree<Integer, String> tree = new AVLTree<>();
+		for (int key = 0; key < 1000; ++key) {
+			tree.add(key, "v".repeat(key % 300));
+		}
+		Path path = dir.resolve("window.snapshot");
+		tree.writeSnapshot(path, Codec.INT, Codec.STRING);
+
+		// when
+		List<Tree.Entry<Integer, String>> entries = new ArrayList<>();
+		TreeSnapshot.read(path, Codec.INT, Codec.STRING, 100, iterator -> iterator.forEachRemaining(entries::add));
+
+		// then
+		assertThat(entries).hasSize(1000);
+		assertThat(entries.get(299).getValue()).hasSize(299);
+		assertThat(entries.stream().map(Tree.Entry::getKey).toList()).isEqualTo(IntStream.range(0, 1000).boxed().toList());
+	}
+
+	@Test
+	@DisplayName("스냅샷: 손상되거나 잘렸거나 다른 Codec으로 저장한 파일을 읽으면 IOException이 발생하고 기존 원소를 유지한다.")
+	void corruptTest() throws Exception {
+		// given
+		AVLTree<Integer, Integer> tree = new AVLTree<>();
+		for (int key = 0; key < 1000; ++key) {
+			tree.add(key, key);
+		}
+		Path path = dir.resolve("corrupt.snapshot");
+		tree.writeSnapshot(path, Codec.INT, Codec.INT);
+		byte[] bytes = Files.readAllBytes(path);
+
+		Path flipped = dir.resolve("flipped.snapshot");
+		byte[] flippedBytes = bytes.clone();
+		flippedBytes[bytes.length / 2] ^= 1;
+		Files.write(flipped, flippedBytes);
+
+		Path truncated = dir.resolve("truncated.snapshot");
+		ByteBuffer truncatedBytes = ByteBuffer.allocate(bytes.length - 8);
+		truncatedBytes.put(bytes, 0, bytes.length - 20).put(bytes, bytes.length - 12, 12);
+		Files.write(truncated, truncatedBytes.array());
+
+		Path garbage = dir.resolve("garbage.snapshot");
+		Files.write(garbage, new byte[100]);
+
+		AVLTree<Integer, Integer> target = new AVLTree<>();
+		target.add(7, 7);
+
+		// then
+		assertThatThrownBy(() -> target.readSnapshot(flipped, Codec.INT, Codec.INT))
+			.isInstanceOf(IOException.class).hasMessageContaining("checksum");
+		assertThatThrownBy(() -> target.readSnapshot(truncated, Codec.INT, Codec.INT))
+			.isInstanceOf(IOException.class).hasMessageContaining("truncated");
+		assertThatThrownBy(() -> target.readSnapshot(garbage, Codec.INT, Codec.INT))
+			.isInstanceOf(IOException.class).hasMessageContaining("not a tree snapshot");
+		assertThatThrownBy(() -> new AVLTree<Integer, Long>().readSnapshot(path, Codec.INT, Codec.LONG))
+			.isInstanceOf(IOException.class).hasMessageContaining("codec");
+		assertThatThrownBy(() -> new Treap<Integer, Integer>().readSnapshot(flipped, Codec.INT, Codec.INT))
+			.isInstanceOf(IOException.class);
+		assertThat(target.inorder().stream().map(Tree.Entry::getKey).toList()).containsExactly(7);
+	}
+
+	private static int[] shuffled(int n) {
+		int[] keys = IntStream.range(0, n).toArray();
+		Random random = new Random(42);
+		for (int i = n - 1; i > 0; --i) {
+			int j = random.nextInt(i + 1);
+			int temp = keys[i];
+			keys[i] = keys[j];
+			keys[j] = temp;
+		}
+		return keys;
+	}
+
+	private static int height(BinarySearchTree.TreeNode<?, ?> node) {
+		if (node == null)
+			return 0;
+		return Math.max(height(node.left), height(node.right)) + 1;
+	}
+}
@@ -0,0 +1,209 @@
+package tree;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import data.CardinalNumber;
+
+public class TreesTest {
+
+	Tree<Integer, String> tree = Trees.concurrent(new AVLTree<>());
+
+	@BeforeEach
+	void beforeEach() {
+		tree.add(10, CardinalNumber._10);
+		tree.add(20, CardinalNumber._20);
+		tree.add(30, CardinalNumber._30);
+		tree.add(40, CardinalNumber._40);
+		tree.add(50, CardinalNumber._50);
+		tree.add(60, CardinalNumber._60);
+		tree.add(70, CardinalNumber._70);
+		tree.add(80, CardinalNumber._80);
+		tree.add(90, CardinalNumber._90);
+		tree.add(100, CardinalNumber._100);
+	}
+
+	@Test
+	@DisplayName("동시성 래퍼: 감싼 트리와 같은 연산 결과와 Traversal 결과를 제공한다.")
+	void delegateTest() throws Exception {
+		// when
+		String removed = tree.remove(30);
+		String replaced = tree.put(40, "Forty!");
+		String merged = tree.merge(50, "!", String::concat);
+
+		// then
+		List<Integer> preorderResult = tree.preorder().stream().map(Tree.Entry::getKey).toList();
+		List<Integer> inorderResult = tree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(removed).isEqualTo(CardinalNumber._30);
+		assertThat(replaced).isEqualTo(CardinalNumber._40);
+		assertThat(merged).isEqualTo(CardinalNumber._50 + "!");
+		assertThat(tree.size()).isEqualTo(9);
+		assertThat(tree.get(40)).isEqualTo("Forty!");
+		assertThat(tree.contains(30)).isFalse();
+		assertThat(preorderResult).containsExactly(40, 20, 10, 80, 60, 50, 70, 90, 100);
+		assertThat(inorderResult).containsExactly(10, 20, 40, 50, 60, 70, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("동시성 래퍼: 조회 중 발생한 예외는 유효한 조회였다면 그대로 전달된다.")
+	void nullPointerTest() throws Exception {
+		assertThatThrownBy(() -> tree.get(null))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> tree.contains(null))
+			.isInstanceOf(NullPointerException.class);
+		assertThatThrownBy(() -> Trees.concurrent(null))
+			.isInstanceOf(NullPointerException.class);
+	}
+
+	@Test
+	@DisplayName("동시성 래퍼: Iterator와 Traversal 결과는 복사본이므로 이후의 갱신이 반영되지 않는다.")
+	void snapshotTest() throws Exception {
+		// given
+		Iterator<Tree.Entry<Integer, String>> iterator = tree.inorderIterator();
+		List<Tree.Entry<Integer, String>> levelOrder = tree.levelOrder();
+
+		// when
+		tree.put(10, "Ten!");
+		tree.remove(20);
+		tree.add(5, "Five");
+		List<Integer> iteratorResult = new ArrayList<>();
+		iterator.forEachRemaining(e -> iteratorResult.add(e.getKey()));
+
+		// then
+		assertThat(iteratorResult).containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+		assertThat(levelOrder).hasSize(10);
+		assertThat(levelOrder).filteredOn(e -> e.getKey() == 10).extracting(Tree.Entry::getValue).containsExactly(CardinalNumber._10);
+		assertThat(tree.stream().map(Tree.Entry::getKey).toList()).containsExactly(5, 10, 30, 40, 50, 60, 70, 80, 90, 100);
+	}
+
+	@Test
+	@DisplayName("동시성 래퍼: 쓰기 스레드가 회전을 일으키는 동안에도 읽기 스레드는 변하지 않는 원소를 항상 올바르게 조회한다.")
+	void concurrentReadTest() throws Exception {
+		// given: 짝수 key는 고정, 홀수 key는 쓰기 스레드가 삽입과 삭제를 반복한다
+		Tree<Integer, Integer> sharedTree = Trees.concurrent(new AVLTree<>(Integer::compare));
+		for (int key = 0; key < 20000; key += 2) {
+			sharedTree.add(key, -key);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(6);
+		AtomicBoolean writing = new AtomicBoolean(true);
+		List<Future<?>> readers = new ArrayList<>();
+
+		// when
+		Future<?> writer = executor.submit(() -> {
+			Random random = new Random(1);
+			for (int i = 0; i < 400000; ++i) {
+				int key = random.nextInt(10000) * 2 + 1;
+				if (random.nextBoolean()) {
+					sharedTree.add(key, -key);
+				} else {
+					sharedTree.remove(key);
+				}
+			}
+			writing.set(false);
+		});
+		for (int t = 0; t < 5; ++t) {
+			int seed = t;
+			readers.add(executor.submit(() -> {
+				Random random = new Random(seed);
+				while (writing.get()) {
+					int key = random.nextInt(10000) * 2;
+					assertThat(sharedTree.get(key)).isEqualTo(-key);
+					assertThat(sharedTree.contains(key)).isTrue();
+				}
+			}));
+		}
+		writer.get();
+		for (Future<?> reader : readers) {
+			reader.get();
+		}
+		executor.shutdown();
+
+		// then
+		List<Integer> inorderResult = sharedTree.inorder().stream().map(Tree.Entry::getKey).toList();
+
+		assertThat(inorderResult).isSorted();
+		assertThat(sharedTree.size()).isEqualTo(inorderResult.size());
+	}
+
+	@Test
+	@DisplayName("동시성 래퍼: 조회가 트리를 바꾸는 스플레이 트리도 여러 스레드가 함께 사용할 수 있다.")
+	void splayTreeTest() throws Exception {
+		// given
+		Tree<Integer, Integer> sharedTree = Trees.concurrent(new SplayTree<>(Integer::compare));
+		for (int key = 0; key < 1000; ++key) {
+			sharedTree.add(key, key);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<?>> futures = new ArrayList<>();
+
+		// when
+		for (int t = 0; t < 4; ++t) {
+			int seed = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(seed);
+				for (int i = 0; i < 50000; ++i) {
+					int key = random.nextInt(1000);
+					assertThat(sharedTree.get(key)).isEqualTo(key);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		// then
+		assertThat(sharedTree.size()).isEqualTo(1000);
+		assertThat(sharedTree.inorder().stream().map(Tree.Entry::getKey).toList()).isSorted().hasSize(1000);
+	}
+
+	@Test
+	@DisplayName("동시성 래퍼: 조회가 트리를 바꾸는 트리는 뷰에 감싸여 있어도 배타적으로 조회한다.")
+	void exclusiveReadTest() throws Exception {
+		// given
+		SplayTree<Integer, Integer> splayTree = new SplayTree<>(Integer::compare);
+		for (int key = 0; key < 1000; ++key) {
+			splayTree.add(key, key);
+		}
+		Tree<Integer, Integer> view = splayTree.tailTree(0, true);
+		Tree<Integer, Integer> sharedTree = Trees.concurrent(view);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<?>> futures = new ArrayList<>();
+
+		// when
+		for (int t = 0; t < 4; ++t) {
+			int seed = t;
+			futures.add(executor.submit(() -> {
+				Random random = new Random(seed);
+				for (int i = 0; i < 50000; ++i) {
+					int key = random.nextInt(1000);
+					assertThat(sharedTree.get(key)).isEqualTo(key);
+				}
+			}));
+		}
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		// then
+		assertThat(new AVLTree<Integer, Integer>().sharedReads()).isTrue();
+		assertThat(splayTree.sharedReads()).isFalse();
+		assertThat(view.sharedReads()).isFalse();
+		assertThat(sharedTree.sharedReads()).isTrue();
+		assertThat(sharedTree.inorder().stream().map(Tree.Entry::getKey).toList()).isSorted().hasSize(1000);
+	}
+}